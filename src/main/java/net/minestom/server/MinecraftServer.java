@@ -8,6 +8,7 @@ import net.minestom.server.data.DataType;
 import net.minestom.server.data.SerializableData;
 import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.Player;
+import net.minestom.server.entity.pathfinding.PathfindingManager;
 import net.minestom.server.event.GlobalEventHandler;
 import net.minestom.server.exception.ExceptionManager;
 import net.minestom.server.extensions.Extension;
@@ -16,6 +17,7 @@ import net.minestom.server.fluids.Fluid;
 import net.minestom.server.gamedata.loottables.LootTableManager;
 import net.minestom.server.gamedata.tags.TagManager;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
 import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockManager;
@@ -24,8 +26,12 @@ import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.item.Enchantment;
 import net.minestom.server.item.Material;
 import net.minestom.server.listener.manager.PacketListenerManager;
+import net.minestom.server.network.BackpressurePolicy;
+import net.minestom.server.network.CompressionEngine;
 import net.minestom.server.network.ConnectionManager;
+import net.minestom.server.network.PacketBroadcaster;
 import net.minestom.server.network.PacketProcessor;
+import net.minestom.server.network.metrics.NetworkMetrics;
 import net.minestom.server.network.netty.NettyServer;
 import net.minestom.server.network.packet.server.play.PluginMessagePacket;
 import net.minestom.server.network.packet.server.play.ServerDifficultyPacket;
@@ -44,7 +50,6 @@ import net.minestom.server.storage.StorageManager;
 import net.minestom.server.timer.SchedulerManager;
 import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.PacketUtils;
-import net.minestom.server.utils.cache.TemporaryCache;
 import net.minestom.server.utils.thread.MinestomThread;
 import net.minestom.server.utils.validate.Check;
 import net.minestom.server.world.Difficulty;
@@ -56,6 +61,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The main server class used to start the server and retrieve all the managers.
@@ -84,6 +90,24 @@ public final class MinecraftServer {
     public static final String THREAD_NAME_PARALLEL_CHUNK_SAVING = "Ms-ParallelChunkSaving";
     public static final int THREAD_COUNT_PARALLEL_CHUNK_SAVING = 4;
 
+    public static final String THREAD_NAME_CHUNK_READ = "Ms-ChunkRead";
+    public static final int THREAD_COUNT_CHUNK_READ = 2;
+
+    public static final String THREAD_NAME_CHUNK_DESERIALIZATION = "Ms-ChunkDeserialization";
+    public static final int THREAD_COUNT_CHUNK_DESERIALIZATION = 2;
+
+    public static final String THREAD_NAME_CHUNK_GENERATION = "Ms-ChunkGeneration";
+    public static final int THREAD_COUNT_CHUNK_GENERATION = 4;
+
+    public static final String THREAD_NAME_PACKET_COMPRESSION = "Ms-PacketCompression";
+    public static final int THREAD_COUNT_PACKET_COMPRESSION = Runtime.getRuntime().availableProcessors();
+
+    public static final String THREAD_NAME_ASYNC_PACKET = "Ms-AsyncPacket";
+    public static final int THREAD_COUNT_ASYNC_PACKET = 2;
+
+    public static final String THREAD_NAME_PATHFINDING = "Ms-Pathfinding";
+    public static final int THREAD_COUNT_PATHFINDING = 2;
+
     // Config
     // Can be modified at performance cost when increased
     //TODO: ALS CHANGE
@@ -96,6 +120,8 @@ public final class MinecraftServer {
     private static int rateLimit = 300;
     private static int maxPacketSize = 30_000;
     // Network
+    private static int packetBufferSize = 8_192;
+    private static int packetFlushThreshold = 65_536;
     private static PacketListenerManager packetListenerManager;
     private static PacketProcessor packetProcessor;
     private static NettyServer nettyServer;
@@ -122,8 +148,13 @@ public final class MinecraftServer {
     private static ExtensionManager extensionManager;
 
     private static final GlobalEventHandler GLOBAL_EVENT_HANDLER = new GlobalEventHandler();
+    private static final PacketBroadcaster PACKET_BROADCASTER = new PacketBroadcaster();
+    private static final CompressionEngine COMPRESSION_ENGINE = new CompressionEngine();
+    private static final NetworkMetrics NETWORK_METRICS = new NetworkMetrics();
+    private static final BackpressurePolicy BACKPRESSURE_POLICY = new BackpressurePolicy();
 
     private static UpdateManager updateManager;
+    private static PathfindingManager pathfindingManager;
     private static MinecraftServer minecraftServer;
 
     // Data
@@ -136,6 +167,7 @@ public final class MinecraftServer {
     private static int compressionThreshold = 256;
     private static boolean packetCaching = true;
     private static boolean groupedPacket = true;
+    private static boolean clientPacketPooling = false;
     private static ResponseDataConsumer responseDataConsumer;
     private static String brandName = "Minestom";
     private static Difficulty difficulty = Difficulty.NORMAL;
@@ -185,6 +217,7 @@ public final class MinecraftServer {
         advancementManager = new AdvancementManager();
 
         updateManager = new UpdateManager();
+        pathfindingManager = new PathfindingManager();
 
         lootTableManager = new LootTableManager();
         tagManager = new TagManager();
@@ -263,6 +296,48 @@ public final class MinecraftServer {
         MinecraftServer.maxPacketSize = maxPacketSize;
     }
 
+    /**
+     * Gets the initial size (in bytes) of the buffer in which the packets sent to a player are aggregated during a tick.
+     *
+     * @return the initial packet buffer size
+     */
+    public static int getPacketBufferSize() {
+        return packetBufferSize;
+    }
+
+    /**
+     * Changes the initial size (in bytes) of the buffer in which the packets sent to a player are aggregated during a tick.
+     *
+     * @param packetBufferSize the new initial packet buffer size
+     * @throws IllegalArgumentException if {@code packetBufferSize} is not positive
+     */
+    public static void setPacketBufferSize(int packetBufferSize) {
+        Check.argCondition(packetBufferSize <= 0, "The packet buffer size must be positive");
+        MinecraftServer.packetBufferSize = packetBufferSize;
+    }
+
+    /**
+     * Gets the number of aggregated bytes after which the packets of a player are written
+     * without waiting for the end of the tick.
+     *
+     * @return the packet flush threshold
+     */
+    public static int getPacketFlushThreshold() {
+        return packetFlushThreshold;
+    }
+
+    /**
+     * Changes the number of aggregated bytes after which the packets of a player are written
+     * without waiting for the end of the tick.
+     *
+     * @param packetFlushThreshold the new packet flush threshold
+     * @throws IllegalArgumentException if {@code packetFlushThreshold} is not positive
+     */
+    public static void setPacketFlushThreshold(int packetFlushThreshold) {
+        Check.argCondition(packetFlushThreshold <= 0, "The packet flush threshold must be positive");
+        MinecraftServer.packetFlushThreshold = packetFlushThreshold;
+    }
+
     /**
      * Gets the server difficulty showed in game option.
      *
@@ -300,6 +375,47 @@ public final class MinecraftServer {
         return GLOBAL_EVENT_HANDLER;
     }
 
+    /**
+     * Gets the broadcaster collecting the packets sent to viewers during a tick.
+     *
+     * @return the packet broadcaster
+     */
+    @NotNull
+    public static PacketBroadcaster getPacketBroadcaster() {
+        return PACKET_BROADCASTER;
+    }
+
+    /**
+     * Gets the engine compressing the server packets.
+     *
+     * @return the compression engine
+     */
+    @NotNull
+    public static CompressionEngine getCompressionEngine() {
+        return COMPRESSION_ENGINE;
+    }
+
+    /**
+     * Gets the network counters of all the connections.
+     *
+     * @return the network metrics
+     */
+    @NotNull
+    public static NetworkMetrics getNetworkMetrics() {
+        return NETWORK_METRICS;
+    }
+
+    /**
+     * Gets the backpressure policy of the new connections, can be changed per connection with
+     * {@link net.minestom.server.network.player.NettyPlayerConnection#setBackpressurePolicy(BackpressurePolicy)}.
+     *
+     * @return the default backpressure policy
+     */
+    @NotNull
+    public static BackpressurePolicy getBackpressurePolicy() {
+        return BACKPRESSURE_POLICY;
+    }
+
     /**
      * Gets the manager handling all incoming packets
      *
@@ -602,6 +718,31 @@ public final class MinecraftServer {
         MinecraftServer.groupedPacket = groupedPacket;
     }
 
+    /**
+     * Gets if the client packets are reused once processed instead of being created for each read.
+     * <p>
+     * Only the packets marked with {@link net.minestom.server.network.packet.client.handler.ClientPacketsHandler#setPoolable(int, boolean)}
+     * are reused, mostly the movement ones. It is disabled by default because packet listeners must then not keep
+     * a reference to those packets after their execution.
+     *
+     * @return true if the client packet pooling feature is enabled, false otherwise
+     */
+    public static boolean hasClientPacketPooling() {
+        return clientPacketPooling;
+    }
+
+    /**
+     * Enables or disable client packet pooling.
+     *
+     * @param clientPacketPooling true to enable client packet pooling
+     * @throws IllegalStateException if this is called after the server started
+     * @see #hasClientPacketPooling()
+     */
+    public static void setClientPacketPooling(boolean clientPacketPooling) {
+        Check.stateCondition(started, "You cannot change the client packet pooling value after the server has been started.");
+        MinecraftServer.clientPacketPooling = clientPacketPooling;
+    }
+
     /**
      * Gets the consumer executed to show server-list data.
      *
@@ -682,6 +823,16 @@ public final class MinecraftServer {
         return updateManager;
     }
 
+    /**
+     * Gets the manager computing the entity paths.
+     *
+     * @return the pathfinding manager
+     */
+    public static PathfindingManager getPathfindingManager() {
+        checkInitStatus(pathfindingManager);
+        return pathfindingManager;
+    }
+
     /**
      * Gets the number of threads used by Netty.
      * <p>
@@ -790,13 +941,22 @@ public final class MinecraftServer {
         schedulerManager.shutdown();
         connectionManager.shutdown();
         nettyServer.stop();
+        // Let the chunks being saved reach their storage location before closing it
+        LOGGER.info("Waiting for the chunk saves.");
+        IChunkLoader.CHUNK_SAVING_POOL.shutdown();
+        try {
+            if (!IChunkLoader.CHUNK_SAVING_POOL.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.warn("Chunk saves did not complete in time, remaining chunks will not be saved.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         storageManager.getLoadedLocations().forEach(StorageLocation::close);
         LOGGER.info("Unloading all extensions.");
         extensionManager.shutdown();
         LOGGER.info("Shutting down all thread pools.");
         benchmarkManager.disable();
         commandManager.stopConsoleThread();
-        TemporaryCache.REMOVER_SERVICE.shutdown();
         MinestomThread.shutdownAll();
         LOGGER.info("Minestom server stopped successfully.");
     }
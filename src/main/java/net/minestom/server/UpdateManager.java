@@ -1,19 +1,26 @@
 package net.minestom.server;
 
 import com.google.common.collect.Queues;
+import net.minestom.server.benchmark.TickMonitor;
+import net.minestom.server.benchmark.TickPhase;
+import net.minestom.server.benchmark.TickProfiler;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.network.ConnectionManager;
-import net.minestom.server.thread.PerInstanceThreadProvider;
+import net.minestom.server.thread.FixedRateTickLoopPolicy;
+import net.minestom.server.thread.PerRegionThreadProvider;
 import net.minestom.server.thread.ThreadProvider;
+import net.minestom.server.thread.TickLoopPolicy;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.LongConsumer;
 
 /**
@@ -21,14 +28,30 @@ import java.util.function.LongConsumer;
  * <p>
  * The {@link ThreadProvider} manages the multi-thread aspect for {@link Instance} ticks,
  * it can be modified with {@link #setThreadProvider(ThreadProvider)}.
+ * <p>
+ * The {@link TickLoopPolicy} decides when the ticks happen, it can be modified with {@link #setTickLoopPolicy(TickLoopPolicy)}.
+ * The resulting TPS and MSPT are available in {@link #getTickMonitor()}.
  */
 public final class UpdateManager {
 
-    private final ScheduledExecutorService updateExecutionService = Executors.newSingleThreadScheduledExecutor();
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(MinecraftServer.TICK_MS);
+
+    private final ExecutorService updateExecutionService = Executors.newSingleThreadExecutor();
 
     private volatile boolean stopRequested;
 
     private ThreadProvider threadProvider;
+    private TickLoopPolicy tickLoopPolicy = new FixedRateTickLoopPolicy();
+
+    private final TickMonitor tickMonitor = new TickMonitor();
+    // Phases to skip during the current tick, decided by the tick loop policy when first executed
+    private final boolean[] skippedPhases = new boolean[TickPhase.values().length];
+    // Tick of the last decision of each phase, written after the decision itself
+    private final AtomicLongArray phaseDecisionTicks = new AtomicLongArray(TickPhase.values().length);
+    // Number of ticks during which each phase has been executed (or skipped)
+    private final long[] phaseTickCounts = new long[TickPhase.values().length];
+    private volatile long currentTick;
+    private volatile boolean overloaded;
 
     private final Queue<LongConsumer> tickStartCallbacks = Queues.newConcurrentLinkedQueue();
     private final Queue<LongConsumer> tickEndCallbacks = Queues.newConcurrentLinkedQueue();
@@ -36,7 +59,7 @@ public final class UpdateManager {
     {
         // DEFAULT THREAD PROVIDER
         //threadProvider = new PerGroupChunkProvider();
-        threadProvider = new PerInstanceThreadProvider();
+        threadProvider = new PerRegionThreadProvider();
     }
 
     /**
@@ -49,40 +72,94 @@ public final class UpdateManager {
      * Starts the server loop in the update thread.
      */
     protected void start() {
+        updateExecutionService.execute(this::tickLoop);
+    }
+
+    /**
+     * Ticks the server until {@link #stop()} is called, the ticks are scheduled by the {@link TickLoopPolicy}.
+     */
+    private void tickLoop() {
         final ConnectionManager connectionManager = MinecraftServer.getConnectionManager();
+        final TickProfiler tickProfiler = MinecraftServer.getBenchmarkManager().getTickProfiler();
 
-        updateExecutionService.scheduleAtFixedRate(() -> {
-            try {
-                if (stopRequested) {
-                    updateExecutionService.shutdown();
-                    return;
-                }
+        long scheduledTime = System.nanoTime();
+        long tick = 0;
+        long lastTickStart = 0;
+        for (int i = 0; i < phaseDecisionTicks.length(); i++) {
+            this.phaseDecisionTicks.set(i, -1);
+        }
+        while (!stopRequested) {
+            // Wait for the next tick
+            long currentTime = System.nanoTime();
+            while (currentTime < scheduledTime) {
+                LockSupport.parkNanos(scheduledTime - currentTime);
+                currentTime = System.nanoTime();
+            }
+
+            final TickLoopPolicy policy = this.tickLoopPolicy;
+            final boolean overloaded = policy.isOverloaded(tickMonitor);
+            this.overloaded = overloaded;
+            this.currentTick = tick;
 
-                long currentTime = System.nanoTime();
-                final long tickStart = System.currentTimeMillis();
+            try {
+                final boolean profile = tickProfiler.isEnabled();
+                // Strictly increasing, identifies the tick even when caught up in the same millisecond
+                final long tickStart = Math.max(System.currentTimeMillis(), lastTickStart + 1);
+                lastTickStart = tickStart;
 
                 // Tick start callbacks
                 doTickCallback(tickStartCallbacks, tickStart);
+                long phaseEnd = System.nanoTime();
+                final long tickStartCallbacksTime = phaseEnd - currentTime;
 
                 // Waiting players update (newly connected clients waiting to get into the server)
+                long phaseStart = phaseEnd;
                 connectionManager.updateWaitingPlayers();
+                phaseEnd = System.nanoTime();
+                if (profile)
+                    tickProfiler.recordPhase(TickPhase.WAITING_PLAYERS, phaseEnd - phaseStart);
 
                 // Keep Alive Handling
+                phaseStart = phaseEnd;
                 connectionManager.handleKeepAlive(tickStart);
+                phaseEnd = System.nanoTime();
+                if (profile)
+                    tickProfiler.recordPhase(TickPhase.KEEP_ALIVE, phaseEnd - phaseStart);
 
                 // Server tick (chunks/entities)
+                phaseStart = phaseEnd;
                 serverTick(tickStart);
+                phaseEnd = System.nanoTime();
+                if (profile)
+                    tickProfiler.recordPhase(TickPhase.SERVER_TICK, phaseEnd - phaseStart);
 
                 // the time that the tick took in nanoseconds
-                final long tickTime = System.nanoTime() - currentTime;
+                final long tickTime = phaseEnd - currentTime;
+                this.tickMonitor.recordTick(scheduledTime, currentTime, tickTime, overloaded);
 
                 // Tick end callbacks
                 doTickCallback(tickEndCallbacks, tickTime / 1000000L);
 
+                if (profile) {
+                    final long tickEnd = System.nanoTime();
+                    tickProfiler.recordPhase(TickPhase.TICK_CALLBACKS, tickStartCallbacksTime + tickEnd - phaseEnd);
+                    tickProfiler.recordPhase(TickPhase.TICK, tickEnd - currentTime);
+                }
+
             } catch (Exception e) {
                 MinecraftServer.getExceptionManager().handleException(e);
             }
-        }, 0, MinecraftServer.TICK_MS, TimeUnit.MILLISECONDS);
+
+            // Schedule the next tick
+            final long nextTime = policy.getNextTickTime(scheduledTime, System.nanoTime());
+            final long expectedTime = scheduledTime + TICK_NANOS;
+            if (nextTime > expectedTime) {
+                this.tickMonitor.recordSkippedTicks((nextTime - expectedTime) / TICK_NANOS);
+            }
+            scheduledTime = nextTime;
+            tick++;
+        }
+        updateExecutionService.shutdown();
     }
 
     /**
@@ -93,6 +170,9 @@ public final class UpdateManager {
     private void serverTick(long tickStart) {
         List<Future<?>> futures;
 
+        // Start the path computations queued during the last tick with a new budget
+        MinecraftServer.getPathfindingManager().tick();
+
         // Server tick (instance/chunk/entity)
         // Synchronize with the update manager instance, like the signal for chunk load/unload
         synchronized (this) {
@@ -106,6 +186,9 @@ public final class UpdateManager {
                 MinecraftServer.getExceptionManager().handleException(e);
             }
         }
+
+        // Send the packets broadcast during the tick, once per viewer set
+        MinecraftServer.getPacketBroadcaster().flush();
     }
 
     /**
@@ -123,6 +206,58 @@ public final class UpdateManager {
         }
     }
 
+    /**
+     * Gets if a phase is skipped during the current tick, as decided by the {@link TickLoopPolicy}.
+     * <p>
+     * The decision is made when the phase is first checked during a tick, only the ticks executing
+     * the phase are therefore counted (e.g. the blocks update does not happen every tick).
+     *
+     * @param phase the phase
+     * @return true if the phase should not be executed
+     */
+    public boolean isPhaseSkipped(@NotNull TickPhase phase) {
+        final int index = phase.ordinal();
+        final long tick = currentTick;
+        if (phaseDecisionTicks.get(index) != tick) {
+            synchronized (skippedPhases) {
+                if (phaseDecisionTicks.get(index) != tick) {
+                    this.skippedPhases[index] = tickLoopPolicy.shouldSkip(phase, phaseTickCounts[index]++, overloaded);
+                    this.phaseDecisionTicks.set(index, tick);
+                }
+            }
+        }
+        return skippedPhases[index];
+    }
+
+    /**
+     * Gets the monitor containing the TPS and MSPT of the last ticks.
+     *
+     * @return the tick monitor
+     */
+    @NotNull
+    public TickMonitor getTickMonitor() {
+        return tickMonitor;
+    }
+
+    /**
+     * Gets the current {@link TickLoopPolicy}.
+     *
+     * @return the current tick loop policy
+     */
+    @NotNull
+    public TickLoopPolicy getTickLoopPolicy() {
+        return tickLoopPolicy;
+    }
+
+    /**
+     * Changes the {@link TickLoopPolicy}, used starting from the next tick.
+     *
+     * @param tickLoopPolicy the new tick loop policy
+     */
+    public void setTickLoopPolicy(@NotNull TickLoopPolicy tickLoopPolicy) {
+        this.tickLoopPolicy = tickLoopPolicy;
+    }
+
     /**
      * Gets the current {@link ThreadProvider}.
      *
@@ -156,13 +291,14 @@ public final class UpdateManager {
     }
 
     /**
-     * Signals the {@link ThreadProvider} that an instance has been deleted.
+     * Signals the {@link ThreadProvider} and the tick profiler that an instance has been deleted.
      * <p>
      * WARNING: should be automatically done by the {@link InstanceManager}.
      *
      * @param instance the instance
      */
     public synchronized void signalInstanceDelete(Instance instance) {
+        MinecraftServer.getBenchmarkManager().getTickProfiler().removeInstance(instance);
         if (this.threadProvider == null)
             return;
         this.threadProvider.onInstanceDelete(instance);
@@ -184,7 +320,7 @@ public final class UpdateManager {
     }
 
     /**
-     * Signals the {@link ThreadProvider} that a chunk has been unloaded.
+     * Signals the {@link ThreadProvider} and the tick profiler that a chunk has been unloaded.
      * <p>
      * WARNING: should be automatically done by the {@link Instance} implementation.
      *
@@ -193,6 +329,7 @@ public final class UpdateManager {
      * @param chunkZ   the chunk Z
      */
     public synchronized void signalChunkUnload(Instance instance, int chunkX, int chunkZ) {
+        MinecraftServer.getBenchmarkManager().getTickProfiler().removeChunk(instance, chunkX, chunkZ);
         if (this.threadProvider == null)
             return;
         this.threadProvider.onChunkUnload(instance, chunkX, chunkZ);
@@ -55,6 +55,8 @@ public interface Viewable {
      * @param packet the packet to send to all viewers
      */
     default void sendPacketToViewers(@NotNull ServerPacket packet) {
+        // Keep the order with the packets waiting for the end of the tick
+        MinecraftServer.getPacketBroadcaster().flush(this);
         PacketUtils.sendGroupedPacket(getViewers(), packet);
     }
 
@@ -67,6 +69,7 @@ public interface Viewable {
      * @param packets the packets to send
      */
     default void sendPacketsToViewers(@NotNull ServerPacket... packets) {
+        MinecraftServer.getPacketBroadcaster().flush(this);
         for (ServerPacket packet : packets) {
             PacketUtils.sendGroupedPacket(getViewers(), packet);
         }
@@ -85,4 +88,16 @@ public interface Viewable {
         }
         sendPacketToViewers(packet);
     }
+
+    /**
+     * Sends a packet to all viewers at the end of the tick, framed with the other packets
+     * sent to the same viewers (see {@link net.minestom.server.network.PacketBroadcaster}).
+     * <p>
+     * Should be preferred for packets sent every tick like movement ones.
+     *
+     * @param packet the packet to send to all viewers
+     */
+    default void broadcastPacketToViewers(@NotNull ServerPacket packet) {
+        MinecraftServer.getPacketBroadcaster().broadcast(this, packet);
+    }
 }
@@ -49,6 +49,8 @@ public final class BenchmarkManager {
 
     private final Map<String, ThreadResult> resultMap = new ConcurrentHashMap<>();
 
+    private final TickProfiler tickProfiler = new TickProfiler();
+
     private boolean enabled = false;
     private volatile boolean stop = false;
 
@@ -98,6 +100,18 @@ public final class BenchmarkManager {
         return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
     }
 
+    /**
+     * Gets the profiler used to measure the different parts of the server tick.
+     * <p>
+     * Independent of this benchmark, it needs to be enabled with {@link TickProfiler#enable()}.
+     *
+     * @return the tick profiler
+     */
+    @NotNull
+    public TickProfiler getTickProfiler() {
+        return tickProfiler;
+    }
+
     @NotNull
     public Map<String, ThreadResult> getResultMap() {
         return Collections.unmodifiableMap(resultMap);
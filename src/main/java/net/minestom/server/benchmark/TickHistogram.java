@@ -0,0 +1,132 @@
+package net.minestom.server.benchmark;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds.
+ * <p>
+ * Values are stored in power of two buckets, percentiles are therefore an approximation
+ * (linearly interpolated inside the bucket) while the count, total and max are exact.
+ */
+public class TickHistogram {
+
+    private static final int BUCKET_COUNT = Long.SIZE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values are considered as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        this.buckets.incrementAndGet(getBucket(nanos));
+        this.count.increment();
+        this.total.add(nanos);
+
+        long currentMax;
+        while (nanos > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, nanos))
+                break;
+        }
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of all the recorded durations.
+     *
+     * @return the total duration in nanoseconds
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return the max duration in nanoseconds, 0 if empty
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the average recorded duration.
+     *
+     * @return the mean duration in nanoseconds, 0 if empty
+     */
+    public double getMean() {
+        final long count = getCount();
+        return count != 0 ? (double) getTotal() / count : 0;
+    }
+
+    /**
+     * Gets an approximation of the duration under which {@code percentile} of the durations are.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the approximated duration in nanoseconds, 0 if empty
+     */
+    public long getPercentile(double percentile) {
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0)
+            return 0;
+
+        final double target = Math.min(100, Math.max(0, percentile)) / 100d * count;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            final long bucketCount = counts[i];
+            if (bucketCount == 0 || seen + bucketCount < target) {
+                seen += bucketCount;
+                continue;
+            }
+            final long low = getBucketLowerBound(i);
+            final long high = Math.min(getMax(), i == BUCKET_COUNT - 1 ? Long.MAX_VALUE : low * 2);
+            final double ratio = (target - seen) / bucketCount;
+            return low + (long) ((Math.max(low, high) - low) * ratio);
+        }
+        return getMax();
+    }
+
+    /**
+     * Clears all the recorded durations.
+     * <p>
+     * Durations recorded concurrently may be partially kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.buckets.set(i, 0);
+        }
+        this.count.reset();
+        this.total.reset();
+        this.max.set(0);
+    }
+
+    private static int getBucket(long nanos) {
+        // 0 and 1 share the first bucket
+        return nanos == 0 ? 0 : BUCKET_COUNT - 1 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    private static long getBucketLowerBound(int bucket) {
+        return bucket == 0 ? 0 : 1L << bucket;
+    }
+}
@@ -0,0 +1,185 @@
+package net.minestom.server.benchmark;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.utils.validate.Check;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the last server ticks to compute the TPS (ticks per second) and MSPT (milliseconds per tick).
+ * <p>
+ * Filled by the {@link net.minestom.server.UpdateManager} at the end of each tick,
+ * can be retrieved with {@link net.minestom.server.UpdateManager#getTickMonitor()}.
+ */
+public final class TickMonitor {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(MinecraftServer.TICK_MS);
+
+    // Ring buffers containing the start time and the duration of the last ticks
+    private final long[] tickStarts;
+    private final long[] tickDurations;
+    private int index;
+    private int size;
+
+    private long tickCount;
+    private long skippedTicks;
+    private long behindNanos;
+    private volatile boolean overloaded;
+
+    /**
+     * Creates a new tick monitor keeping the ticks of the last 10 seconds.
+     */
+    public TickMonitor() {
+        this(MinecraftServer.TICK_PER_SECOND * 10);
+    }
+
+    /**
+     * Creates a new tick monitor.
+     *
+     * @param windowSize the amount of ticks used to compute the TPS and MSPT
+     */
+    public TickMonitor(int windowSize) {
+        Check.argCondition(windowSize < 2, "The window size must be at least 2");
+        this.tickStarts = new long[windowSize];
+        this.tickDurations = new long[windowSize];
+    }
+
+    /**
+     * Records a tick.
+     * <p>
+     * WARNING: this is done automatically by the {@link net.minestom.server.UpdateManager}.
+     *
+     * @param scheduledTime the time at which the tick should have started, in nanoseconds
+     * @param startTime     the time at which the tick started, in nanoseconds
+     * @param duration      the duration of the tick, in nanoseconds
+     * @param overloaded    true if the tick loop considers the server as overloaded
+     */
+    public synchronized void recordTick(long scheduledTime, long startTime, long duration, boolean overloaded) {
+        this.tickStarts[index] = startTime;
+        this.tickDurations[index] = duration;
+        this.index = (index + 1) % tickStarts.length;
+        this.size = Math.min(size + 1, tickStarts.length);
+
+        this.tickCount++;
+        this.behindNanos = Math.max(0, startTime - scheduledTime);
+        this.overloaded = overloaded;
+    }
+
+    /**
+     * Records ticks which have been dropped because the server was too far behind.
+     * <p>
+     * WARNING: this is done automatically by the {@link net.minestom.server.UpdateManager}.
+     *
+     * @param count the amount of skipped ticks
+     */
+    public synchronized void recordSkippedTicks(long count) {
+        this.skippedTicks += count;
+    }
+
+    /**
+     * Gets the average amount of ticks per second.
+     *
+     * @return the TPS, {@link MinecraftServer#TICK_PER_SECOND} if not enough ticks have been recorded
+     */
+    public synchronized double getTps() {
+        if (size < 2)
+            return MinecraftServer.TICK_PER_SECOND;
+        final int last = Math.floorMod(index - 1, tickStarts.length);
+        final int first = size < tickStarts.length ? 0 : index;
+        final long elapsed = tickStarts[last] - tickStarts[first];
+        return elapsed > 0 ? (size - 1) * 1e9 / elapsed : MinecraftServer.TICK_PER_SECOND;
+    }
+
+    /**
+     * Gets the average tick duration.
+     *
+     * @return the MSPT, 0 if no tick has been recorded
+     */
+    public synchronized double getMspt() {
+        if (size == 0)
+            return 0;
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += tickDurations[i];
+        }
+        return total / 1e6 / size;
+    }
+
+    /**
+     * Gets the tick duration under which {@code percentile} of the ticks are.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the MSPT percentile, 0 if no tick has been recorded
+     */
+    public synchronized double getMsptPercentile(double percentile) {
+        if (size == 0)
+            return 0;
+        final long[] durations = Arrays.copyOf(tickDurations, size);
+        Arrays.sort(durations);
+        final int rank = (int) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100d * size) - 1;
+        return durations[Math.max(0, rank)] / 1e6;
+    }
+
+    /**
+     * Gets the longest tick duration.
+     *
+     * @return the max MSPT, 0 if no tick has been recorded
+     */
+    public synchronized double getMaxMspt() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, tickDurations[i]);
+        }
+        return max / 1e6;
+    }
+
+    /**
+     * Gets the ratio between the average tick duration and the time allocated to a tick.
+     * <p>
+     * A value higher than 1 means that the server cannot keep up.
+     *
+     * @return the server load
+     */
+    public double getLoad() {
+        return getMspt() / MinecraftServer.TICK_MS;
+    }
+
+    /**
+     * Gets how late the last tick started compared to its schedule.
+     *
+     * @return the number of ticks the server is behind
+     */
+    public synchronized long getBehindTicks() {
+        return behindNanos / TICK_NANOS;
+    }
+
+    /**
+     * Gets the total number of ticks since the server start.
+     *
+     * @return the tick count
+     */
+    public synchronized long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the number of ticks dropped since the server start because the server was too far behind.
+     *
+     * @return the skipped tick count
+     */
+    public synchronized long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * Gets if the last tick has been considered as overloaded by the {@link net.minestom.server.thread.TickLoopPolicy}.
+     * <p>
+     * Non-critical work may be skipped while overloaded.
+     *
+     * @return true if the server is overloaded
+     */
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+}
@@ -0,0 +1,64 @@
+package net.minestom.server.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a part of a server tick measured by the {@link TickProfiler}.
+ */
+public enum TickPhase {
+    /**
+     * The whole tick, from the start callbacks to the end callbacks.
+     */
+    TICK("tick"),
+    /**
+     * The callbacks registered with {@link net.minestom.server.UpdateManager#addTickStartCallback(java.util.function.LongConsumer)}
+     * and {@link net.minestom.server.UpdateManager#addTickEndCallback(java.util.function.LongConsumer)}.
+     */
+    TICK_CALLBACKS("tick_callbacks"),
+    /**
+     * The update of the players waiting to join the server.
+     */
+    WAITING_PLAYERS("waiting_players"),
+    /**
+     * The keep alive packets handling.
+     */
+    KEEP_ALIVE("keep_alive"),
+    /**
+     * The instances, chunks and entities update, including the wait for the thread provider.
+     */
+    SERVER_TICK("server_tick"),
+    /**
+     * A single {@link net.minestom.server.instance.Instance#tick(long)} call.
+     */
+    INSTANCE("instance_tick"),
+    /**
+     * A single {@link net.minestom.server.instance.Chunk#tick(long, net.minestom.server.instance.Instance)} call.
+     */
+    CHUNK("chunk_tick"),
+    /**
+     * A single {@link net.minestom.server.entity.Entity#tick(long)} call.
+     */
+    ENTITY("entity_tick"),
+    /**
+     * A single event call, including all its listeners.
+     * <p>
+     * Events are called during the other phases, their time is therefore also counted in them.
+     */
+    EVENT("event");
+
+    private final String name;
+
+    TickPhase(@NotNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the name of the phase, used as the frame name in the folded stacks.
+     *
+     * @return the phase name
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,329 @@
+package net.minestom.server.benchmark;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.event.Event;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the time spent in each part of the server tick.
+ * <p>
+ * Timings are recorded per {@link TickPhase}, per {@link Instance}, per {@link Chunk} and per {@link EntityType}
+ * into {@link TickHistogram}. The timings of deleted instances and unloaded chunks are dropped.
+ * <p>
+ * Needs to be enabled with {@link #enable()}. Recording does not allocate once every instance/chunk has been seen once,
+ * only the chunk timings take a short lock on the map of their instance.
+ * <p>
+ * Results can be retrieved with the getters or exported with {@link #writeFoldedStacks(Writer)},
+ * a format understood by most flame graph tools.
+ */
+public final class TickProfiler {
+
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+
+    private final Map<TickPhase, TickHistogram> phaseHistograms = new EnumMap<>(TickPhase.class);
+    private final TickHistogram[] entityTypeHistograms = new TickHistogram[ENTITY_TYPES.length];
+    private final Map<Class<? extends Event>, TickHistogram> eventHistograms = new ConcurrentHashMap<>();
+    private final Map<Instance, InstanceProfile> instanceProfiles = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    {
+        for (TickPhase phase : TickPhase.values()) {
+            this.phaseHistograms.put(phase, new TickHistogram());
+        }
+        for (int i = 0; i < entityTypeHistograms.length; i++) {
+            this.entityTypeHistograms[i] = new TickHistogram();
+        }
+    }
+
+    /**
+     * Starts recording the tick timings.
+     */
+    public void enable() {
+        this.enabled = true;
+    }
+
+    /**
+     * Stops recording the tick timings, already recorded timings are kept.
+     */
+    public void disable() {
+        this.enabled = false;
+    }
+
+    /**
+     * Gets if the profiler is recording.
+     *
+     * @return true if the profiler is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Clears all the recorded timings.
+     */
+    public void reset() {
+        this.phaseHistograms.values().forEach(TickHistogram::reset);
+        for (TickHistogram histogram : entityTypeHistograms) {
+            histogram.reset();
+        }
+        this.eventHistograms.clear();
+        this.instanceProfiles.clear();
+    }
+
+    /**
+     * Forgets the timings of a deleted instance.
+     * <p>
+     * WARNING: this is done automatically by the {@link net.minestom.server.UpdateManager}.
+     *
+     * @param instance the deleted instance
+     */
+    public void removeInstance(@NotNull Instance instance) {
+        this.instanceProfiles.remove(instance);
+    }
+
+    /**
+     * Forgets the timings of an unloaded chunk.
+     * <p>
+     * WARNING: this is done automatically by the {@link net.minestom.server.UpdateManager}.
+     *
+     * @param instance the instance of the chunk
+     * @param chunkX   the chunk X
+     * @param chunkZ   the chunk Z
+     */
+    public void removeChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        final InstanceProfile profile = instanceProfiles.get(instance);
+        if (profile == null)
+            return;
+        profile.chunkHistograms.remove(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+    }
+
+    /**
+     * Records the duration of a global phase.
+     * <p>
+     * WARNING: this is done automatically by the server.
+     *
+     * @param phase the phase
+     * @param nanos the duration in nanoseconds
+     */
+    public void recordPhase(@NotNull TickPhase phase, long nanos) {
+        this.phaseHistograms.get(phase).record(nanos);
+    }
+
+    /**
+     * Records the duration of an {@link Instance#tick(long)} call.
+     * <p>
+     * WARNING: this is done automatically by the {@link net.minestom.server.thread.ThreadProvider}.
+     *
+     * @param instance the ticked instance
+     * @param nanos    the duration in nanoseconds
+     */
+    public void recordInstance(@NotNull Instance instance, long nanos) {
+        recordPhase(TickPhase.INSTANCE, nanos);
+        getInstanceProfile(instance).instanceHistogram.record(nanos);
+    }
+
+    /**
+     * Records the duration of a {@link Chunk#tick(long, Instance)} call.
+     * <p>
+     * WARNING: this is done automatically by the {@link net.minestom.server.thread.ThreadProvider}.
+     *
+     * @param instance the instance of the chunk
+     * @param nanos    the duration in nanoseconds
+     */
+    public void recordChunkBlocks(@NotNull Instance instance, long nanos) {
+        recordPhase(TickPhase.CHUNK, nanos);
+        getInstanceProfile(instance).blockTime.add(nanos);
+    }
+
+    /**
+     * Records the duration of a whole chunk update, blocks and entities.
+     * <p>
+     * WARNING: this is done automatically by the {@link net.minestom.server.thread.ThreadProvider}.
+     *
+     * @param instance the instance of the chunk
+     * @param chunk    the updated chunk
+     * @param nanos    the duration in nanoseconds
+     */
+    public void recordChunk(@NotNull Instance instance, @NotNull Chunk chunk, long nanos) {
+        getInstanceProfile(instance).chunkHistograms
+                .computeIfAbsent(ChunkUtils.getChunkIndex(chunk.getChunkX(), chunk.getChunkZ()), index -> new TickHistogram())
+                .record(nanos);
+    }
+
+    /**
+     * Records the duration of an {@link net.minestom.server.entity.Entity#tick(long)} call.
+     * <p>
+     * WARNING: this is done automatically by the {@link net.minestom.server.thread.ThreadProvider}.
+     *
+     * @param instance   the instance of the entity
+     * @param entityType the type of the entity, can be null
+     * @param nanos      the duration in nanoseconds
+     */
+    public void recordEntity(@NotNull Instance instance, @Nullable EntityType entityType, long nanos) {
+        recordPhase(TickPhase.ENTITY, nanos);
+        if (entityType == null)
+            return;
+        final int ordinal = entityType.ordinal();
+        this.entityTypeHistograms[ordinal].record(nanos);
+        getInstanceProfile(instance).entityTypeTimes.addAndGet(ordinal, nanos);
+    }
+
+    /**
+     * Records the duration of an event call.
+     * <p>
+     * WARNING: this is done automatically by {@link net.minestom.server.event.handler.EventHandler}.
+     *
+     * @param eventClass the class of the called event
+     * @param nanos      the duration in nanoseconds
+     */
+    public void recordEvent(@NotNull Class<? extends Event> eventClass, long nanos) {
+        recordPhase(TickPhase.EVENT, nanos);
+        this.eventHistograms.computeIfAbsent(eventClass, c -> new TickHistogram()).record(nanos);
+    }
+
+    /**
+     * Gets the timings of a phase.
+     *
+     * @param phase the phase
+     * @return the histogram of the phase
+     */
+    @NotNull
+    public TickHistogram getPhaseHistogram(@NotNull TickPhase phase) {
+        return phaseHistograms.get(phase);
+    }
+
+    /**
+     * Gets the timings of the {@link Instance#tick(long)} calls of an instance.
+     *
+     * @param instance the instance
+     * @return the histogram of the instance, null if nothing has been recorded
+     */
+    @Nullable
+    public TickHistogram getInstanceHistogram(@NotNull Instance instance) {
+        final InstanceProfile profile = instanceProfiles.get(instance);
+        return profile != null ? profile.instanceHistogram : null;
+    }
+
+    /**
+     * Gets the timings of the chunks of an instance, each timing contains the blocks and entities update.
+     *
+     * @param instance the instance
+     * @return a copy of the map containing the histogram of each updated chunk,
+     * keyed by {@link ChunkUtils#getChunkIndex(int, int)}
+     */
+    @NotNull
+    public Long2ObjectMap<TickHistogram> getChunkHistograms(@NotNull Instance instance) {
+        final InstanceProfile profile = instanceProfiles.get(instance);
+        if (profile == null)
+            return Long2ObjectMaps.emptyMap();
+        synchronized (profile.chunkHistograms) {
+            return new Long2ObjectOpenHashMap<>(profile.chunkHistograms);
+        }
+    }
+
+    /**
+     * Gets the timings of the entities of a type, in all the instances.
+     *
+     * @param entityType the entity type
+     * @return the histogram of the entity type
+     */
+    @NotNull
+    public TickHistogram getEntityTypeHistogram(@NotNull EntityType entityType) {
+        return entityTypeHistograms[entityType.ordinal()];
+    }
+
+    /**
+     * Gets the timings of the event calls.
+     *
+     * @return an unmodifiable map containing the histogram of each called event
+     */
+    @NotNull
+    public Map<Class<? extends Event>, TickHistogram> getEventHistograms() {
+        return Collections.unmodifiableMap(eventHistograms);
+    }
+
+    /**
+     * Writes the recorded timings in the folded stacks format ({@code frame;frame;frame value}),
+     * values are in nanoseconds.
+     * <p>
+     * Events are not part of the stacks as their time is already counted in the phase calling them.
+     *
+     * @param writer the writer to write the stacks to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeFoldedStacks(@NotNull Writer writer) throws IOException {
+        final String root = TickPhase.TICK.getName();
+        writeStack(writer, root + ";" + TickPhase.TICK_CALLBACKS.getName(), getPhaseHistogram(TickPhase.TICK_CALLBACKS).getTotal());
+        writeStack(writer, root + ";" + TickPhase.WAITING_PLAYERS.getName(), getPhaseHistogram(TickPhase.WAITING_PLAYERS).getTotal());
+        writeStack(writer, root + ";" + TickPhase.KEEP_ALIVE.getName(), getPhaseHistogram(TickPhase.KEEP_ALIVE).getTotal());
+
+        for (Map.Entry<Instance, InstanceProfile> entry : instanceProfiles.entrySet()) {
+            final String instanceFrame = root + ";" + TickPhase.SERVER_TICK.getName() +
+                    ";instance " + entry.getKey().getUniqueId() + ";";
+            final InstanceProfile profile = entry.getValue();
+
+            writeStack(writer, instanceFrame + TickPhase.INSTANCE.getName(), profile.instanceHistogram.getTotal());
+            writeStack(writer, instanceFrame + TickPhase.CHUNK.getName(), profile.blockTime.sum());
+            for (int i = 0; i < ENTITY_TYPES.length; i++) {
+                writeStack(writer, instanceFrame + TickPhase.ENTITY.getName() + ";" + ENTITY_TYPES[i].getNamespaceID(),
+                        profile.entityTypeTimes.get(i));
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes the recorded timings in the folded stacks format to a file.
+     *
+     * @param path the path of the file, overwritten if it already exists
+     * @throws IOException if an I/O error occurs
+     * @see #writeFoldedStacks(Writer)
+     */
+    public void exportFoldedStacks(@NotNull Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeFoldedStacks(writer);
+        }
+    }
+
+    private static void writeStack(@NotNull Writer writer, @NotNull String stack, long value) throws IOException {
+        if (value <= 0)
+            return;
+        writer.write(stack);
+        writer.write(' ');
+        writer.write(Long.toString(value));
+        writer.write('\n');
+    }
+
+    @NotNull
+    private InstanceProfile getInstanceProfile(@NotNull Instance instance) {
+        return instanceProfiles.computeIfAbsent(instance, i -> new InstanceProfile());
+    }
+
+    private static final class InstanceProfile {
+        private final TickHistogram instanceHistogram = new TickHistogram();
+        // Chunk index -> its histogram
+        private final Long2ObjectMap<TickHistogram> chunkHistograms = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+        private final LongAdder blockTime = new LongAdder();
+        private final AtomicLongArray entityTypeTimes = new AtomicLongArray(ENTITY_TYPES.length);
+    }
+}
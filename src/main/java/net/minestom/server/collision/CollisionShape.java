@@ -0,0 +1,263 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockAlternative;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The collision boxes of a block state, relative to the block position.
+ * <p>
+ * The shapes are computed once from the {@link Block} registry: blocks which are not {@link Block#isSolid() solid}
+ * have no collision, the usual partial blocks (slabs, stairs, fences, walls, panes, doors, trapdoors, snow layers...)
+ * get their vanilla boxes depending on their properties and the other solid blocks are full cubes.
+ * They can then be retrieved without allocation with {@link #fromStateId(short)}.
+ */
+public final class CollisionShape {
+
+    public static final CollisionShape EMPTY = new CollisionShape(new double[0]);
+    public static final CollisionShape FULL = box(0, 0, 0, 1, 1, 1);
+
+    private static final CollisionShape[] SHAPES = new CollisionShape[Short.MAX_VALUE];
+
+    static {
+        Arrays.fill(SHAPES, EMPTY);
+        for (Block block : Block.values()) {
+            for (BlockAlternative alternative : block.getAlternatives()) {
+                SHAPES[alternative.getId()] = computeShape(block, alternative);
+            }
+        }
+    }
+
+    // minX, minY, minZ, maxX, maxY, maxZ of each box
+    private final double[] boxes;
+    private final double maxY;
+
+    private CollisionShape(@NotNull double[] boxes) {
+        this.boxes = boxes;
+        double maxY = 0;
+        for (int i = 0; i < boxes.length; i += 6) {
+            maxY = Math.max(maxY, boxes[i + 4]);
+        }
+        this.maxY = maxY;
+    }
+
+    /**
+     * Gets the collision shape of a block state.
+     *
+     * @param blockStateId the block state id
+     * @return the shape of the block state, {@link #EMPTY} if unknown
+     */
+    @NotNull
+    public static CollisionShape fromStateId(short blockStateId) {
+        return blockStateId >= 0 ? SHAPES[blockStateId] : EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return boxes.length == 0;
+    }
+
+    public int getBoxCount() {
+        return boxes.length / 6;
+    }
+
+    public double getMinX(int box) {
+        return boxes[box * 6];
+    }
+
+    public double getMinY(int box) {
+        return boxes[box * 6 + 1];
+    }
+
+    public double getMinZ(int box) {
+        return boxes[box * 6 + 2];
+    }
+
+    public double getMaxX(int box) {
+        return boxes[box * 6 + 3];
+    }
+
+    public double getMaxY(int box) {
+        return boxes[box * 6 + 4];
+    }
+
+    public double getMaxZ(int box) {
+        return boxes[box * 6 + 5];
+    }
+
+    /**
+     * Gets the highest Y of the boxes, above 1 for fences and walls.
+     *
+     * @return the shape max Y
+     */
+    public double getMaxY() {
+        return maxY;
+    }
+
+    @NotNull
+    private static CollisionShape box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        return new CollisionShape(new double[]{minX, minY, minZ, maxX, maxY, maxZ});
+    }
+
+    @NotNull
+    private static CollisionShape boxes(@NotNull double[]... boxes) {
+        double[] values = new double[boxes.length * 6];
+        for (int i = 0; i < boxes.length; i++) {
+            System.arraycopy(boxes[i], 0, values, i * 6, 6);
+        }
+        return new CollisionShape(values);
+    }
+
+    @NotNull
+    private static CollisionShape computeShape(@NotNull Block block, @NotNull BlockAlternative alternative) {
+        if (!block.isSolid())
+            return EMPTY;
+
+        final String name = block.getName();
+        if (name.endsWith("_slab")) {
+            final String type = alternative.getProperty("type");
+            if ("bottom".equals(type)) {
+                return box(0, 0, 0, 1, 0.5, 1);
+            } else if ("top".equals(type)) {
+                return box(0, 0.5, 0, 1, 1, 1);
+            }
+            return FULL;
+        } else if (name.endsWith("_stairs")) {
+            final boolean top = "top".equals(alternative.getProperty("half"));
+            final double baseMinY = top ? 0.5 : 0;
+            final double stepMinY = top ? 0 : 0.5;
+            return boxes(new double[]{0, baseMinY, 0, 1, baseMinY + 0.5, 1},
+                    sideBox(alternative.getProperty("facing"), 0.5, stepMinY, stepMinY + 0.5));
+        } else if (name.endsWith("_fence_gate")) {
+            if ("true".equals(alternative.getProperty("open")))
+                return EMPTY;
+            final String facing = alternative.getProperty("facing");
+            return "north".equals(facing) || "south".equals(facing) ?
+                    box(0, 0, 0.375, 1, 1.5, 0.625) :
+                    box(0.375, 0, 0, 0.625, 1.5, 1);
+        } else if (name.endsWith("_fence")) {
+            return connectedShape(alternative, 0.375, 0.625, 0.375, 0.625, 1.5);
+        } else if (name.endsWith("_wall")) {
+            return connectedShape(alternative, 0.25, 0.75, 0.3125, 0.6875, 1.5);
+        } else if (name.endsWith("glass_pane") || name.equals("minecraft:iron_bars")) {
+            return connectedShape(alternative, 0.4375, 0.5625, 0.4375, 0.5625, 1);
+        } else if (name.endsWith("_trapdoor")) {
+            if ("true".equals(alternative.getProperty("open"))) {
+                return new CollisionShape(sideBox(opposite(alternative.getProperty("facing")), 0.1875, 0, 1));
+            }
+            return "top".equals(alternative.getProperty("half")) ?
+                    box(0, 0.8125, 0, 1, 1, 1) :
+                    box(0, 0, 0, 1, 0.1875, 1);
+        } else if (name.endsWith("_door")) {
+            String facing = alternative.getProperty("facing");
+            if ("true".equals(alternative.getProperty("open"))) {
+                facing = "right".equals(alternative.getProperty("hinge")) ?
+                        rotateCounterClockwise(facing) : rotateClockwise(facing);
+            }
+            return new CollisionShape(sideBox(opposite(facing), 0.1875, 0, 1));
+        } else if (name.endsWith("_carpet")) {
+            return box(0, 0, 0, 1, 0.0625, 1);
+        } else if (name.endsWith("_bed")) {
+            return box(0, 0, 0, 1, 0.5625, 1);
+        } else if (name.endsWith("chest")) {
+            return box(0.0625, 0, 0.0625, 0.9375, 0.875, 0.9375);
+        }
+
+        switch (name) {
+            case "minecraft:snow":
+                final String layers = alternative.getProperty("layers");
+                final int layerCount = layers != null ? Integer.parseInt(layers) : 1;
+                return layerCount > 1 ? box(0, 0, 0, 1, (layerCount - 1) / 8d, 1) : EMPTY;
+            case "minecraft:farmland":
+            case "minecraft:grass_path":
+                return box(0, 0, 0, 1, 0.9375, 1);
+            case "minecraft:soul_sand":
+                return box(0, 0, 0, 1, 0.875, 1);
+            case "minecraft:cactus":
+                return box(0.0625, 0, 0.0625, 0.9375, 0.9375, 0.9375);
+            case "minecraft:enchanting_table":
+                return box(0, 0, 0, 1, 0.75, 1);
+            case "minecraft:daylight_detector":
+                return box(0, 0, 0, 1, 0.375, 1);
+            case "minecraft:end_portal_frame":
+                return box(0, 0, 0, 1, 0.8125, 1);
+            case "minecraft:ladder":
+                return new CollisionShape(sideBox(opposite(alternative.getProperty("facing")), 0.1875, 0, 1));
+            default:
+                return FULL;
+        }
+    }
+
+    /**
+     * Creates the box of a pillar with the arms connected to the sides whose property is not "none" or "false".
+     */
+    @NotNull
+    private static CollisionShape connectedShape(@NotNull BlockAlternative alternative,
+                                                 double postMin, double postMax,
+                                                 double armMin, double armMax, double height) {
+        double[][] boxes = new double[5][];
+        int count = 0;
+        boxes[count++] = new double[]{postMin, 0, postMin, postMax, height, postMax};
+        if (isConnected(alternative, "north"))
+            boxes[count++] = new double[]{armMin, 0, 0, armMax, height, postMin};
+        if (isConnected(alternative, "south"))
+            boxes[count++] = new double[]{armMin, 0, postMax, armMax, height, 1};
+        if (isConnected(alternative, "west"))
+            boxes[count++] = new double[]{0, 0, armMin, postMin, height, armMax};
+        if (isConnected(alternative, "east"))
+            boxes[count++] = new double[]{postMax, 0, armMin, 1, height, armMax};
+        return boxes(Arrays.copyOf(boxes, count));
+    }
+
+    private static boolean isConnected(@NotNull BlockAlternative alternative, @NotNull String side) {
+        final String value = alternative.getProperty(side);
+        return value != null && !value.equals("none") && !value.equals("false");
+    }
+
+    /**
+     * Creates a box of a given thickness against the side of the block in the direction {@code facing}.
+     */
+    @NotNull
+    private static double[] sideBox(String facing, double thickness, double minY, double maxY) {
+        if (facing == null)
+            return new double[]{0, minY, 0, 1, maxY, 1};
+        switch (facing) {
+            case "north":
+                return new double[]{0, minY, 0, 1, maxY, thickness};
+            case "south":
+                return new double[]{0, minY, 1 - thickness, 1, maxY, 1};
+            case "west":
+                return new double[]{0, minY, 0, thickness, maxY, 1};
+            case "east":
+                return new double[]{1 - thickness, minY, 0, 1, maxY, 1};
+            default:
+                return new double[]{0, minY, 0, 1, maxY, 1};
+        }
+    }
+
+    private static String opposite(String facing) {
+        return rotateClockwise(rotateClockwise(facing));
+    }
+
+    private static String rotateClockwise(String facing) {
+        if (facing == null)
+            return null;
+        switch (facing) {
+            case "north":
+                return "east";
+            case "east":
+                return "south";
+            case "south":
+                return "west";
+            case "west":
+                return "north";
+            default:
+                return facing;
+        }
+    }
+
+    private static String rotateCounterClockwise(String facing) {
+        return rotateClockwise(opposite(facing));
+    }
+}
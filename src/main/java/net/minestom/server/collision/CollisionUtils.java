@@ -4,24 +4,37 @@ import net.minestom.server.entity.Entity;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.WorldBorder;
-import net.minestom.server.instance.block.Block;
-import net.minestom.server.utils.BlockPosition;
 import net.minestom.server.utils.Position;
 import net.minestom.server.utils.Vector;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.Consumer;
+
 public class CollisionUtils {
 
-    private static final Vector Y_AXIS = new Vector(0, 1, 0);
-    private static final Vector X_AXIS = new Vector(1, 0, 0);
-    private static final Vector Z_AXIS = new Vector(0, 0, 1);
+    private static final int AXIS_X = 0;
+    private static final int AXIS_Y = 1;
+    private static final int AXIS_Z = 2;
+
+    // Tolerance of the collisions, prevents an entity touching a block from being considered inside
+    private static final double EPSILON = 1.0E-7;
+    // Vanilla push applied each tick by an intersecting entity
+    private static final double PUSH_STRENGTH = 0.05;
+
+    private static final ThreadLocal<PhysicsContext> CONTEXTS = ThreadLocal.withInitial(PhysicsContext::new);
 
     /**
-     * Moves an entity with physics applied (ie checking against blocks)
+     * Moves an entity with physics applied (ie checking against blocks).
+     * <p>
+     * The bounding box of the entity is swept on the Y, X then Z axis against the {@link CollisionShape} of the blocks
+     * and is stopped by the first box in the way. If the entity is {@link Entity#isPushable() pushable},
+     * it is first pushed away from the other pushable entities intersecting it.
+     * <p>
+     * Does not allocate, the state is kept in objects reused by the calling thread.
      *
      * @param entity        the entity to move
-     * @param deltaPosition
+     * @param deltaPosition the movement of the entity
      * @param positionOut   the Position object in which the new position will be saved
      * @param velocityOut   the Vector object in which the new velocity will be saved
      * @return whether this entity is on the ground
@@ -30,152 +43,187 @@ public class CollisionUtils {
                                         @NotNull Vector deltaPosition,
                                         @NotNull Position positionOut,
                                         @NotNull Vector velocityOut) {
-        // TODO handle collisions with nearby entities (should it be done here?)
         final Instance instance = entity.getInstance();
         final Position currentPosition = entity.getPosition();
         final BoundingBox boundingBox = entity.getBoundingBox();
 
-        Vector intermediaryPosition = new Vector();
-        final boolean yCollision = stepAxis(instance, currentPosition.toVector(), Y_AXIS, deltaPosition.getY(),
-                intermediaryPosition,
-                deltaPosition.getY() > 0 ? boundingBox.getTopFace() : boundingBox.getBottomFace()
-        );
-
-        final boolean xCollision = stepAxis(instance, intermediaryPosition, X_AXIS, deltaPosition.getX(),
-                intermediaryPosition,
-                deltaPosition.getX() < 0 ? boundingBox.getLeftFace() : boundingBox.getRightFace()
-        );
-
-        final boolean zCollision = stepAxis(instance, intermediaryPosition, Z_AXIS, deltaPosition.getZ(),
-                intermediaryPosition,
-                deltaPosition.getZ() > 0 ? boundingBox.getBackFace() : boundingBox.getFrontFace()
-        );
-
-        positionOut.setX(intermediaryPosition.getX());
-        positionOut.setY(intermediaryPosition.getY());
-        positionOut.setZ(intermediaryPosition.getZ());
-        velocityOut.copy(deltaPosition);
-        if (xCollision) {
-            velocityOut.setX(0f);
-        }
-        if (yCollision) {
-            velocityOut.setY(0f);
-        }
-        if (zCollision) {
-            velocityOut.setZ(0f);
+        final PhysicsContext context = CONTEXTS.get();
+        context.init(instance, currentPosition, boundingBox);
+
+        double deltaX = deltaPosition.getX();
+        final double deltaY = deltaPosition.getY();
+        double deltaZ = deltaPosition.getZ();
+        if (entity.isPushable()) {
+            context.computePush(entity);
+            deltaX += context.pushX;
+            deltaZ += context.pushZ;
         }
 
-        return yCollision && deltaPosition.getY() < 0;
+        final double moveY = context.sweep(AXIS_Y, deltaY);
+        final double moveX = context.sweep(AXIS_X, deltaX);
+        final double moveZ = context.sweep(AXIS_Z, deltaZ);
+        context.instance = null;
+
+        positionOut.setX(currentPosition.getX() + moveX);
+        positionOut.setY(currentPosition.getY() + moveY);
+        positionOut.setZ(currentPosition.getZ() + moveZ);
+
+        final boolean xCollision = moveX != deltaX;
+        final boolean yCollision = moveY != deltaY;
+        final boolean zCollision = moveZ != deltaZ;
+        velocityOut.setX(xCollision ? 0 : deltaX);
+        velocityOut.setY(yCollision ? 0 : deltaY);
+        velocityOut.setZ(zCollision ? 0 : deltaZ);
+
+        return yCollision && deltaY < 0;
     }
 
     /**
-     * Steps on a single axis. Checks against collisions for each point of 'corners'. This method assumes that startPosition is valid.
-     * Immediately return false if corners is of length 0.
-     *
-     * @param instance      instance to check blocks from
-     * @param startPosition starting position for stepping, can be intermediary position from last step
-     * @param axis          step direction. Works best if unit vector and aligned to an axis
-     * @param stepAmount    how much to step in the direction (in blocks)
-     * @param positionOut   the vector in which to store the new position
-     * @param corners       the corners to check against
-     * @return true if a collision has been found
+     * The state of a collision computation, reused by each thread.
      */
-    private static boolean stepAxis(Instance instance, Vector startPosition, Vector axis, double stepAmount, Vector positionOut, Vector... corners) {
-        positionOut.copy(startPosition);
-        if (corners.length == 0)
-            return false; // avoid degeneracy in following computations
-        // perform copies to allow in place modifications
-        // prevents making a lot of new objects. Well at least it reduces the count
-        BlockPosition[] cornerPositions = new BlockPosition[corners.length];
-        Vector[] cornersCopy = new Vector[corners.length];
-        for (int i = 0; i < corners.length; i++) {
-            cornersCopy[i] = corners[i].clone();
-            cornerPositions[i] = new BlockPosition(corners[i]);
+    private static final class PhysicsContext {
+
+        // minX, minY, minZ, maxX, maxY, maxZ of the moving box
+        private final double[] box = new double[6];
+        private final Consumer<Entity> pushConsumer = this::push;
+
+        private Instance instance;
+        private Entity entity;
+        private double pushX, pushZ;
+
+        // Last chunk read, most of the blocks are in the same chunk
+        private Chunk chunk;
+        private int chunkX, chunkZ;
+
+        private void init(@NotNull Instance instance, @NotNull Position position, @NotNull BoundingBox boundingBox) {
+            this.instance = instance;
+            this.chunk = null;
+            final double halfWidth = boundingBox.getWidth() / 2;
+            final double halfDepth = boundingBox.getDepth() / 2;
+            box[0] = position.getX() - halfWidth;
+            box[1] = position.getY();
+            box[2] = position.getZ() - halfDepth;
+            box[3] = position.getX() + halfWidth;
+            box[4] = position.getY() + boundingBox.getHeight();
+            box[5] = position.getZ() + halfDepth;
         }
 
-        final double sign = Math.signum(stepAmount);
-        final int blockLength = (int) stepAmount;
-        final double remainingLength = stepAmount - blockLength;
-        // used to determine if 'remainingLength' should be used
-        boolean collisionFound = false;
-        for (int i = 0; i < Math.abs(blockLength); i++) {
-            if (!stepOnce(instance, axis, sign, cornersCopy, cornerPositions)) {
-                collisionFound = true;
-            }
-            if (collisionFound) {
-                break;
+        /**
+         * Moves the box on an axis until it hits a block.
+         *
+         * @param axis  the axis to move along
+         * @param delta the wanted movement
+         * @return the applied movement
+         */
+        private double sweep(int axis, double delta) {
+            if (delta == 0)
+                return 0;
+
+            // Blocks touched by the box during the movement, the blocks below can be higher than 1 (fences)
+            final int minX = (int) Math.floor(box[0] + (axis == AXIS_X ? Math.min(delta, 0) : 0));
+            final int minY = (int) Math.floor(box[1] + (axis == AXIS_Y ? Math.min(delta, 0) : 0)) - 1;
+            final int minZ = (int) Math.floor(box[2] + (axis == AXIS_Z ? Math.min(delta, 0) : 0));
+            final int maxX = (int) Math.floor(box[3] + (axis == AXIS_X ? Math.max(delta, 0) : 0));
+            final int maxY = (int) Math.floor(box[4] + (axis == AXIS_Y ? Math.max(delta, 0) : 0));
+            final int maxZ = (int) Math.floor(box[5] + (axis == AXIS_Z ? Math.max(delta, 0) : 0));
+
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        final CollisionShape shape = getShape(x, y, z);
+                        for (int i = 0; i < shape.getBoxCount(); i++) {
+                            delta = clip(axis, delta,
+                                    x + shape.getMinX(i), y + shape.getMinY(i), z + shape.getMinZ(i),
+                                    x + shape.getMaxX(i), y + shape.getMaxY(i), z + shape.getMaxZ(i));
+                        }
+                    }
+                }
             }
-        }
 
-        // add remainingLength
-        if (!collisionFound) {
-            Vector direction = new Vector();
-            direction.copy(axis);
-            collisionFound = !stepOnce(instance, direction, remainingLength, cornersCopy, cornerPositions);
+            if (Math.abs(delta) < EPSILON)
+                delta = 0;
+            box[axis] += delta;
+            box[axis + 3] += delta;
+            return delta;
         }
 
-        // find the corner which moved the least
-        double smallestDisplacement = Double.POSITIVE_INFINITY;
-        for (int i = 0; i < corners.length; i++) {
-            final double displacement = corners[i].distance(cornersCopy[i]);
-            if (displacement < smallestDisplacement) {
-                smallestDisplacement = displacement;
+        /**
+         * Reduces a movement on an axis to stop before a block box.
+         */
+        private double clip(int axis, double delta,
+                            double minX, double minY, double minZ,
+                            double maxX, double maxY, double maxZ) {
+            // The box needs to be in the way on the other axes
+            if (axis != AXIS_X && (box[0] >= maxX - EPSILON || box[3] <= minX + EPSILON))
+                return delta;
+            if (axis != AXIS_Y && (box[1] >= maxY - EPSILON || box[4] <= minY + EPSILON))
+                return delta;
+            if (axis != AXIS_Z && (box[2] >= maxZ - EPSILON || box[5] <= minZ + EPSILON))
+                return delta;
+
+            final double blockMin = axis == AXIS_X ? minX : axis == AXIS_Y ? minY : minZ;
+            final double blockMax = axis == AXIS_X ? maxX : axis == AXIS_Y ? maxY : maxZ;
+            if (delta > 0 && blockMin >= box[axis + 3] - EPSILON) {
+                return Math.min(delta, blockMin - box[axis + 3]);
+            } else if (delta < 0 && blockMax <= box[axis] + EPSILON) {
+                return Math.max(delta, blockMax - box[axis]);
             }
+            // Already inside the block
+            return delta;
         }
 
-        positionOut.copy(startPosition);
-        positionOut.add(smallestDisplacement * axis.getX() * sign, smallestDisplacement * axis.getY() * sign, smallestDisplacement * axis.getZ() * sign);
-        return collisionFound;
-    }
+        @NotNull
+        private CollisionShape getShape(int x, int y, int z) {
+            if (y < 0 || y >= Chunk.CHUNK_SIZE_Y)
+                return CollisionShape.EMPTY;
 
-    /**
-     * Steps once (by a length of 1 block) on the given axis.
-     *
-     * @param instance        instance to get blocks from
-     * @param axis            the axis to move along
-     * @param amount
-     * @param cornersCopy     the corners of the bounding box to consider (mutable)
-     * @param cornerPositions the corners, converted to BlockPosition (mutable)
-     * @return false if this method encountered a collision
-     */
-    private static boolean stepOnce(Instance instance, Vector axis, double amount, Vector[] cornersCopy, BlockPosition[] cornerPositions) {
-        final double sign = Math.signum(amount);
-        for (int cornerIndex = 0; cornerIndex < cornersCopy.length; cornerIndex++) {
-            Vector corner = cornersCopy[cornerIndex];
-            BlockPosition blockPos = cornerPositions[cornerIndex];
-            corner.add(axis.getX() * amount, axis.getY() * amount, axis.getZ() * amount);
-            blockPos.setX((int) Math.floor(corner.getX()));
-            blockPos.setY((int) Math.floor(corner.getY()));
-            blockPos.setZ((int) Math.floor(corner.getZ()));
-
-            final Chunk chunk = instance.getChunkAt(blockPos);
+            final int chunkX = ChunkUtils.getChunkCoordinate(x);
+            final int chunkZ = ChunkUtils.getChunkCoordinate(z);
+            if (chunk == null || this.chunkX != chunkX || this.chunkZ != chunkZ) {
+                this.chunk = instance.getChunk(chunkX, chunkZ);
+                this.chunkX = chunkX;
+                this.chunkZ = chunkZ;
+            }
             if (!ChunkUtils.isLoaded(chunk)) {
                 // Collision at chunk border
-                return false;
+                return CollisionShape.FULL;
             }
+            return CollisionShape.fromStateId(chunk.getBlockStateId(x, y, z));
+        }
 
-            final short blockStateId = chunk.getBlockStateId(blockPos.getX(), blockPos.getY(), blockPos.getZ());
-            final Block block = Block.fromStateId(blockStateId);
+        private void computePush(@NotNull Entity entity) {
+            this.entity = entity;
+            this.pushX = 0;
+            this.pushZ = 0;
+            // Entities are indexed by position, the box is expanded to find the ones intersecting with theirs
+            instance.getEntityIndex().forEachInBox(box[0] - 2, box[1] - 4, box[2] - 2,
+                    box[3] + 2, box[4] + 1, box[5] + 2,
+                    null, pushConsumer);
+            this.entity = null;
+        }
 
-            // TODO: block collision boxes
-            // TODO: for the moment, always consider a full block
-            if (block.isSolid()) {
-                corner.subtract(axis.getX() * amount, axis.getY() * amount, axis.getZ() * amount);
+        private void push(@NotNull Entity other) {
+            if (other == entity || !other.isPushable())
+                return;
+            final BoundingBox otherBox = other.getBoundingBox();
+            if (otherBox.getMinX() > box[3] || otherBox.getMaxX() < box[0] ||
+                    otherBox.getMinY() > box[4] || otherBox.getMaxY() < box[1] ||
+                    otherBox.getMinZ() > box[5] || otherBox.getMaxZ() < box[2])
+                return;
 
-                if (Math.abs(axis.getX()) > 10e-16) {
-                    corner.setX(blockPos.getX() - axis.getX() * sign);
-                }
-                if (Math.abs(axis.getY()) > 10e-16) {
-                    corner.setY(blockPos.getY() - axis.getY() * sign);
-                }
-                if (Math.abs(axis.getZ()) > 10e-16) {
-                    corner.setZ(blockPos.getZ() - axis.getZ() * sign);
-                }
+            final Position position = entity.getPosition();
+            final Position otherPosition = other.getPosition();
+            double distanceX = otherPosition.getX() - position.getX();
+            double distanceZ = otherPosition.getZ() - position.getZ();
+            double distance = Math.max(Math.abs(distanceX), Math.abs(distanceZ));
+            if (distance < 0.01)
+                return;
 
-                return false;
-            }
+            distance = Math.sqrt(distance);
+            final double strength = Math.min(1, 1 / distance) * PUSH_STRENGTH;
+            this.pushX -= distanceX / distance * strength;
+            this.pushZ -= distanceZ / distance * strength;
         }
-        return true;
     }
 
     /**
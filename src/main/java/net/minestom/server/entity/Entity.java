@@ -13,9 +13,11 @@ import net.minestom.server.event.EventCallback;
 import net.minestom.server.event.entity.*;
 import net.minestom.server.event.handler.EventHandler;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.CustomBlock;
+import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.network.packet.server.play.*;
 import net.minestom.server.permission.Permission;
 import net.minestom.server.permission.PermissionHandler;
@@ -44,6 +46,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
@@ -99,6 +102,7 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
     protected int gravityTickCount; // Number of tick where gravity tick was applied
 
     private boolean autoViewable;
+    private boolean pushable;
     private final int id;
     protected final Set<Player> viewers = new CopyOnWriteArraySet<>();
     private final Set<Player> unmodifiableViewers = Collections.unmodifiableSet(viewers);
@@ -130,8 +134,21 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
 
     // Tick related
     private long ticks;
+    // Time of the last tick claimed by the thread provider, see #claimTick(long)
+    private final AtomicLong lastTickTime = new AtomicLong(Long.MIN_VALUE);
     private final EntityTickEvent tickEvent = new EntityTickEvent(this);
 
+    // Phased tick, see #computeMovement()
+    private boolean phasedTick;
+    private boolean movementComputed;
+    private double movementStartX, movementStartY, movementStartZ;
+    private final Vector movementDelta = new Vector();
+    private final Position computedPosition = new Position();
+    private final Vector computedVelocity = new Vector();
+    private boolean computedOnGround;
+    private final List<ServerPacket> deferredPackets = new ArrayList<>();
+    private boolean deferredSynchronization;
+
     public Entity(@NotNull EntityType entityType, @NotNull UUID uuid, @NotNull Position spawnPosition) {
         this.id = generateId();
         this.entityType = entityType;
@@ -278,8 +295,8 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
         entityHeadLookPacket.entityId = getEntityId();
         entityHeadLookPacket.yaw = yaw;
 
-        sendPacketToViewersAndSelf(entityHeadLookPacket);
-        sendPacketToViewersAndSelf(entityRotationPacket);
+        broadcastMovementPacket(entityHeadLookPacket);
+        broadcastMovementPacket(entityRotationPacket);
     }
 
     /**
@@ -317,12 +334,41 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
         this.autoViewable = autoViewable;
     }
 
+    /**
+     * Gets if the entity is pushed away by the other pushable entities intersecting its bounding box
+     * when its movement is computed by {@link CollisionUtils#handlePhysics(Entity, Vector, Position, Vector)}.
+     * <p>
+     * False by default for all entities.
+     *
+     * @return true if the entity is pushable, false otherwise
+     */
+    public boolean isPushable() {
+        return pushable;
+    }
+
+    /**
+     * Makes the entity pushable by the other pushable entities.
+     *
+     * @param pushable should the entity be pushed by the others
+     * @see #isPushable()
+     */
+    public void setPushable(boolean pushable) {
+        this.pushable = pushable;
+    }
+
     @Override
     public boolean addViewer(@NotNull Player player) {
+        if (viewers.contains(player))
+            return false;
+        // Movements broadcast during the tick are relative to the previous position,
+        // they need to be written to the current viewers only, before the spawn of the new one
+        MinecraftServer.getPacketBroadcaster().flush(this);
         boolean result = this.viewers.add(player);
         if (!result)
             return false;
         player.viewableEntities.add(this);
+        // The entity may have been destroyed during the tick, the destroy packet needs to be sent before the spawn
+        player.flushDestroyedEntities(getEntityId());
         return true;
     }
 
@@ -331,9 +377,8 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
         if (!viewers.remove(player))
             return false;
 
-        DestroyEntitiesPacket destroyEntitiesPacket = new DestroyEntitiesPacket();
-        destroyEntitiesPacket.entityIds = new int[]{getEntityId()};
-        player.getPlayerConnection().sendPacket(destroyEntitiesPacket);
+        // Sent with the other entities destroyed during the tick
+        player.destroyEntity(getEntityId());
         player.viewableEntities.remove(this);
         return true;
     }
@@ -368,6 +413,9 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
      * @param time the update time in milliseconds
      */
     public void tick(long time) {
+        final boolean phased = this.phasedTick;
+        this.phasedTick = false;
+
         if (instance == null)
             return;
 
@@ -420,7 +468,7 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
                         EntityPositionAndRotationPacket.getPacket(getEntityId(),
                                 position, new Position(cacheX, cacheY, cacheZ), isOnGround());
 
-                sendPacketToViewersAndSelf(positionAndRotationPacket);
+                sendMovementPacket(positionAndRotationPacket, phased);
 
                 refreshPosition(position.clone());
 
@@ -429,13 +477,13 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
                 entityHeadLookPacket.entityId = getEntityId();
                 entityHeadLookPacket.yaw = position.getYaw();
 
-                sendPacketToViewersAndSelf(entityHeadLookPacket);
+                sendMovementPacket(entityHeadLookPacket, phased);
 
             } else if (positionChange) {
                 EntityPositionPacket entityPositionPacket = EntityPositionPacket.getPacket(getEntityId(),
                         position, new Position(cacheX, cacheY, cacheZ), isOnGround());
 
-                sendPacketToViewersAndSelf(entityPositionPacket);
+                sendMovementPacket(entityPositionPacket, phased);
 
                 refreshPosition(position.clone());
 
@@ -457,11 +505,7 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
             }
 
             // Velocity
-            boolean applyVelocity;
-            // Non-player entities with either velocity or gravity enabled
-            applyVelocity = !isNettyClient && (hasVelocity() || !hasNoGravity());
-            // Players with a velocity applied (client is responsible for gravity)
-            applyVelocity |= isNettyClient && hasVelocity();
+            final boolean applyVelocity = shouldApplyVelocity(isNettyClient);
 
             if (applyVelocity) {
                 final float tps = MinecraftServer.TICK_PER_SECOND;
@@ -472,18 +516,18 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
 
                 Vector newVelocityOut = new Vector();
 
-                // Gravity force
-                final double gravityY = !hasNoGravity() ? Math.min(
-                        gravityDragPerTick + (gravityAcceleration * (double) gravityTickCount),
-                        gravityTerminalVelocity) : 0;
-
-                final Vector deltaPos = new Vector(
-                        getVelocity().getX() / tps,
-                        (getVelocity().getY() - gravityY) / tps,
-                        getVelocity().getZ() / tps
-                );
-
-                this.onGround = CollisionUtils.handlePhysics(this, deltaPos, newPosition, newVelocityOut);
+                final Vector deltaPos = getDeltaPosition(gravityTickCount);
+
+                if (phased && isComputedMovementValid(deltaPos)) {
+                    // Collisions have already been computed by #computeMovement()
+                    newPosition.setX(computedPosition.getX());
+                    newPosition.setY(computedPosition.getY());
+                    newPosition.setZ(computedPosition.getZ());
+                    newVelocityOut.copy(computedVelocity);
+                    this.onGround = computedOnGround;
+                } else {
+                    this.onGround = CollisionUtils.handlePhysics(this, deltaPos, newPosition, newVelocityOut);
+                }
 
                 // World border collision
                 final Position finalVelocityPosition = CollisionUtils.applyWorldBorder(instance, position, newPosition);
@@ -538,11 +582,11 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
 
                 // Synchronization and packets...
                 if (!isNettyClient) {
-                    sendSynchronization();
+                    synchronize(phased);
                 }
                 // Verify if velocity packet has to be sent
                 if (hasVelocity() || (!isNettyClient && gravityTickCount > 0)) {
-                    sendPacketToViewersAndSelf(getVelocityPacket());
+                    sendMovementPacket(getVelocityPacket(), phased);
                 }
             }
 
@@ -607,7 +651,7 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
         // Scheduled synchronization
         if (!CooldownUtils.hasCooldown(time, lastAbsoluteSynchronizationTime, SYNCHRONIZATION_COOLDOWN)) {
             this.lastAbsoluteSynchronizationTime = time;
-            sendSynchronization();
+            synchronize(phased);
         }
 
         if (shouldRemove() && !MinecraftServer.isStopping()) {
@@ -1154,7 +1198,7 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
      * Used to refresh the entity and its passengers position
      * - put the entity in the right instance chunk
      * - update the viewable chunks (load and unload)
-     * - add/remove players from the viewers list if {@link #isAutoViewable()} is enabled
+     * - add/remove players from the viewers list if {@link #isAutoViewable()} is enabled (see {@link EntityTracker})
      * <p>
      * WARNING: unsafe, should only be used internally in Minestom. Use {@link #teleport(Position)} instead.
      *
@@ -1178,6 +1222,7 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
 
         final Instance instance = getInstance();
         if (instance != null) {
+            instance.getEntityIndex().update(this, x, y, z);
 
             // Needed to refresh the client chunks when connecting for the first time
             final boolean forceUpdate = this instanceof Player && ((Player) this).getViewableChunks().isEmpty();
@@ -1195,7 +1240,6 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
                     // Refresh player view
                     final Player player = (Player) this;
                     player.refreshVisibleChunks(newChunk);
-                    player.refreshVisibleEntities(newChunk);
                 }
             }
         }
@@ -1339,6 +1383,129 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
         return scheduledRemoveTime != 0;
     }
 
+    /**
+     * Claims the tick at {@code time} of this entity.
+     * <p>
+     * Used by the {@link ThreadProvider} so that an entity is only ticked once per tick,
+     * even when it moves to a chunk ticked later or by another thread.
+     *
+     * @param time the time of the tick in milliseconds
+     * @return true if the tick has not been claimed yet
+     */
+    public boolean claimTick(long time) {
+        final long lastTime = lastTickTime.get();
+        return lastTime != time && lastTickTime.compareAndSet(lastTime, time);
+    }
+
+    /**
+     * Computes the movement and collisions of the next {@link #tick(long)} ahead of time.
+     * <p>
+     * Used by the phased entity update (see {@link ThreadProvider#setPhasedEntityTick(boolean)}),
+     * this only reads the world and can therefore be called for multiple entities in parallel.
+     * The next tick then applies the computed movement (unless the entity has been modified in-between)
+     * and keeps its movement packets until {@link #flushDeferredPackets()} is called.
+     */
+    public void computeMovement() {
+        this.phasedTick = true;
+        this.movementComputed = false;
+        if (instance == null || !shouldApplyVelocity(PlayerUtils.isNettyClient(this)))
+            return;
+
+        // The gravity tick count is refreshed at the start of the tick
+        final Vector deltaPos = getDeltaPosition(onGround ? 0 : gravityTickCount + 1);
+        this.movementStartX = position.getX();
+        this.movementStartY = position.getY();
+        this.movementStartZ = position.getZ();
+        this.movementDelta.copy(deltaPos);
+        this.computedOnGround = CollisionUtils.handlePhysics(this, deltaPos, computedPosition, computedVelocity);
+        this.movementComputed = true;
+    }
+
+    /**
+     * Sends the movement packets kept by the last phased {@link #tick(long)}.
+     * <p>
+     * Can be called for multiple entities in parallel.
+     */
+    public void flushDeferredPackets() {
+        if (!deferredPackets.isEmpty()) {
+            synchronized (deferredPackets) {
+                for (ServerPacket packet : deferredPackets) {
+                    broadcastMovementPacket(packet);
+                }
+                this.deferredPackets.clear();
+            }
+        }
+        if (deferredSynchronization) {
+            this.deferredSynchronization = false;
+            sendSynchronization();
+        }
+    }
+
+    private boolean shouldApplyVelocity(boolean isNettyClient) {
+        // Non-player entities with either velocity or gravity enabled
+        boolean applyVelocity = !isNettyClient && (hasVelocity() || !hasNoGravity());
+        // Players with a velocity applied (client is responsible for gravity)
+        applyVelocity |= isNettyClient && hasVelocity();
+        return applyVelocity;
+    }
+
+    @NotNull
+    private Vector getDeltaPosition(int gravityTickCount) {
+        final float tps = MinecraftServer.TICK_PER_SECOND;
+
+        // Gravity force
+        final double gravityY = !hasNoGravity() ? Math.min(
+                gravityDragPerTick + (gravityAcceleration * (double) gravityTickCount),
+                gravityTerminalVelocity) : 0;
+
+        return new Vector(
+                getVelocity().getX() / tps,
+                (getVelocity().getY() - gravityY) / tps,
+                getVelocity().getZ() / tps
+        );
+    }
+
+    private boolean isComputedMovementValid(@NotNull Vector deltaPos) {
+        return movementComputed &&
+                movementStartX == position.getX() &&
+                movementStartY == position.getY() &&
+                movementStartZ == position.getZ() &&
+                movementDelta.getX() == deltaPos.getX() &&
+                movementDelta.getY() == deltaPos.getY() &&
+                movementDelta.getZ() == deltaPos.getZ();
+    }
+
+    private void sendMovementPacket(@NotNull ServerPacket packet, boolean deferred) {
+        if (deferred) {
+            synchronized (deferredPackets) {
+                this.deferredPackets.add(packet);
+            }
+        } else {
+            broadcastMovementPacket(packet);
+        }
+    }
+
+    /**
+     * Sends a movement packet to the entity itself if it is a player,
+     * and to its viewers at the end of the tick with the other packets sent to the same viewers.
+     *
+     * @param packet the movement packet
+     */
+    private void broadcastMovementPacket(@NotNull ServerPacket packet) {
+        if (this instanceof Player) {
+            ((Player) this).getPlayerConnection().sendPacket(packet);
+        }
+        broadcastPacketToViewers(packet);
+    }
+
+    private void synchronize(boolean deferred) {
+        if (deferred) {
+            this.deferredSynchronization = true;
+        } else {
+            sendSynchronization();
+        }
+    }
+
     @NotNull
     protected EntityVelocityPacket getVelocityPacket() {
         final float strength = 8000f / MinecraftServer.TICK_PER_SECOND;
@@ -1368,6 +1535,14 @@ public abstract class Entity implements Viewable, EventHandler, DataContainer, P
     }
 
     protected void sendSynchronization() {
+        if (!deferredPackets.isEmpty()) {
+            // The relative movements computed before would be applied on top of the absolute position
+            synchronized (deferredPackets) {
+                this.deferredPackets.removeIf(packet -> packet instanceof EntityPositionPacket ||
+                        packet instanceof EntityPositionAndRotationPacket);
+            }
+        }
+
         EntityTeleportPacket entityTeleportPacket = new EntityTeleportPacket();
         entityTeleportPacket.entityId = getEntityId();
         entityTeleportPacket.position = getPosition().clone();
@@ -1,6 +1,7 @@
 package net.minestom.server.entity;
 
 import com.google.common.collect.Queues;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.advancements.AdvancementTab;
 import net.minestom.server.attribute.AttributeInstance;
@@ -23,6 +24,7 @@ import net.minestom.server.event.item.ItemUpdateStateEvent;
 import net.minestom.server.event.item.PickupExperienceEvent;
 import net.minestom.server.event.player.*;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.CustomBlock;
 import net.minestom.server.inventory.Inventory;
@@ -121,6 +123,8 @@ public class Player extends LivingEntity implements CommandSender {
     protected final PlayerConnection playerConnection;
     // All the entities that this player can see
     protected final Set<Entity> viewableEntities = new CopyOnWriteArraySet<>();
+    // Entities removed from the view since the last tick, destroyed with a single packet
+    private final IntArrayList destroyedEntities = new IntArrayList();
 
     private int latency;
     private JsonMessage displayName;
@@ -330,12 +334,13 @@ public class Player extends LivingEntity implements CommandSender {
     @Override
     public void update(long time) {
         // Network tick
+        flushDestroyedEntities(-1);
         this.playerConnection.update();
 
         // Process received packets
         ClientPlayPacket packet;
         while ((packet = packets.poll()) != null) {
-            packet.process(this);
+            processPacket(packet);
         }
 
         super.update(time); // Super update (item pickup/fire management)
@@ -390,23 +395,22 @@ public class Player extends LivingEntity implements CommandSender {
         if (!CooldownUtils.hasCooldown(time, lastExperiencePickupCheckTime, experiencePickupCooldown)) {
             this.lastExperiencePickupCheckTime = time;
 
-            final Chunk chunk = getChunk(); // TODO check surrounding chunks
-            final Set<Entity> entities = instance.getChunkEntities(chunk);
-            for (Entity entity : entities) {
-                if (entity instanceof ExperienceOrb) {
-                    final ExperienceOrb experienceOrb = (ExperienceOrb) entity;
-                    final BoundingBox itemBoundingBox = experienceOrb.getBoundingBox();
-                    if (expandedBoundingBox.intersect(itemBoundingBox)) {
-                        if (experienceOrb.shouldRemove() || experienceOrb.isRemoveScheduled())
-                            continue;
-                        PickupExperienceEvent pickupExperienceEvent = new PickupExperienceEvent(experienceOrb);
-                        callCancellableEvent(PickupExperienceEvent.class, pickupExperienceEvent, () -> {
-                            short experienceCount = pickupExperienceEvent.getExperienceCount(); // TODO give to player
-                            entity.remove();
-                        });
-                    }
-                }
-            }
+            // Orbs whose position is at most at 1 block of the player bounding box
+            instance.getEntityIndex().forEachInBox(
+                    expandedBoundingBox.getMinX() - 1, expandedBoundingBox.getMinY() - 1, expandedBoundingBox.getMinZ() - 1,
+                    expandedBoundingBox.getMaxX() + 1, expandedBoundingBox.getMaxY() + 1, expandedBoundingBox.getMaxZ() + 1,
+                    ExperienceOrb.class, experienceOrb -> {
+                        final BoundingBox itemBoundingBox = experienceOrb.getBoundingBox();
+                        if (expandedBoundingBox.intersect(itemBoundingBox)) {
+                            if (experienceOrb.shouldRemove() || experienceOrb.isRemoveScheduled())
+                                return;
+                            PickupExperienceEvent pickupExperienceEvent = new PickupExperienceEvent(experienceOrb);
+                            callCancellableEvent(PickupExperienceEvent.class, pickupExperienceEvent, () -> {
+                                short experienceCount = pickupExperienceEvent.getExperienceCount(); // TODO give to player
+                                experienceOrb.remove();
+                            });
+                        }
+                    });
         }
 
         // Eating animation
@@ -750,6 +754,7 @@ public class Player extends LivingEntity implements CommandSender {
 
             // Remove all previous viewable chunks (from the previous instance)
             this.viewableChunks.forEach(chunk -> chunk.removeViewer(this));
+            clearDeferredPackets();
             final Chunk chunk = getChunk();
             if (chunk != null) {
                 refreshVisibleChunks(chunk);
@@ -1571,9 +1576,9 @@ public class Player extends LivingEntity implements CommandSender {
             final int chunkX = ChunkUtils.getChunkCoordX(chunkIndex);
             final int chunkZ = ChunkUtils.getChunkCoordZ(chunkIndex);
 
-            this.instance.loadOptionalChunk(chunkX, chunkZ, chunk -> {
+            this.instance.loadVisibleChunk(chunkX, chunkZ, chunk -> {
                 if (chunk == null) {
-                    // Cannot load chunk (auto load is not enabled)
+                    // Cannot load chunk (auto load is not enabled or not visible anymore)
                     return;
                 }
                 chunk.addViewer(this);
@@ -1582,31 +1587,39 @@ public class Player extends LivingEntity implements CommandSender {
     }
 
     /**
-     * Refreshes the list of entities that the player should be able to see based on {@link MinecraftServer#getEntityViewDistance()}
-     * and {@link Entity#isAutoViewable()}.
+     * Refreshes the list of entities that the player should be able to see based on the tracking ranges
+     * of the instance {@link EntityTracker} and {@link Entity#isAutoViewable()}.
+     * <p>
+     * The view is already updated incrementally when the player changes chunk,
+     * this does a complete refresh (e.g. after a change of {@link MinecraftServer#getEntityViewDistance()}).
      *
      * @param newChunk the new chunk of the player (can be the current one)
      */
     public void refreshVisibleEntities(@NotNull Chunk newChunk) {
-        final int entityViewDistance = MinecraftServer.getEntityViewDistance();
-        final float maximalDistance = entityViewDistance * Chunk.CHUNK_SECTION_SIZE;
+        final EntityTracker entityTracker = instance.getEntityTracker();
+        final int chunkX = newChunk.getChunkX();
+        final int chunkZ = newChunk.getChunkZ();
 
         // Manage already viewable entities
         this.viewableEntities.forEach(entity -> {
-            final double distance = entity.getDistance(this);
-            if (distance > maximalDistance) {
+            if (entity.isAutoViewable() && !entityTracker.isInRange(entity, chunkX, chunkZ)) {
                 // Entity shouldn't be viewable anymore
-                if (isAutoViewable()) {
-                    entity.removeViewer(this);
-                }
-                if (entity instanceof Player && entity.isAutoViewable()) {
-                    removeViewer((Player) entity);
-                }
+                entity.removeViewer(this);
             }
         });
+        if (isAutoViewable()) {
+            getViewers().forEach(viewer -> {
+                if (!entityTracker.isInRange(viewer, chunkX, chunkZ)) {
+                    removeViewer(viewer);
+                }
+            });
+        }
 
         // Manage entities in unchecked chunks
-        EntityUtils.forEachRange(instance, newChunk.toPosition(), entityViewDistance, entity -> {
+        EntityUtils.forEachRange(instance, newChunk.toPosition(), entityTracker.getMaximumTrackingRange(), entity -> {
+            if (entity == this || !entityTracker.isInRange(entity, chunkX, chunkZ))
+                return;
+
             if (entity.isAutoViewable() && !entity.viewers.contains(this)) {
                 entity.addViewer(this);
             }
@@ -1615,7 +1628,37 @@ public class Player extends LivingEntity implements CommandSender {
                 addViewer((Player) entity);
             }
         });
+    }
+
+    /**
+     * Queues the destroy of an entity removed from the player view, sent during the next player tick.
+     *
+     * @param entityId the id of the destroyed entity
+     */
+    void destroyEntity(int entityId) {
+        synchronized (destroyedEntities) {
+            this.destroyedEntities.add(entityId);
+        }
+    }
 
+    /**
+     * Sends the destroy packet of the entities queued by {@link #destroyEntity(int)}.
+     *
+     * @param spawnedEntityId the id of an entity about to be spawned, the packet is only sent if it is queued,
+     *                        -1 to always send it
+     */
+    void flushDestroyedEntities(int spawnedEntityId) {
+        final int[] entityIds;
+        synchronized (destroyedEntities) {
+            if (destroyedEntities.isEmpty() ||
+                    (spawnedEntityId != -1 && !destroyedEntities.contains(spawnedEntityId)))
+                return;
+            entityIds = destroyedEntities.toIntArray();
+            this.destroyedEntities.clear();
+        }
+        DestroyEntitiesPacket destroyEntitiesPacket = new DestroyEntitiesPacket();
+        destroyEntitiesPacket.entityIds = entityIds;
+        this.playerConnection.sendPacket(destroyEntitiesPacket);
     }
 
     @Override
@@ -1744,9 +1787,19 @@ public class Player extends LivingEntity implements CommandSender {
         respawnPacket.dimensionType = dimensionType;
         respawnPacket.gameMode = gameMode;
         respawnPacket.isFlat = levelFlat;
+        clearDeferredPackets();
         playerConnection.sendPacket(respawnPacket);
     }
 
+    /**
+     * Discards the packets of the previous world deferred because of the connection backpressure.
+     */
+    private void clearDeferredPackets() {
+        if (playerConnection instanceof NettyPlayerConnection) {
+            ((NettyPlayerConnection) playerConnection).clearDeferredPackets();
+        }
+    }
+
     /**
      * Kicks the player with a reason.
      *
@@ -2183,6 +2236,22 @@ public class Player extends LivingEntity implements CommandSender {
         this.packets.add(packet);
     }
 
+    /**
+     * Processes a packet sent by this player.
+     * <p>
+     * Called during the player tick for queued packets, or directly in the reading thread
+     * depending on the {@link net.minestom.server.listener.manager.PacketExecutionPolicy} of the packet.
+     *
+     * @param packet the packet to process
+     */
+    public void processPacket(@NotNull ClientPlayPacket packet) {
+        packet.process(this);
+        // The packet is not used anymore once processed
+        if (MinecraftServer.hasClientPacketPooling() && playerConnection instanceof NettyPlayerConnection) {
+            ((NettyPlayerConnection) playerConnection).getPacketPool().release(packet);
+        }
+    }
+
     /**
      * Changes the storage player latency and update its tab value.
      *
@@ -52,7 +52,8 @@ public class FollowTargetGoal extends GoalSelector {
 
             if (navigator.getPathPosition() == null ||
                     (!navigator.getPathPosition().isSimilar(lastTargetPos))) {
-                navigator.setPathTo(lastTargetPos);
+                // Not requested if invalid or known to be unreachable
+                forceEnd = !navigator.setPathTo(lastTargetPos);
             } else {
                 forceEnd = true;
             }
@@ -63,6 +64,15 @@ public class FollowTargetGoal extends GoalSelector {
 
     @Override
     public void tick(long time) {
+        final Navigator navigator = entityCreature.getNavigator();
+        if (navigator.isComputingPath()) {
+            // Wait for the requested path, a new request would replace it
+            return;
+        }
+        if (navigator.getPathPosition() == null) {
+            // The target has been found unreachable
+            forceEnd = true;
+        }
         if (forceEnd ||
                 pathUpdateOption.getValue() == 0 ||
                 pathUpdateOption.getTimeUnit().toMilliseconds(pathUpdateOption.getValue()) + lastUpdateTime > time) {
@@ -71,8 +81,8 @@ public class FollowTargetGoal extends GoalSelector {
         Position targetPos = entityCreature.getTarget() != null ? entityCreature.getTarget().getPosition() : null;
         if (targetPos != null && !targetPos.equals(lastTargetPos)) {
             lastUpdateTime = time;
-            lastTargetPos.copy(lastTargetPos);
-            entityCreature.getNavigator().setPathTo(targetPos);
+            lastTargetPos.copy(targetPos);
+            navigator.setPathTo(targetPos);
         }
     }
 
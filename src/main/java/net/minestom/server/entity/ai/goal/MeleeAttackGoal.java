@@ -68,10 +68,14 @@ public class MeleeAttackGoal extends GoalSelector {
                 return;
             }
 
-            // Move toward the target entity
+            // Move toward the target entity, once the previous path is computed
             Navigator navigator = entityCreature.getNavigator();
+            if (navigator.isComputingPath()) {
+                return;
+            }
             final Position pathPosition = navigator.getPathPosition();
             final Position targetPosition = target.getPosition();
+            // The path position is reset if the target has been found unreachable, retried once not cached anymore
             if (pathPosition == null || !pathPosition.isSimilar(targetPosition)) {
                 navigator.setPathTo(targetPosition);
             }
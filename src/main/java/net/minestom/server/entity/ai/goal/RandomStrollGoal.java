@@ -2,21 +2,27 @@ package net.minestom.server.entity.ai.goal;
 
 import net.minestom.server.entity.EntityCreature;
 import net.minestom.server.entity.ai.GoalSelector;
+import net.minestom.server.entity.pathfinding.Navigator;
 import net.minestom.server.utils.Position;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 public class RandomStrollGoal extends GoalSelector {
 
     private static final long DELAY = 2500;
+    // Paths requested per stroll, each unreachable one is only known once computed
+    private static final int MAX_ATTEMPTS = 5;
 
     private final int radius;
     private final List<Position> closePositions;
 
     private long lastStroll;
+    private Iterator<Position> candidates;
+    private int attempts;
 
     public RandomStrollGoal(@NotNull EntityCreature entityCreature, int radius) {
         super(entityCreature);
@@ -33,25 +39,28 @@ public class RandomStrollGoal extends GoalSelector {
     @Override
     public void start() {
         Collections.shuffle(closePositions);
-
-        for (Position position : closePositions) {
-            final Position target = position.clone().add(entityCreature.getPosition());
-            final boolean result = entityCreature.getNavigator().setPathTo(target);
-            if (result) {
-                break;
-            }
-        }
-
+        this.candidates = closePositions.iterator();
+        this.attempts = 0;
+        requestNextPath();
     }
 
     @Override
     public void tick(long time) {
-
+        final Navigator navigator = entityCreature.getNavigator();
+        if (!navigator.isComputingPath() && navigator.getPathPosition() == null) {
+            // The previous candidate is unreachable
+            requestNextPath();
+        }
     }
 
     @Override
     public boolean shouldEnd() {
-        return true;
+        final Navigator navigator = entityCreature.getNavigator();
+        if (navigator.isComputingPath()) {
+            return false;
+        }
+        // The found path is followed after the end of the goal
+        return navigator.getPathPosition() != null || attempts >= MAX_ATTEMPTS || !candidates.hasNext();
     }
 
     @Override
@@ -63,6 +72,17 @@ public class RandomStrollGoal extends GoalSelector {
         return radius;
     }
 
+    private void requestNextPath() {
+        final Navigator navigator = entityCreature.getNavigator();
+        while (attempts < MAX_ATTEMPTS && candidates.hasNext()) {
+            final Position target = candidates.next().clone().add(entityCreature.getPosition());
+            if (navigator.setPathTo(target)) {
+                this.attempts++;
+                return;
+            }
+        }
+    }
+
     @NotNull
     private List<Position> getNearbyBlocks(int radius) {
         List<Position> blocks = new ArrayList<>();
@@ -2,6 +2,7 @@ package net.minestom.server.entity.pathfinding;
 
 import com.extollit.gaming.ai.path.HydrazinePathFinder;
 import com.extollit.gaming.ai.path.model.IPath;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.collision.CollisionUtils;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.LivingEntity;
@@ -15,18 +16,27 @@ import net.minestom.server.utils.position.PositionUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-// TODO all pathfinding requests could be processed in another thread
-
 /**
  * Necessary object for all {@link NavigableEntity}.
+ * <p>
+ * The paths are computed asynchronously by the {@link PathfindingManager}, the entity keeps following
+ * its current path until the new one is available.
  */
 public class Navigator {
 
+    // Ticks between the checks of the blocks read by the current path
+    private static final int OUTDATED_PATH_CHECK_TICKS = 20;
+
     private final PFPathingEntity pathingEntity;
     private HydrazinePathFinder pathFinder;
     private IPath path;
     private Position pathPosition;
 
+    // The request being computed, and the snapshot space of the followed path
+    private PathfindingManager.PathRequest pathRequest;
+    private PFSnapshotSpace pathSpace;
+    private int pathPriority = PathfindingManager.DEFAULT_PRIORITY;
+
     private final Entity entity;
 
     public Navigator(@NotNull Entity entity) {
@@ -91,7 +101,10 @@ public class Navigator {
     }
 
     /**
-     * Retrieves the path to {@code position} and ask the entity to follow the path.
+     * Requests the path to {@code position}, the entity will follow it once computed by the {@link PathfindingManager}.
+     * <p>
+     * The path is computed asynchronously, the request being replaced by the next call. Callers updating the target
+     * every tick should wait for {@link #isComputingPath()} to be false, otherwise the path may never be computed.
      * <p>
      * Can be set to null to reset the pathfinder.
      * <p>
@@ -101,9 +114,12 @@ public class Navigator {
      * @param position   the position to find the path to, null to reset the pathfinder
      * @param bestEffort whether to use the best-effort algorithm to the destination,
      *                   if false then this method is more likely to return immediately
-     * @return true if a path has been found
+     * @param priority   the priority of the request, the highest priorities being computed first
+     * @return true if the path has been requested, false if the position is invalid, already the path position
+     * or known to be unreachable from the entity position. A requested path can still be found unreachable
+     * once computed, {@link #getPathPosition()} is then reset to null when {@link #isComputingPath()} becomes false
      */
-    public synchronized boolean setPathTo(@Nullable Position position, boolean bestEffort) {
+    public synchronized boolean setPathTo(@Nullable Position position, boolean bestEffort, int priority) {
         if (position != null && pathPosition != null && position.isSimilar(pathPosition)) {
             // Tried to set path to the same target position
             return false;
@@ -116,8 +132,9 @@ public class Navigator {
             return false;
         }
 
-        pathFinder.reset();
+        cancelPathRequest();
         if (position == null) {
+            resetPath();
             return false;
         }
 
@@ -139,18 +156,23 @@ public class Navigator {
         }
 
         final Position targetPosition = position.clone();
+        this.pathRequest = MinecraftServer.getPathfindingManager().submit(this, instance,
+                targetPosition, bestEffort, priority);
+        if (pathRequest == null) {
+            // Unreachable
+            return false;
+        }
 
-        final IPath path = pathFinder.initiatePathTo(
-                targetPosition.getX(),
-                targetPosition.getY(),
-                targetPosition.getZ(),
-                bestEffort);
-        this.path = path;
-
-        final boolean success = path != null;
-        this.pathPosition = success ? targetPosition : null;
+        this.pathPosition = targetPosition;
+        this.pathPriority = priority;
+        return true;
+    }
 
-        return success;
+    /**
+     * @see #setPathTo(Position, boolean, int) with {@code priority} sets to {@link PathfindingManager#DEFAULT_PRIORITY}.
+     */
+    public boolean setPathTo(@Nullable Position position, boolean bestEffort) {
+        return setPathTo(position, bestEffort, PathfindingManager.DEFAULT_PRIORITY);
     }
 
     /**
@@ -160,12 +182,38 @@ public class Navigator {
         return setPathTo(position, true);
     }
 
+    /**
+     * Gets if a path requested by {@link #setPathTo(Position, boolean, int)} is being computed.
+     *
+     * @return true if a path is being computed
+     */
+    public synchronized boolean isComputingPath() {
+        return pathRequest != null;
+    }
+
     public synchronized void tick(float speed) {
         // No pathfinding tick for dead entities
         if (entity instanceof LivingEntity && ((LivingEntity) entity).isDead())
             return;
 
-        if (pathPosition != null) {
+        final PathfindingManager.PathRequest request = this.pathRequest;
+        if (request != null && request.isDone()) {
+            this.pathRequest = null;
+            applyPathRequest(request);
+        }
+
+        if (pathPosition != null && pathSpace != null && request == null &&
+                entity.getAliveTicks() % OUTDATED_PATH_CHECK_TICKS == 0 && pathSpace.isOutdated()) {
+            // The blocks changed since the path computation, compute it again while following the current one
+            final Position targetPosition = pathPosition;
+            final Instance instance = entity.getInstance();
+            if (instance != null) {
+                this.pathRequest = MinecraftServer.getPathfindingManager().submit(this, instance,
+                        targetPosition, true, pathPriority);
+            }
+        }
+
+        if (pathPosition != null && path != null) {
             IPath path = pathFinder.updatePathFor(pathingEntity);
             this.path = path;
 
@@ -174,15 +222,46 @@ public class Navigator {
                 if (targetPosition != null) {
                     moveTowards(targetPosition, speed);
                 }
-            } else {
-                if (pathPosition != null) {
-                    this.pathPosition = null;
-                    pathFinder.reset();
-                }
+            } else if (pathRequest == null) {
+                resetPath();
             }
         }
     }
 
+    private void applyPathRequest(@NotNull PathfindingManager.PathRequest request) {
+        if (request.getInstance() != entity.getInstance()) {
+            // The entity changed instance during the computation
+            return;
+        }
+
+        final IPath path = request.getPath();
+        if (path == null) {
+            resetPath();
+            return;
+        }
+
+        this.pathFinder = request.getPathFinder();
+        this.pathSpace = request.getSpace();
+        this.path = path;
+        this.pathPosition = request.getTarget();
+    }
+
+    private void cancelPathRequest() {
+        final PathfindingManager.PathRequest request = this.pathRequest;
+        if (request != null) {
+            request.cancel();
+            this.pathRequest = null;
+        }
+    }
+
+    private void resetPath() {
+        this.pathPosition = null;
+        this.path = null;
+        if (pathFinder != null) {
+            this.pathFinder.reset();
+        }
+    }
+
     /**
      * Gets the pathing entity.
      * <p>
@@ -207,8 +286,12 @@ public class Navigator {
         return pathFinder;
     }
 
-    public void setPathFinder(@Nullable HydrazinePathFinder pathFinder) {
+    public synchronized void setPathFinder(@Nullable HydrazinePathFinder pathFinder) {
+        cancelPathRequest();
         this.pathFinder = pathFinder;
+        this.pathSpace = null;
+        this.path = null;
+        this.pathPosition = null;
     }
 
     /**
@@ -1,13 +1,12 @@
 package net.minestom.server.entity.pathfinding;
 
 import com.extollit.gaming.ai.path.model.IBlockDescription;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
 import net.minestom.server.instance.block.Block;
 
 public class PFBlockDescription implements IBlockDescription {
 
-    private static final Short2ObjectMap<PFBlockDescription> BLOCK_DESCRIPTION_MAP = new Short2ObjectOpenHashMap<>();
+    // Read by the pathfinding threads, a race only creates an equivalent object
+    private static final PFBlockDescription[] BLOCK_DESCRIPTIONS = new PFBlockDescription[Short.MAX_VALUE];
 
     /**
      * Gets the {@link PFBlockDescription} linked to the block state id.
@@ -18,16 +17,12 @@ public class PFBlockDescription implements IBlockDescription {
      * @return the {@link PFBlockDescription} linked to {@code blockStateId}
      */
     public static PFBlockDescription getBlockDescription(short blockStateId) {
-        if (!BLOCK_DESCRIPTION_MAP.containsKey(blockStateId)) {
-            synchronized (BLOCK_DESCRIPTION_MAP) {
-                final Block block = Block.fromStateId(blockStateId);
-                final PFBlockDescription blockDescription = new PFBlockDescription(block);
-                BLOCK_DESCRIPTION_MAP.put(blockStateId, blockDescription);
-                return blockDescription;
-            }
+        PFBlockDescription blockDescription = BLOCK_DESCRIPTIONS[blockStateId];
+        if (blockDescription == null) {
+            blockDescription = new PFBlockDescription(Block.fromStateId(blockStateId));
+            BLOCK_DESCRIPTIONS[blockStateId] = blockDescription;
         }
-
-        return BLOCK_DESCRIPTION_MAP.get(blockStateId);
+        return blockDescription;
     }
 
     private final Block block;
@@ -2,13 +2,12 @@ package net.minestom.server.entity.pathfinding;
 
 import com.extollit.gaming.ai.path.model.IBlockObject;
 import com.extollit.linalg.immutable.AxisAlignedBBox;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectMap;
-import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
 import net.minestom.server.instance.block.Block;
 
 public class PFBlockObject implements IBlockObject {
 
-    private static final Short2ObjectMap<PFBlockObject> BLOCK_OBJECT_MAP = new Short2ObjectOpenHashMap<>();
+    // Read by the pathfinding threads, a race only creates an equivalent object
+    private static final PFBlockObject[] BLOCK_OBJECTS = new PFBlockObject[Short.MAX_VALUE];
 
     /**
      * Gets the {@link PFBlockObject} linked to the block state id.
@@ -19,16 +18,12 @@ public class PFBlockObject implements IBlockObject {
      * @return the {@link PFBlockObject} linked to {@code blockStateId}
      */
     public static PFBlockObject getBlockObject(short blockStateId) {
-        if (!BLOCK_OBJECT_MAP.containsKey(blockStateId)) {
-            synchronized (BLOCK_OBJECT_MAP) {
-                final Block block = Block.fromStateId(blockStateId);
-                final PFBlockObject blockObject = new PFBlockObject(block);
-                BLOCK_OBJECT_MAP.put(blockStateId, blockObject);
-                return blockObject;
-            }
+        PFBlockObject blockObject = BLOCK_OBJECTS[blockStateId];
+        if (blockObject == null) {
+            blockObject = new PFBlockObject(Block.fromStateId(blockStateId));
+            BLOCK_OBJECTS[blockStateId] = blockObject;
         }
-
-        return BLOCK_OBJECT_MAP.get(blockStateId);
+        return blockObject;
     }
 
     private final Block block;
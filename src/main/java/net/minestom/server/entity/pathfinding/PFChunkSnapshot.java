@@ -0,0 +1,68 @@
+package net.minestom.server.entity.pathfinding;
+
+import net.minestom.server.instance.Chunk;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable copy of the block states of a {@link Chunk} at a given {@link Chunk#getVersion()},
+ * shared by the path computations of all the pathfinding threads.
+ * <p>
+ * Sections are copied in bulk from the chunk palette the first time they are read,
+ * a section is only published once completely copied.
+ */
+final class PFChunkSnapshot {
+
+    private static final int SECTION_SIZE = Chunk.CHUNK_SECTION_SIZE;
+
+    private final Chunk chunk;
+    private final long version;
+    private final AtomicReferenceArray<short[]> sections = new AtomicReferenceArray<>(Chunk.CHUNK_SECTION_COUNT);
+
+    PFChunkSnapshot(@NotNull Chunk chunk) {
+        this.chunk = chunk;
+        this.version = chunk.getVersion();
+    }
+
+    short getBlockStateId(int x, int y, int z) {
+        if (y < 0 || y >= Chunk.CHUNK_SIZE_Y)
+            return 0;
+
+        final int sectionIndex = y / SECTION_SIZE;
+        short[] section = sections.get(sectionIndex);
+        if (section == null) {
+            section = copySection(sectionIndex);
+            if (!sections.compareAndSet(sectionIndex, null, section)) {
+                section = sections.get(sectionIndex);
+            }
+        }
+        return section[index(x & 0xF, y & 0xF, z & 0xF)];
+    }
+
+    /**
+     * Gets if the chunk has been modified or unloaded since the snapshot.
+     *
+     * @param chunk the current chunk at the snapshot position, null if unloaded
+     * @return true if the snapshot does not represent {@code chunk}
+     */
+    boolean isOutdated(Chunk chunk) {
+        return chunk != this.chunk || !chunk.isLoaded() || chunk.getVersion() != version;
+    }
+
+    @NotNull
+    Chunk getChunk() {
+        return chunk;
+    }
+
+    @NotNull
+    private short[] copySection(int sectionIndex) {
+        short[] section = new short[SECTION_SIZE * SECTION_SIZE * SECTION_SIZE];
+        this.chunk.getSectionBlockStateIds(sectionIndex, section);
+        return section;
+    }
+
+    private static int index(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+}
@@ -4,23 +4,42 @@ import com.extollit.gaming.ai.path.model.ColumnarOcclusionFieldList;
 import com.extollit.gaming.ai.path.model.IBlockDescription;
 import com.extollit.gaming.ai.path.model.IColumnarSpace;
 import com.extollit.gaming.ai.path.model.IInstanceSpace;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
 
+/**
+ * The occlusion fields of a {@link Chunk}, shared by the pathfinders using the {@link PFInstanceSpace}.
+ * <p>
+ * Created the first time a pathfinder touches the chunk, the blocks are then read from the {@link PFChunkSnapshot}
+ * of the last update (copied in bulk from the chunk palette) and the fields are computed lazily by section.
+ * The block changes are only recorded, and applied once per tick by {@link #update()}.
+ */
 public class PFColumnarSpace implements IColumnarSpace {
 
-    private final ColumnarOcclusionFieldList occlusionFieldList = new ColumnarOcclusionFieldList(this);
+    // Above this number of changes in a tick (e.g. a chunk batch), the fields are computed again instead of being updated
+    private static final int MAXIMUM_UPDATED_BLOCKS = 512;
+
     private final PFInstanceSpace instanceSpace;
     private final Chunk chunk;
 
+    private volatile ColumnarOcclusionFieldList occlusionFieldList = new ColumnarOcclusionFieldList(this);
+    private volatile PFChunkSnapshot snapshot;
+
+    // Indexes of the blocks changed since the last update, see ChunkUtils#getBlockIndex
+    private final IntSet changedBlocks = new IntOpenHashSet();
 
     public PFColumnarSpace(PFInstanceSpace instanceSpace, Chunk chunk) {
         this.instanceSpace = instanceSpace;
         this.chunk = chunk;
+        this.snapshot = instanceSpace.getChunkSnapshot(chunk);
     }
 
     @Override
     public IBlockDescription blockAt(int x, int y, int z) {
-        final short blockStateId = chunk.getBlockStateId(x, y, z);
+        final short blockStateId = snapshot.getBlockStateId(x, y, z);
         return PFBlockDescription.getBlockDescription(blockStateId);
     }
 
@@ -38,4 +57,58 @@ public class PFColumnarSpace implements IColumnarSpace {
     public IInstanceSpace instance() {
         return instanceSpace;
     }
+
+    /**
+     * Records a block change, applied to the occlusion fields during the next {@link #update()}.
+     * <p>
+     * Called by the chunk each time a block is set, multiple changes of the same block are only applied once.
+     *
+     * @param index the index of the changed block, see {@link ChunkUtils#getBlockIndex(int, int, int)}
+     */
+    public void onBlockChanged(int index) {
+        synchronized (changedBlocks) {
+            this.changedBlocks.add(index);
+        }
+    }
+
+    /**
+     * Applies the block changes recorded since the last update, if the chunk version changed.
+     * <p>
+     * Called once per tick by {@link PFInstanceSpace#update()}.
+     */
+    void update() {
+        if (!snapshot.isOutdated(chunk))
+            return;
+
+        final int[] changes;
+        synchronized (changedBlocks) {
+            changes = changedBlocks.toIntArray();
+            this.changedBlocks.clear();
+        }
+
+        final PFChunkSnapshot snapshot = instanceSpace.getChunkSnapshot(chunk);
+        this.snapshot = snapshot;
+
+        if (changes.length == 0 || changes.length > MAXIMUM_UPDATED_BLOCKS) {
+            // Cheaper to compute the touched sections again
+            this.occlusionFieldList = new ColumnarOcclusionFieldList(this);
+            return;
+        }
+
+        final int chunkX = chunk.getChunkX();
+        final int chunkZ = chunk.getChunkZ();
+        for (int index : changes) {
+            final int x = ChunkUtils.blockIndexToPositionX(index, chunkX);
+            final int y = ChunkUtils.blockIndexToPositionY(index);
+            final int z = ChunkUtils.blockIndexToPositionZ(index, chunkZ);
+            final PFBlockDescription blockDescription =
+                    PFBlockDescription.getBlockDescription(snapshot.getBlockStateId(x, y, z));
+            this.occlusionFieldList.onBlockChanged(x, y, z, blockDescription, 0);
+        }
+    }
+
+    @NotNull
+    Chunk getChunk() {
+        return chunk;
+    }
 }
@@ -5,6 +5,9 @@ import com.extollit.gaming.ai.path.model.IColumnarSpace;
 import com.extollit.gaming.ai.path.model.IInstanceSpace;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -12,7 +15,10 @@ import java.util.concurrent.ConcurrentHashMap;
 public class PFInstanceSpace implements IInstanceSpace {
 
     private final Instance instance;
-    private final Map<Chunk, PFColumnarSpace> chunkSpaceMap = new ConcurrentHashMap<>();
+    // Occlusion fields per chunk index, evicted once the chunk is unloaded
+    private final Map<Long, PFColumnarSpace> chunkSpaceMap = new ConcurrentHashMap<>();
+    // Block snapshots used by the asynchronous path computations, per chunk index
+    private final Map<Long, PFChunkSnapshot> chunkSnapshotMap = new ConcurrentHashMap<>();
 
     public PFInstanceSpace(Instance instance) {
         this.instance = instance;
@@ -27,17 +33,89 @@ public class PFInstanceSpace implements IInstanceSpace {
     @Override
     public IColumnarSpace columnarSpaceAt(int cx, int cz) {
         final Chunk chunk = instance.getChunk(cx, cz);
-        if (chunk == null) {
+        if (!ChunkUtils.isLoaded(chunk)) {
             return null;
         }
 
-        return chunkSpaceMap.computeIfAbsent(chunk, c -> {
-            final PFColumnarSpace cs = new PFColumnarSpace(this, c);
-            c.setColumnarSpace(cs);
+        return chunkSpaceMap.compute(ChunkUtils.getChunkIndex(cx, cz), (index, cs) -> {
+            if (cs == null || cs.getChunk() != chunk) {
+                // First access, or the chunk has been reloaded
+                cs = new PFColumnarSpace(this, chunk);
+                chunk.setColumnarSpace(cs);
+            }
             return cs;
         });
     }
 
+    /**
+     * Applies the block changes of the tick to the occlusion fields
+     * and evicts the fields of the unloaded chunks.
+     * <p>
+     * Called at each instance tick.
+     */
+    public void update() {
+        if (!chunkSnapshotMap.isEmpty()) {
+            this.chunkSnapshotMap.values().removeIf(snapshot -> !snapshot.getChunk().isLoaded());
+        }
+
+        if (!chunkSpaceMap.isEmpty()) {
+            this.chunkSpaceMap.values().removeIf(columnarSpace -> {
+                final Chunk chunk = columnarSpace.getChunk();
+                if (!chunk.isLoaded()) {
+                    chunk.setColumnarSpace(null);
+                    return true;
+                }
+                columnarSpace.update();
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Creates a space reading the blocks from snapshots of the chunks,
+     * used to compute a path outside of the instance thread.
+     *
+     * @return a new snapshot space
+     */
+    @NotNull
+    PFSnapshotSpace createSnapshotSpace() {
+        return new PFSnapshotSpace(this);
+    }
+
+    /**
+     * Gets the snapshot of the current version of a chunk, the snapshot is shared until the chunk is modified.
+     *
+     * @param cx the chunk X
+     * @param cz the chunk Z
+     * @return the chunk snapshot, null if the chunk is not loaded
+     */
+    @Nullable
+    PFChunkSnapshot getChunkSnapshot(int cx, int cz) {
+        final Chunk chunk = instance.getChunk(cx, cz);
+        if (!ChunkUtils.isLoaded(chunk)) {
+            this.chunkSnapshotMap.remove(ChunkUtils.getChunkIndex(cx, cz));
+            return null;
+        }
+        return getChunkSnapshot(chunk);
+    }
+
+    /**
+     * Gets the snapshot of the current version of a loaded chunk.
+     *
+     * @param chunk the chunk
+     * @return the chunk snapshot
+     */
+    @NotNull
+    PFChunkSnapshot getChunkSnapshot(@NotNull Chunk chunk) {
+        final long index = ChunkUtils.getChunkIndex(chunk.getChunkX(), chunk.getChunkZ());
+        PFChunkSnapshot snapshot = chunkSnapshotMap.get(index);
+        if (snapshot == null || snapshot.isOutdated(chunk)) {
+            snapshot = new PFChunkSnapshot(chunk);
+            this.chunkSnapshotMap.put(index, snapshot);
+        }
+        return snapshot;
+    }
+
     public Instance getInstance() {
         return instance;
     }
@@ -0,0 +1,104 @@
+package net.minestom.server.entity.pathfinding;
+
+import com.extollit.gaming.ai.path.model.ColumnarOcclusionFieldList;
+import com.extollit.gaming.ai.path.model.IBlockDescription;
+import com.extollit.gaming.ai.path.model.IBlockObject;
+import com.extollit.gaming.ai.path.model.IColumnarSpace;
+import com.extollit.gaming.ai.path.model.IInstanceSpace;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Space of a single path computation, reading the blocks from the {@link PFChunkSnapshot} of each chunk
+ * at the time it is first accessed instead of the live instance.
+ * <p>
+ * The occlusion fields computed by the pathfinder are kept here, the space can therefore be used by a
+ * single thread at a time: the pathfinding thread computing the path, then the entity following it.
+ */
+final class PFSnapshotSpace implements IInstanceSpace {
+
+    private final PFInstanceSpace instanceSpace;
+    private final Long2ObjectOpenHashMap<SnapshotColumnarSpace> columnarSpaces = new Long2ObjectOpenHashMap<>();
+
+    PFSnapshotSpace(@NotNull PFInstanceSpace instanceSpace) {
+        this.instanceSpace = instanceSpace;
+    }
+
+    @Override
+    public IBlockObject blockObjectAt(int x, int y, int z) {
+        final SnapshotColumnarSpace columnarSpace = getColumnarSpace(
+                ChunkUtils.getChunkCoordinate(x), ChunkUtils.getChunkCoordinate(z));
+        final short blockStateId = columnarSpace != null ? columnarSpace.snapshot.getBlockStateId(x, y, z) : 0;
+        return PFBlockObject.getBlockObject(blockStateId);
+    }
+
+    @Override
+    public IColumnarSpace columnarSpaceAt(int cx, int cz) {
+        return getColumnarSpace(cx, cz);
+    }
+
+    @Nullable
+    private SnapshotColumnarSpace getColumnarSpace(int cx, int cz) {
+        final long index = ChunkUtils.getChunkIndex(cx, cz);
+        SnapshotColumnarSpace columnarSpace = columnarSpaces.get(index);
+        if (columnarSpace == null) {
+            final PFChunkSnapshot snapshot = instanceSpace.getChunkSnapshot(cx, cz);
+            if (snapshot == null) {
+                return null;
+            }
+            columnarSpace = new SnapshotColumnarSpace(snapshot);
+            this.columnarSpaces.put(index, columnarSpace);
+        }
+        return columnarSpace;
+    }
+
+    /**
+     * Gets if one of the chunks read by the pathfinder has been modified since its snapshot.
+     *
+     * @return true if the space is outdated
+     */
+    boolean isOutdated() {
+        for (Long2ObjectOpenHashMap.Entry<SnapshotColumnarSpace> entry : columnarSpaces.long2ObjectEntrySet()) {
+            final long index = entry.getLongKey();
+            final Chunk chunk = instanceSpace.getInstance().getChunk(
+                    ChunkUtils.getChunkCoordX(index), ChunkUtils.getChunkCoordZ(index));
+            if (entry.getValue().snapshot.isOutdated(chunk)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class SnapshotColumnarSpace implements IColumnarSpace {
+
+        private final PFChunkSnapshot snapshot;
+        private final ColumnarOcclusionFieldList occlusionFieldList = new ColumnarOcclusionFieldList(this);
+
+        private SnapshotColumnarSpace(@NotNull PFChunkSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public IBlockDescription blockAt(int x, int y, int z) {
+            return PFBlockDescription.getBlockDescription(snapshot.getBlockStateId(x, y, z));
+        }
+
+        @Override
+        public int metaDataAt(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public ColumnarOcclusionFieldList occlusionFields() {
+            return occlusionFieldList;
+        }
+
+        @Override
+        public IInstanceSpace instance() {
+            return PFSnapshotSpace.this;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package net.minestom.server.entity.pathfinding;
+
+import com.extollit.gaming.ai.path.HydrazinePathFinder;
+import com.extollit.gaming.ai.path.model.IPath;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.utils.Position;
+import net.minestom.server.utils.thread.MinestomThread;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computes the paths requested by the {@link Navigator navigators} on a pool of threads.
+ * <p>
+ * Requests are queued and computed by priority, each one with a new {@link HydrazinePathFinder}
+ * reading immutable snapshots of the chunks (see {@link PFInstanceSpace}) so that the instances can be
+ * modified during the computation. The navigator then follows the path during its next tick.
+ * <p>
+ * The time spent computing paths is limited by {@link #getTickBudget()}, the remaining requests
+ * wait for the next tick. The targets found to be unreachable from a block are cached for
+ * {@link #getUnreachableCacheTime()}, the entities sharing a target (e.g. a player chased by a group of monsters)
+ * do not compute it again.
+ */
+public final class PathfindingManager {
+
+    /**
+     * The priority of the requests of {@link Navigator#setPathTo(Position, boolean)}.
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+
+    private final ExecutorService pathfindingPool = new MinestomThread(MinecraftServer.THREAD_COUNT_PATHFINDING,
+            MinecraftServer.THREAD_NAME_PATHFINDING);
+
+    private final PriorityBlockingQueue<PathRequest> requests = new PriorityBlockingQueue<>();
+    private final AtomicLong requestCounter = new AtomicLong();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    // Computation time of the current tick in nanoseconds
+    private final AtomicLong tickComputationTime = new AtomicLong();
+
+    // Unreachable target -> expiration time in milliseconds
+    private final Map<PathKey, Long> unreachableTargets = new ConcurrentHashMap<>();
+
+    private volatile long tickBudget = TimeUnit.MILLISECONDS.toNanos(MinecraftServer.TICK_MS / 2);
+    private volatile long unreachableCacheTime = 1000;
+
+    /**
+     * Resets the budget of the computations and starts computing the queued requests.
+     * <p>
+     * Called at the start of each tick by the {@link net.minestom.server.UpdateManager}.
+     */
+    public void tick() {
+        this.tickComputationTime.set(0);
+
+        if (!unreachableTargets.isEmpty()) {
+            final long time = System.currentTimeMillis();
+            this.unreachableTargets.values().removeIf(expiration -> expiration <= time);
+        }
+
+        startWorkers();
+    }
+
+    /**
+     * Gets the maximum time spent computing paths during a tick, summed over all the pathfinding threads.
+     * <p>
+     * A path computation is never interrupted, the budget can therefore be exceeded by the last computation.
+     *
+     * @return the tick budget in nanoseconds
+     */
+    public long getTickBudget() {
+        return tickBudget;
+    }
+
+    /**
+     * Changes the maximum time spent computing paths during a tick.
+     *
+     * @param tickBudget the new tick budget in nanoseconds
+     * @throws IllegalArgumentException if {@code tickBudget} is not positive
+     */
+    public void setTickBudget(long tickBudget) {
+        Check.argCondition(tickBudget <= 0, "The tick budget has to be positive");
+        this.tickBudget = tickBudget;
+    }
+
+    /**
+     * Gets the time during which a target unreachable from a block is not computed again from this block.
+     *
+     * @return the unreachable cache time in milliseconds
+     */
+    public long getUnreachableCacheTime() {
+        return unreachableCacheTime;
+    }
+
+    /**
+     * Changes the time during which a target unreachable from a block is not computed again from this block.
+     *
+     * @param unreachableCacheTime the new unreachable cache time in milliseconds, 0 to disable the cache
+     */
+    public void setUnreachableCacheTime(long unreachableCacheTime) {
+        this.unreachableCacheTime = unreachableCacheTime;
+        if (unreachableCacheTime <= 0) {
+            this.unreachableTargets.clear();
+        }
+    }
+
+    /**
+     * Gets the number of requests waiting to be computed.
+     *
+     * @return the number of queued requests
+     */
+    public int getQueuedRequestCount() {
+        return requests.size();
+    }
+
+    /**
+     * Queues the computation of a path.
+     *
+     * @param navigator  the navigator requesting the path
+     * @param instance   the instance of the entity
+     * @param target     the target position
+     * @param bestEffort whether to use the best-effort algorithm to the destination
+     * @param priority   the request priority, the highest priorities being computed first
+     * @return the queued request, null if the target is known to be unreachable
+     */
+    @Nullable
+    PathRequest submit(@NotNull Navigator navigator, @NotNull Instance instance,
+                       @NotNull Position target, boolean bestEffort, int priority) {
+        final PathKey key = new PathKey(instance, navigator.getEntity().getPosition(), target, bestEffort);
+        if (isUnreachable(key)) {
+            return null;
+        }
+
+        final PathRequest request = new PathRequest(navigator, instance, target, bestEffort, priority,
+                requestCounter.getAndIncrement(), key);
+        this.requests.add(request);
+        startWorkers();
+        return request;
+    }
+
+    private void startWorkers() {
+        while (!requests.isEmpty() && tickComputationTime.get() < tickBudget) {
+            final int workers = activeWorkers.get();
+            if (workers >= MinecraftServer.THREAD_COUNT_PATHFINDING) {
+                return;
+            }
+            if (activeWorkers.compareAndSet(workers, workers + 1)) {
+                this.pathfindingPool.execute(this::computeRequests);
+            }
+        }
+    }
+
+    private void computeRequests() {
+        try {
+            PathRequest request;
+            while (tickComputationTime.get() < tickBudget && (request = requests.poll()) != null) {
+                final long start = System.nanoTime();
+                compute(request);
+                this.tickComputationTime.addAndGet(System.nanoTime() - start);
+            }
+        } finally {
+            this.activeWorkers.decrementAndGet();
+        }
+    }
+
+    private void compute(@NotNull PathRequest request) {
+        if (request.isCancelled())
+            return;
+
+        if (isUnreachable(request.key)) {
+            request.complete(null, null, null);
+            return;
+        }
+
+        final PFSnapshotSpace space = request.instance.getInstanceSpace().createSnapshotSpace();
+        final HydrazinePathFinder pathFinder = new HydrazinePathFinder(request.navigator.getPathingEntity(), space);
+        IPath path = null;
+        try {
+            final Position target = request.target;
+            path = pathFinder.initiatePathTo(target.getX(), target.getY(), target.getZ(), request.bestEffort);
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+
+        if (path == null && unreachableCacheTime > 0) {
+            this.unreachableTargets.put(request.key, System.currentTimeMillis() + unreachableCacheTime);
+        }
+        request.complete(pathFinder, space, path);
+    }
+
+    private boolean isUnreachable(@NotNull PathKey key) {
+        final Long expiration = unreachableTargets.get(key);
+        return expiration != null && expiration > System.currentTimeMillis();
+    }
+
+    /**
+     * A path queued by a {@link Navigator}, completed by a pathfinding thread.
+     */
+    static final class PathRequest implements Comparable<PathRequest> {
+
+        private final Navigator navigator;
+        private final Instance instance;
+        private final Position target;
+        private final boolean bestEffort;
+        private final int priority;
+        private final long sequence;
+        private final PathKey key;
+
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private HydrazinePathFinder pathFinder;
+        private PFSnapshotSpace space;
+        private IPath path;
+
+        private PathRequest(@NotNull Navigator navigator, @NotNull Instance instance,
+                            @NotNull Position target, boolean bestEffort, int priority,
+                            long sequence, @NotNull PathKey key) {
+            this.navigator = navigator;
+            this.instance = instance;
+            this.target = target;
+            this.bestEffort = bestEffort;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.key = key;
+        }
+
+        private void complete(@Nullable HydrazinePathFinder pathFinder, @Nullable PFSnapshotSpace space,
+                              @Nullable IPath path) {
+            this.pathFinder = pathFinder;
+            this.space = space;
+            this.path = path;
+            // Publishes the fields above
+            this.done = true;
+        }
+
+        void cancel() {
+            this.cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+
+        @NotNull
+        Instance getInstance() {
+            return instance;
+        }
+
+        @NotNull
+        Position getTarget() {
+            return target;
+        }
+
+        int getPriority() {
+            return priority;
+        }
+
+        /**
+         * Gets the pathfinder which computed the path, to be used by the navigator to follow it.
+         *
+         * @return the request pathfinder, null if the path has not been computed
+         */
+        @Nullable
+        HydrazinePathFinder getPathFinder() {
+            return pathFinder;
+        }
+
+        @Nullable
+        PFSnapshotSpace getSpace() {
+            return space;
+        }
+
+        @Nullable
+        IPath getPath() {
+            return path;
+        }
+
+        @Override
+        public int compareTo(@NotNull PathRequest request) {
+            final int priorityComparison = Integer.compare(request.priority, priority);
+            return priorityComparison != 0 ? priorityComparison : Long.compare(sequence, request.sequence);
+        }
+    }
+
+    /**
+     * The blocks of the start and the target of a path.
+     */
+    private static final class PathKey {
+
+        private final Instance instance;
+        private final int startX, startY, startZ;
+        private final int targetX, targetY, targetZ;
+        private final boolean bestEffort;
+
+        private PathKey(@NotNull Instance instance, @NotNull Position start, @NotNull Position target, boolean bestEffort) {
+            this.instance = instance;
+            this.startX = (int) Math.floor(start.getX());
+            this.startY = (int) Math.floor(start.getY());
+            this.startZ = (int) Math.floor(start.getZ());
+            this.targetX = (int) Math.floor(target.getX());
+            this.targetY = (int) Math.floor(target.getY());
+            this.targetZ = (int) Math.floor(target.getZ());
+            this.bestEffort = bestEffort;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PathKey pathKey = (PathKey) o;
+            return instance == pathKey.instance &&
+                    startX == pathKey.startX && startY == pathKey.startY && startZ == pathKey.startZ &&
+                    targetX == pathKey.targetX && targetY == pathKey.targetY && targetZ == pathKey.targetZ &&
+                    bestEffort == pathKey.bestEffort;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(instance, startX, startY, startZ, targetX, targetY, targetZ, bestEffort);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.minestom.server.event.handler;
 
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.benchmark.BenchmarkManager;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.event.CancellableEvent;
 import net.minestom.server.event.Event;
@@ -86,6 +87,9 @@ public interface EventHandler {
      * @param <E>        the event type
      */
     default <E extends Event> void callEvent(@NotNull Class<E> eventClass, @NotNull E event) {
+        final BenchmarkManager benchmarkManager = MinecraftServer.getBenchmarkManager();
+        final boolean profile = benchmarkManager != null && benchmarkManager.getTickProfiler().isEnabled();
+        final long start = profile ? System.nanoTime() : 0;
 
         // Global listeners
         if (!(this instanceof GlobalEventHandler)) {
@@ -104,6 +108,10 @@ public interface EventHandler {
                 runEvent(instance.getEventCallbacks(eventClass), event);
             }
         }
+
+        if (profile) {
+            benchmarkManager.getTickProfiler().recordEvent(eventClass, System.nanoTime() - start);
+        }
     }
 
     /**
@@ -0,0 +1,354 @@
+package net.minestom.server.extras.bot;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.ConnectionState;
+import net.minestom.server.network.netty.NettyServer;
+import net.minestom.server.network.netty.codec.PacketCompressor;
+import net.minestom.server.network.netty.codec.PacketDecoder;
+import net.minestom.server.network.netty.codec.PacketFramer;
+import net.minestom.server.network.netty.packet.InboundPacket;
+import net.minestom.server.network.packet.server.ServerPacketIdentifier;
+import net.minestom.server.utils.Position;
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.binary.BinaryWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.SocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A headless client speaking the protocol through the same {@link PacketFramer}, {@link PacketCompressor}
+ * and {@link PacketDecoder} as the server, used to simulate players and benchmark the networking end to end.
+ * <p>
+ * Bots log in offline and answer the keep alive and teleport packets, everything else
+ * is given to {@link #setPacketConsumer(PacketConsumer)} and can be sent with {@link #sendPacket(int, Consumer)}.
+ * <p>
+ * Thousands of bots can be connected in-process with {@link #connectLocal(EventLoopGroup, LocalAddress, String)}
+ * to an address bound by {@link NettyServer#startLocal(LocalAddress)}.
+ */
+public final class BotClient {
+
+    private static final int HANDSHAKE_LOGIN_STATE = 2;
+
+    // Client packet ids
+    private static final int HANDSHAKE = 0x00;
+    private static final int LOGIN_START = 0x00;
+    private static final int TELEPORT_CONFIRM = 0x00;
+    private static final int CHAT_MESSAGE = 0x03;
+    private static final int KEEP_ALIVE = 0x10;
+    private static final int PLAYER_POSITION = 0x12;
+
+    private final String username;
+    private final CompletableFuture<BotClient> joinFuture = new CompletableFuture<>();
+
+    private volatile Channel channel;
+    private volatile ConnectionState connectionState = ConnectionState.LOGIN;
+    private volatile PacketConsumer packetConsumer;
+
+    // Last position received or sent
+    private volatile double x, y, z;
+    private volatile float yaw, pitch;
+
+    private final AtomicLong receivedPackets = new AtomicLong();
+    private final AtomicLong receivedBytes = new AtomicLong();
+
+    private BotClient(@NotNull String username) {
+        this.username = username;
+    }
+
+    /**
+     * Connects a bot to an in-JVM address.
+     *
+     * @param group        the event loop group of the bot channel, a {@link DefaultEventLoopGroup}
+     * @param localAddress the address bound by {@link NettyServer#startLocal(LocalAddress)}
+     * @param username     the bot username
+     * @return a future completed once the bot has spawned
+     */
+    @NotNull
+    public static CompletableFuture<BotClient> connectLocal(@NotNull EventLoopGroup group,
+                                                            @NotNull LocalAddress localAddress,
+                                                            @NotNull String username) {
+        return connect(group, LocalChannel.class, localAddress, username);
+    }
+
+    /**
+     * Connects a bot to a server.
+     * <p>
+     * The sent packets are compressed with the threshold of {@link MinecraftServer#getCompressionThreshold()},
+     * which needs to be the same as the one of the server.
+     *
+     * @param group        the event loop group of the bot channel, compatible with {@code channelClass}
+     * @param channelClass the channel type, {@link LocalChannel} or a socket channel
+     * @param address      the server address
+     * @param username     the bot username
+     * @return a future completed once the bot has spawned
+     */
+    @NotNull
+    public static CompletableFuture<BotClient> connect(@NotNull EventLoopGroup group,
+                                                       @NotNull Class<? extends Channel> channelClass,
+                                                       @NotNull SocketAddress address,
+                                                       @NotNull String username) {
+        final BotClient botClient = new BotClient(username);
+        new Bootstrap()
+                .group(group)
+                .channel(channelClass)
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(@NotNull Channel ch) {
+                        ChannelPipeline pipeline = ch.pipeline();
+                        // Server packets are not limited in size
+                        pipeline.addLast(NettyServer.FRAMER_HANDLER_NAME, new PacketFramer(null));
+                        pipeline.addLast(NettyServer.DECODER_HANDLER_NAME, new PacketDecoder());
+                        pipeline.addLast(NettyServer.CLIENT_CHANNEL_NAME, botClient.new BotChannel());
+                    }
+                })
+                .connect(address)
+                .addListener((ChannelFutureListener) future -> {
+                    if (!future.isSuccess()) {
+                        botClient.joinFuture.completeExceptionally(future.cause());
+                    }
+                });
+        return botClient.joinFuture;
+    }
+
+    /**
+     * Sends a play packet to the server.
+     *
+     * @param packetId the client packet id
+     * @param writer   the consumer writing the packet content
+     * @return the future of the write
+     */
+    @NotNull
+    public ChannelFuture sendPacket(int packetId, @NotNull Consumer<BinaryWriter> writer) {
+        BinaryWriter binaryWriter = new BinaryWriter(channel.alloc().buffer());
+        binaryWriter.writeVarInt(packetId);
+        writer.accept(binaryWriter);
+        return channel.writeAndFlush(binaryWriter.getBuffer());
+    }
+
+    /**
+     * Moves the bot, without checking if the position is valid.
+     *
+     * @param x        the new X
+     * @param y        the new Y (feet)
+     * @param z        the new Z
+     * @param onGround true if the bot is on the ground
+     */
+    public void move(double x, double y, double z, boolean onGround) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        sendPacket(PLAYER_POSITION, writer -> {
+            writer.writeDouble(x);
+            writer.writeDouble(y);
+            writer.writeDouble(z);
+            writer.writeBoolean(onGround);
+        });
+    }
+
+    /**
+     * Sends a chat message or a command starting with '/'.
+     *
+     * @param message the message to send
+     */
+    public void chat(@NotNull String message) {
+        sendPacket(CHAT_MESSAGE, writer -> writer.writeSizedString(message));
+    }
+
+    /**
+     * Closes the bot connection.
+     */
+    public void disconnect() {
+        final Channel channel = this.channel;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @NotNull
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Gets the bot channel.
+     *
+     * @return the bot channel, null if not connected yet
+     */
+    @Nullable
+    public Channel getChannel() {
+        return channel;
+    }
+
+    @NotNull
+    public ConnectionState getConnectionState() {
+        return connectionState;
+    }
+
+    /**
+     * Gets the last position sent by the server or by {@link #move(double, double, double, boolean)}.
+     *
+     * @return a copy of the bot position
+     */
+    @NotNull
+    public Position getPosition() {
+        return new Position(x, y, z, yaw, pitch);
+    }
+
+    /**
+     * Gets the future completed once the bot has spawned, or exceptionally if the connection failed.
+     *
+     * @return the join future
+     */
+    @NotNull
+    public CompletableFuture<BotClient> getJoinFuture() {
+        return joinFuture;
+    }
+
+    public long getReceivedPackets() {
+        return receivedPackets.get();
+    }
+
+    /**
+     * Gets the size of the packet bodies received, after decompression.
+     *
+     * @return the received bytes
+     */
+    public long getReceivedBytes() {
+        return receivedBytes.get();
+    }
+
+    /**
+     * Changes the consumer called with each packet received, in the channel thread.
+     *
+     * @param packetConsumer the new packet consumer, null to ignore the packets
+     */
+    public void setPacketConsumer(@Nullable PacketConsumer packetConsumer) {
+        this.packetConsumer = packetConsumer;
+    }
+
+    private void handleLoginPacket(int packetId, @NotNull BinaryReader reader) {
+        switch (packetId) {
+            case ServerPacketIdentifier.LOGIN_SET_COMPRESSION:
+                final int threshold = reader.readVarInt();
+                channel.pipeline().addAfter(NettyServer.FRAMER_HANDLER_NAME, NettyServer.COMPRESSOR_HANDLER_NAME,
+                        new PacketCompressor(threshold));
+                break;
+            case ServerPacketIdentifier.LOGIN_SUCCESS:
+                this.connectionState = ConnectionState.PLAY;
+                break;
+            case ServerPacketIdentifier.LOGIN_DISCONNECT:
+                this.joinFuture.completeExceptionally(
+                        new IllegalStateException("Disconnected during login: " + reader.readSizedString(Short.MAX_VALUE)));
+                channel.close();
+                break;
+        }
+    }
+
+    private void handlePlayPacket(int packetId, @NotNull BinaryReader reader) {
+        switch (packetId) {
+            case ServerPacketIdentifier.KEEP_ALIVE:
+                final long id = reader.readLong();
+                sendPacket(KEEP_ALIVE, writer -> writer.writeLong(id));
+                break;
+            case ServerPacketIdentifier.PLAYER_POSITION_AND_LOOK:
+                final double x = reader.readDouble();
+                final double y = reader.readDouble();
+                final double z = reader.readDouble();
+                final float yaw = reader.readFloat();
+                final float pitch = reader.readFloat();
+                final byte flags = reader.readByte();
+                final int teleportId = reader.readVarInt();
+
+                // Flags define the relative values
+                this.x = (flags & 0x01) != 0 ? this.x + x : x;
+                this.y = (flags & 0x02) != 0 ? this.y + y : y;
+                this.z = (flags & 0x04) != 0 ? this.z + z : z;
+                this.yaw = (flags & 0x08) != 0 ? this.yaw + yaw : yaw;
+                this.pitch = (flags & 0x10) != 0 ? this.pitch + pitch : pitch;
+
+                sendPacket(TELEPORT_CONFIRM, writer -> writer.writeVarInt(teleportId));
+                this.joinFuture.complete(this);
+                break;
+            case ServerPacketIdentifier.DISCONNECT:
+                channel.close();
+                break;
+        }
+    }
+
+    private final class BotChannel extends SimpleChannelInboundHandler<InboundPacket> {
+
+        @Override
+        public void channelActive(@NotNull ChannelHandlerContext ctx) {
+            channel = ctx.channel();
+
+            sendPacket(HANDSHAKE, writer -> {
+                writer.writeVarInt(MinecraftServer.PROTOCOL_VERSION);
+                writer.writeSizedString("localhost");
+                writer.writeShort((short) 25565);
+                writer.writeVarInt(HANDSHAKE_LOGIN_STATE);
+            });
+            sendPacket(LOGIN_START, writer -> writer.writeSizedString(username));
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, InboundPacket packet) {
+            final ByteBuf body = packet.getBody();
+            final int packetId = packet.getPacketId();
+            receivedPackets.incrementAndGet();
+            receivedBytes.addAndGet(body.readableBytes());
+
+            try {
+                final BinaryReader reader = new BinaryReader(body.duplicate());
+                if (connectionState == ConnectionState.LOGIN) {
+                    handleLoginPacket(packetId, reader);
+                } else {
+                    handlePlayPacket(packetId, reader);
+                }
+
+                final PacketConsumer consumer = packetConsumer;
+                if (consumer != null) {
+                    consumer.accept(BotClient.this, packetId, new BinaryReader(body.duplicate()));
+                }
+            } finally {
+                // The decoder reads the remaining bytes as another packet
+                body.skipBytes(body.readableBytes());
+            }
+        }
+
+        @Override
+        public void channelInactive(@NotNull ChannelHandlerContext ctx) {
+            joinFuture.completeExceptionally(new IllegalStateException("Connection closed"));
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            MinecraftServer.getExceptionManager().handleException(cause);
+            ctx.close();
+        }
+    }
+
+    /**
+     * Consumer of the packets received by a bot.
+     */
+    @FunctionalInterface
+    public interface PacketConsumer {
+
+        /**
+         * Called with each packet received by a bot.
+         *
+         * @param botClient the bot which received the packet
+         * @param packetId  the server packet id, depending on {@link BotClient#getConnectionState()}
+         * @param reader    the packet content
+         */
+        void accept(@NotNull BotClient botClient, int packetId, @NotNull BinaryReader reader);
+    }
+}
@@ -81,7 +81,7 @@ public abstract class Chunk implements Viewable, DataContainer {
     private final Set<Player> unmodifiableViewers = Collections.unmodifiableSet(viewers);
 
     // Path finding
-    protected PFColumnarSpace columnarSpace;
+    protected volatile PFColumnarSpace columnarSpace;
 
     // Data
     protected Data data;
@@ -142,6 +142,16 @@ public abstract class Chunk implements Viewable, DataContainer {
      */
     public abstract short getBlockStateId(int x, int y, int z);
 
+    /**
+     * Copies the block state ids of a section, faster than calling {@link #getBlockStateId(int, int, int)}
+     * for each block.
+     *
+     * @param section the section index
+     * @param blocks  the array to fill, of at least {@code CHUNK_SECTION_SIZE^3} elements
+     *                indexed by {@code y << 8 | z << 4 | x} with coordinates relative to the section
+     */
+    public abstract void getSectionBlockStateIds(int section, @NotNull short[] blocks);
+
     /**
      * Gets the custom block id at a position.
      *
@@ -211,6 +221,16 @@ public abstract class Chunk implements Viewable, DataContainer {
      */
     public abstract long getLastChangeTime();
 
+    /**
+     * Gets the version of the chunk data, incremented each time a block changes.
+     * <p>
+     * Used as the version of the {@link ChunkDataPacket} and {@link UpdateLightPacket} cached framed buffers,
+     * which are therefore only invalidated by block changes.
+     *
+     * @return the chunk version
+     */
+    public abstract long getVersion();
+
     /**
      * Serializes the chunk into bytes.
      *
@@ -233,6 +253,22 @@ public abstract class Chunk implements Viewable, DataContainer {
      */
     public abstract void readChunk(@NotNull BinaryReader reader, @Nullable ChunkCallback callback);
 
+    /**
+     * Reads the chunk from binary in the calling thread.
+     * <p>
+     * Used by the {@link ChunkLoadPipeline} which already deserializes the chunks in its own thread pool,
+     * delegates to {@link #readChunk(BinaryReader, ChunkCallback)} by default (the reading and the callback
+     * can therefore happen in another thread for implementations which do not override this method).
+     *
+     * @param reader   the data reader
+     * @param callback the optional callback to execute once the chunk is done reading
+     *                 WARNING: this need to be called to notify the instance.
+     * @see #readChunk(BinaryReader, ChunkCallback)
+     */
+    public void readChunkSync(@NotNull BinaryReader reader, @Nullable ChunkCallback callback) {
+        readChunk(reader, callback);
+    }
+
     /**
      * Creates a {@link ChunkDataPacket} with this chunk data ready to be written.
      *
@@ -407,7 +443,7 @@ public abstract class Chunk implements Viewable, DataContainer {
     @NotNull
     public UpdateLightPacket getLightPacket() {
         // TODO do not hardcode light
-        UpdateLightPacket updateLightPacket = new UpdateLightPacket(getIdentifier(), getLastChangeTime());
+        UpdateLightPacket updateLightPacket = new UpdateLightPacket(getIdentifier(), getVersion());
         updateLightPacket.chunkX = getChunkX();
         updateLightPacket.chunkZ = getChunkZ();
         updateLightPacket.skyLightMask = 0x3FFF0;
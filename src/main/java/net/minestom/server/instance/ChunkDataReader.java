@@ -0,0 +1,28 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.chunk.ChunkCallback;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implemented by an {@link IChunkLoader} able to read the serialized data of a {@link Chunk} without deserializing it,
+ * allowing the {@link ChunkLoadPipeline} to do it in another thread pool.
+ * <p>
+ * {@link IChunkLoader#supportsDataReading()} returns true for loaders implementing this interface.
+ */
+@FunctionalInterface
+public interface ChunkDataReader {
+
+    /**
+     * Reads the serialized data of a {@link Chunk}, given
+     * to {@link Chunk#readChunkSync(BinaryReader, ChunkCallback)} by the pipeline.
+     *
+     * @param instance the {@link Instance} where the {@link Chunk} belong
+     * @param chunkX   the chunk X
+     * @param chunkZ   the chunk Z
+     * @return the serialized chunk, null if the chunk has never been saved
+     */
+    @Nullable
+    byte[] readChunkData(@NotNull Instance instance, int chunkX, int chunkZ);
+}
@@ -0,0 +1,428 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.benchmark.TickHistogram;
+import net.minestom.server.entity.Player;
+import net.minestom.server.utils.Position;
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.chunk.ChunkCallback;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.thread.MinestomThread;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads the chunks of an {@link InstanceContainer} asynchronously, used behind
+ * {@link InstanceContainer#loadChunk(int, int, ChunkCallback)} and {@link InstanceContainer#loadOptionalChunk(int, int, ChunkCallback)}.
+ * <p>
+ * A load goes through up to three {@link Stage stages}, each having its own thread pool owned by the pipeline
+ * (sized by the {@link MinecraftServer} chunk thread counts, idle threads are stopped): reading the data
+ * from the {@link IChunkLoader}, deserializing it and generating the chunk if it has never been saved.
+ * Waiting loads are ordered by their distance to the nearest player, and the ones requested
+ * by {@link Instance#loadVisibleChunk(int, int, ChunkCallback)} are cancelled before each stage if
+ * the chunk is not in the view of any player anymore. The distance is checked again when a load is polled,
+ * it is put back in the queue if players moved away in the meantime and a closer load is waiting.
+ * <p>
+ * Multiple requests for the same chunk are merged, callbacks are always executed in the instance thread.
+ */
+public final class ChunkLoadPipeline {
+
+    private static final long IDLE_THREAD_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private final InstanceContainer instance;
+
+    // Stage ordinal -> its thread pool
+    private final ThreadPoolExecutor[] executors = new ThreadPoolExecutor[Stage.values().length];
+    private final TickHistogram[] stageLatencies = new TickHistogram[Stage.values().length];
+
+    private final LongAdder cancelledCount = new LongAdder();
+    private final LongAdder requeuedCount = new LongAdder();
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    // Chunk index -> its pending request
+    private final Long2ObjectMap<Request> pendingRequests = new Long2ObjectOpenHashMap<>();
+    private final TickHistogram loadLatency = new TickHistogram();
+
+    ChunkLoadPipeline(@NotNull InstanceContainer instance) {
+        this.instance = instance;
+        this.executors[Stage.READ.ordinal()] = createExecutor(MinecraftServer.THREAD_COUNT_CHUNK_READ,
+                MinecraftServer.THREAD_NAME_CHUNK_READ);
+        this.executors[Stage.DESERIALIZATION.ordinal()] = createExecutor(MinecraftServer.THREAD_COUNT_CHUNK_DESERIALIZATION,
+                MinecraftServer.THREAD_NAME_CHUNK_DESERIALIZATION);
+        this.executors[Stage.GENERATION.ordinal()] = createExecutor(MinecraftServer.THREAD_COUNT_CHUNK_GENERATION,
+                MinecraftServer.THREAD_NAME_CHUNK_GENERATION);
+        for (int i = 0; i < stageLatencies.length; i++) {
+            this.stageLatencies[i] = new TickHistogram();
+        }
+    }
+
+    /**
+     * Loads a chunk, merging the request with the pending one of the same chunk if any.
+     *
+     * @param chunkX      the chunk X
+     * @param chunkZ      the chunk Z
+     * @param callback    the optional callback executed in the instance thread with the loaded chunk,
+     *                    or null if the load has been cancelled
+     * @param cancellable true to cancel the load if the chunk leaves the view of every player
+     */
+    public void load(int chunkX, int chunkZ, @Nullable ChunkCallback callback, boolean cancellable) {
+        final long index = ChunkUtils.getChunkIndex(chunkX, chunkZ);
+        final Request request;
+        synchronized (pendingRequests) {
+            final Request pendingRequest = pendingRequests.get(index);
+            if (pendingRequest != null) {
+                pendingRequest.join(callback, cancellable);
+                return;
+            }
+            request = new Request(chunkX, chunkZ, callback, cancellable);
+            this.pendingRequests.put(index, request);
+        }
+        request.submit(Stage.READ);
+    }
+
+    /**
+     * Gets the number of chunks currently being loaded by this pipeline.
+     *
+     * @return the pending load count
+     */
+    public int getPendingCount() {
+        synchronized (pendingRequests) {
+            return pendingRequests.size();
+        }
+    }
+
+    /**
+     * Gets the time between the requests of this pipeline and the execution of their callbacks.
+     *
+     * @return the load latency histogram
+     */
+    @NotNull
+    public TickHistogram getLoadLatency() {
+        return loadLatency;
+    }
+
+    /**
+     * Gets the number of loads waiting for a thread of a stage.
+     *
+     * @param stage the stage
+     * @return the queue depth
+     */
+    public int getQueueDepth(@NotNull Stage stage) {
+        return executors[stage.ordinal()].getQueue().size();
+    }
+
+    /**
+     * Gets the number of loads currently executed by a stage.
+     *
+     * @param stage the stage
+     * @return the active load count
+     */
+    public int getActiveCount(@NotNull Stage stage) {
+        return executors[stage.ordinal()].getActiveCount();
+    }
+
+    /**
+     * Gets the time spent by the loads in a stage, waiting in the queue included.
+     *
+     * @param stage the stage
+     * @return the stage latency histogram
+     */
+    @NotNull
+    public TickHistogram getLatency(@NotNull Stage stage) {
+        return stageLatencies[stage.ordinal()];
+    }
+
+    /**
+     * Gets the number of loads cancelled because their chunk was not visible anymore.
+     *
+     * @return the cancelled load count
+     */
+    public long getCancelledCount() {
+        return cancelledCount.sum();
+    }
+
+    /**
+     * Gets the number of loads put back in their stage queue because players moved away while they were waiting.
+     *
+     * @return the requeued load count
+     */
+    public long getRequeuedCount() {
+        return requeuedCount.sum();
+    }
+
+    @NotNull
+    private static ThreadPoolExecutor createExecutor(int threadCount, @NotNull String threadName) {
+        // Not kept by MinestomThread, stopped with the instance
+        ThreadPoolExecutor executor = new MinestomThread(threadCount, threadName, true, new PriorityBlockingQueue<>());
+        executor.setKeepAliveTime(IDLE_THREAD_TIMEOUT, TimeUnit.MILLISECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Stops the thread pools, the waiting loads are dropped.
+     * <p>
+     * Called when the instance is unregistered.
+     */
+    void shutdown() {
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A step of the chunk loading, having its own bounded thread pool in each pipeline.
+     */
+    public enum Stage {
+        /**
+         * Reads the chunk data from the {@link IChunkLoader}.
+         */
+        READ,
+        /**
+         * Creates the chunk from the data read.
+         */
+        DESERIALIZATION,
+        /**
+         * Generates the chunks which have never been saved.
+         */
+        GENERATION
+    }
+
+    private final class Request implements Runnable, Comparable<Request> {
+
+        private final int chunkX, chunkZ;
+        private final long creationTime = System.nanoTime();
+        private final List<ChunkCallback> callbacks = new ArrayList<>(1);
+        private boolean cancellable;
+
+        private volatile Stage stage;
+        private volatile long submitTime;
+        private volatile int priority;
+        private volatile long sequence;
+        // Data read by the loader, waiting to be deserialized
+        private volatile byte[] data;
+
+        private Request(int chunkX, int chunkZ, @Nullable ChunkCallback callback, boolean cancellable) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.cancellable = cancellable;
+            if (callback != null) {
+                this.callbacks.add(callback);
+            }
+        }
+
+        /**
+         * Adds the callback of a request for the same chunk.
+         * <p>
+         * Called while holding the pending requests lock.
+         */
+        private void join(@Nullable ChunkCallback callback, boolean cancellable) {
+            if (callback != null) {
+                this.callbacks.add(callback);
+            }
+            this.cancellable &= cancellable;
+        }
+
+        private void submit(@NotNull Stage stage) {
+            // The nearest player may have changed since the previous stage
+            this.stage = stage;
+            this.priority = getNearestPlayerDistance();
+            this.sequence = nextSequence.getAndIncrement();
+            this.submitTime = System.nanoTime();
+            executors[stage.ordinal()].execute(this);
+        }
+
+        @Override
+        public void run() {
+            final Stage stage = this.stage;
+            final long submitTime = this.submitTime;
+            try {
+                final Chunk loadedChunk = instance.getChunk(chunkX, chunkZ);
+                if (loadedChunk != null) {
+                    // Loaded by another way in the meantime
+                    instance.scheduleNextTick(inst -> complete(loadedChunk));
+                    return;
+                }
+                if (isCancelled()) {
+                    cancelledCount.increment();
+                    instance.scheduleNextTick(inst -> complete(null));
+                    return;
+                }
+                if (isOutdated()) {
+                    // Players moved away since the submission, let the closer loads go first
+                    requeuedCount.increment();
+                    submit(stage);
+                    return;
+                }
+
+                switch (stage) {
+                    case READ:
+                        read();
+                        break;
+                    case DESERIALIZATION:
+                        deserialize();
+                        break;
+                    case GENERATION:
+                        instance.createChunk(chunkX, chunkZ, this::complete);
+                        break;
+                }
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+                instance.scheduleNextTick(inst -> complete(null));
+            } finally {
+                stageLatencies[stage.ordinal()].record(System.nanoTime() - submitTime);
+            }
+        }
+
+        /**
+         * Gets if the priority computed at submission is now worse than the one of the next waiting request,
+         * meaning that the request would not have been polled first with an up-to-date priority.
+         * <p>
+         * Priorities of waiting requests are only refreshed when they are polled, a moved request
+         * is therefore compared to a possibly outdated priority, which can only delay it further.
+         */
+        private boolean isOutdated() {
+            final Request next = (Request) executors[stage.ordinal()].getQueue().peek();
+            if (next == null) {
+                return false;
+            }
+            final int currentPriority = getNearestPlayerDistance();
+            return currentPriority > priority && currentPriority > next.priority;
+        }
+
+        private void read() {
+            final IChunkLoader chunkLoader = instance.getChunkLoader();
+            if (!chunkLoader.supportsDataReading()) {
+                // Legacy loader, read and deserialize at once
+                final boolean loaded;
+                if (chunkLoader.supportsParallelLoading()) {
+                    loaded = chunkLoader.loadChunk(instance, chunkX, chunkZ, this::completeLoad);
+                } else {
+                    synchronized (chunkLoader) {
+                        loaded = chunkLoader.loadChunk(instance, chunkX, chunkZ, this::completeLoad);
+                    }
+                }
+                if (!loaded) {
+                    submit(Stage.GENERATION);
+                }
+                return;
+            }
+
+            final ChunkDataReader dataReader = (ChunkDataReader) chunkLoader;
+            final byte[] data;
+            if (chunkLoader.supportsParallelLoading()) {
+                data = dataReader.readChunkData(instance, chunkX, chunkZ);
+            } else {
+                synchronized (chunkLoader) {
+                    data = dataReader.readChunkData(instance, chunkX, chunkZ);
+                }
+            }
+            if (data == null) {
+                // Never saved
+                submit(Stage.GENERATION);
+            } else {
+                this.data = data;
+                submit(Stage.DESERIALIZATION);
+            }
+        }
+
+        private void deserialize() {
+            final byte[] data = this.data;
+            this.data = null;
+            final Chunk chunk = instance.getChunkSupplier().createChunk(null, chunkX, chunkZ);
+            chunk.readChunkSync(new BinaryReader(data), this::completeLoad);
+        }
+
+        private void completeLoad(@NotNull Chunk chunk) {
+            instance.completeChunkLoad(chunk, this::complete);
+        }
+
+        /**
+         * Removes the request and executes its callbacks.
+         * <p>
+         * Called in the instance thread.
+         */
+        private void complete(@Nullable Chunk chunk) {
+            synchronized (pendingRequests) {
+                pendingRequests.remove(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+            }
+            loadLatency.record(System.nanoTime() - creationTime);
+            // The request cannot be joined anymore
+            for (ChunkCallback callback : callbacks) {
+                try {
+                    callback.accept(chunk);
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+            }
+        }
+
+        private boolean isCancelled() {
+            synchronized (pendingRequests) {
+                if (!cancellable) {
+                    return false;
+                }
+            }
+            if (isViewed(instance)) {
+                return false;
+            }
+            for (SharedInstance sharedInstance : instance.getSharedInstances()) {
+                if (isViewed(sharedInstance)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isViewed(@NotNull Instance instance) {
+            for (Player player : instance.getPlayers()) {
+                if (getDistance(player) <= player.getChunkRange()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int getNearestPlayerDistance() {
+            int distance = getNearestPlayerDistance(instance);
+            for (SharedInstance sharedInstance : instance.getSharedInstances()) {
+                distance = Math.min(distance, getNearestPlayerDistance(sharedInstance));
+            }
+            return distance;
+        }
+
+        private int getNearestPlayerDistance(@NotNull Instance instance) {
+            int distance = Integer.MAX_VALUE;
+            for (Player player : instance.getPlayers()) {
+                distance = Math.min(distance, getDistance(player));
+            }
+            return distance;
+        }
+
+        /**
+         * Gets the chebyshev distance in chunks between the player and the requested chunk.
+         */
+        private int getDistance(@NotNull Player player) {
+            final Position position = player.getPosition();
+            final int playerChunkX = ChunkUtils.getChunkCoordinate((int) Math.floor(position.getX()));
+            final int playerChunkZ = ChunkUtils.getChunkCoordinate((int) Math.floor(position.getZ()));
+            return Math.max(Math.abs(playerChunkX - chunkX), Math.abs(playerChunkZ - chunkZ));
+        }
+
+        @Override
+        public int compareTo(@NotNull Request request) {
+            final int compare = Integer.compare(priority, request.priority);
+            return compare != 0 ? compare : Long.compare(sequence, request.sequence);
+        }
+    }
+}
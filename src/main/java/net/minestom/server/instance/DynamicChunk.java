@@ -1,6 +1,5 @@
 package net.minestom.server.instance;
 
-import com.extollit.gaming.ai.path.model.ColumnarOcclusionFieldList;
 import it.unimi.dsi.fastutil.ints.*;
 import it.unimi.dsi.fastutil.objects.Object2ShortMap;
 import it.unimi.dsi.fastutil.objects.Object2ShortOpenHashMap;
@@ -8,9 +7,10 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.data.Data;
 import net.minestom.server.data.SerializableData;
 import net.minestom.server.data.SerializableDataImpl;
-import net.minestom.server.entity.pathfinding.PFBlockDescription;
+import net.minestom.server.entity.pathfinding.PFColumnarSpace;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.CustomBlock;
+import net.minestom.server.instance.palette.BlockStorage;
 import net.minestom.server.instance.palette.PaletteStorage;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.utils.BlockPosition;
@@ -43,8 +43,8 @@ public class DynamicChunk extends Chunk {
     private static final int DATA_FORMAT_VERSION = 1;
 
     // WARNING: not thread-safe and should not be changed
-    protected PaletteStorage blockPalette;
-    protected PaletteStorage customBlockPalette;
+    protected BlockStorage blockPalette;
+    protected BlockStorage customBlockPalette;
 
     // Used to get all blocks with data (no null)
     // Key is still chunk coordinates (see #getBlockIndex)
@@ -59,9 +59,11 @@ public class DynamicChunk extends Chunk {
     protected final IntSet blockEntities = new IntOpenHashSet();
 
     private long lastChangeTime;
+    // Incremented while holding the chunk lock, read without it by the packet cache
+    private volatile long version;
 
     public DynamicChunk(@Nullable Biome[] biomes, int chunkX, int chunkZ,
-                        @NotNull PaletteStorage blockPalette, @NotNull PaletteStorage customBlockPalette) {
+                        @NotNull BlockStorage blockPalette, @NotNull BlockStorage customBlockPalette) {
         super(biomes, chunkX, chunkZ, true);
         this.blockPalette = blockPalette;
         this.customBlockPalette = customBlockPalette;
@@ -69,23 +71,20 @@ public class DynamicChunk extends Chunk {
 
     public DynamicChunk(@Nullable Biome[] biomes, int chunkX, int chunkZ) {
         this(biomes, chunkX, chunkZ,
-                new PaletteStorage(15, 2),
-                new PaletteStorage(15, 2));
+                new PaletteStorage(4, 2),
+                new PaletteStorage(4, 2));
     }
 
     @Override
     public void UNSAFE_setBlock(int x, int y, int z, short blockStateId, short customBlockId, Data data, boolean updatable) {
 
-        {
-            // Update pathfinder
-            if (columnarSpace != null) {
-                final ColumnarOcclusionFieldList columnarOcclusionFieldList = columnarSpace.occlusionFields();
-                final PFBlockDescription blockDescription = PFBlockDescription.getBlockDescription(blockStateId);
-                columnarOcclusionFieldList.onBlockChanged(x, y, z, blockDescription, 0);
-            }
-        }
-
         final int index = getBlockIndex(x, y, z);
+
+        // Update pathfinder, only once per tick
+        final PFColumnarSpace columnarSpace = this.columnarSpace;
+        if (columnarSpace != null) {
+            columnarSpace.onBlockChanged(index);
+        }
         // True if the block is not complete air without any custom block capabilities
         final boolean hasBlock = blockStateId != 0 || customBlockId != 0;
 
@@ -161,6 +160,11 @@ public class DynamicChunk extends Chunk {
         return getBlockAt(blockPalette, x, y, z);
     }
 
+    @Override
+    public void getSectionBlockStateIds(int section, @NotNull short[] blocks) {
+        this.blockPalette.getSectionBlocks(section, blocks);
+    }
+
     @Override
     public short getCustomBlockId(int x, int y, int z) {
         return getBlockAt(customBlockPalette, x, y, z);
@@ -203,6 +207,11 @@ public class DynamicChunk extends Chunk {
         return lastChangeTime;
     }
 
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Serialize this {@link Chunk} based on {@link #readChunk(BinaryReader, ChunkCallback)}
      * <p>
@@ -305,86 +314,93 @@ public class DynamicChunk extends Chunk {
 
         // Run in the scheduler thread pool
         MinecraftServer.getSchedulerManager().buildTask(() -> {
-            synchronized (this) {
+            // Track changes in the buffer
+            {
+                final boolean changed = reader.available() != length;
+                Check.stateCondition(changed,
+                        "The number of readable bytes changed, be sure to do not manipulate the buffer until the end of the reading.");
+            }
 
-                // Track changes in the buffer
-                {
-                    final boolean changed = reader.available() != length;
-                    Check.stateCondition(changed,
-                            "The number of readable bytes changed, be sure to do not manipulate the buffer until the end of the reading.");
-                }
+            readChunkSync(reader, callback);
+        }).schedule();
+    }
 
-                // VERSION DATA
-                final int dataFormatVersion = reader.readInteger();
-                final int dataProtocol = reader.readInteger();
+    @Override
+    public void readChunkSync(@NotNull BinaryReader reader, @Nullable ChunkCallback callback) {
+        // Check the buffer length
+        Check.argCondition(reader.available() == 0, "The length of the buffer must be > 0");
 
-                if (dataFormatVersion != DATA_FORMAT_VERSION) {
-                    throw new UnsupportedOperationException(
-                            "You are parsing an old version of the chunk format, please contact the developer: " + dataFormatVersion);
-                }
+        synchronized (this) {
+            // VERSION DATA
+            final int dataFormatVersion = reader.readInteger();
+            final int dataProtocol = reader.readInteger();
 
-                // INDEX DATA
-                // Used for blocks data
-                Object2ShortMap<String> typeToIndexMap = null;
+            if (dataFormatVersion != DATA_FORMAT_VERSION) {
+                throw new UnsupportedOperationException(
+                        "You are parsing an old version of the chunk format, please contact the developer: " + dataFormatVersion);
+            }
 
-                // Get if the chunk has data indexes (used for blocks data)
-                final boolean hasDataIndex = reader.readBoolean();
-                if (hasDataIndex) {
-                    // Get the data indexes which will be used to read all the individual data
-                    typeToIndexMap = SerializableData.readDataIndexes(reader);
-                }
+            // INDEX DATA
+            // Used for blocks data
+            Object2ShortMap<String> typeToIndexMap = null;
 
-                // CHUNK DATA
-                // Chunk data
-                final boolean hasChunkData = reader.readBoolean();
-                if (hasDataIndex && hasChunkData) {
-                    SerializableData serializableData = new SerializableDataImpl();
-                    serializableData.readSerializedData(reader, typeToIndexMap);
-                }
+            // Get if the chunk has data indexes (used for blocks data)
+            final boolean hasDataIndex = reader.readBoolean();
+            if (hasDataIndex) {
+                // Get the data indexes which will be used to read all the individual data
+                typeToIndexMap = SerializableData.readDataIndexes(reader);
+            }
 
-                // Biomes
-                for (int i = 0; i < BIOME_COUNT; i++) {
-                    final byte id = reader.readByte();
-                    this.biomes[i] = BIOME_MANAGER.getById(id);
-                }
+            // CHUNK DATA
+            // Chunk data
+            final boolean hasChunkData = reader.readBoolean();
+            if (hasDataIndex && hasChunkData) {
+                SerializableData serializableData = new SerializableDataImpl();
+                serializableData.readSerializedData(reader, typeToIndexMap);
+            }
 
-                // Loop for all blocks in the chunk
-                while (reader.available() > 0) {
-                    // Position
-                    final short index = reader.readShort();
-                    final byte x = ChunkUtils.blockIndexToChunkPositionX(index);
-                    final short y = ChunkUtils.blockIndexToChunkPositionY(index);
-                    final byte z = ChunkUtils.blockIndexToChunkPositionZ(index);
-
-                    // Block type
-                    final short blockStateId = reader.readShort();
-                    final short customBlockId = reader.readShort();
-
-                    // Data
-                    SerializableData data = null;
-                    {
-                        final boolean hasBlockData = reader.readBoolean();
-                        // Data deserializer
-                        if (hasDataIndex && hasBlockData) {
-                            // Read the data with the deserialized index map
-                            data = new SerializableDataImpl();
-                            data.readSerializedData(reader, typeToIndexMap);
-                        }
-                    }
+            // Biomes
+            for (int i = 0; i < BIOME_COUNT; i++) {
+                final byte id = reader.readByte();
+                this.biomes[i] = BIOME_MANAGER.getById(id);
+            }
+
+            // Loop for all blocks in the chunk
+            while (reader.available() > 0) {
+                // Position
+                final short index = reader.readShort();
+                final byte x = ChunkUtils.blockIndexToChunkPositionX(index);
+                final short y = ChunkUtils.blockIndexToChunkPositionY(index);
+                final byte z = ChunkUtils.blockIndexToChunkPositionZ(index);
 
-                    UNSAFE_setBlock(x, y, z, blockStateId, customBlockId, data, CustomBlockUtils.hasUpdate(customBlockId));
+                // Block type
+                final short blockStateId = reader.readShort();
+                final short customBlockId = reader.readShort();
+
+                // Data
+                SerializableData data = null;
+                {
+                    final boolean hasBlockData = reader.readBoolean();
+                    // Data deserializer
+                    if (hasDataIndex && hasBlockData) {
+                        // Read the data with the deserialized index map
+                        data = new SerializableDataImpl();
+                        data.readSerializedData(reader, typeToIndexMap);
+                    }
                 }
 
-                // Finished reading
-                OptionalCallback.execute(callback, this);
+                UNSAFE_setBlock(x, y, z, blockStateId, customBlockId, data, CustomBlockUtils.hasUpdate(customBlockId));
             }
-        }).schedule();
+
+            // Finished reading
+            OptionalCallback.execute(callback, this);
+        }
     }
 
     @NotNull
     @Override
     protected ChunkDataPacket createFreshPacket() {
-        ChunkDataPacket fullDataPacket = new ChunkDataPacket(getIdentifier(), getLastChangeTime());
+        ChunkDataPacket fullDataPacket = new ChunkDataPacket(getIdentifier(), getVersion());
         fullDataPacket.biomes = biomes;
         fullDataPacket.chunkX = chunkX;
         fullDataPacket.chunkZ = chunkZ;
@@ -418,14 +434,16 @@ public class DynamicChunk extends Chunk {
         this.updatableBlocks.clear();
         this.updatableBlocksLastUpdate.clear();
         this.blockEntities.clear();
+        this.version++;
     }
 
-    private short getBlockAt(@NotNull PaletteStorage paletteStorage, int x, int y, int z) {
+    private short getBlockAt(@NotNull BlockStorage paletteStorage, int x, int y, int z) {
         return paletteStorage.getBlockAt(x, y, z);
     }
 
-    private void setBlockAt(@NotNull PaletteStorage paletteStorage, int x, int y, int z, short blockId) {
+    private void setBlockAt(@NotNull BlockStorage paletteStorage, int x, int y, int z, short blockId) {
         paletteStorage.setBlockAt(x, y, z, blockId);
         this.lastChangeTime = System.currentTimeMillis();
+        this.version++;
     }
 }
\ No newline at end of file
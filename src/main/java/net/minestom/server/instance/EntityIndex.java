@@ -0,0 +1,635 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.utils.Position;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index of the entities of an {@link Instance}, used for proximity queries.
+ * <p>
+ * Entities are stored in columns of {@link #CELL_SIZE}x{@link #CELL_SIZE} blocks, each cell keeping
+ * the entity ids and positions in primitive arrays. The index is updated incrementally by
+ * {@link Entity#refreshPosition(double, double, double)}, an entity moving inside its cell only updates its coordinates.
+ * <p>
+ * The cells are split between {@link #STRIPE_COUNT} stripes of regions, each having its own lock,
+ * so entities moving in different regions do not contend. Only an entity leaving the stripe of its region
+ * needs the locks of both stripes, always acquired in the stripe order.
+ * <p>
+ * Queries do not allocate once warmed up: the matching entities are collected in a buffer of the calling thread
+ * while holding the read locks of the stripes covered by the box, the consumers and filters are then called without any lock,
+ * they can therefore modify the index (e.g. move or remove entities).
+ */
+public final class EntityIndex {
+
+    private static final int CELL_SHIFT = 3;
+    /**
+     * The size of a cell in blocks.
+     */
+    public static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    // Regions of 4x4 cells, the stripes are laid out in 8x8 regions tiles
+    private static final int REGION_SHIFT = 2;
+    private static final int STRIPE_TILE_SIZE = 8;
+    private static final int STRIPE_COUNT = STRIPE_TILE_SIZE * STRIPE_TILE_SIZE;
+
+    // Empty cells kept to be reused, per stripe
+    private static final int MAXIMUM_FREE_CELLS = 4;
+    private static final ThreadLocal<QueryStack> QUERY_STACKS = ThreadLocal.withInitial(QueryStack::new);
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    // Entity id -> stripe index, only modified while holding the write lock of the stripe
+    private final Int2IntOpenHashMap entityStripes = new Int2IntOpenHashMap();
+
+    public EntityIndex() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            this.stripes[i] = new Stripe(i);
+        }
+        this.entityStripes.defaultReturnValue(-1);
+    }
+
+    /**
+     * Adds an entity at its current position, or updates its position if already present.
+     *
+     * @param entity the entity to add
+     */
+    public void add(@NotNull Entity entity) {
+        final Position position = entity.getPosition();
+        relocate(entity, position.getX(), position.getY(), position.getZ(), true);
+    }
+
+    /**
+     * Updates the position of an entity, does nothing if the entity is not in the index.
+     * <p>
+     * Only the lock of the stripe containing the new position is acquired
+     * unless the entity comes from another stripe.
+     *
+     * @param entity the entity to update
+     * @param x      the new entity X
+     * @param y      the new entity Y
+     * @param z      the new entity Z
+     */
+    public void update(@NotNull Entity entity, double x, double y, double z) {
+        relocate(entity, x, y, z, false);
+    }
+
+    /**
+     * Removes an entity.
+     *
+     * @param entity the entity to remove
+     */
+    public void remove(@NotNull Entity entity) {
+        final int entityId = entity.getEntityId();
+        while (true) {
+            final int stripeIndex = getEntityStripe(entityId);
+            if (stripeIndex == -1) {
+                return;
+            }
+            final Stripe stripe = stripes[stripeIndex];
+            final long stamp = stripe.lock.writeLock();
+            try {
+                // Otherwise moved to another stripe in the meantime
+                if (stripe.entityCells.containsKey(entityId)) {
+                    stripe.remove(entityId);
+                    synchronized (entityStripes) {
+                        this.entityStripes.remove(entityId);
+                    }
+                    return;
+                }
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of entities in the index.
+     *
+     * @return the number of indexed entities
+     */
+    public int size() {
+        synchronized (entityStripes) {
+            return entityStripes.size();
+        }
+    }
+
+    /**
+     * Calls a consumer with each entity whose position is in a box,
+     * minimum coordinates being inclusive and maximum ones exclusive.
+     *
+     * @param minX     the minimum X
+     * @param minY     the minimum Y
+     * @param minZ     the minimum Z
+     * @param maxX     the maximum X
+     * @param maxY     the maximum Y
+     * @param maxZ     the maximum Z
+     * @param type     the class of the entities to return, null for all the entities
+     * @param consumer the consumer called with each entity
+     * @param <T>      the entity type
+     */
+    public <T extends Entity> void forEachInBox(double minX, double minY, double minZ,
+                                                double maxX, double maxY, double maxZ,
+                                                @Nullable Class<T> type, @NotNull Consumer<? super T> consumer) {
+        final QueryStack stack = QUERY_STACKS.get();
+        final QueryBuffer buffer = stack.acquire();
+        try {
+            collect(buffer, minX, minY, minZ, maxX, maxY, maxZ, 0, 0, 0, -1, type);
+            accept(buffer, consumer);
+        } finally {
+            stack.release(buffer);
+        }
+    }
+
+    /**
+     * Calls a consumer with each entity whose position is at most at {@code radius} blocks of a position.
+     *
+     * @param x        the center X
+     * @param y        the center Y
+     * @param z        the center Z
+     * @param radius   the radius in blocks
+     * @param type     the class of the entities to return, null for all the entities
+     * @param consumer the consumer called with each entity
+     * @param <T>      the entity type
+     */
+    public <T extends Entity> void forEachInRadius(double x, double y, double z, double radius,
+                                                   @Nullable Class<T> type, @NotNull Consumer<? super T> consumer) {
+        final QueryStack stack = QUERY_STACKS.get();
+        final QueryBuffer buffer = stack.acquire();
+        try {
+            collect(buffer, x - radius, y - radius, z - radius, x + radius, y + radius, z + radius,
+                    x, y, z, radius * radius, type);
+            accept(buffer, consumer);
+        } finally {
+            stack.release(buffer);
+        }
+    }
+
+    /**
+     * Finds the nearest entities of a position.
+     *
+     * @param x           the center X
+     * @param y           the center Y
+     * @param z           the center Z
+     * @param maxDistance the maximum distance of the entities in blocks
+     * @param filter      the filter of the entities, null to accept all the entities
+     * @param result      the array filled with the nearest entities sorted by distance,
+     *                    its length is the maximum number of entities to find
+     * @return the number of entities found
+     */
+    public int findNearest(double x, double y, double z, double maxDistance,
+                           @Nullable Predicate<Entity> filter, @NotNull Entity[] result) {
+        final int maximum = result.length;
+        if (maximum == 0) {
+            return 0;
+        }
+
+        final QueryStack stack = QUERY_STACKS.get();
+        final QueryBuffer buffer = stack.acquire();
+        try {
+            collect(buffer, x - maxDistance, y - maxDistance, z - maxDistance,
+                    x + maxDistance, y + maxDistance, z + maxDistance,
+                    x, y, z, maxDistance * maxDistance, null);
+
+            // Insertion sort of the best candidates
+            final double[] resultDistances = buffer.ensureResultCapacity(maximum);
+            int count = 0;
+            for (int i = 0; i < buffer.size; i++) {
+                final double distance = buffer.distances[i];
+                if (count == maximum && distance >= resultDistances[count - 1]) {
+                    continue;
+                }
+                final Entity entity = buffer.entities[i];
+                if (filter != null && !filter.test(entity)) {
+                    continue;
+                }
+
+                int index = count < maximum ? count++ : maximum - 1;
+                while (index > 0 && resultDistances[index - 1] > distance) {
+                    result[index] = result[index - 1];
+                    resultDistances[index] = resultDistances[index - 1];
+                    index--;
+                }
+                result[index] = entity;
+                resultDistances[index] = distance;
+            }
+            return count;
+        } finally {
+            stack.release(buffer);
+        }
+    }
+
+    /**
+     * Finds the nearest entity of a position.
+     *
+     * @param x           the center X
+     * @param y           the center Y
+     * @param z           the center Z
+     * @param maxDistance the maximum distance of the entity in blocks
+     * @param filter      the filter of the entities, null to accept all the entities
+     * @return the nearest entity, null if not any
+     */
+    @Nullable
+    public Entity findNearest(double x, double y, double z, double maxDistance, @Nullable Predicate<Entity> filter) {
+        final QueryStack stack = QUERY_STACKS.get();
+        final QueryBuffer buffer = stack.acquire();
+        try {
+            collect(buffer, x - maxDistance, y - maxDistance, z - maxDistance,
+                    x + maxDistance, y + maxDistance, z + maxDistance,
+                    x, y, z, maxDistance * maxDistance, null);
+
+            Entity nearest = null;
+            double nearestDistance = Double.MAX_VALUE;
+            for (int i = 0; i < buffer.size; i++) {
+                final double distance = buffer.distances[i];
+                if (distance < nearestDistance && (filter == null || filter.test(buffer.entities[i]))) {
+                    nearest = buffer.entities[i];
+                    nearestDistance = distance;
+                }
+            }
+            return nearest;
+        } finally {
+            stack.release(buffer);
+        }
+    }
+
+    /**
+     * Collects the entities of a box in a buffer, holding the read locks of the stripes covered by the box
+     * so an entity moving between two of them is collected once.
+     *
+     * @param radiusSquared the squared radius from the center, negative to only check the box
+     */
+    private void collect(@NotNull QueryBuffer buffer,
+                         double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                         double centerX, double centerY, double centerZ, double radiusSquared,
+                         @Nullable Class<? extends Entity> type) {
+        final int minCellX = getCellCoordinate(minX);
+        final int minCellZ = getCellCoordinate(minZ);
+        final int maxCellX = getCellCoordinate(maxX);
+        final int maxCellZ = getCellCoordinate(maxZ);
+
+        final long stripeMask = getStripeMask(minCellX, minCellZ, maxCellX, maxCellZ);
+        final long[] stamps = buffer.stamps;
+        // Locked in the stripe order
+        int cellCount = 0;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            if ((stripeMask & (1L << i)) != 0) {
+                final Stripe stripe = stripes[i];
+                stamps[i] = stripe.lock.readLock();
+                cellCount += stripe.cells.size();
+            }
+        }
+        try {
+            final long boxCells = ((long) maxCellX - minCellX + 1) * ((long) maxCellZ - minCellZ + 1);
+            if (boxCells > cellCount) {
+                // Faster to check all the cells
+                for (int i = 0; i < STRIPE_COUNT; i++) {
+                    if ((stripeMask & (1L << i)) != 0) {
+                        for (Cell cell : stripes[i].cells.values()) {
+                            collect(cell, buffer, minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, radiusSquared, type);
+                        }
+                    }
+                }
+                return;
+            }
+
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    final Cell cell = stripes[getStripeIndex(cellX, cellZ)].cells.get(getCellKey(cellX, cellZ));
+                    if (cell != null) {
+                        collect(cell, buffer, minX, minY, minZ, maxX, maxY, maxZ, centerX, centerY, centerZ, radiusSquared, type);
+                    }
+                }
+            }
+        } finally {
+            for (int i = 0; i < STRIPE_COUNT; i++) {
+                if ((stripeMask & (1L << i)) != 0) {
+                    stripes[i].lock.unlockRead(stamps[i]);
+                }
+            }
+        }
+    }
+
+    private static void collect(@NotNull Cell cell, @NotNull QueryBuffer buffer,
+                                double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                                double centerX, double centerY, double centerZ, double radiusSquared,
+                                @Nullable Class<? extends Entity> type) {
+        final double[] xs = cell.xs;
+        final double[] ys = cell.ys;
+        final double[] zs = cell.zs;
+        for (int i = 0; i < cell.size; i++) {
+            final double x = xs[i];
+            final double y = ys[i];
+            final double z = zs[i];
+            if (x < minX || x >= maxX || y < minY || y >= maxY || z < minZ || z >= maxZ) {
+                continue;
+            }
+
+            double distance = 0;
+            if (radiusSquared >= 0) {
+                final double dx = x - centerX;
+                final double dy = y - centerY;
+                final double dz = z - centerZ;
+                distance = dx * dx + dy * dy + dz * dz;
+                if (distance > radiusSquared) {
+                    continue;
+                }
+            }
+
+            final Entity entity = cell.entities[i];
+            if (type == null || type.isInstance(entity)) {
+                buffer.add(entity, distance);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Entity> void accept(@NotNull QueryBuffer buffer, @NotNull Consumer<? super T> consumer) {
+        for (int i = 0; i < buffer.size; i++) {
+            consumer.accept((T) buffer.entities[i]);
+        }
+    }
+
+    /**
+     * Moves an entity to a position, or inserts it if {@code insert} is true and the entity is not in the index.
+     */
+    private void relocate(@NotNull Entity entity, double x, double y, double z, boolean insert) {
+        final int entityId = entity.getEntityId();
+        final int cellX = getCellCoordinate(x);
+        final int cellZ = getCellCoordinate(z);
+        final long cellKey = getCellKey(cellX, cellZ);
+        final Stripe stripe = stripes[getStripeIndex(cellX, cellZ)];
+
+        // Most moves stay in the same stripe
+        final long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.move(entity, cellKey, x, y, z)) {
+                return;
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+
+        while (true) {
+            final int lastStripeIndex = getEntityStripe(entityId);
+            if (lastStripeIndex == -1 && !insert) {
+                return;
+            }
+            final Stripe lastStripe = lastStripeIndex != -1 ? stripes[lastStripeIndex] : stripe;
+            final Stripe first = lastStripe.index <= stripe.index ? lastStripe : stripe;
+            final Stripe second = lastStripe.index <= stripe.index ? stripe : lastStripe;
+            final long firstStamp = first.lock.writeLock();
+            final long secondStamp = second != first ? second.lock.writeLock() : 0;
+            try {
+                synchronized (entityStripes) {
+                    if (entityStripes.get(entityId) != lastStripeIndex) {
+                        // Moved or removed in the meantime
+                        continue;
+                    }
+                    this.entityStripes.put(entityId, stripe.index);
+                }
+                if (lastStripeIndex != -1) {
+                    lastStripe.remove(entityId);
+                }
+                stripe.insert(entity, cellKey, x, y, z);
+                return;
+            } finally {
+                if (second != first) {
+                    second.lock.unlockWrite(secondStamp);
+                }
+                first.lock.unlockWrite(firstStamp);
+            }
+        }
+    }
+
+    private int getEntityStripe(int entityId) {
+        synchronized (entityStripes) {
+            return entityStripes.get(entityId);
+        }
+    }
+
+    /**
+     * Gets the stripes containing the cells of a box.
+     *
+     * @return the mask of the stripe indexes
+     */
+    private static long getStripeMask(int minCellX, int minCellZ, int maxCellX, int maxCellZ) {
+        final int minRegionX = minCellX >> REGION_SHIFT;
+        final int minRegionZ = minCellZ >> REGION_SHIFT;
+        final int maxRegionX = maxCellX >> REGION_SHIFT;
+        final int maxRegionZ = maxCellZ >> REGION_SHIFT;
+        if ((long) maxRegionX - minRegionX >= STRIPE_TILE_SIZE - 1 || (long) maxRegionZ - minRegionZ >= STRIPE_TILE_SIZE - 1) {
+            // Covers a whole tile
+            return -1L;
+        }
+
+        long mask = 0;
+        for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+            for (int regionZ = minRegionZ; regionZ <= maxRegionZ; regionZ++) {
+                mask |= 1L << getRegionStripeIndex(regionX, regionZ);
+            }
+        }
+        return mask;
+    }
+
+    private static int getStripeIndex(int cellX, int cellZ) {
+        return getRegionStripeIndex(cellX >> REGION_SHIFT, cellZ >> REGION_SHIFT);
+    }
+
+    private static int getRegionStripeIndex(int regionX, int regionZ) {
+        return (regionX & (STRIPE_TILE_SIZE - 1)) | (regionZ & (STRIPE_TILE_SIZE - 1)) * STRIPE_TILE_SIZE;
+    }
+
+    private static int getCellCoordinate(double xz) {
+        return (int) Math.floor(xz) >> CELL_SHIFT;
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return (((long) cellX) << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Cells of the regions of a stripe, only accessed while holding its lock.
+     */
+    private static final class Stripe {
+        private final int index;
+        private final StampedLock lock = new StampedLock();
+        private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+        // Entity id -> cell key
+        private final Int2LongOpenHashMap entityCells = new Int2LongOpenHashMap();
+        private final List<Cell> freeCells = new ArrayList<>();
+
+        private Stripe(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Moves an entity to a cell of the stripe, needs to be called while holding the write lock.
+         *
+         * @return true if the entity is in the stripe
+         */
+        private boolean move(@NotNull Entity entity, long cellKey, double x, double y, double z) {
+            final int entityId = entity.getEntityId();
+            if (!entityCells.containsKey(entityId)) {
+                return false;
+            }
+
+            final long lastCellKey = entityCells.get(entityId);
+            if (cellKey == lastCellKey) {
+                final Cell cell = cells.get(cellKey);
+                final int index = cell.indexOf(entityId);
+                cell.xs[index] = x;
+                cell.ys[index] = y;
+                cell.zs[index] = z;
+            } else {
+                removeFromCell(lastCellKey, entityId);
+                insert(entity, cellKey, x, y, z);
+            }
+            return true;
+        }
+
+        private void insert(@NotNull Entity entity, long cellKey, double x, double y, double z) {
+            Cell cell = cells.get(cellKey);
+            if (cell == null) {
+                cell = freeCells.isEmpty() ? new Cell() : freeCells.remove(freeCells.size() - 1);
+                this.cells.put(cellKey, cell);
+            }
+            cell.add(entity, x, y, z);
+            this.entityCells.put(entity.getEntityId(), cellKey);
+        }
+
+        private void remove(int entityId) {
+            removeFromCell(entityCells.remove(entityId), entityId);
+        }
+
+        private void removeFromCell(long cellKey, int entityId) {
+            final Cell cell = cells.get(cellKey);
+            cell.remove(cell.indexOf(entityId));
+            if (cell.size == 0) {
+                this.cells.remove(cellKey);
+                if (freeCells.size() < MAXIMUM_FREE_CELLS) {
+                    this.freeCells.add(cell);
+                }
+            }
+        }
+    }
+
+    private static final class Cell {
+        private int size;
+        private int[] ids = new int[8];
+        private double[] xs = new double[8];
+        private double[] ys = new double[8];
+        private double[] zs = new double[8];
+        private Entity[] entities = new Entity[8];
+
+        private int indexOf(int entityId) {
+            final int[] ids = this.ids;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == entityId) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("The entity " + entityId + " is not in its cell");
+        }
+
+        private void add(@NotNull Entity entity, double x, double y, double z) {
+            if (size == ids.length) {
+                final int capacity = size * 2;
+                this.ids = Arrays.copyOf(ids, capacity);
+                this.xs = Arrays.copyOf(xs, capacity);
+                this.ys = Arrays.copyOf(ys, capacity);
+                this.zs = Arrays.copyOf(zs, capacity);
+                this.entities = Arrays.copyOf(entities, capacity);
+            }
+            this.ids[size] = entity.getEntityId();
+            this.xs[size] = x;
+            this.ys[size] = y;
+            this.zs[size] = z;
+            this.entities[size] = entity;
+            this.size++;
+        }
+
+        private void remove(int index) {
+            // Replaced by the last entity
+            final int last = --size;
+            this.ids[index] = ids[last];
+            this.xs[index] = xs[last];
+            this.ys[index] = ys[last];
+            this.zs[index] = zs[last];
+            this.entities[index] = entities[last];
+            this.entities[last] = null;
+        }
+    }
+
+    /**
+     * Entities collected by a query, reused by the next queries of the thread.
+     */
+    private static final class QueryBuffer {
+        private int size;
+        private Entity[] entities = new Entity[32];
+        private double[] distances = new double[32];
+        private double[] resultDistances = new double[8];
+        // Read lock stamps of the stripes
+        private final long[] stamps = new long[STRIPE_COUNT];
+
+        private void add(@NotNull Entity entity, double distance) {
+            if (size == entities.length) {
+                this.entities = Arrays.copyOf(entities, size * 2);
+                this.distances = Arrays.copyOf(distances, size * 2);
+            }
+            this.entities[size] = entity;
+            this.distances[size] = distance;
+            this.size++;
+        }
+
+        @NotNull
+        private double[] ensureResultCapacity(int capacity) {
+            if (resultDistances.length < capacity) {
+                this.resultDistances = new double[capacity];
+            }
+            return resultDistances;
+        }
+
+        private void clear() {
+            // Do not keep the entities alive
+            Arrays.fill(entities, 0, size, null);
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Buffers of a thread, a query can be executed in the consumer of another one.
+     */
+    private static final class QueryStack {
+        private QueryBuffer[] buffers = new QueryBuffer[2];
+        private int depth;
+
+        @NotNull
+        private QueryBuffer acquire() {
+            if (depth == buffers.length) {
+                this.buffers = Arrays.copyOf(buffers, depth * 2);
+            }
+            QueryBuffer buffer = buffers[depth];
+            if (buffer == null) {
+                buffer = new QueryBuffer();
+                this.buffers[depth] = buffer;
+            }
+            this.depth++;
+            return buffer;
+        }
+
+        private void release(@NotNull QueryBuffer buffer) {
+            buffer.clear();
+            this.depth--;
+        }
+    }
+}
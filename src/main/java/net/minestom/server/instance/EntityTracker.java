@@ -0,0 +1,227 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.entity.Player;
+import net.minestom.server.utils.Position;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Keeps the viewers of the {@link Entity#isAutoViewable() auto viewable} entities of an {@link Instance} up to date.
+ * <p>
+ * A player sees an entity when the distance between their chunks (the maximum of the X and Z distances)
+ * is at most the tracking range of the entity type, see {@link #getTrackingRange(EntityType)}.
+ * <p>
+ * The viewers are updated when an entity changes chunk by only visiting the chunks whose distance to the entity changed,
+ * the cost therefore depends on the movement instead of the number of entities in range.
+ * The destroy packets are batched and sent once per tick to each player.
+ */
+public final class EntityTracker {
+
+    private static final int UNTRACKED = Integer.MAX_VALUE;
+
+    private final Instance instance;
+
+    // Tracking range in chunks per entity type ordinal
+    private final int[] trackingRanges = new int[EntityType.values().length];
+    private volatile int maximumTrackingRange;
+
+    public EntityTracker(@NotNull Instance instance) {
+        this.instance = instance;
+
+        // Vanilla ranges, all limited by the entity view distance
+        Arrays.fill(trackingRanges, 10);
+        trackingRanges[EntityType.PLAYER.ordinal()] = 32;
+        for (EntityType entityType : new EntityType[]{
+                EntityType.MINECART, EntityType.CHEST_MINECART, EntityType.COMMAND_BLOCK_MINECART,
+                EntityType.FURNACE_MINECART, EntityType.HOPPER_MINECART, EntityType.SPAWNER_MINECART,
+                EntityType.TNT_MINECART, EntityType.SHULKER_BULLET}) {
+            trackingRanges[entityType.ordinal()] = 8;
+        }
+        for (EntityType entityType : new EntityType[]{
+                EntityType.ITEM, EntityType.EXPERIENCE_ORB, EntityType.EVOKER_FANGS}) {
+            trackingRanges[entityType.ordinal()] = 6;
+        }
+        for (EntityType entityType : new EntityType[]{
+                EntityType.ARROW, EntityType.SPECTRAL_ARROW, EntityType.TRIDENT, EntityType.SNOWBALL, EntityType.EGG,
+                EntityType.ENDER_PEARL, EntityType.EXPERIENCE_BOTTLE, EntityType.EYE_OF_ENDER, EntityType.FIREBALL,
+                EntityType.SMALL_FIREBALL, EntityType.DRAGON_FIREBALL, EntityType.WITHER_SKULL, EntityType.LLAMA_SPIT,
+                EntityType.FIREWORK_ROCKET, EntityType.FISHING_BOBBER}) {
+            trackingRanges[entityType.ordinal()] = 4;
+        }
+        refreshMaximumTrackingRange();
+    }
+
+    /**
+     * Gets the distance in chunks at which the entities of a type are visible.
+     *
+     * @param entityType the entity type
+     * @return the tracking range of {@code entityType}, at most {@link MinecraftServer#getEntityViewDistance()}
+     */
+    public int getTrackingRange(@NotNull EntityType entityType) {
+        return Math.min(trackingRanges[entityType.ordinal()], MinecraftServer.getEntityViewDistance());
+    }
+
+    /**
+     * Changes the distance in chunks at which the entities of a type are visible.
+     * <p>
+     * The viewers of the entities already in range are only updated once they change chunk,
+     * the new range should therefore be set before spawning entities.
+     *
+     * @param entityType    the entity type
+     * @param trackingRange the new tracking range in chunks, limited by {@link MinecraftServer#getEntityViewDistance()}
+     * @throws IllegalArgumentException if {@code trackingRange} is negative
+     */
+    public synchronized void setTrackingRange(@NotNull EntityType entityType, int trackingRange) {
+        Check.argCondition(trackingRange < 0, "The tracking range cannot be negative");
+        this.trackingRanges[entityType.ordinal()] = trackingRange;
+        refreshMaximumTrackingRange();
+    }
+
+    /**
+     * Gets the highest tracking range, the distance in chunks at which a player can see entities.
+     *
+     * @return the maximum tracking range, at most {@link MinecraftServer#getEntityViewDistance()}
+     */
+    public int getMaximumTrackingRange() {
+        return Math.min(maximumTrackingRange, MinecraftServer.getEntityViewDistance());
+    }
+
+    /**
+     * Gets if an entity is close enough to a chunk to be seen by the players in it.
+     *
+     * @param entity the entity
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return true if the entity chunk is in the tracking range of {@code entity}
+     */
+    public boolean isInRange(@NotNull Entity entity, int chunkX, int chunkZ) {
+        final Position position = entity.getPosition();
+        final int entityChunkX = ChunkUtils.getChunkCoordinate((int) Math.floor(position.getX()));
+        final int entityChunkZ = ChunkUtils.getChunkCoordinate((int) Math.floor(position.getZ()));
+        return distance(entityChunkX, entityChunkZ, chunkX, chunkZ) <= getTrackingRange(entity.getEntityType());
+    }
+
+    /**
+     * Adds the viewers of an entity added to the instance, and the entities it sees if it is a player.
+     *
+     * @param entity the added entity
+     * @param chunk  the entity chunk
+     */
+    void track(@NotNull Entity entity, @NotNull Chunk chunk) {
+        updateView(entity, false, 0, 0, chunk.getChunkX(), chunk.getChunkZ());
+    }
+
+    /**
+     * Updates the viewers of an entity which changed chunk, and the entities it sees if it is a player.
+     *
+     * @param entity    the moved entity
+     * @param lastChunk the last entity chunk
+     * @param newChunk  the new entity chunk
+     */
+    void move(@NotNull Entity entity, @NotNull Chunk lastChunk, @NotNull Chunk newChunk) {
+        if (lastChunk == newChunk)
+            return;
+        updateView(entity, true, lastChunk.getChunkX(), lastChunk.getChunkZ(),
+                newChunk.getChunkX(), newChunk.getChunkZ());
+    }
+
+    private void updateView(@NotNull Entity entity, boolean tracked,
+                            int lastX, int lastZ, int newX, int newZ) {
+        // Players seeing the entity
+        if (entity.isAutoViewable()) {
+            final int range = getTrackingRange(entity.getEntityType());
+            forEachChangedChunk(tracked, lastX, lastZ, newX, newZ, range, (entities, lastDistance, newDistance) -> {
+                final boolean visible = newDistance <= range;
+                if ((lastDistance <= range) == visible)
+                    return;
+                for (Entity viewer : entities) {
+                    if (viewer == entity || !(viewer instanceof Player))
+                        continue;
+                    if (visible) {
+                        entity.addViewer((Player) viewer);
+                    } else {
+                        entity.removeViewer((Player) viewer);
+                    }
+                }
+            });
+        }
+
+        // Entities seen by the player
+        if (entity instanceof Player) {
+            final Player player = (Player) entity;
+            forEachChangedChunk(tracked, lastX, lastZ, newX, newZ, getMaximumTrackingRange(), (entities, lastDistance, newDistance) -> {
+                for (Entity viewed : entities) {
+                    if (viewed == player || !viewed.isAutoViewable())
+                        continue;
+                    final int range = getTrackingRange(viewed.getEntityType());
+                    final boolean visible = newDistance <= range;
+                    if ((lastDistance <= range) == visible)
+                        continue;
+                    if (visible) {
+                        viewed.addViewer(player);
+                    } else {
+                        viewed.removeViewer(player);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Visits the non-empty chunks in range of the last or the new position whose distance to the position changed.
+     */
+    private void forEachChangedChunk(boolean tracked, int lastX, int lastZ, int newX, int newZ,
+                                     int range, @NotNull ChunkConsumer consumer) {
+        if (tracked && distance(lastX, lastZ, newX, newZ) <= range * 2) {
+            // Overlapping areas, visit their bounding box
+            forEachChunk(tracked, lastX, lastZ, newX, newZ, range,
+                    Math.min(lastX, newX) - range, Math.min(lastZ, newZ) - range,
+                    Math.max(lastX, newX) + range, Math.max(lastZ, newZ) + range, consumer);
+            return;
+        }
+
+        if (tracked) {
+            forEachChunk(true, lastX, lastZ, newX, newZ, range,
+                    lastX - range, lastZ - range, lastX + range, lastZ + range, consumer);
+        }
+        forEachChunk(tracked, lastX, lastZ, newX, newZ, range,
+                newX - range, newZ - range, newX + range, newZ + range, consumer);
+    }
+
+    private void forEachChunk(boolean tracked, int lastX, int lastZ, int newX, int newZ, int range,
+                              int minX, int minZ, int maxX, int maxZ, @NotNull ChunkConsumer consumer) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final int lastDistance = tracked ? distance(x, z, lastX, lastZ) : UNTRACKED;
+                final int newDistance = distance(x, z, newX, newZ);
+                if (lastDistance == newDistance || Math.min(lastDistance, newDistance) > range)
+                    continue;
+
+                final Set<Entity> entities = instance.chunkEntities.get(ChunkUtils.getChunkIndex(x, z));
+                if (entities == null || entities.isEmpty())
+                    continue;
+                consumer.accept(entities, lastDistance, newDistance);
+            }
+        }
+    }
+
+    private void refreshMaximumTrackingRange() {
+        this.maximumTrackingRange = Arrays.stream(trackingRanges).max().orElse(0);
+    }
+
+    private static int distance(int x1, int z1, int x2, int z2) {
+        return Math.max(Math.abs(x1 - x2), Math.abs(z1 - z2));
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+        void accept(@NotNull Set<Entity> entities, int lastDistance, int newDistance);
+    }
+}
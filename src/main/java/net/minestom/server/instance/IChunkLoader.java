@@ -7,7 +7,9 @@ import net.minestom.server.utils.thread.MinestomThread;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -18,6 +20,14 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public interface IChunkLoader {
 
+    /**
+     * The thread pool used by {@link #saveChunks(Collection, Runnable)} when {@link #supportsParallelSaving()} is enabled.
+     * <p>
+     * Not stopped by {@link MinestomThread#shutdownAll()}, {@link MinecraftServer#stopCleanly()} waits
+     * for the queued saves before closing the storage locations.
+     */
+    ExecutorService CHUNK_SAVING_POOL = new MinestomThread(MinecraftServer.THREAD_COUNT_PARALLEL_CHUNK_SAVING, MinecraftServer.THREAD_NAME_PARALLEL_CHUNK_SAVING, true);
+
     /**
      * Loads a {@link Chunk}, all blocks should be set since the {@link ChunkGenerator} is not applied.
      *
@@ -43,7 +53,8 @@ public interface IChunkLoader {
     /**
      * Saves multiple chunks with an optional callback for when it is done.
      * <p>
-     * Implementations need to check {@link #supportsParallelSaving()} to support the feature if possible.
+     * Implementations need to check {@link #supportsParallelSaving()} to support the feature if possible,
+     * chunks are then copied in the calling thread and the copies are saved in {@link #CHUNK_SAVING_POOL}.
      *
      * @param chunks   the chunks to save
      * @param callback the callback executed when the {@link Chunk} is done saving,
@@ -51,15 +62,36 @@ public interface IChunkLoader {
      *                 Can be null.
      */
     default void saveChunks(@NotNull Collection<Chunk> chunks, @Nullable Runnable callback) {
+        if (chunks.isEmpty()) {
+            OptionalCallback.execute(callback);
+            return;
+        }
+
         if (supportsParallelSaving()) {
-            ExecutorService parallelSavingThreadPool = new MinestomThread(MinecraftServer.THREAD_COUNT_PARALLEL_CHUNK_SAVING, MinecraftServer.THREAD_NAME_PARALLEL_CHUNK_SAVING, true);
-            chunks.forEach(c -> parallelSavingThreadPool.execute(() -> saveChunk(c, null)));
-            try {
-                parallelSavingThreadPool.shutdown();
-                parallelSavingThreadPool.awaitTermination(1L, java.util.concurrent.TimeUnit.DAYS);
-                OptionalCallback.execute(callback);
-            } catch (InterruptedException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
+            // Copy the chunks so they can be modified while being saved
+            List<Chunk> snapshots = new ArrayList<>(chunks.size());
+            for (Chunk chunk : chunks) {
+                synchronized (chunk) {
+                    snapshots.add(chunk.copy(chunk.getChunkX(), chunk.getChunkZ()));
+                }
+            }
+
+            AtomicInteger counter = new AtomicInteger();
+            for (Chunk snapshot : snapshots) {
+                CHUNK_SAVING_POOL.execute(() -> {
+                    try {
+                        saveChunk(snapshot, null);
+                    } catch (Exception e) {
+                        MinecraftServer.getExceptionManager().handleException(e);
+                    } finally {
+                        // Give back the resources of the copy
+                        snapshot.unload();
+                        final boolean isLast = counter.incrementAndGet() == snapshots.size();
+                        if (isLast) {
+                            OptionalCallback.execute(callback);
+                        }
+                    }
+                });
             }
         } else {
             AtomicInteger counter = new AtomicInteger();
@@ -83,6 +115,18 @@ public interface IChunkLoader {
         return false;
     }
 
+    /**
+     * Does this {@link IChunkLoader} implement {@link ChunkDataReader}?
+     * <p>
+     * Can be overridden to return false in order to load the chunks using {@link #loadChunk(Instance, int, int, ChunkCallback)}
+     * even though the data can be read, returning true without implementing {@link ChunkDataReader} is invalid.
+     *
+     * @return true if the chunk loader can read the chunk data without deserializing it
+     */
+    default boolean supportsDataReading() {
+        return this instanceof ChunkDataReader;
+    }
+
     /**
      * Does this {@link IChunkLoader} allow for multi-threaded loading of {@link Chunk}?
      *
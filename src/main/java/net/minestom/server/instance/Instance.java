@@ -30,7 +30,6 @@ import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.Position;
 import net.minestom.server.utils.chunk.ChunkCallback;
 import net.minestom.server.utils.chunk.ChunkUtils;
-import net.minestom.server.utils.entity.EntityUtils;
 import net.minestom.server.utils.time.CooldownUtils;
 import net.minestom.server.utils.time.TimeUnit;
 import net.minestom.server.utils.time.UpdateOption;
@@ -89,6 +88,10 @@ public abstract class Instance implements BlockModifier, EventHandler, DataConta
     // Entities per chunk
     protected final Long2ObjectMap<Set<Entity>> chunkEntities = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
     private Object entitiesLock = new Object(); // Lock used to prevent the entities Set and Map to be subject to race condition
+    // Entities per position, for proximity queries
+    private final EntityIndex entityIndex = new EntityIndex();
+    // Viewers of the auto viewable entities
+    private final EntityTracker entityTracker = new EntityTracker(this);
 
     // the uuid of this instance
     protected UUID uniqueId;
@@ -172,6 +175,19 @@ public abstract class Instance implements BlockModifier, EventHandler, DataConta
      */
     public abstract void loadOptionalChunk(int chunkX, int chunkZ, @Nullable ChunkCallback callback);
 
+    /**
+     * Loads a chunk needed by the view of a player, like {@link #loadOptionalChunk(int, int, ChunkCallback)}
+     * but the loading can be cancelled if the chunk is not in the view of any player anymore.
+     *
+     * @param chunkX   the chunk X
+     * @param chunkZ   the chunk Z
+     * @param callback optional consumer called after the chunk has tried to be loaded,
+     *                 contains a chunk if it is successful, null otherwise
+     */
+    public void loadVisibleChunk(int chunkX, int chunkZ, @Nullable ChunkCallback callback) {
+        loadOptionalChunk(chunkX, chunkZ, callback);
+    }
+
     /**
      * Schedules the removal of a {@link Chunk}, this method does not promise when it will be done.
      * <p>
@@ -503,6 +519,26 @@ public abstract class Instance implements BlockModifier, EventHandler, DataConta
         return Collections.unmodifiableSet(experienceOrbs);
     }
 
+    /**
+     * Gets the spatial index of the entities, used for proximity queries.
+     *
+     * @return the entity index
+     */
+    @NotNull
+    public EntityIndex getEntityIndex() {
+        return entityIndex;
+    }
+
+    /**
+     * Gets the tracker keeping the viewers of the auto viewable entities, where the tracking ranges are defined.
+     *
+     * @return the entity tracker
+     */
+    @NotNull
+    public EntityTracker getEntityTracker() {
+        return entityTracker;
+    }
+
     /**
      * Gets the entities located in the chunk.
      *
@@ -889,22 +925,13 @@ public abstract class Instance implements BlockModifier, EventHandler, DataConta
                 getWorldBorder().init(player);
             }
 
-            // Send all visible entities
-            EntityUtils.forEachRange(this, entityPosition, MinecraftServer.getEntityViewDistance(), ent -> {
-                if (isPlayer) {
-                    if (ent.isAutoViewable())
-                        ent.addViewer((Player) entity);
-                }
-
-                if (ent instanceof Player) {
-                    if (entity.isAutoViewable())
-                        entity.addViewer((Player) ent);
-                }
-            });
-
             final Chunk chunk = getChunkAt(entityPosition);
             Check.notNull(chunk, "You tried to spawn an entity in an unloaded chunk, " + entityPosition);
             addEntityToChunk(entity, chunk);
+            this.entityIndex.add(entity);
+
+            // Send all visible entities
+            this.entityTracker.track(entity, chunk);
         });
     }
 
@@ -929,20 +956,26 @@ public abstract class Instance implements BlockModifier, EventHandler, DataConta
             final Chunk chunk = getChunkAt(entity.getPosition());
             Check.notNull(chunk, "Tried to interact with an unloaded chunk.");
             removeEntityFromChunk(entity, chunk);
+            this.entityIndex.remove(entity);
         });
     }
 
     /**
-     * Synchronized method to execute {@link #removeEntityFromChunk(Entity, Chunk)}
-     * and {@link #addEntityToChunk(Entity, Chunk)} simultaneously.
+     * Moves an entity from a chunk to another and updates its viewers with the {@link EntityTracker}.
+     * <p>
+     * Only the entities per chunk are modified, the instance entity sets are not copied.
      *
      * @param entity    the entity to change its chunk
      * @param lastChunk the last entity chunk
      * @param newChunk  the new entity chunk
      */
-    public synchronized void switchEntityChunk(@NotNull Entity entity, @NotNull Chunk lastChunk, @NotNull Chunk newChunk) {
-        removeEntityFromChunk(entity, lastChunk);
-        addEntityToChunk(entity, newChunk);
+    public void switchEntityChunk(@NotNull Entity entity, @NotNull Chunk lastChunk, @NotNull Chunk newChunk) {
+        Check.argCondition(!newChunk.isLoaded(), "Chunk " + newChunk + " has been unloaded previously");
+        synchronized (entitiesLock) {
+            getEntitiesInChunk(ChunkUtils.getChunkIndex(lastChunk.getChunkX(), lastChunk.getChunkZ())).remove(entity);
+            getEntitiesInChunk(ChunkUtils.getChunkIndex(newChunk.getChunkX(), newChunk.getChunkZ())).add(entity);
+        }
+        this.entityTracker.move(entity, lastChunk, newChunk);
     }
 
     /**
@@ -1004,7 +1037,7 @@ public abstract class Instance implements BlockModifier, EventHandler, DataConta
 
     @NotNull
     private Set<Entity> getEntitiesInChunk(long index) {
-        return chunkEntities.computeIfAbsent(index, i -> new CopyOnWriteArraySet<>());
+        return chunkEntities.computeIfAbsent(index, i -> ConcurrentHashMap.newKeySet());
     }
 
     /**
@@ -1035,6 +1068,9 @@ public abstract class Instance implements BlockModifier, EventHandler, DataConta
             }
         }
 
+        // Pathfinding occlusion fields, updated once with all the block changes of the last tick
+        this.instanceSpace.update();
+
         // Time
         {
             this.worldAge++;
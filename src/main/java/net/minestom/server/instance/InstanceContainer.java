@@ -66,6 +66,8 @@ public class InstanceContainer extends Instance {
 
     // the chunk loader, used when trying to load/save a chunk from another source
     private IChunkLoader chunkLoader;
+    // used to retrieve the chunks asynchronously, calling the chunk loader or generator
+    private final ChunkLoadPipeline chunkLoadPipeline = new ChunkLoadPipeline(this);
 
     // used to automatically enable the chunk loading or not
     private boolean autoChunkLoad;
@@ -442,6 +444,21 @@ public class InstanceContainer extends Instance {
         }
     }
 
+    @Override
+    public void loadVisibleChunk(int chunkX, int chunkZ, @Nullable ChunkCallback callback) {
+        final Chunk chunk = getChunk(chunkX, chunkZ);
+        if (chunk != null) {
+            // Chunk already loaded
+            OptionalCallback.execute(callback, chunk);
+        } else if (hasEnabledAutoChunkLoad()) {
+            // Cancelled if the chunk is not visible anymore once it has its turn
+            this.chunkLoadPipeline.load(chunkX, chunkZ, callback, true);
+        } else {
+            // Chunk not loaded, return null
+            OptionalCallback.execute(callback, null);
+        }
+    }
+
     @Override
     public void unloadChunk(@NotNull Chunk chunk) {
         // Already unloaded chunk
@@ -515,20 +532,26 @@ public class InstanceContainer extends Instance {
 
     @Override
     protected void retrieveChunk(int chunkX, int chunkZ, @Nullable ChunkCallback callback) {
-        final boolean loaded = chunkLoader.loadChunk(this, chunkX, chunkZ, chunk -> {
-            cacheChunk(chunk);
-            UPDATE_MANAGER.signalChunkLoad(this, chunkX, chunkZ);
-            // Execute callback and event in the instance thread
-            scheduleNextTick(instance -> {
-                callChunkLoadEvent(chunkX, chunkZ);
-                OptionalCallback.execute(callback, chunk);
-            });
-        });
+        // Read from the chunk loader or create a new chunk
+        this.chunkLoadPipeline.load(chunkX, chunkZ, callback, false);
+    }
 
-        if (!loaded) {
-            // Not found, create a new chunk
-            createChunk(chunkX, chunkZ, callback);
-        }
+    /**
+     * Caches and signals a chunk retrieved from the {@link IChunkLoader}.
+     *
+     * @param chunk    the loaded chunk
+     * @param callback the optional callback executed in the instance thread
+     */
+    void completeChunkLoad(@NotNull Chunk chunk, @Nullable ChunkCallback callback) {
+        final int chunkX = chunk.getChunkX();
+        final int chunkZ = chunk.getChunkZ();
+        cacheChunk(chunk);
+        UPDATE_MANAGER.signalChunkLoad(this, chunkX, chunkZ);
+        // Execute callback and event in the instance thread
+        scheduleNextTick(instance -> {
+            callChunkLoadEvent(chunkX, chunkZ);
+            OptionalCallback.execute(callback, chunk);
+        });
     }
 
     @Override
@@ -549,14 +572,16 @@ public class InstanceContainer extends Instance {
             // Execute the chunk generator to populate the chunk
             final ChunkBatch chunkBatch = new ChunkBatch(this, chunk, true);
 
-            chunkBatch.flushChunkGenerator(chunkGenerator, callback);
+            // Already in a chunk generation thread (see ChunkLoadPipeline)
+            chunkBatch.singleThreadFlushChunkGenerator(chunkGenerator, callback);
         } else {
             // No chunk generator, execute the callback with the empty chunk
-            OptionalCallback.execute(callback, chunk);
+            scheduleNextTick(instance -> OptionalCallback.execute(callback, chunk));
         }
 
         UPDATE_MANAGER.signalChunkLoad(this, chunkX, chunkZ);
-        callChunkLoadEvent(chunkX, chunkZ);
+        // Execute the event in the instance thread
+        scheduleNextTick(instance -> callChunkLoadEvent(chunkX, chunkZ));
     }
 
     @Override
@@ -750,6 +775,16 @@ public class InstanceContainer extends Instance {
         this.chunkLoader = chunkLoader;
     }
 
+    /**
+     * Gets the pipeline loading the chunks of this instance, containing the loading metrics.
+     *
+     * @return the chunk load pipeline
+     */
+    @NotNull
+    public ChunkLoadPipeline getChunkLoadPipeline() {
+        return chunkLoadPipeline;
+    }
+
     /**
      * Sends a {@link BlockChangePacket} at the specified {@link BlockPosition} to set the block as {@code blockStateId}.
      * <p>
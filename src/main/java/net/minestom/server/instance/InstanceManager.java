@@ -136,6 +136,7 @@ public final class InstanceManager {
                     scheduledChunksToRemove.addAll(instanceContainer.getChunks());
                     instanceContainer.UNSAFE_unloadChunks();
                 }
+                instanceContainer.getChunkLoadPipeline().shutdown();
             }
 
             instance.setRegistered(false);
@@ -1,5 +1,6 @@
 package net.minestom.server.instance;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.storage.StorageLocation;
 import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.callback.OptionalCallback;
@@ -10,6 +11,13 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * A {@link IChunkLoader} used by {@link InstanceContainer}
  * which is based on the {@link StorageLocation} and {@link ChunkSupplier} associated to it.
@@ -19,7 +27,7 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The key used in the {@link StorageLocation} is defined by {@link #getChunkKey(int, int)} and should NOT be changed.
  */
-public class MinestomBasicChunkLoader implements IChunkLoader {
+public class MinestomBasicChunkLoader implements IChunkLoader, ChunkDataReader {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(MinestomBasicChunkLoader.class);
     private final InstanceContainer instanceContainer;
@@ -65,10 +73,73 @@ public class MinestomBasicChunkLoader implements IChunkLoader {
         OptionalCallback.execute(callback);
     }
 
+    /**
+     * Serializes copies of the chunks in {@link #CHUNK_SAVING_POOL} and writes them
+     * in a single {@link StorageLocation#setAll(Map)}, the chunks are therefore saved atomically
+     * if the {@link net.minestom.server.storage.StorageSystem} supports it.
+     *
+     * @param chunks   the chunks to save
+     * @param callback the callback executed when the chunks are written, can be null
+     */
     @Override
-    public boolean loadChunk(@NotNull Instance instance, int chunkX, int chunkZ, @Nullable ChunkCallback callback) {
+    public void saveChunks(@NotNull Collection<Chunk> chunks, @Nullable Runnable callback) {
         final StorageLocation storageLocation = instanceContainer.getStorageLocation();
-        final byte[] bytes = storageLocation == null ? null : storageLocation.get(getChunkKey(chunkX, chunkZ));
+        if (storageLocation == null) {
+            OptionalCallback.execute(callback);
+            LOGGER.warn("No storage location to save chunks!");
+            return;
+        }
+        if (chunks.isEmpty()) {
+            OptionalCallback.execute(callback);
+            return;
+        }
+
+        // Copy the chunks so they can be modified while being serialized
+        List<Chunk> snapshots = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            synchronized (chunk) {
+                snapshots.add(chunk.copy(chunk.getChunkX(), chunk.getChunkZ()));
+            }
+        }
+
+        Map<String, byte[]> serializedChunks = new ConcurrentHashMap<>(snapshots.size());
+        AtomicInteger counter = new AtomicInteger();
+        for (Chunk snapshot : snapshots) {
+            CHUNK_SAVING_POOL.execute(() -> {
+                try {
+                    final byte[] data = snapshot.getSerializedData();
+                    if (data != null) {
+                        serializedChunks.put(getChunkKey(snapshot.getChunkX(), snapshot.getChunkZ()), data);
+                    }
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                } finally {
+                    // Give back the resources of the copy
+                    snapshot.unload();
+                    final boolean isLast = counter.incrementAndGet() == snapshots.size();
+                    if (isLast) {
+                        writeChunks(storageLocation, serializedChunks, callback);
+                    }
+                }
+            });
+        }
+    }
+
+    private static void writeChunks(@NotNull StorageLocation storageLocation, @NotNull Map<String, byte[]> serializedChunks,
+                                    @Nullable Runnable callback) {
+        try {
+            // Write all the chunks at once
+            storageLocation.setAll(serializedChunks);
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        } finally {
+            OptionalCallback.execute(callback);
+        }
+    }
+
+    @Override
+    public boolean loadChunk(@NotNull Instance instance, int chunkX, int chunkZ, @Nullable ChunkCallback callback) {
+        final byte[] bytes = readChunkData(instance, chunkX, chunkZ);
 
         if (bytes == null) {
             // Chunk is not saved in the storage location
@@ -84,6 +155,13 @@ public class MinestomBasicChunkLoader implements IChunkLoader {
         }
     }
 
+    @Nullable
+    @Override
+    public byte[] readChunkData(@NotNull Instance instance, int chunkX, int chunkZ) {
+        final StorageLocation storageLocation = instanceContainer.getStorageLocation();
+        return storageLocation == null ? null : storageLocation.get(getChunkKey(chunkX, chunkZ));
+    }
+
     @Override
     public boolean supportsParallelSaving() {
         return true;
@@ -0,0 +1,90 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import net.minestom.server.instance.palette.PackedBlockStorage;
+import net.minestom.server.instance.palette.SectionBufferPool;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a {@link DynamicChunk} storing its block state ids and custom block ids outside of the heap,
+ * reducing the garbage collector work when many chunks are loaded.
+ * <p>
+ * Sections are retrieved from a shared {@link SectionBufferPool} and given back once the chunk is unloaded
+ * (see {@link Instance#unloadChunk(Chunk)}). Can be used with {@code instanceContainer.setChunkSupplier(OffHeapChunk::new)}.
+ * <p>
+ * Sections are stored with the global palette (see {@link PackedBlockStorage}): they can be written in the
+ * {@link ChunkDataPacket} without any encoding but each non-empty section takes {@link PackedBlockStorage#SECTION_BYTES}
+ * of direct memory and of packet payload, about 4 times a section using a 4 bits palette.
+ * This chunk is therefore a trade of network and direct memory for heap and CPU, interesting for servers with
+ * many loaded chunks and varied blocks.
+ * <p>
+ * WARNING: not thread-safe.
+ */
+public class OffHeapChunk extends DynamicChunk {
+
+    // 2MiB slabs, a section always takes PackedBlockStorage#SECTION_BYTES
+    private static final SectionBufferPool BUFFER_POOL = new SectionBufferPool(PackedBlockStorage.SECTION_BYTES, 256);
+
+    public OffHeapChunk(@Nullable Biome[] biomes, int chunkX, int chunkZ) {
+        super(biomes, chunkX, chunkZ,
+                new PackedBlockStorage(BUFFER_POOL),
+                new PackedBlockStorage(BUFFER_POOL));
+    }
+
+    @NotNull
+    @Override
+    protected ChunkDataPacket createFreshPacket() {
+        ChunkDataPacket fullDataPacket = new ChunkDataPacket(getIdentifier(), getVersion());
+        fullDataPacket.biomes = biomes;
+        fullDataPacket.chunkX = chunkX;
+        fullDataPacket.chunkZ = chunkZ;
+        // Heap copies of the sections, the packet can be written later (e.g. when deferred) and after the chunk unload
+        synchronized (this) {
+            fullDataPacket.paletteStorage = ((PackedBlockStorage) blockPalette).snapshot();
+            fullDataPacket.customBlockPaletteStorage = ((PackedBlockStorage) customBlockPalette).snapshot();
+            fullDataPacket.blockEntities = new IntOpenHashSet(blockEntities);
+            fullDataPacket.blocksData = new Int2ObjectOpenHashMap<>(blocksData);
+        }
+        return fullDataPacket;
+    }
+
+    @NotNull
+    @Override
+    public Chunk copy(int chunkX, int chunkZ) {
+        OffHeapChunk offHeapChunk = new OffHeapChunk(biomes.clone(), chunkX, chunkZ);
+        offHeapChunk.blockPalette = blockPalette.clone();
+        offHeapChunk.customBlockPalette = customBlockPalette.clone();
+        offHeapChunk.blocksData.putAll(blocksData);
+        offHeapChunk.updatableBlocks.addAll(updatableBlocks);
+        offHeapChunk.updatableBlocksLastUpdate.putAll(updatableBlocksLastUpdate);
+        offHeapChunk.blockEntities.addAll(blockEntities);
+
+        return offHeapChunk;
+    }
+
+    /**
+     * Gives the memory of the chunk sections back to the pool.
+     */
+    @Override
+    protected void unload() {
+        super.unload();
+        synchronized (this) {
+            ((PackedBlockStorage) blockPalette).release();
+            ((PackedBlockStorage) customBlockPalette).release();
+        }
+    }
+
+    /**
+     * Gets the pool containing the sections of all the {@link OffHeapChunk}.
+     *
+     * @return the section buffer pool
+     */
+    @NotNull
+    public static SectionBufferPool getBufferPool() {
+        return BUFFER_POOL;
+    }
+}
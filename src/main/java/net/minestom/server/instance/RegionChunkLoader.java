@@ -0,0 +1,183 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.storage.region.RegionFile;
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.callback.OptionalCallback;
+import net.minestom.server.utils.chunk.ChunkCallback;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.chunk.ChunkSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * A {@link IChunkLoader} storing the chunks in {@link RegionFile region files} of 32x32 chunks
+ * instead of one {@link net.minestom.server.storage.StorageLocation} entry per chunk.
+ * <p>
+ * Like {@link MinestomBasicChunkLoader}, chunks are saved using {@link Chunk#getSerializedData()} and loaded
+ * using the {@link ChunkSupplier} of the instance with {@link Chunk#readChunk(BinaryReader, ChunkCallback)}.
+ * <p>
+ * Region files stay open until {@link #close()}, modifications are written to the disk by the system
+ * and forced at the end of {@link #saveChunks(Collection, Runnable)}.
+ */
+public class RegionChunkLoader implements IChunkLoader, ChunkDataReader {
+
+    private final InstanceContainer instanceContainer;
+    private final Path directory;
+    private final int compressionLevel;
+
+    // Region index -> its opened file
+    private final Map<Long, RegionFile> regionFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a region chunk loader.
+     *
+     * @param instanceContainer the {@link InstanceContainer} linked to this loader
+     * @param directory         the directory containing the region files, created if needed
+     * @param compressionLevel  the deflate level used to compress the chunks, between 0 and 9
+     */
+    public RegionChunkLoader(@NotNull InstanceContainer instanceContainer, @NotNull Path directory, int compressionLevel) {
+        this.instanceContainer = instanceContainer;
+        this.directory = directory;
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Creates a region chunk loader using a fast compression.
+     *
+     * @param instanceContainer the {@link InstanceContainer} linked to this loader
+     * @param directory         the directory containing the region files, created if needed
+     */
+    public RegionChunkLoader(@NotNull InstanceContainer instanceContainer, @NotNull Path directory) {
+        this(instanceContainer, directory, Deflater.BEST_SPEED);
+    }
+
+    @Override
+    public boolean loadChunk(@NotNull Instance instance, int chunkX, int chunkZ, @Nullable ChunkCallback callback) {
+        final byte[] bytes = readChunkData(instance, chunkX, chunkZ);
+        if (bytes == null) {
+            // Chunk is not saved in the region or cannot be read
+            return false;
+        }
+
+        BinaryReader reader = new BinaryReader(bytes);
+        // Create the chunk object using the instance's ChunkSupplier to support multiple implementations
+        Chunk chunk = instanceContainer.getChunkSupplier().createChunk(null, chunkX, chunkZ);
+        // Execute the callback once all blocks are placed (allow for multithreaded implementations)
+        chunk.readChunk(reader, callback);
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public byte[] readChunkData(@NotNull Instance instance, int chunkX, int chunkZ) {
+        try {
+            final RegionFile regionFile = getRegionFile(chunkX, chunkZ, false);
+            return regionFile != null ? regionFile.read(chunkX, chunkZ) : null;
+        } catch (IOException | UncheckedIOException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return null;
+        }
+    }
+
+    @Override
+    public void saveChunk(@NotNull Chunk chunk, @Nullable Runnable callback) {
+        // Serialize the chunk
+        final byte[] data = chunk.getSerializedData();
+        if (data != null) {
+            final int chunkX = chunk.getChunkX();
+            final int chunkZ = chunk.getChunkZ();
+            try {
+                getRegionFile(chunkX, chunkZ, true).write(chunkX, chunkZ, data);
+            } catch (IOException | UncheckedIOException e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+
+        OptionalCallback.execute(callback);
+    }
+
+    @Override
+    public void saveChunks(@NotNull Collection<Chunk> chunks, @Nullable Runnable callback) {
+        IChunkLoader.super.saveChunks(chunks, () -> {
+            flush();
+            OptionalCallback.execute(callback);
+        });
+    }
+
+    @Override
+    public boolean supportsParallelSaving() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+
+    /**
+     * Forces the modifications of all the opened region files to be written to the disk.
+     */
+    public void flush() {
+        this.regionFiles.values().forEach(RegionFile::flush);
+    }
+
+    /**
+     * Closes all the opened region files, they will be re-opened if needed.
+     */
+    public void close() {
+        for (RegionFile regionFile : regionFiles.values()) {
+            try {
+                regionFile.close();
+            } catch (IOException e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+        this.regionFiles.clear();
+    }
+
+    /**
+     * Gets the directory containing the region files.
+     *
+     * @return the region directory
+     */
+    @NotNull
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Nullable
+    private RegionFile getRegionFile(int chunkX, int chunkZ, boolean create) throws IOException {
+        final int regionX = RegionFile.getRegionCoordinate(chunkX);
+        final int regionZ = RegionFile.getRegionCoordinate(chunkZ);
+        final long index = ChunkUtils.getChunkIndex(regionX, regionZ);
+
+        final RegionFile regionFile = regionFiles.get(index);
+        if (regionFile != null) {
+            return regionFile;
+        }
+
+        final Path path = directory.resolve("r." + regionX + "." + regionZ + ".region");
+        if (!create && !Files.exists(path)) {
+            return null;
+        }
+        Files.createDirectories(directory);
+
+        return regionFiles.computeIfAbsent(index, i -> {
+            try {
+                return new RegionFile(path, compressionLevel);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -48,6 +48,11 @@ public class SharedInstance extends Instance {
         this.instanceContainer.loadOptionalChunk(chunkX, chunkZ, callback);
     }
 
+    @Override
+    public void loadVisibleChunk(int chunkX, int chunkZ, @Nullable ChunkCallback callback) {
+        this.instanceContainer.loadVisibleChunk(chunkX, chunkZ, callback);
+    }
+
     @Override
     public void unloadChunk(@NotNull Chunk chunk) {
         instanceContainer.unloadChunk(chunk);
@@ -123,26 +123,34 @@ public class ChunkBatch implements InstanceBatch {
      * @param callback       the optional callback executed once the batch is done
      */
     public void flushChunkGenerator(@NotNull ChunkGenerator chunkGenerator, @Nullable ChunkCallback callback) {
-        BLOCK_BATCH_POOL.execute(() -> {
-            synchronized (chunk) {
-                final List<ChunkPopulator> populators = chunkGenerator.getPopulators();
-                final boolean hasPopulator = populators != null && !populators.isEmpty();
+        BLOCK_BATCH_POOL.execute(() -> singleThreadFlushChunkGenerator(chunkGenerator, callback));
+    }
 
-                if (batchOption.isFullChunk()) {
-                    this.chunk.reset();
-                }
+    /**
+     * Fills the chunk batch in the current thread and run the callback during the next instance update.
+     *
+     * @param chunkGenerator the chunk generator
+     * @param callback       the optional callback executed once the batch is done
+     */
+    public void singleThreadFlushChunkGenerator(@NotNull ChunkGenerator chunkGenerator, @Nullable ChunkCallback callback) {
+        synchronized (chunk) {
+            final List<ChunkPopulator> populators = chunkGenerator.getPopulators();
+            final boolean hasPopulator = populators != null && !populators.isEmpty();
 
-                chunkGenerator.generateChunkData(this, chunk.getChunkX(), chunk.getChunkZ());
+            if (batchOption.isFullChunk()) {
+                this.chunk.reset();
+            }
 
-                if (hasPopulator) {
-                    for (ChunkPopulator chunkPopulator : populators) {
-                        chunkPopulator.populateChunk(this, chunk);
-                    }
-                }
+            chunkGenerator.generateChunkData(this, chunk.getChunkX(), chunk.getChunkZ());
 
-                updateChunk(callback, true);
+            if (hasPopulator) {
+                for (ChunkPopulator chunkPopulator : populators) {
+                    chunkPopulator.populateChunk(this, chunk);
+                }
             }
-        });
+
+            updateChunk(callback, true);
+        }
     }
 
     /**
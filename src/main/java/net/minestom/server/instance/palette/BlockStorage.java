@@ -0,0 +1,77 @@
+package net.minestom.server.instance.palette;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+
+import static net.minestom.server.instance.Chunk.CHUNK_SECTION_SIZE;
+
+/**
+ * Stores one block id per position of a chunk.
+ * <p>
+ * Used by {@link net.minestom.server.instance.DynamicChunk} for both the block state ids and the custom block ids,
+ * the sections can be written directly in the {@link net.minestom.server.network.packet.server.play.ChunkDataPacket}.
+ *
+ * @see PaletteStorage
+ * @see PackedBlockStorage
+ */
+public interface BlockStorage {
+
+    /**
+     * Changes the block id at a position.
+     *
+     * @param x       the block X
+     * @param y       the block Y
+     * @param z       the block Z
+     * @param blockId the new block id
+     */
+    void setBlockAt(int x, int y, int z, short blockId);
+
+    /**
+     * Gets the block id at a position.
+     *
+     * @param x the block X
+     * @param y the block Y
+     * @param z the block Z
+     * @return the block id at the position, 0 if outside of the chunk
+     */
+    short getBlockAt(int x, int y, int z);
+
+    /**
+     * Writes a chunk section in the format of the {@link net.minestom.server.network.packet.server.play.ChunkDataPacket}.
+     *
+     * @param section the chunk section index
+     * @param buffer  the buffer to write to
+     * @return true if the section has been written, false if it only contains air
+     */
+    boolean writeSection(int section, @NotNull ByteBuf buffer);
+
+    /**
+     * Copies the block ids of a chunk section, indexed by {@link PaletteStorage#getSectionIndex(int, int, int)}.
+     *
+     * @param section the chunk section index
+     * @param blocks  the array to fill, of at least {@code 16 * 16 * 16} elements
+     */
+    default void getSectionBlocks(int section, @NotNull short[] blocks) {
+        final int minY = section * CHUNK_SECTION_SIZE;
+        for (int y = 0; y < CHUNK_SECTION_SIZE; y++) {
+            for (int z = 0; z < CHUNK_SECTION_SIZE; z++) {
+                for (int x = 0; x < CHUNK_SECTION_SIZE; x++) {
+                    blocks[PaletteStorage.getSectionIndex(x, y, z)] = getBlockAt(x, minY + y, z);
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears all the blocks.
+     */
+    void clear();
+
+    /**
+     * Creates a copy of this storage.
+     *
+     * @return a copy of this storage
+     */
+    @NotNull
+    BlockStorage clone();
+}
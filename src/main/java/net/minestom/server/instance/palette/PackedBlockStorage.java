@@ -0,0 +1,207 @@
+package net.minestom.server.instance.palette;
+
+import io.netty.buffer.ByteBuf;
+import net.minestom.server.utils.MathUtils;
+import net.minestom.server.utils.Utils;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+import static net.minestom.server.instance.Chunk.CHUNK_SECTION_COUNT;
+import static net.minestom.server.instance.Chunk.CHUNK_SECTION_SIZE;
+import static net.minestom.server.instance.Chunk.CHUNK_SIZE_Y;
+
+/**
+ * {@link BlockStorage} keeping each non-empty section in a {@link ByteBuffer} using the global palette,
+ * exactly as sent in the {@link net.minestom.server.network.packet.server.play.ChunkDataPacket}.
+ * <p>
+ * When created with a {@link SectionBufferPool}, sections live outside of the heap and are only given back
+ * to the pool after {@link #release()}, heap buffers are used otherwise (see {@link #snapshot()}).
+ * <p>
+ * WARNING: not thread-safe.
+ */
+public class PackedBlockStorage implements BlockStorage {
+
+    private static final int BITS_PER_ENTRY = Section.MAXIMUM_BITS_PER_ENTRY;
+    private static final int VALUES_PER_LONG = Long.SIZE / BITS_PER_ENTRY;
+    private static final long ENTRY_MASK = (1L << BITS_PER_ENTRY) - 1;
+
+    /**
+     * The number of longs of one section.
+     */
+    public static final int SECTION_LONGS = (Section.BLOCK_COUNT + VALUES_PER_LONG - 1) / VALUES_PER_LONG;
+
+    /**
+     * The number of bytes of one section, needed to create a {@link SectionBufferPool}.
+     */
+    public static final int SECTION_BYTES = SECTION_LONGS * Long.BYTES;
+
+    private final SectionBufferPool pool;
+
+    // Null if the section only contains air
+    private final ByteBuffer[] sections = new ByteBuffer[CHUNK_SECTION_COUNT];
+    private final int[] blockCounts = new int[CHUNK_SECTION_COUNT];
+    private boolean released;
+
+    /**
+     * Creates a new storage.
+     *
+     * @param pool the pool to retrieve the section buffers from, null to use heap buffers
+     */
+    public PackedBlockStorage(@Nullable SectionBufferPool pool) {
+        Check.argCondition(pool != null && pool.getBufferSize() != SECTION_BYTES,
+                "The pool buffers must be " + SECTION_BYTES + " bytes long");
+        this.pool = pool;
+    }
+
+    @Override
+    public void setBlockAt(int x, int y, int z, short blockId) {
+        if (!MathUtils.isBetween(y, 0, CHUNK_SIZE_Y - 1)) {
+            return;
+        }
+        Check.stateCondition(released, "The storage has been released");
+
+        final int sectionIndex = ChunkUtils.getSectionAt(y);
+        ByteBuffer section = sections[sectionIndex];
+        if (section == null) {
+            if (blockId == 0) {
+                // Section is empty and method is trying to place an air block, stop unnecessary computation
+                return;
+            }
+
+            // Initialize the section
+            section = pool != null ? pool.acquire() : ByteBuffer.allocate(SECTION_BYTES);
+            this.sections[sectionIndex] = section;
+        }
+
+        final int index = PaletteStorage.getSectionIndex(toChunkCoordinate(x), y, toChunkCoordinate(z));
+        final int byteIndex = index / VALUES_PER_LONG * Long.BYTES;
+        final int bitIndex = index % VALUES_PER_LONG * BITS_PER_ENTRY;
+
+        final long value = section.getLong(byteIndex);
+        final short previousId = (short) (value >> bitIndex & ENTRY_MASK);
+        section.putLong(byteIndex, value & ~(ENTRY_MASK << bitIndex) | (blockId & ENTRY_MASK) << bitIndex);
+
+        if (previousId == 0 && blockId != 0) {
+            this.blockCounts[sectionIndex]++;
+        } else if (previousId != 0 && blockId == 0 && --blockCounts[sectionIndex] == 0) {
+            // The section does not contain any block anymore
+            releaseSection(sectionIndex);
+        }
+    }
+
+    @Override
+    public short getBlockAt(int x, int y, int z) {
+        if (y < 0 || y >= CHUNK_SIZE_Y) {
+            return 0;
+        }
+
+        final ByteBuffer section = sections[ChunkUtils.getSectionAt(y)];
+        if (section == null) {
+            // Section is not loaded, can only be air
+            return 0;
+        }
+
+        final int index = PaletteStorage.getSectionIndex(toChunkCoordinate(x), y, toChunkCoordinate(z));
+        final long value = section.getLong(index / VALUES_PER_LONG * Long.BYTES);
+        return (short) (value >> index % VALUES_PER_LONG * BITS_PER_ENTRY & ENTRY_MASK);
+    }
+
+    @Override
+    public boolean writeSection(int section, @NotNull ByteBuf buffer) {
+        final ByteBuffer sectionBuffer = sections[section];
+        if (sectionBuffer == null) {
+            return false;
+        }
+
+        buffer.writeShort(blockCounts[section]);
+        buffer.writeByte(BITS_PER_ENTRY);
+        Utils.writeVarIntBuf(buffer, SECTION_LONGS);
+        // Longs are stored big-endian, the section can be copied as is
+        buffer.writeBytes(sectionBuffer.duplicate().clear());
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i] != null) {
+                releaseSection(i);
+            }
+        }
+    }
+
+    /**
+     * Clears the storage and prevents it from being modified,
+     * the memory of the sections can then be reused by other storages of the pool.
+     */
+    public void release() {
+        clear();
+        this.released = true;
+    }
+
+    /**
+     * Copies this storage using the same pool.
+     *
+     * @return a copy of this storage
+     */
+    @NotNull
+    @Override
+    public PackedBlockStorage clone() {
+        return copy(pool);
+    }
+
+    /**
+     * Copies this storage into heap buffers, the copy does not need to be released.
+     * <p>
+     * Used to keep the blocks while the original storage can still be modified or released.
+     *
+     * @return a copy of this storage in the heap
+     */
+    @NotNull
+    public PackedBlockStorage snapshot() {
+        return copy(null);
+    }
+
+    @NotNull
+    private PackedBlockStorage copy(@Nullable SectionBufferPool pool) {
+        PackedBlockStorage storage = new PackedBlockStorage(pool);
+        for (int i = 0; i < sections.length; i++) {
+            final ByteBuffer section = sections[i];
+            if (section == null) {
+                continue;
+            }
+            ByteBuffer copy = pool != null ? pool.acquire() : ByteBuffer.allocate(SECTION_BYTES);
+            copy.put(section.duplicate().clear()).clear();
+            storage.sections[i] = copy;
+            storage.blockCounts[i] = blockCounts[i];
+        }
+        return storage;
+    }
+
+    private void releaseSection(int section) {
+        if (pool != null) {
+            this.pool.release(sections[section]);
+        }
+        this.sections[section] = null;
+        this.blockCounts[section] = 0;
+    }
+
+    /**
+     * Converts a world coordinate to a chunk one.
+     *
+     * @param xz the world coordinate
+     * @return the chunk coordinate of {@code xz}
+     */
+    private static int toChunkCoordinate(int xz) {
+        xz %= CHUNK_SECTION_SIZE;
+        if (xz < 0) {
+            xz += CHUNK_SECTION_SIZE;
+        }
+
+        return xz;
+    }
+}
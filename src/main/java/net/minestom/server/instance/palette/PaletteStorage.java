@@ -1,9 +1,7 @@
 package net.minestom.server.instance.palette;
 
-import it.unimi.dsi.fastutil.shorts.Short2ShortLinkedOpenHashMap;
-import it.unimi.dsi.fastutil.shorts.Short2ShortOpenHashMap;
+import io.netty.buffer.ByteBuf;
 import net.minestom.server.MinecraftServer;
-import net.minestom.server.instance.Chunk;
 import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.clone.PublicCloneable;
@@ -11,86 +9,84 @@ import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+
 import static net.minestom.server.instance.Chunk.CHUNK_SECTION_COUNT;
 import static net.minestom.server.instance.Chunk.CHUNK_SECTION_SIZE;
+import static net.minestom.server.instance.Chunk.CHUNK_SIZE_Y;
 
 /**
  * Used to efficiently store blocks with an optional palette.
  * <p>
- * The format used is the one described in the {@link net.minestom.server.network.packet.server.play.ChunkDataPacket},
- * the reason is that it allows us to write the packet much faster.
+ * Each chunk section is a {@link Section}, empty sections are not allocated and sections filled with
+ * a single block only store its id. The blocks of the other sections are stored in the format described in the
+ * {@link net.minestom.server.network.packet.server.play.ChunkDataPacket}, the reason is that it allows us
+ * to write the packet much faster (see {@link #writeSection(int, ByteBuf)}).
  */
-public class PaletteStorage implements PublicCloneable<PaletteStorage> {
-
-    /**
-     * The maximum bits per entry value.
-     */
-    private final static int MAXIMUM_BITS_PER_ENTRY = 15;
+public class PaletteStorage implements BlockStorage, PublicCloneable<PaletteStorage> {
 
-    /**
-     * The minimum bits per entry value.
-     */
-    private final static int MINIMUM_BITS_PER_ENTRY = 4;
-
-    /**
-     * The maximum bits per entry value which allow for a data palette.
-     */
-    private final static int PALETTE_MAXIMUM_BITS = 8;
-
-    /**
-     * The number of blocks that should be in one chunk section.
-     */
-    private final static int BLOCK_COUNT = CHUNK_SECTION_SIZE * CHUNK_SECTION_SIZE * CHUNK_SECTION_SIZE;
-
-    private int bitsPerEntry;
+    private final int bitsPerEntry;
     private final int bitsIncrement;
 
-    private int valuesPerLong;
-    private boolean hasPalette;
-
-    private long[][] sectionBlocks;
-
-    // chunk section - palette index = block id
-    private Short2ShortLinkedOpenHashMap[] paletteBlockMaps;
-    // chunk section - block id = palette index
-    private Short2ShortOpenHashMap[] blockPaletteMaps;
+    // Null if the section only contains air
+    private Section[] sections = new Section[CHUNK_SECTION_COUNT];
 
     /**
      * Creates a new palette storage.
      *
-     * @param bitsPerEntry  the number of bits used for one entry (block)
-     * @param bitsIncrement the number of bits to add per-block once the palette array is filled
+     * @param bitsPerEntry  the number of bits used for one entry (block) when a section is created
+     * @param bitsIncrement the number of bits to add per-block once the palette array of a section is filled
      */
     public PaletteStorage(int bitsPerEntry, int bitsIncrement) {
-        Check.argCondition(bitsPerEntry > MAXIMUM_BITS_PER_ENTRY, "The maximum bits per entry is 15");
-        bitsPerEntry = fixBitsPerEntry(bitsPerEntry);
-
-        this.bitsPerEntry = bitsPerEntry;
+        Check.argCondition(bitsPerEntry > Section.MAXIMUM_BITS_PER_ENTRY, "The maximum bits per entry is 15");
+        this.bitsPerEntry = Section.fixBitsPerEntry(bitsPerEntry);
         this.bitsIncrement = bitsIncrement;
+    }
 
-        this.valuesPerLong = Long.SIZE / bitsPerEntry;
-        this.hasPalette = bitsPerEntry <= PALETTE_MAXIMUM_BITS;
+    @Override
+    public void setBlockAt(int x, int y, int z, short blockId) {
+        if (!MathUtils.isBetween(y, 0, CHUNK_SIZE_Y - 1)) {
+            return;
+        }
 
-        init();
-    }
+        final int sectionIndex = ChunkUtils.getSectionAt(y);
+        Section section = sections[sectionIndex];
+        if (section == null) {
+            if (blockId == 0) {
+                // Section is empty and method is trying to place an air block, stop unnecessary computation
+                return;
+            }
 
-    private void init() {
-        this.sectionBlocks = new long[CHUNK_SECTION_COUNT][0];
+            // Initialize the section
+            section = new Section((short) 0);
+            this.sections[sectionIndex] = section;
+        }
 
-        this.paletteBlockMaps = new Short2ShortLinkedOpenHashMap[CHUNK_SECTION_COUNT];
-        this.blockPaletteMaps = new Short2ShortOpenHashMap[CHUNK_SECTION_COUNT];
-    }
+        section.set(getSectionIndex(toChunkCoordinate(x), y, toChunkCoordinate(z)), blockId, bitsPerEntry, bitsIncrement);
 
-    public void setBlockAt(int x, int y, int z, short blockId) {
-        PaletteStorage.setBlockAt(this, x, y, z, blockId);
+        if (section.isEmpty()) {
+            // The section does not contain any block anymore
+            this.sections[sectionIndex] = null;
+        }
     }
 
+    @Override
     public short getBlockAt(int x, int y, int z) {
-        return PaletteStorage.getBlockAt(this, x, y, z);
+        if (y < 0 || y >= CHUNK_SIZE_Y) {
+            return 0;
+        }
+
+        final Section section = sections[ChunkUtils.getSectionAt(y)];
+        if (section == null) {
+            // Section is not loaded, can only be air
+            return 0;
+        }
+
+        return section.get(getSectionIndex(toChunkCoordinate(x), y, toChunkCoordinate(z)));
     }
 
     /**
-     * Gets the number of bits that the palette currently take per block.
+     * Gets the number of bits used per block when a section is created.
      *
      * @return the bits per entry
      */
@@ -99,59 +95,102 @@ public class PaletteStorage implements PublicCloneable<PaletteStorage> {
     }
 
     /**
-     * Gets the palette with the index and the block id as the value.
+     * Gets a chunk section.
+     *
+     * @param section the chunk section index
+     * @return the section, null if it only contains air
+     */
+    @Nullable
+    public Section getSection(int section) {
+        return sections[section];
+    }
+
+    /**
+     * Gets the palette of a chunk section with the index and the block id as the value.
      *
      * @param section the chunk section to get the palette from
-     * @return the palette
+     * @return a copy of the palette, null if the section is empty or uses the global palette
+     * @deprecated palettes are stored per section, use {@link #getSection(int)} and {@link Section#getPalette()}
      */
+    @Deprecated
     @Nullable
     public short[] getPalette(int section) {
-        Short2ShortLinkedOpenHashMap paletteBlockMap = paletteBlockMaps[section];
-        return paletteBlockMap != null ? paletteBlockMap.values().toShortArray() : null;
+        final Section chunkSection = sections[section];
+        return chunkSection != null ? chunkSection.getPalette() : null;
     }
 
     /**
-     * Gets the sections of this object,
+     * Gets the blocks of all the sections,
      * the first array representing the chunk section and the second the block position from {@link #getSectionIndex(int, int, int)}.
+     * <p>
+     * Each section is encoded with its own bits per entry (see {@link Section#getBitsPerEntry()}),
+     * a section containing a single block is encoded as the index 0 of its palette.
      *
-     * @return the section blocks
+     * @return a copy of the section blocks, empty arrays for the empty sections
+     * @deprecated sections are not stored as long arrays anymore, use {@link #getSection(int)} or
+     * {@link #getSectionBlocks(int, short[])}
      */
+    @Deprecated
+    @NotNull
     public long[][] getSectionBlocks() {
+        long[][] sectionBlocks = new long[CHUNK_SECTION_COUNT][];
+        for (int i = 0; i < sections.length; i++) {
+            final Section section = sections[i];
+            if (section == null) {
+                sectionBlocks[i] = new long[0];
+                continue;
+            }
+            final long[] data = section.getData();
+            sectionBlocks[i] = data != null ? data :
+                    new long[Section.BLOCK_COUNT / (Long.SIZE / Section.MINIMUM_BITS_PER_ENTRY)];
+        }
         return sectionBlocks;
     }
 
+    @Override
+    public void getSectionBlocks(int section, @NotNull short[] blocks) {
+        final Section chunkSection = sections[section];
+        if (chunkSection == null) {
+            Arrays.fill(blocks, 0, Section.BLOCK_COUNT, (short) 0);
+            return;
+        }
+        chunkSection.getBlocks(blocks);
+    }
+
+    @Override
+    public boolean writeSection(int section, @NotNull ByteBuf buffer) {
+        final Section chunkSection = sections[section];
+        if (chunkSection == null) {
+            return false;
+        }
+        chunkSection.write(buffer);
+        return true;
+    }
+
     /**
-     * Loops through all the sections and blocks to find unused array (empty chunk section)
+     * Loops through all the sections to rebuild their palette with only the blocks they contain,
+     * sections containing a single block are converted to their compact form.
      * <p>
-     * Useful after clearing one or multiple sections of a chunk. Can be unnecessarily expensive if the chunk
-     * is composed of almost-empty sections since the loop will not stop until a non-air block is discovered.
+     * Useful after replacing many blocks of a chunk. Expensive since every block of every section is read.
      */
     public synchronized void clean() {
-        for (int i = 0; i < sectionBlocks.length; i++) {
-            long[] section = sectionBlocks[i];
-
-            if (section.length != 0) {
-                boolean canClear = true;
-                for (long blockGroup : section) {
-                    if (blockGroup != 0) {
-                        canClear = false;
-                        break;
-                    }
-                }
-                if (canClear) {
-                    sectionBlocks[i] = new long[0];
-                }
-
+        for (int i = 0; i < sections.length; i++) {
+            final Section section = sections[i];
+            if (section == null) {
+                continue;
             }
 
+            if (section.isEmpty()) {
+                this.sections[i] = null;
+            } else {
+                section.optimize(bitsPerEntry);
+            }
         }
     }
 
-    /**
-     * Clears all the data in the palette and data array.
-     */
+    @Override
     public void clear() {
-        init();
+        this.sections = new Section[CHUNK_SECTION_COUNT];
     }
 
     /**
@@ -168,10 +207,13 @@ public class PaletteStorage implements PublicCloneable<PaletteStorage> {
     public PaletteStorage clone() {
         try {
             PaletteStorage paletteStorage = (PaletteStorage) super.clone();
-            paletteStorage.sectionBlocks = sectionBlocks.clone();
-
-            paletteStorage.paletteBlockMaps = paletteBlockMaps.clone();
-            paletteStorage.blockPaletteMaps = blockPaletteMaps.clone();
+            paletteStorage.sections = new Section[CHUNK_SECTION_COUNT];
+            for (int i = 0; i < sections.length; i++) {
+                final Section section = sections[i];
+                if (section != null) {
+                    paletteStorage.sections[i] = section.clone();
+                }
+            }
             return paletteStorage;
         } catch (CloneNotSupportedException e) {
             MinecraftServer.getExceptionManager().handleException(e);
@@ -179,203 +221,6 @@ public class PaletteStorage implements PublicCloneable<PaletteStorage> {
         }
     }
 
-    /**
-     * Retrieves the palette index for the specified block id.
-     * <p>
-     * Also responsible for resizing the palette when full.
-     *
-     * @param section the chunk section
-     * @param blockId the block id to convert
-     * @return the palette index of {@code blockId}
-     */
-    private short getPaletteIndex(int section, short blockId) {
-        if (!hasPalette) {
-            return blockId;
-        }
-
-        Short2ShortOpenHashMap blockPaletteMap = blockPaletteMaps[section];
-        if (blockPaletteMap == null) {
-            blockPaletteMap = createBlockPaletteMap();
-            blockPaletteMaps[section] = blockPaletteMap;
-        }
-
-        if (!blockPaletteMap.containsKey(blockId)) {
-            Short2ShortLinkedOpenHashMap paletteBlockMap = paletteBlockMaps[section];
-            if (paletteBlockMap == null) {
-                paletteBlockMap = createPaletteBlockMap();
-                paletteBlockMaps[section] = paletteBlockMap;
-            }
-
-            // Resize the palette if full
-            if (paletteBlockMap.size() >= getMaxPaletteSize()) {
-                resize(bitsPerEntry + bitsIncrement);
-            }
-
-            final short paletteIndex = (short) (paletteBlockMap.lastShortKey() + 1);
-            paletteBlockMap.put(paletteIndex, blockId);
-            blockPaletteMap.put(blockId, paletteIndex);
-            return paletteIndex;
-        }
-
-        return blockPaletteMap.get(blockId);
-    }
-
-    /**
-     * Resizes the array.
-     * <p>
-     * Will create a new palette storage to set all the current blocks, and the data will be transferred to 'this'.
-     *
-     * @param newBitsPerEntry the new bits per entry count
-     */
-    private void resize(int newBitsPerEntry) {
-        // FIXME: artifacts when resizing
-        newBitsPerEntry = fixBitsPerEntry(newBitsPerEntry);
-
-        PaletteStorage paletteStorageCache = new PaletteStorage(newBitsPerEntry, bitsIncrement);
-        paletteStorageCache.paletteBlockMaps = paletteBlockMaps;
-        paletteStorageCache.blockPaletteMaps = blockPaletteMaps;
-
-        for (int y = 0; y < Chunk.CHUNK_SIZE_Y; y++) {
-            for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
-                for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
-                    final short blockId = getBlockAt(x, y, z);
-                    paletteStorageCache.setBlockAt(x, y, z, blockId);
-                }
-            }
-        }
-
-        this.bitsPerEntry = paletteStorageCache.bitsPerEntry;
-
-        this.valuesPerLong = paletteStorageCache.valuesPerLong;
-        this.hasPalette = paletteStorageCache.hasPalette;
-
-        this.sectionBlocks = paletteStorageCache.sectionBlocks;
-    }
-
-    /**
-     * Gets the maximum number of blocks that the current palette (could be the global one) can take.
-     *
-     * @return the number of blocks possible in the palette
-     */
-    private int getMaxPaletteSize() {
-        return 1 << bitsPerEntry;
-    }
-
-    // Magic values generated with "Integer.MAX_VALUE >> (31 - bitsPerIndex)" for bitsPerIndex between 4 and 15
-    private static final int[] MAGIC_MASKS =
-            {0, 0, 0, 0,
-                    15, 31, 63, 127, 255,
-                    511, 1023, 2047, 4095,
-                    8191, 16383, 32767};
-
-    private static void setBlockAt(@NotNull PaletteStorage paletteStorage, int x, int y, int z, short blockId) {
-        if (!MathUtils.isBetween(y, 0, Chunk.CHUNK_SIZE_Y - 1)) {
-            return;
-        }
-
-        final int section = ChunkUtils.getSectionAt(y);
-
-        final int valuesPerLong = paletteStorage.valuesPerLong;
-
-        if (paletteStorage.sectionBlocks[section].length == 0) {
-            if (blockId == 0) {
-                // Section is empty and method is trying to place an air block, stop unnecessary computation
-                return;
-            }
-
-            // Initialize the section
-            paletteStorage.sectionBlocks[section] = new long[getSize(valuesPerLong)];
-        }
-
-        // Convert world coordinates to chunk coordinates
-        x = toChunkCoordinate(x);
-        z = toChunkCoordinate(z);
-
-        // Change to palette value
-        blockId = paletteStorage.getPaletteIndex(section, blockId);
-
-        final int sectionIndex = getSectionIndex(x, y, z);
-
-        final int index = sectionIndex / valuesPerLong;
-        final int bitsPerEntry = paletteStorage.bitsPerEntry;
-
-        final int bitIndex = (sectionIndex % valuesPerLong) * bitsPerEntry;
-
-        final long[] sectionBlock = paletteStorage.sectionBlocks[section];
-
-        long block = sectionBlock[index];
-        {
-            final long clear = MAGIC_MASKS[bitsPerEntry];
-
-            block |= clear << bitIndex;
-            block ^= clear << bitIndex;
-            block |= (long) blockId << bitIndex;
-
-            sectionBlock[index] = block;
-        }
-    }
-
-    private static short getBlockAt(@NotNull PaletteStorage paletteStorage, int x, int y, int z) {
-        if (y < 0 || y >= Chunk.CHUNK_SIZE_Y) {
-            return 0;
-        }
-
-        final int section = ChunkUtils.getSectionAt(y);
-        final long[] blocks;
-
-        // Retrieve the longs and check if the section is empty
-        {
-            blocks = paletteStorage.sectionBlocks[section];
-
-            if (blocks.length == 0) {
-                // Section is not loaded, can only be air
-                return 0;
-            }
-        }
-
-        x = toChunkCoordinate(x);
-        z = toChunkCoordinate(z);
-
-        final int sectionIndex = getSectionIndex(x, y, z);
-
-        final int valuesPerLong = paletteStorage.valuesPerLong;
-        final int bitsPerEntry = paletteStorage.bitsPerEntry;
-
-        final int index = sectionIndex / valuesPerLong;
-        final int bitIndex = sectionIndex % valuesPerLong * bitsPerEntry;
-
-        final long value = blocks[index] >> bitIndex & MAGIC_MASKS[bitsPerEntry];
-
-        // Change to palette value and return
-        return paletteStorage.hasPalette ?
-                paletteStorage.paletteBlockMaps[section].get((short) value) :
-                (short) value;
-    }
-
-    private static Short2ShortLinkedOpenHashMap createPaletteBlockMap() {
-        Short2ShortLinkedOpenHashMap map = new Short2ShortLinkedOpenHashMap(CHUNK_SECTION_SIZE);
-        map.put((short) 0, (short) 0);
-
-        return map;
-    }
-
-    private static Short2ShortOpenHashMap createBlockPaletteMap() {
-        Short2ShortOpenHashMap map = new Short2ShortOpenHashMap(CHUNK_SECTION_SIZE);
-        map.put((short) 0, (short) 0);
-
-        return map;
-    }
-
-    /**
-     * Gets the array length of one section based on the number of values which can be stored in one long.
-     *
-     * @param valuesPerLong the number of values per long
-     * @return the array length based on {@code valuesPerLong}
-     */
-    private static int getSize(int valuesPerLong) {
-        return (BLOCK_COUNT + valuesPerLong - 1) / valuesPerLong;
-    }
-
     /**
      * Converts a world coordinate to a chunk one.
      *
@@ -404,21 +249,4 @@ public class PaletteStorage implements PublicCloneable<PaletteStorage> {
         return y << 8 | z << 4 | x;
     }
 
-    /**
-     * Fixes invalid bitsPerEntry values.
-     * <p>
-     * See https://wiki.vg/Chunk_Format#Direct
-     *
-     * @param bitsPerEntry the bits per entry value before fixing
-     * @return the fixed bits per entry value
-     */
-    private static int fixBitsPerEntry(int bitsPerEntry) {
-        if (bitsPerEntry < MINIMUM_BITS_PER_ENTRY) {
-            return MINIMUM_BITS_PER_ENTRY;
-        } else if (MathUtils.isBetween(bitsPerEntry, 9, 14)) {
-            return MAXIMUM_BITS_PER_ENTRY;
-        }
-        return bitsPerEntry;
-    }
-
 }
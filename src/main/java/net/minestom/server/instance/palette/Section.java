@@ -0,0 +1,431 @@
+package net.minestom.server.instance.palette;
+
+import io.netty.buffer.ByteBuf;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.utils.Utils;
+import net.minestom.server.utils.clone.PublicCloneable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static net.minestom.server.instance.Chunk.CHUNK_SECTION_SIZE;
+
+/**
+ * Represents the blocks of a 16x16x16 chunk section.
+ * <p>
+ * A section filled with a single block only stores its id, otherwise the blocks are stored
+ * using the format of the {@link net.minestom.server.network.packet.server.play.ChunkDataPacket}
+ * so they can be written without any conversion. The palette is a plain array searched linearly,
+ * it never contains more than 256 entries.
+ * <p>
+ * WARNING: not thread-safe.
+ */
+public final class Section implements PublicCloneable<Section> {
+
+    /**
+     * The maximum bits per entry value.
+     */
+    final static int MAXIMUM_BITS_PER_ENTRY = 15;
+
+    /**
+     * The minimum bits per entry value.
+     */
+    final static int MINIMUM_BITS_PER_ENTRY = 4;
+
+    /**
+     * The maximum bits per entry value which allow for a data palette.
+     */
+    final static int PALETTE_MAXIMUM_BITS = 8;
+
+    /**
+     * The number of blocks that should be in one chunk section.
+     */
+    final static int BLOCK_COUNT = CHUNK_SECTION_SIZE * CHUNK_SECTION_SIZE * CHUNK_SECTION_SIZE;
+
+    // Magic values generated with "Integer.MAX_VALUE >> (31 - bitsPerIndex)" for bitsPerIndex between 4 and 15
+    private static final int[] MAGIC_MASKS =
+            {0, 0, 0, 0,
+                    15, 31, 63, 127, 255,
+                    511, 1023, 2047, 4095,
+                    8191, 16383, 32767};
+
+    // The block of the whole section when 'data' is null
+    private short value;
+
+    // palette index = block id, null if the global palette is used
+    private short[] palette;
+    private int paletteSize;
+
+    private long[] data;
+    private int bitsPerEntry;
+    private int valuesPerLong;
+
+    // The number of non-zero blocks
+    private int blockCount;
+
+    /**
+     * Creates a section filled with a single block.
+     *
+     * @param value the block id of the whole section
+     */
+    public Section(short value) {
+        this.value = value;
+        this.blockCount = value != 0 ? BLOCK_COUNT : 0;
+    }
+
+    /**
+     * Gets a block in the section.
+     *
+     * @param index the index of the block, see {@link PaletteStorage#getSectionIndex(int, int, int)}
+     * @return the block id at {@code index}
+     */
+    public short get(int index) {
+        if (data == null) {
+            return value;
+        }
+        final int entry = getEntry(index);
+        return palette != null ? palette[entry] : (short) entry;
+    }
+
+    /**
+     * Copies all the blocks of the section, unpacking each long of the data array once.
+     *
+     * @param blocks the array to fill, indexed by {@link PaletteStorage#getSectionIndex(int, int, int)}
+     */
+    public void getBlocks(@NotNull short[] blocks) {
+        if (data == null) {
+            Arrays.fill(blocks, 0, BLOCK_COUNT, value);
+            return;
+        }
+
+        final int mask = MAGIC_MASKS[bitsPerEntry];
+        int index = 0;
+        for (long values : data) {
+            for (int i = 0; i < valuesPerLong && index < BLOCK_COUNT; i++) {
+                final int entry = (int) (values >> (i * bitsPerEntry) & mask);
+                blocks[index++] = palette != null ? palette[entry] : (short) entry;
+            }
+        }
+    }
+
+    /**
+     * Changes a block in the section.
+     *
+     * @param index                the index of the block, see {@link PaletteStorage#getSectionIndex(int, int, int)}
+     * @param blockId              the new block id
+     * @param minimumBitsPerEntry  the bits per entry to use if the section is not a single block anymore
+     * @param bitsIncrement        the number of bits to add per-block once the palette array is filled
+     */
+    public void set(int index, short blockId, int minimumBitsPerEntry, int bitsIncrement) {
+        if (data == null) {
+            if (value == blockId) {
+                // Nothing to change
+                return;
+            }
+            inflate(minimumBitsPerEntry);
+        }
+
+        final int paletteIndex = getPaletteIndex(blockId, bitsIncrement);
+        final int previousEntry = setEntry(index, paletteIndex);
+        final short previousId = palette != null ? palette[previousEntry] : (short) previousEntry;
+
+        if (previousId == 0 && blockId != 0) {
+            this.blockCount++;
+        } else if (previousId != 0 && blockId == 0) {
+            this.blockCount--;
+        }
+    }
+
+    /**
+     * Gets the number of non-zero blocks in the section.
+     *
+     * @return the block count
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Gets if the section only contains zero (air).
+     *
+     * @return true if the section is empty
+     */
+    public boolean isEmpty() {
+        return blockCount == 0;
+    }
+
+    /**
+     * Gets the number of bits used per block.
+     *
+     * @return the bits per entry, 0 if the section contains a single block
+     */
+    public int getBitsPerEntry() {
+        return data != null ? bitsPerEntry : 0;
+    }
+
+    /**
+     * Gets the palette of the section.
+     *
+     * @return a copy of the palette (palette index = block id), containing only the block
+     * if the section contains a single block, null if the global palette is used
+     */
+    @Nullable
+    public short[] getPalette() {
+        if (data == null) {
+            return new short[]{value};
+        }
+        return palette != null ? Arrays.copyOf(palette, paletteSize) : null;
+    }
+
+    /**
+     * Gets the blocks of the section, encoded with {@link #getBitsPerEntry()} bits per entry.
+     *
+     * @return a copy of the data array, null if the section contains a single block
+     */
+    @Nullable
+    public long[] getData() {
+        return data != null ? data.clone() : null;
+    }
+
+    /**
+     * Rebuilds the palette with the blocks currently in the section and encodes it using
+     * the smallest possible number of bits, or a single value if possible.
+     * <p>
+     * Expensive, useful after many blocks of the section have been replaced.
+     *
+     * @param minimumBitsPerEntry the minimum bits per entry to use
+     */
+    public void optimize(int minimumBitsPerEntry) {
+        if (data == null) {
+            return;
+        }
+
+        BitSet used = new BitSet();
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            used.set(get(i));
+        }
+
+        final int distinctCount = used.cardinality();
+        if (distinctCount == 1) {
+            this.value = (short) used.nextSetBit(0);
+            this.palette = null;
+            this.paletteSize = 0;
+            this.data = null;
+            return;
+        }
+
+        // Sorted palette of the used blocks
+        short[] newPalette = new short[distinctCount];
+        for (int i = 0, blockId = used.nextSetBit(0); blockId >= 0; blockId = used.nextSetBit(blockId + 1)) {
+            newPalette[i++] = (short) blockId;
+        }
+
+        final int neededBits = Math.max(minimumBitsPerEntry, Integer.SIZE - Integer.numberOfLeadingZeros(distinctCount - 1));
+        final int newBitsPerEntry = fixBitsPerEntry(neededBits);
+        if (newBitsPerEntry > PALETTE_MAXIMUM_BITS) {
+            resize(newBitsPerEntry);
+            return;
+        }
+
+        short[] blocks = new short[BLOCK_COUNT];
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            blocks[i] = get(i);
+        }
+
+        this.palette = Arrays.copyOf(newPalette, 1 << newBitsPerEntry);
+        this.paletteSize = distinctCount;
+        setBitsPerEntry(newBitsPerEntry);
+        this.data = new long[getSize(valuesPerLong)];
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            setEntry(i, Arrays.binarySearch(newPalette, blocks[i]));
+        }
+    }
+
+    /**
+     * Writes the section in the format of the {@link net.minestom.server.network.packet.server.play.ChunkDataPacket}.
+     *
+     * @param buffer the buffer to write to
+     */
+    public void write(@NotNull ByteBuf buffer) {
+        buffer.writeShort(blockCount);
+
+        if (data == null) {
+            // The protocol does not have single value sections, send the smallest palette possible
+            buffer.writeByte(MINIMUM_BITS_PER_ENTRY);
+            Utils.writeVarIntBuf(buffer, 1);
+            Utils.writeVarIntBuf(buffer, value);
+            final int size = getSize(Long.SIZE / MINIMUM_BITS_PER_ENTRY);
+            Utils.writeVarIntBuf(buffer, size);
+            buffer.writeZero(size * Long.BYTES);
+            return;
+        }
+
+        buffer.writeByte(bitsPerEntry);
+        if (palette != null) {
+            Utils.writeVarIntBuf(buffer, paletteSize);
+            for (int i = 0; i < paletteSize; i++) {
+                Utils.writeVarIntBuf(buffer, palette[i]);
+            }
+        }
+
+        Utils.writeVarIntBuf(buffer, data.length);
+        for (long datum : data) {
+            buffer.writeLong(datum);
+        }
+    }
+
+    @NotNull
+    @Override
+    public Section clone() {
+        try {
+            Section section = (Section) super.clone();
+            if (palette != null) {
+                section.palette = palette.clone();
+            }
+            if (data != null) {
+                section.data = data.clone();
+            }
+            return section;
+        } catch (CloneNotSupportedException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            throw new IllegalStateException("Weird thing happened");
+        }
+    }
+
+    /**
+     * Switches from a single block to a palette containing it.
+     *
+     * @param minimumBitsPerEntry the bits per entry to use
+     */
+    private void inflate(int minimumBitsPerEntry) {
+        final int newBitsPerEntry = fixBitsPerEntry(minimumBitsPerEntry);
+        setBitsPerEntry(newBitsPerEntry);
+        this.data = new long[getSize(valuesPerLong)];
+
+        if (newBitsPerEntry <= PALETTE_MAXIMUM_BITS) {
+            // All the entries are already 0, the index of the block
+            this.palette = new short[1 << newBitsPerEntry];
+            this.palette[0] = value;
+            this.paletteSize = 1;
+        } else {
+            long filled = 0;
+            for (int i = 0; i < valuesPerLong; i++) {
+                filled |= (value & (long) MAGIC_MASKS[newBitsPerEntry]) << i * newBitsPerEntry;
+            }
+            Arrays.fill(data, filled);
+        }
+    }
+
+    /**
+     * Retrieves the palette index for the specified block id.
+     * <p>
+     * Also responsible for resizing the palette when full.
+     *
+     * @param blockId       the block id to convert
+     * @param bitsIncrement the number of bits to add once the palette is full
+     * @return the palette index of {@code blockId}
+     */
+    private int getPaletteIndex(short blockId, int bitsIncrement) {
+        if (palette == null) {
+            return blockId;
+        }
+
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == blockId) {
+                return i;
+            }
+        }
+
+        // Resize the palette if full
+        if (paletteSize == palette.length) {
+            resize(bitsPerEntry + Math.max(1, bitsIncrement));
+            if (palette == null) {
+                return blockId;
+            }
+        }
+
+        this.palette[paletteSize] = blockId;
+        return paletteSize++;
+    }
+
+    /**
+     * Re-encodes the section with more bits per entry.
+     *
+     * @param newBitsPerEntry the new bits per entry count
+     */
+    private void resize(int newBitsPerEntry) {
+        newBitsPerEntry = fixBitsPerEntry(newBitsPerEntry);
+
+        final int[] entries = new int[BLOCK_COUNT];
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            entries[i] = getEntry(i);
+        }
+
+        final short[] oldPalette = palette;
+        setBitsPerEntry(newBitsPerEntry);
+        this.data = new long[getSize(valuesPerLong)];
+
+        if (newBitsPerEntry <= PALETTE_MAXIMUM_BITS) {
+            // Palette indexes do not change
+            this.palette = Arrays.copyOf(oldPalette, 1 << newBitsPerEntry);
+            for (int i = 0; i < BLOCK_COUNT; i++) {
+                setEntry(i, entries[i]);
+            }
+        } else {
+            this.palette = null;
+            this.paletteSize = 0;
+            for (int i = 0; i < BLOCK_COUNT; i++) {
+                setEntry(i, oldPalette != null ? oldPalette[entries[i]] : entries[i]);
+            }
+        }
+    }
+
+    private void setBitsPerEntry(int bitsPerEntry) {
+        this.bitsPerEntry = bitsPerEntry;
+        this.valuesPerLong = Long.SIZE / bitsPerEntry;
+    }
+
+    private int getEntry(int index) {
+        final int bitIndex = index % valuesPerLong * bitsPerEntry;
+        return (int) (data[index / valuesPerLong] >> bitIndex & MAGIC_MASKS[bitsPerEntry]);
+    }
+
+    private int setEntry(int index, int entry) {
+        final int longIndex = index / valuesPerLong;
+        final int bitIndex = index % valuesPerLong * bitsPerEntry;
+        final long clear = MAGIC_MASKS[bitsPerEntry];
+
+        final long block = data[longIndex];
+        this.data[longIndex] = block & ~(clear << bitIndex) | (entry & clear) << bitIndex;
+        return (int) (block >> bitIndex & clear);
+    }
+
+    /**
+     * Gets the array length of one section based on the number of values which can be stored in one long.
+     *
+     * @param valuesPerLong the number of values per long
+     * @return the array length based on {@code valuesPerLong}
+     */
+    private static int getSize(int valuesPerLong) {
+        return (BLOCK_COUNT + valuesPerLong - 1) / valuesPerLong;
+    }
+
+    /**
+     * Fixes invalid bitsPerEntry values.
+     * <p>
+     * See https://wiki.vg/Chunk_Format#Direct
+     *
+     * @param bitsPerEntry the bits per entry value before fixing
+     * @return the fixed bits per entry value
+     */
+    static int fixBitsPerEntry(int bitsPerEntry) {
+        if (bitsPerEntry < MINIMUM_BITS_PER_ENTRY) {
+            return MINIMUM_BITS_PER_ENTRY;
+        } else if (bitsPerEntry > PALETTE_MAXIMUM_BITS) {
+            return MAXIMUM_BITS_PER_ENTRY;
+        }
+        return bitsPerEntry;
+    }
+}
@@ -0,0 +1,116 @@
+package net.minestom.server.instance.palette;
+
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of fixed-size direct {@link ByteBuffer}, used to store chunk sections outside of the heap.
+ * <p>
+ * Buffers are sliced from bigger direct allocations (slabs) to avoid having one cleaner per buffer,
+ * slabs are never given back to the system but their buffers are reused once released.
+ * Buffers are zeroed when acquired.
+ * <p>
+ * Thread-safe.
+ */
+public final class SectionBufferPool {
+
+    private final int bufferSize;
+    private final int buffersPerSlab;
+
+    private final Deque<ByteBuffer> availableBuffers = new ArrayDeque<>();
+    private int allocatedCount;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param bufferSize     the size in bytes of the buffers, must be a multiple of {@link Long#BYTES}
+     * @param buffersPerSlab the number of buffers to allocate at once
+     */
+    public SectionBufferPool(int bufferSize, int buffersPerSlab) {
+        Check.argCondition(bufferSize <= 0 || bufferSize % Long.BYTES != 0,
+                "The buffer size must be a positive multiple of " + Long.BYTES);
+        Check.argCondition(buffersPerSlab <= 0, "There must be at least one buffer per slab");
+        this.bufferSize = bufferSize;
+        this.buffersPerSlab = buffersPerSlab;
+    }
+
+    /**
+     * Gets a zeroed buffer from the pool, allocating a new slab if the pool is empty.
+     * <p>
+     * The buffer needs to be given back with {@link #release(ByteBuffer)} once unused.
+     *
+     * @return a buffer of {@link #getBufferSize()} bytes
+     */
+    @NotNull
+    public ByteBuffer acquire() {
+        ByteBuffer buffer;
+        synchronized (availableBuffers) {
+            if (availableBuffers.isEmpty()) {
+                allocateSlab();
+            }
+            buffer = availableBuffers.pop();
+        }
+
+        for (int i = 0; i < bufferSize; i += Long.BYTES) {
+            buffer.putLong(i, 0);
+        }
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer back to the pool.
+     * <p>
+     * WARNING: the buffer must not be used after this call.
+     *
+     * @param buffer a buffer retrieved from {@link #acquire()}
+     */
+    public void release(@NotNull ByteBuffer buffer) {
+        synchronized (availableBuffers) {
+            this.availableBuffers.push(buffer);
+        }
+    }
+
+    /**
+     * Gets the size of the buffers of this pool.
+     *
+     * @return the buffer size in bytes
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Gets the number of buffers allocated by this pool, used or not.
+     *
+     * @return the allocated buffer count
+     */
+    public int getAllocatedCount() {
+        synchronized (availableBuffers) {
+            return allocatedCount;
+        }
+    }
+
+    /**
+     * Gets the number of buffers ready to be acquired without allocating.
+     *
+     * @return the available buffer count
+     */
+    public int getAvailableCount() {
+        synchronized (availableBuffers) {
+            return availableBuffers.size();
+        }
+    }
+
+    private void allocateSlab() {
+        final ByteBuffer slab = ByteBuffer.allocateDirect(bufferSize * buffersPerSlab);
+        for (int i = 0; i < buffersPerSlab; i++) {
+            slab.limit((i + 1) * bufferSize).position(i * bufferSize);
+            this.availableBuffers.push(slab.slice());
+        }
+        this.allocatedCount += buffersPerSlab;
+    }
+}
@@ -0,0 +1,32 @@
+package net.minestom.server.listener.manager;
+
+/**
+ * Defines where a received {@link net.minestom.server.network.packet.client.ClientPlayPacket} is processed,
+ * declared with {@link PacketListenerManager#setListener(Class, PacketListenerConsumer, PacketExecutionPolicy)}.
+ * <p>
+ * The consumers of {@link net.minestom.server.network.ConnectionManager#onPacketReceive(ClientPacketConsumer)}
+ * are called in the same thread as the listener, they therefore need to be thread-safe if any packet is not processed
+ * during the tick.
+ */
+public enum PacketExecutionPolicy {
+
+    /**
+     * Processes the packet in the netty thread as soon as it is read.
+     * <p>
+     * Only for short and thread-safe listeners, the connection cannot read any other packet in the meantime.
+     */
+    NETTY,
+
+    /**
+     * Queues the packet to be processed during the player tick, the default policy.
+     */
+    TICK,
+
+    /**
+     * Processes the packet in a dedicated thread pool as soon as it is read.
+     * <p>
+     * For thread-safe listeners which can take time, packets of the same player can be processed concurrently.
+     */
+    ASYNC
+
+}
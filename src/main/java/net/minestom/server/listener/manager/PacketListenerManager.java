@@ -22,9 +22,11 @@ public final class PacketListenerManager {
     private static final ConnectionManager CONNECTION_MANAGER = MinecraftServer.getConnectionManager();
 
     private final Map<Class<? extends ClientPlayPacket>, PacketListenerConsumer> listeners = new ConcurrentHashMap<>();
+    private final Map<Class<? extends ClientPlayPacket>, PacketExecutionPolicy> executionPolicies = new ConcurrentHashMap<>();
 
     public PacketListenerManager() {
-        setListener(ClientKeepAlivePacket.class, KeepAliveListener::listener);
+        // Only answers the keep alive request, latency-sensitive
+        setListener(ClientKeepAlivePacket.class, KeepAliveListener::listener, PacketExecutionPolicy.NETTY);
         setListener(ClientChatMessagePacket.class, ChatMessageListener::listener);
         setListener(ClientClickWindowPacket.class, WindowListener::clickWindowListener);
         setListener(ClientCloseWindow.class, WindowListener::closeWindowListener);
@@ -110,7 +112,7 @@ public final class PacketListenerManager {
     }
 
     /**
-     * Sets the listener of a packet.
+     * Sets the listener of a packet, processed during the player tick.
      * <p>
      * WARNING: this will overwrite the default minestom listener, this is not reversible.
      *
@@ -119,7 +121,47 @@ public final class PacketListenerManager {
      * @param <T>         the type of the packet
      */
     public <T extends ClientPlayPacket> void setListener(@NotNull Class<T> packetClass, @NotNull PacketListenerConsumer<T> consumer) {
+        setListener(packetClass, consumer, PacketExecutionPolicy.TICK);
+    }
+
+    /**
+     * Sets the listener of a packet and where it is executed.
+     * <p>
+     * WARNING: this will overwrite the default minestom listener, this is not reversible.
+     *
+     * @param packetClass     the class of the packet
+     * @param consumer        the new packet's listener
+     * @param executionPolicy where the listener is executed, anything else than {@link PacketExecutionPolicy#TICK}
+     *                        requires the listener to be thread-safe
+     * @param <T>             the type of the packet
+     */
+    public <T extends ClientPlayPacket> void setListener(@NotNull Class<T> packetClass, @NotNull PacketListenerConsumer<T> consumer,
+                                                         @NotNull PacketExecutionPolicy executionPolicy) {
         this.listeners.put(packetClass, consumer);
+        this.executionPolicies.put(packetClass, executionPolicy);
+    }
+
+    /**
+     * Gets where a packet is processed.
+     *
+     * @param packetClass the class of the packet
+     * @return the execution policy of the packet, {@link PacketExecutionPolicy#TICK} by default
+     */
+    @NotNull
+    public PacketExecutionPolicy getExecutionPolicy(@NotNull Class<? extends ClientPlayPacket> packetClass) {
+        return executionPolicies.getOrDefault(packetClass, PacketExecutionPolicy.TICK);
+    }
+
+    /**
+     * Changes where a packet is processed without changing its listener.
+     *
+     * @param packetClass     the class of the packet
+     * @param executionPolicy where the listener is executed, anything else than {@link PacketExecutionPolicy#TICK}
+     *                        requires the listener to be thread-safe
+     */
+    public void setExecutionPolicy(@NotNull Class<? extends ClientPlayPacket> packetClass,
+                                   @NotNull PacketExecutionPolicy executionPolicy) {
+        this.executionPolicies.put(packetClass, executionPolicy);
     }
 
 }
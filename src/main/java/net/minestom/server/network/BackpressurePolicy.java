@@ -0,0 +1,240 @@
+package net.minestom.server.network;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.ServerPacketIdentifier;
+import net.minestom.server.network.packet.server.play.*;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Defines what happens to the packets sent to a {@link net.minestom.server.network.player.NettyPlayerConnection}
+ * whose channel is unwritable, meaning that its outbound buffer is above the high water mark
+ * (see {@link net.minestom.server.network.netty.NettyServer#setWriteBufferWaterMark(int, int)})
+ * because the client cannot receive the data as fast as it is sent.
+ * <p>
+ * Non-essential packets (particles, sounds) are dropped, the movements of distant entities are dropped
+ * and the entities synchronized once the channel is writable again, and the chunk packets are deferred
+ * then written at a limited rate. The deferred packets of a chunk are discarded when the chunk is unloaded
+ * or replaced by a more recent chunk data.
+ * The connection is closed if its outbound buffer stays above {@link #getMaximumBacklog()}
+ * or its deferred packets above {@link #getMaximumDeferredPackets()}.
+ * <p>
+ * The default policy of new connections is {@link MinecraftServer#getBackpressurePolicy()}.
+ */
+public final class BackpressurePolicy {
+
+    private static final int PACKET_ID_COUNT = 0x100;
+
+    private final Action[] packetActions = new Action[PACKET_ID_COUNT];
+
+    private volatile double movementDropDistance = 32;
+    private volatile int deferredPacketsPerTick = 16;
+    private volatile long maximumBacklog = 16 * 1024 * 1024;
+    private volatile int maximumDeferredPackets = 1024;
+    private volatile long backlogKickDelay = 10_000;
+
+    public BackpressurePolicy() {
+        Arrays.fill(packetActions, Action.WRITE);
+
+        setAction(ServerPacketIdentifier.PARTICLE, Action.DROP);
+        setAction(ServerPacketIdentifier.SOUND_EFFECT, Action.DROP);
+        setAction(ServerPacketIdentifier.ENTITY_SOUND_EFFECT, Action.DROP);
+        setAction(ServerPacketIdentifier.NAMED_SOUND_EFFECT, Action.DROP);
+
+        setAction(ServerPacketIdentifier.ENTITY_POSITION, Action.DROP_DISTANT);
+        setAction(ServerPacketIdentifier.ENTITY_POSITION_AND_ROTATION, Action.DROP_DISTANT);
+        setAction(ServerPacketIdentifier.ENTITY_ROTATION, Action.DROP_DISTANT);
+        setAction(ServerPacketIdentifier.ENTITY_HEAD_LOOK, Action.DROP_DISTANT);
+        setAction(ServerPacketIdentifier.ENTITY_VELOCITY, Action.DROP_DISTANT);
+
+        // Deferred together to keep their order
+        setAction(ServerPacketIdentifier.CHUNK_DATA, Action.DEFER);
+        setAction(ServerPacketIdentifier.UPDATE_LIGHT, Action.DEFER);
+        setAction(ServerPacketIdentifier.UNLOAD_CHUNK, Action.DEFER);
+        setAction(ServerPacketIdentifier.BLOCK_CHANGE, Action.DEFER);
+        setAction(ServerPacketIdentifier.MULTI_BLOCK_CHANGE, Action.DEFER);
+    }
+
+    /**
+     * Gets the action applied to a packet when the channel is unwritable.
+     *
+     * @param packetId the server packet id
+     * @return the action of the packet
+     */
+    @NotNull
+    public Action getAction(int packetId) {
+        return packetId >= 0 && packetId < PACKET_ID_COUNT ? packetActions[packetId] : Action.WRITE;
+    }
+
+    /**
+     * Changes the action applied to a packet when the channel is unwritable.
+     * <p>
+     * {@link Action#DROP_DISTANT} is only supported by the entity movement packets,
+     * {@link Action#DEFER} should only be used by packets which can be written after the ones sent later.
+     *
+     * @param packetId the server packet id
+     * @param action   the new action of the packet
+     * @throws IllegalArgumentException if {@code packetId} is invalid
+     */
+    public void setAction(int packetId, @NotNull Action action) {
+        Check.argCondition(packetId < 0 || packetId >= PACKET_ID_COUNT, "Invalid packet id " + packetId);
+        this.packetActions[packetId] = action;
+    }
+
+    /**
+     * Gets the distance from the player after which the movements of an entity are dropped.
+     *
+     * @return the movement drop distance in blocks
+     */
+    public double getMovementDropDistance() {
+        return movementDropDistance;
+    }
+
+    /**
+     * Changes the distance from the player after which the movements of an entity are dropped.
+     *
+     * @param movementDropDistance the new movement drop distance in blocks, 0 to drop all the movements
+     */
+    public void setMovementDropDistance(double movementDropDistance) {
+        this.movementDropDistance = movementDropDistance;
+    }
+
+    /**
+     * Gets the number of deferred packets written at each tick once the channel is writable again.
+     *
+     * @return the number of deferred packets written per tick
+     */
+    public int getDeferredPacketsPerTick() {
+        return deferredPacketsPerTick;
+    }
+
+    /**
+     * Changes the number of deferred packets written at each tick once the channel is writable again.
+     *
+     * @param deferredPacketsPerTick the new number of deferred packets written per tick
+     * @throws IllegalArgumentException if {@code deferredPacketsPerTick} is not positive
+     */
+    public void setDeferredPacketsPerTick(int deferredPacketsPerTick) {
+        Check.argCondition(deferredPacketsPerTick <= 0, "The number of deferred packets per tick has to be positive");
+        this.deferredPacketsPerTick = deferredPacketsPerTick;
+    }
+
+    /**
+     * Gets the size of the channel outbound buffer after which the connection is closed
+     * if it stays above for {@link #getBacklogKickDelay()}.
+     *
+     * @return the maximum backlog in bytes
+     */
+    public long getMaximumBacklog() {
+        return maximumBacklog;
+    }
+
+    /**
+     * Changes the size of the channel outbound buffer after which the connection is closed.
+     *
+     * @param maximumBacklog the new maximum backlog in bytes
+     */
+    public void setMaximumBacklog(long maximumBacklog) {
+        this.maximumBacklog = maximumBacklog;
+    }
+
+    /**
+     * Gets the number of deferred packets after which the connection is closed
+     * if it stays above for {@link #getBacklogKickDelay()}.
+     *
+     * @return the maximum number of deferred packets
+     */
+    public int getMaximumDeferredPackets() {
+        return maximumDeferredPackets;
+    }
+
+    /**
+     * Changes the number of deferred packets after which the connection is closed.
+     * <p>
+     * Deferred packets are kept in memory until written, chunk packets being the biggest ones.
+     *
+     * @param maximumDeferredPackets the new maximum number of deferred packets
+     * @throws IllegalArgumentException if {@code maximumDeferredPackets} is negative
+     */
+    public void setMaximumDeferredPackets(int maximumDeferredPackets) {
+        Check.argCondition(maximumDeferredPackets < 0, "The maximum number of deferred packets cannot be negative");
+        this.maximumDeferredPackets = maximumDeferredPackets;
+    }
+
+    /**
+     * Gets the time the outbound buffer can stay above {@link #getMaximumBacklog()}
+     * (or the deferred packets above {@link #getMaximumDeferredPackets()}) before closing the connection.
+     *
+     * @return the backlog kick delay in milliseconds
+     */
+    public long getBacklogKickDelay() {
+        return backlogKickDelay;
+    }
+
+    /**
+     * Changes the time the outbound buffer can stay above {@link #getMaximumBacklog()}
+     * (or the deferred packets above {@link #getMaximumDeferredPackets()}) before closing the connection.
+     *
+     * @param backlogKickDelay the new backlog kick delay in milliseconds
+     */
+    public void setBacklogKickDelay(long backlogKickDelay) {
+        this.backlogKickDelay = backlogKickDelay;
+    }
+
+    /**
+     * Gets the entity moved by a movement packet.
+     *
+     * @param packet the packet
+     * @return the id of the moved entity, -1 if {@code packet} is not a movement packet
+     */
+    public static int getMovedEntityId(@NotNull ServerPacket packet) {
+        if (packet instanceof EntityPositionPacket) {
+            return ((EntityPositionPacket) packet).entityId;
+        } else if (packet instanceof EntityPositionAndRotationPacket) {
+            return ((EntityPositionAndRotationPacket) packet).entityId;
+        } else if (packet instanceof EntityRotationPacket) {
+            return ((EntityRotationPacket) packet).entityId;
+        } else if (packet instanceof EntityHeadLookPacket) {
+            return ((EntityHeadLookPacket) packet).entityId;
+        } else if (packet instanceof EntityVelocityPacket) {
+            return ((EntityVelocityPacket) packet).entityId;
+        }
+        return -1;
+    }
+
+    /**
+     * What to do with a packet sent to an unwritable channel.
+     */
+    public enum Action {
+
+        /**
+         * Writes the packet normally.
+         */
+        WRITE,
+
+        /**
+         * Drops the packet.
+         */
+        DROP,
+
+        /**
+         * Drops the packet if the moved entity is farther than {@link #getMovementDropDistance()},
+         * the entity position is synchronized once the channel is writable again.
+         */
+        DROP_DISTANT,
+
+        /**
+         * Queues the packet, the queued packets are written in order at a limited rate
+         * once the channel is writable again. The next packets with this action are queued
+         * until the queue is empty.
+         * <p>
+         * The queued packets of a chunk are discarded when its unload is queued,
+         * its chunk data and block changes when a new full chunk data is queued.
+         */
+        DEFER
+
+    }
+}
@@ -0,0 +1,175 @@
+package net.minestom.server.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.packet.server.ServerPacketIdentifier;
+import net.minestom.server.utils.thread.MinestomThread;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the server packets when {@link MinecraftServer#getCompressionThreshold()} is greater than 0.
+ * <p>
+ * Each thread compresses with its own {@link Deflater}, one per compression level, so packets can be
+ * compressed in parallel without locking. The compression level is chosen per packet id,
+ * frequent small packets (entity movements) use a fast level while the chunk data use a higher one.
+ * <p>
+ * Packets bigger than {@link #getOffloadThreshold()} can also be compressed on a pool of
+ * {@link MinecraftServer#THREAD_COUNT_PACKET_COMPRESSION} threads instead of the thread sending them,
+ * see {@link net.minestom.server.utils.PacketUtils#createFramedPacketAsync(net.minestom.server.network.packet.server.ServerPacket, boolean)}.
+ */
+public final class CompressionEngine {
+
+    /**
+     * The compression level used for the packets without a specific one.
+     */
+    public static final int DEFAULT_LEVEL = 3;
+
+    private static final int PACKET_ID_COUNT = 0x100;
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
+
+    // Packet id -> compression level
+    private final byte[] packetLevels = new byte[PACKET_ID_COUNT];
+
+    // Deflaters of the current thread indexed by level, created when first used
+    private final ThreadLocal<Deflater[]> deflaters =
+            ThreadLocal.withInitial(() -> new Deflater[Deflater.BEST_COMPRESSION + 1]);
+    private final ThreadLocal<byte[]> outputBuffers = ThreadLocal.withInitial(() -> new byte[OUTPUT_BUFFER_SIZE]);
+
+    private volatile int offloadThreshold = 0;
+    private volatile ExecutorService offloadExecutor;
+
+    public CompressionEngine() {
+        Arrays.fill(packetLevels, (byte) DEFAULT_LEVEL);
+
+        // Small and sent every tick, most of the cost is in the deflater setup
+        setLevel(ServerPacketIdentifier.ENTITY_POSITION, Deflater.BEST_SPEED);
+        setLevel(ServerPacketIdentifier.ENTITY_POSITION_AND_ROTATION, Deflater.BEST_SPEED);
+        setLevel(ServerPacketIdentifier.ENTITY_ROTATION, Deflater.BEST_SPEED);
+        setLevel(ServerPacketIdentifier.ENTITY_MOVEMENT, Deflater.BEST_SPEED);
+        setLevel(ServerPacketIdentifier.ENTITY_HEAD_LOOK, Deflater.BEST_SPEED);
+        setLevel(ServerPacketIdentifier.ENTITY_VELOCITY, Deflater.BEST_SPEED);
+        setLevel(ServerPacketIdentifier.ENTITY_TELEPORT, Deflater.BEST_SPEED);
+
+        // Big, highly compressible and generally cached
+        setLevel(ServerPacketIdentifier.CHUNK_DATA, 6);
+        setLevel(ServerPacketIdentifier.UPDATE_LIGHT, 6);
+    }
+
+    /**
+     * Gets the compression level of a packet.
+     *
+     * @param packetId the server packet id
+     * @return the compression level of the packet, between 0 and 9
+     */
+    public int getLevel(int packetId) {
+        return packetId >= 0 && packetId < PACKET_ID_COUNT ? packetLevels[packetId] : DEFAULT_LEVEL;
+    }
+
+    /**
+     * Changes the compression level of a packet.
+     *
+     * @param packetId the server packet id
+     * @param level    the new compression level, between 0 and 9
+     * @throws IllegalArgumentException if {@code packetId} or {@code level} is invalid
+     */
+    public void setLevel(int packetId, int level) {
+        Check.argCondition(packetId < 0 || packetId >= PACKET_ID_COUNT, "Invalid packet id " + packetId);
+        Check.argCondition(level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION,
+                "The compression level must be between 0 and 9");
+        this.packetLevels[packetId] = (byte) level;
+    }
+
+    /**
+     * Compresses the readable bytes of a buffer with the deflater of the current thread.
+     *
+     * @param packetBuffer      the buffer to compress, its reader index is not modified
+     * @param compressionTarget the buffer receiving the compressed data
+     * @param level             the compression level
+     */
+    public void compress(@NotNull ByteBuf packetBuffer, @NotNull ByteBuf compressionTarget, int level) {
+        final long start = System.nanoTime();
+        final Deflater deflater = getDeflater(level);
+        final byte[] output = outputBuffers.get();
+
+        deflater.setInput(packetBuffer.nioBuffer());
+        deflater.finish();
+        while (!deflater.finished()) {
+            final int length = deflater.deflate(output);
+            compressionTarget.writeBytes(output, 0, length);
+        }
+        deflater.reset();
+        MinecraftServer.getNetworkMetrics().getCompressTime().record(System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the minimum size of the packets compressed on the compression pool.
+     *
+     * @return the offload threshold in bytes, 0 if disabled
+     */
+    public int getOffloadThreshold() {
+        return offloadThreshold;
+    }
+
+    /**
+     * Changes the minimum size of the packets compressed on the compression pool
+     * instead of the thread sending them.
+     * <p>
+     * Disabled by default, the pool is started the first time it is enabled.
+     *
+     * @param offloadThreshold the new offload threshold in bytes, 0 to disable
+     * @throws IllegalArgumentException if {@code offloadThreshold} is negative
+     */
+    public synchronized void setOffloadThreshold(int offloadThreshold) {
+        Check.argCondition(offloadThreshold < 0, "The offload threshold cannot be negative");
+        if (offloadThreshold > 0 && offloadExecutor == null) {
+            this.offloadExecutor = new MinestomThread(MinecraftServer.THREAD_COUNT_PACKET_COMPRESSION,
+                    MinecraftServer.THREAD_NAME_PACKET_COMPRESSION);
+        }
+        this.offloadThreshold = offloadThreshold;
+    }
+
+    /**
+     * Gets if a packet should be compressed on the compression pool.
+     *
+     * @param packetSize the uncompressed size of the packet
+     * @return true if the packet is big enough to be offloaded
+     */
+    public boolean shouldOffload(int packetSize) {
+        final int threshold = offloadThreshold;
+        return threshold > 0 && packetSize >= threshold &&
+                MinecraftServer.getCompressionThreshold() > 0;
+    }
+
+    /**
+     * Executes a compression task on the compression pool.
+     *
+     * @param task the task compressing a packet
+     * @param <T>  the task result
+     * @return the future of the task
+     * @throws IllegalStateException if offloading has never been enabled
+     */
+    @NotNull
+    public <T> CompletableFuture<T> offload(@NotNull Supplier<T> task) {
+        final ExecutorService executor = offloadExecutor;
+        Check.stateCondition(executor == null, "Compression offloading is not enabled");
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @NotNull
+    private Deflater getDeflater(int level) {
+        final Deflater[] threadDeflaters = deflaters.get();
+        Deflater deflater = threadDeflaters[level];
+        if (deflater == null) {
+            deflater = new Deflater(level);
+            threadDeflaters[level] = deflater;
+        }
+        return deflater;
+    }
+}
@@ -0,0 +1,153 @@
+package net.minestom.server.network;
+
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.Viewable;
+import net.minestom.server.entity.Player;
+import net.minestom.server.listener.manager.PacketListenerManager;
+import net.minestom.server.network.metrics.ConnectionMetrics;
+import net.minestom.server.network.netty.packet.FramedPacket;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.player.NettyPlayerConnection;
+import net.minestom.server.network.player.PlayerConnection;
+import net.minestom.server.utils.BufUtils;
+import net.minestom.server.utils.PacketUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the packets sent to the viewers of {@link Viewable} elements during a tick
+ * and writes them at the end of the tick, once per distinct viewer set.
+ * <p>
+ * All the packets of the elements having the same viewers are framed in a single buffer,
+ * the encoding and compression cost therefore depends on the number of viewer sets instead of
+ * the number of packets multiplied by the number of viewers.
+ * <p>
+ * Packets of a viewable element keep their order: its pending packets are written before any packet sent
+ * with {@link Viewable#sendPacketToViewers(ServerPacket)}.
+ * <p>
+ * Viewers are resolved when the packets are written, elements whose packets depend on the state known by their viewers
+ * (e.g. relative movements) need to call {@link #flush(Viewable)} before adding a viewer,
+ * as done in {@link net.minestom.server.entity.Entity#addViewer(Player)}.
+ */
+public final class PacketBroadcaster {
+
+    private final Map<Viewable, List<ServerPacket>> pendingPackets = new ConcurrentHashMap<>();
+
+    /**
+     * Sends a packet to the viewers of an element at the end of the tick.
+     * <p>
+     * The packet is sent immediately if {@link MinecraftServer#hasGroupedPacket()} is disabled.
+     *
+     * @param viewable the element whose viewers will receive the packet
+     * @param packet   the packet to send
+     */
+    public void broadcast(@NotNull Viewable viewable, @NotNull ServerPacket packet) {
+        if (!MinecraftServer.hasGroupedPacket()) {
+            PacketUtils.sendGroupedPacket(viewable.getViewers(), packet);
+            return;
+        }
+
+        // Atomic with the removal done when flushing
+        this.pendingPackets.compute(viewable, (v, packets) -> {
+            if (packets == null) {
+                packets = new ArrayList<>();
+            }
+            packets.add(packet);
+            return packets;
+        });
+    }
+
+    /**
+     * Writes the pending packets of an element without waiting for the end of the tick.
+     *
+     * @param viewable the element whose pending packets need to be written
+     */
+    public void flush(@NotNull Viewable viewable) {
+        if (pendingPackets.isEmpty()) {
+            return;
+        }
+        final List<ServerPacket> packets = pendingPackets.remove(viewable);
+        if (packets != null) {
+            sendPackets(viewable.getViewers(), packets);
+        }
+    }
+
+    /**
+     * Writes all the pending packets, grouped by viewer set.
+     * <p>
+     * Called at the end of each tick by the {@link net.minestom.server.UpdateManager}.
+     */
+    public void flush() {
+        if (pendingPackets.isEmpty()) {
+            return;
+        }
+
+        // Viewers -> packets of all the elements with those viewers
+        Map<Set<Player>, List<ServerPacket>> groups = new HashMap<>();
+        for (Viewable viewable : pendingPackets.keySet()) {
+            final List<ServerPacket> packets = pendingPackets.remove(viewable);
+            if (packets == null) {
+                // Flushed in the meantime
+                continue;
+            }
+
+            final Set<Player> viewers = viewable.getViewers();
+            if (!viewers.isEmpty()) {
+                groups.computeIfAbsent(new HashSet<>(viewers), v -> new ArrayList<>()).addAll(packets);
+            }
+        }
+
+        groups.forEach(this::sendPackets);
+    }
+
+    private void sendPackets(@NotNull Set<Player> viewers, @NotNull List<ServerPacket> packets) {
+        if (viewers.isEmpty() || packets.isEmpty()) {
+            return;
+        }
+
+        final PacketListenerManager packetListenerManager = MinecraftServer.getPacketListenerManager();
+
+        // Frame all the packets in a single buffer
+        ByteBuf buffer = BufUtils.getBuffer(true);
+        List<ServerPacket> sentPackets = new ArrayList<>(packets.size());
+        IntList packetSizes = new IntArrayList(packets.size());
+        for (ServerPacket packet : packets) {
+            if (!packetListenerManager.processServerPacket(packet, viewers)) {
+                // Cancelled by a listener
+                continue;
+            }
+            final ByteBuf framedBuffer = PacketUtils.createFramedPacket(packet, true);
+            packetSizes.add(framedBuffer.readableBytes());
+            buffer.writeBytes(framedBuffer);
+            framedBuffer.release();
+            sentPackets.add(packet);
+        }
+
+        try {
+            if (sentPackets.isEmpty()) {
+                return;
+            }
+            final FramedPacket framedPacket = new FramedPacket(buffer);
+            for (Player viewer : viewers) {
+                final PlayerConnection playerConnection = viewer.getPlayerConnection();
+                if (playerConnection instanceof NettyPlayerConnection &&
+                        !((NettyPlayerConnection) playerConnection).isBackpressured()) {
+                    ((NettyPlayerConnection) playerConnection).writeFramedPacket(framedPacket);
+                    final ConnectionMetrics metrics = playerConnection.getMetrics();
+                    for (int i = 0; i < sentPackets.size(); i++) {
+                        metrics.recordPacketOut(sentPackets.get(i).getId(), packetSizes.getInt(i));
+                    }
+                } else {
+                    sentPackets.forEach(playerConnection::sendPacket);
+                }
+            }
+        } finally {
+            buffer.release();
+        }
+    }
+}
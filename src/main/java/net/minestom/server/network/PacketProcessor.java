@@ -1,9 +1,10 @@
 package net.minestom.server.network;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.socket.SocketChannel;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
+import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.network.netty.packet.InboundPacket;
 import net.minestom.server.network.packet.client.ClientPlayPacket;
 import net.minestom.server.network.packet.client.ClientPreplayPacket;
@@ -15,6 +16,7 @@ import net.minestom.server.network.player.NettyPlayerConnection;
 import net.minestom.server.network.player.PlayerConnection;
 import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.binary.Readable;
+import net.minestom.server.utils.thread.MinestomThread;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -22,6 +24,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Responsible for processing client packets.
@@ -37,7 +40,10 @@ public final class PacketProcessor {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(PacketProcessor.class);
 
-    private final Map<ChannelHandlerContext, PlayerConnection> connectionPlayerConnectionMap = new ConcurrentHashMap<>();
+    private static final ExecutorService ASYNC_PACKET_POOL = new MinestomThread(MinecraftServer.THREAD_COUNT_ASYNC_PACKET,
+            MinecraftServer.THREAD_NAME_ASYNC_PACKET);
+
+    private final Map<ChannelHandlerContext, NettyPlayerConnection> connectionPlayerConnectionMap = new ConcurrentHashMap<>();
 
     // Protocols state
     private final ClientStatusPacketsHandler statusPacketsHandler;
@@ -51,15 +57,15 @@ public final class PacketProcessor {
     }
 
     public void process(@NotNull ChannelHandlerContext channel, @NotNull InboundPacket packet) {
-        final SocketChannel socketChannel = (SocketChannel) channel.channel();
+        final Channel nettyChannel = channel.channel();
 
         // Create the netty player connection object if not existing
-        PlayerConnection playerConnection = connectionPlayerConnectionMap.computeIfAbsent(
-                channel, c -> new NettyPlayerConnection(socketChannel)
+        NettyPlayerConnection playerConnection = connectionPlayerConnectionMap.computeIfAbsent(
+                channel, c -> new NettyPlayerConnection(nettyChannel)
         );
 
         // Prevent the client from sending packets when disconnected (kick)
-        if (!playerConnection.isOnline() || !socketChannel.isActive()) {
+        if (!playerConnection.isOnline() || !nettyChannel.isActive()) {
             playerConnection.disconnect();
             return;
         }
@@ -72,7 +78,11 @@ public final class PacketProcessor {
         final ConnectionState connectionState = playerConnection.getConnectionState();
 
         final int packetId = packet.getPacketId();
-        BinaryReader binaryReader = new BinaryReader(packet.getBody());
+        playerConnection.getMetrics().recordPacketIn(connectionState == ConnectionState.PLAY ? packetId : -1,
+                packet.getBody().readableBytes());
+        // Reuse the reader of the connection, the body is only read in this thread
+        BinaryReader binaryReader = playerConnection.getPacketReader();
+        binaryReader.setBuffer(packet.getBody());
 
         if (connectionState == ConnectionState.UNKNOWN) {
             // Should be handshake packet
@@ -87,10 +97,23 @@ public final class PacketProcessor {
         switch (connectionState) {
             case PLAY:
                 final Player player = playerConnection.getPlayer();
-                ClientPlayPacket playPacket = (ClientPlayPacket) playPacketsHandler.getPacketInstance(packetId);
+                ClientPlayPacket playPacket = MinecraftServer.hasClientPacketPooling() ?
+                        (ClientPlayPacket) playerConnection.getPacketPool().acquire(packetId) :
+                        (ClientPlayPacket) playPacketsHandler.getPacketInstance(packetId);
                 safeRead(playerConnection, playPacket, binaryReader);
                 assert player != null;
-                player.addPacketToQueue(playPacket);
+                final PacketListenerManager packetListenerManager = MinecraftServer.getPacketListenerManager();
+                switch (packetListenerManager.getExecutionPolicy(playPacket.getClass())) {
+                    case NETTY:
+                        safeProcess(player, playPacket);
+                        break;
+                    case ASYNC:
+                        ASYNC_PACKET_POOL.execute(() -> safeProcess(player, playPacket));
+                        break;
+                    default:
+                        player.addPacketToQueue(playPacket);
+                        break;
+                }
                 break;
             case LOGIN:
                 final ClientPreplayPacket loginPacket = (ClientPreplayPacket) loginPacketsHandler.getPacketInstance(packetId);
@@ -153,6 +176,20 @@ public final class PacketProcessor {
         return playPacketsHandler;
     }
 
+    /**
+     * Processes a play packet outside of the player tick, catching all the exceptions.
+     *
+     * @param player the player who sent the packet
+     * @param packet the packet to process
+     */
+    private void safeProcess(@NotNull Player player, @NotNull ClientPlayPacket packet) {
+        try {
+            player.processPacket(packet);
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
     /**
      * Calls {@link Readable#read(BinaryReader)} and catch all the exceptions to be printed using the packet processor logger.
      *
@@ -0,0 +1,151 @@
+package net.minestom.server.network.metrics;
+
+import net.minestom.server.MinecraftServer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free network counters of a {@link net.minestom.server.network.player.PlayerConnection}.
+ * <p>
+ * Packets and bytes are counted per packet id in the play state, the bytes being the size of the framed packet
+ * (after compression) when sent and the size of the decompressed body when received.
+ * Every recorded value is also added to the global {@link NetworkMetrics}.
+ */
+public final class ConnectionMetrics {
+
+    /**
+     * The number of packet ids tracked in each direction.
+     */
+    public static final int PACKET_ID_COUNT = 0x80;
+
+    private final AtomicLongArray packetsIn = new AtomicLongArray(PACKET_ID_COUNT);
+    private final AtomicLongArray bytesIn = new AtomicLongArray(PACKET_ID_COUNT);
+    private final AtomicLongArray packetsOut = new AtomicLongArray(PACKET_ID_COUNT);
+    private final AtomicLongArray bytesOut = new AtomicLongArray(PACKET_ID_COUNT);
+
+    private final AtomicLong totalPacketsIn = new AtomicLong();
+    private final AtomicLong totalBytesIn = new AtomicLong();
+    private final AtomicLong totalPacketsOut = new AtomicLong();
+    private final AtomicLong totalBytesOut = new AtomicLong();
+
+    private final AtomicLong unwritableCount = new AtomicLong();
+    private final AtomicLong droppedPacketCount = new AtomicLong();
+    private volatile boolean writable = true;
+
+    /**
+     * Records a received packet.
+     *
+     * @param packetId the packet id, -1 to only count it in the totals (e.g. not in the play state)
+     * @param bytes    the size of the packet body
+     */
+    public void recordPacketIn(int packetId, int bytes) {
+        this.totalPacketsIn.incrementAndGet();
+        this.totalBytesIn.addAndGet(bytes);
+        if (isTracked(packetId)) {
+            this.packetsIn.incrementAndGet(packetId);
+            this.bytesIn.addAndGet(packetId, bytes);
+        }
+        MinecraftServer.getNetworkMetrics().recordPacketIn(packetId, bytes);
+    }
+
+    /**
+     * Records a sent packet.
+     *
+     * @param packetId the packet id, -1 to only count it in the totals (e.g. multiple packets framed together)
+     * @param bytes    the size of the framed packet
+     */
+    public void recordPacketOut(int packetId, int bytes) {
+        this.totalPacketsOut.incrementAndGet();
+        this.totalBytesOut.addAndGet(bytes);
+        if (isTracked(packetId)) {
+            this.packetsOut.incrementAndGet(packetId);
+            this.bytesOut.addAndGet(packetId, bytes);
+        }
+        MinecraftServer.getNetworkMetrics().recordPacketOut(packetId, bytes);
+    }
+
+    /**
+     * Records a change of the channel writability, the channel being unwritable when its outbound buffer
+     * is above the high water mark.
+     *
+     * @param writable true if the outbound buffer went back under the low water mark
+     */
+    public void recordWritabilityChange(boolean writable) {
+        this.writable = writable;
+        if (!writable) {
+            this.unwritableCount.incrementAndGet();
+            MinecraftServer.getNetworkMetrics().recordUnwritable();
+        }
+    }
+
+    /**
+     * Records a packet dropped because of the connection backpressure.
+     */
+    public void recordDroppedPacket() {
+        this.droppedPacketCount.incrementAndGet();
+    }
+
+    public long getPacketsIn(int packetId) {
+        return isTracked(packetId) ? packetsIn.get(packetId) : 0;
+    }
+
+    public long getBytesIn(int packetId) {
+        return isTracked(packetId) ? bytesIn.get(packetId) : 0;
+    }
+
+    public long getPacketsOut(int packetId) {
+        return isTracked(packetId) ? packetsOut.get(packetId) : 0;
+    }
+
+    public long getBytesOut(int packetId) {
+        return isTracked(packetId) ? bytesOut.get(packetId) : 0;
+    }
+
+    public long getTotalPacketsIn() {
+        return totalPacketsIn.get();
+    }
+
+    public long getTotalBytesIn() {
+        return totalBytesIn.get();
+    }
+
+    public long getTotalPacketsOut() {
+        return totalPacketsOut.get();
+    }
+
+    public long getTotalBytesOut() {
+        return totalBytesOut.get();
+    }
+
+    /**
+     * Gets the number of times the channel outbound buffer exceeded the high water mark.
+     *
+     * @return the unwritable count
+     */
+    public long getUnwritableCount() {
+        return unwritableCount.get();
+    }
+
+    /**
+     * Gets the number of packets dropped because of the connection backpressure.
+     *
+     * @return the dropped packet count
+     */
+    public long getDroppedPacketCount() {
+        return droppedPacketCount.get();
+    }
+
+    /**
+     * Gets if the channel outbound buffer is under the high water mark.
+     *
+     * @return true if the channel is writable
+     */
+    public boolean isWritable() {
+        return writable;
+    }
+
+    private static boolean isTracked(int packetId) {
+        return packetId >= 0 && packetId < PACKET_ID_COUNT;
+    }
+}
@@ -0,0 +1,272 @@
+package net.minestom.server.network.metrics;
+
+import io.netty.handler.traffic.TrafficCounter;
+import net.minestom.server.benchmark.TickHistogram;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Network counters of all the connections, see {@link ConnectionMetrics} for the per-connection ones.
+ * <p>
+ * Also contains the histograms of the time spent writing the packets, compressing them and waiting for
+ * their buffer to be written to the socket.
+ * <p>
+ * A {@link Snapshot} of the values since the previous one is taken at each accounting interval of
+ * the {@link net.minestom.server.network.netty.NettyServer#getGlobalTrafficHandler()} (1 second by default)
+ * and given to the consumers of {@link #addSnapshotConsumer(Consumer)}.
+ */
+public final class NetworkMetrics {
+
+    private static final int PACKET_ID_COUNT = ConnectionMetrics.PACKET_ID_COUNT;
+    // Index of the values not tracked by packet id
+    private static final int TOTAL_INDEX = PACKET_ID_COUNT;
+
+    private final AtomicLongArray packetsIn = new AtomicLongArray(PACKET_ID_COUNT + 1);
+    private final AtomicLongArray bytesIn = new AtomicLongArray(PACKET_ID_COUNT + 1);
+    private final AtomicLongArray packetsOut = new AtomicLongArray(PACKET_ID_COUNT + 1);
+    private final AtomicLongArray bytesOut = new AtomicLongArray(PACKET_ID_COUNT + 1);
+    private final AtomicLong unwritableCount = new AtomicLong();
+
+    private final TickHistogram encodeTime = new TickHistogram();
+    private final TickHistogram compressTime = new TickHistogram();
+    private final TickHistogram flushLatency = new TickHistogram();
+
+    private final List<Consumer<Snapshot>> snapshotConsumers = new CopyOnWriteArrayList<>();
+    private final Object snapshotLock = new Object();
+    private Snapshot previousTotals = new Snapshot(System.currentTimeMillis(), 0, 0, 0,
+            new long[PACKET_ID_COUNT + 1], new long[PACKET_ID_COUNT + 1],
+            new long[PACKET_ID_COUNT + 1], new long[PACKET_ID_COUNT + 1]);
+    private volatile Snapshot lastSnapshot;
+
+    void recordPacketIn(int packetId, int bytes) {
+        final int index = getIndex(packetId);
+        this.packetsIn.incrementAndGet(index);
+        this.bytesIn.addAndGet(index, bytes);
+    }
+
+    void recordPacketOut(int packetId, int bytes) {
+        final int index = getIndex(packetId);
+        this.packetsOut.incrementAndGet(index);
+        this.bytesOut.addAndGet(index, bytes);
+    }
+
+    void recordUnwritable() {
+        this.unwritableCount.incrementAndGet();
+    }
+
+    /**
+     * Gets the time spent writing the server packets into buffers.
+     *
+     * @return the encode time histogram
+     */
+    @NotNull
+    public TickHistogram getEncodeTime() {
+        return encodeTime;
+    }
+
+    /**
+     * Gets the time spent compressing the server packets.
+     *
+     * @return the compress time histogram
+     */
+    @NotNull
+    public TickHistogram getCompressTime() {
+        return compressTime;
+    }
+
+    /**
+     * Gets the time between the write of a buffer to a channel and its write to the socket.
+     *
+     * @return the flush latency histogram
+     */
+    @NotNull
+    public TickHistogram getFlushLatency() {
+        return flushLatency;
+    }
+
+    /**
+     * Gets the number of times a channel outbound buffer exceeded the high water mark.
+     *
+     * @return the unwritable count
+     */
+    public long getUnwritableCount() {
+        return unwritableCount.get();
+    }
+
+    /**
+     * Adds a consumer called with each new {@link Snapshot}.
+     *
+     * @param consumer the snapshot consumer
+     */
+    public void addSnapshotConsumer(@NotNull Consumer<Snapshot> consumer) {
+        this.snapshotConsumers.add(consumer);
+    }
+
+    /**
+     * Gets the last snapshot taken.
+     *
+     * @return the last snapshot, null if none has been taken yet
+     */
+    @Nullable
+    public Snapshot getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    /**
+     * Takes a snapshot of the values since the previous one and gives it to the snapshot consumers.
+     * <p>
+     * Called by the netty server at each accounting interval.
+     *
+     * @param trafficCounter the global traffic counter, used for the throughput, null if unavailable
+     * @return the new snapshot
+     */
+    @NotNull
+    public Snapshot snapshot(@Nullable TrafficCounter trafficCounter) {
+        final Snapshot snapshot;
+        synchronized (snapshotLock) {
+            final long time = System.currentTimeMillis();
+            final Snapshot totals = new Snapshot(time, 0, unwritableCount.get(), 0,
+                    toArray(packetsIn), toArray(bytesIn), toArray(packetsOut), toArray(bytesOut));
+            final Snapshot previous = this.previousTotals;
+            snapshot = new Snapshot(time, time - previous.time,
+                    totals.unwritableCount - previous.unwritableCount,
+                    trafficCounter != null ? trafficCounter.lastWriteThroughput() : 0,
+                    difference(totals.packetsIn, previous.packetsIn), difference(totals.bytesIn, previous.bytesIn),
+                    difference(totals.packetsOut, previous.packetsOut), difference(totals.bytesOut, previous.bytesOut));
+            this.previousTotals = totals;
+            this.lastSnapshot = snapshot;
+        }
+
+        this.snapshotConsumers.forEach(consumer -> consumer.accept(snapshot));
+        return snapshot;
+    }
+
+    @NotNull
+    private static long[] toArray(@NotNull AtomicLongArray array) {
+        long[] result = new long[array.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = array.get(i);
+        }
+        return result;
+    }
+
+    @NotNull
+    private static long[] difference(@NotNull long[] current, @NotNull long[] previous) {
+        long[] result = new long[current.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = current[i] - previous[i];
+        }
+        return result;
+    }
+
+    private static int getIndex(int packetId) {
+        return packetId >= 0 && packetId < PACKET_ID_COUNT ? packetId : TOTAL_INDEX;
+    }
+
+    /**
+     * The network values of all the connections during an interval.
+     * <p>
+     * Packet ids are the ones of the play state.
+     */
+    public static final class Snapshot {
+
+        private final long time;
+        private final long duration;
+        private final long unwritableCount;
+        private final long writeThroughput;
+        private final long[] packetsIn, bytesIn, packetsOut, bytesOut;
+
+        private Snapshot(long time, long duration, long unwritableCount, long writeThroughput,
+                         long[] packetsIn, long[] bytesIn, long[] packetsOut, long[] bytesOut) {
+            this.time = time;
+            this.duration = duration;
+            this.unwritableCount = unwritableCount;
+            this.writeThroughput = writeThroughput;
+            this.packetsIn = packetsIn;
+            this.bytesIn = bytesIn;
+            this.packetsOut = packetsOut;
+            this.bytesOut = bytesOut;
+        }
+
+        /**
+         * Gets when the snapshot has been taken.
+         *
+         * @return the snapshot time in milliseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * Gets the time since the previous snapshot.
+         *
+         * @return the interval duration in milliseconds
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        public long getUnwritableCount() {
+            return unwritableCount;
+        }
+
+        /**
+         * Gets the bytes written to the sockets per second, measured by the global traffic handler.
+         *
+         * @return the write throughput in bytes per second
+         */
+        public long getWriteThroughput() {
+            return writeThroughput;
+        }
+
+        public long getPacketsIn(int packetId) {
+            return get(packetsIn, packetId);
+        }
+
+        public long getBytesIn(int packetId) {
+            return get(bytesIn, packetId);
+        }
+
+        public long getPacketsOut(int packetId) {
+            return get(packetsOut, packetId);
+        }
+
+        public long getBytesOut(int packetId) {
+            return get(bytesOut, packetId);
+        }
+
+        public long getTotalPacketsIn() {
+            return sum(packetsIn);
+        }
+
+        public long getTotalBytesIn() {
+            return sum(bytesIn);
+        }
+
+        public long getTotalPacketsOut() {
+            return sum(packetsOut);
+        }
+
+        public long getTotalBytesOut() {
+            return sum(bytesOut);
+        }
+
+        private static long get(@NotNull long[] values, int packetId) {
+            return packetId >= 0 && packetId < PACKET_ID_COUNT ? values[packetId] : 0;
+        }
+
+        private static long sum(@NotNull long[] values) {
+            long sum = 0;
+            for (long value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.kqueue.KQueue;
 import io.netty.channel.kqueue.KQueueEventLoopGroup;
 import io.netty.channel.kqueue.KQueueServerSocketChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.ServerSocketChannel;
 import io.netty.channel.socket.SocketChannel;
@@ -43,6 +45,9 @@ public final class NettyServer {
     private static final long DEFAULT_UNCOMPRESSED_CHANNEL_WRITE_LIMIT = 15_000_000L;
     private static final long DEFAULT_UNCOMPRESSED_CHANNEL_READ_LIMIT = 1_000_000L;
 
+    private static final int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 512 * 1024;
+    private static final int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 2 * 1024 * 1024;
+
     public static final String TRAFFIC_LIMITER_HANDLER_NAME = "traffic-limiter"; // Read/write
     public static final String LEGACY_PING_HANDLER_NAME = "legacy-ping"; // Read
 
@@ -68,9 +73,16 @@ public final class NettyServer {
 
     private ServerSocketChannel serverChannel;
 
+    // In-JVM transport, see #startLocal(LocalAddress)
+    private EventLoopGroup localGroup;
+    private Channel localServerChannel;
+
     private String address;
     private int port;
 
+    private volatile WriteBufferWaterMark writeBufferWaterMark =
+            new WriteBufferWaterMark(DEFAULT_WRITE_BUFFER_LOW_WATER_MARK, DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK);
+
     /**
      * Scheduler used by {@code globalTrafficHandler}.
      */
@@ -82,8 +94,7 @@ public final class NettyServer {
         this.globalTrafficHandler = new GlobalChannelTrafficShapingHandler(trafficScheduler, 1000) {
             @Override
             protected void doAccounting(TrafficCounter counter) {
-                // TODO proper monitoring API
-                //System.out.println("data " + counter.getRealWriteThroughput() / 1e6);
+                MinecraftServer.getNetworkMetrics().snapshot(counter);
             }
         };
     }
@@ -155,11 +166,14 @@ public final class NettyServer {
                 .channel(channel);
 
 
-        bootstrap.childHandler(new ChannelInitializer<SocketChannel>() {
-            protected void initChannel(@NotNull SocketChannel ch) {
+        bootstrap.childHandler(new ChannelInitializer<Channel>() {
+            protected void initChannel(@NotNull Channel ch) {
                 ChannelConfig config = ch.config();
-                config.setOption(ChannelOption.TCP_NODELAY, true);
-                config.setOption(ChannelOption.SO_SNDBUF, 262_144);
+                if (ch instanceof SocketChannel) {
+                    config.setOption(ChannelOption.TCP_NODELAY, true);
+                    config.setOption(ChannelOption.SO_SNDBUF, 262_144);
+                }
+                config.setOption(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark);
                 config.setAllocator(ByteBufAllocator.DEFAULT);
 
                 ChannelPipeline pipeline = ch.pipeline();
@@ -223,6 +237,40 @@ public final class NettyServer {
         }
     }
 
+    /**
+     * Binds an in-JVM address, the connections to this address go through the same pipeline
+     * as the TCP ones without using the network stack.
+     * <p>
+     * Used to simulate players, see {@link net.minestom.server.extras.bot.BotClient}.
+     *
+     * @param localAddress the local address to bind
+     * @throws IllegalStateException if the server is not initialized or a local address is already bound
+     */
+    public void startLocal(@NotNull LocalAddress localAddress) {
+        Check.stateCondition(!initialized, "Netty server has not been initialized!");
+        Check.stateCondition(localServerChannel != null, "A local address is already bound!");
+
+        this.localGroup = new DefaultEventLoopGroup(MinecraftServer.getNettyThreadCount());
+        try {
+            this.localServerChannel = bootstrap.clone()
+                    .group(localGroup)
+                    .channel(LocalServerChannel.class)
+                    .bind(localAddress).sync().channel();
+        } catch (InterruptedException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    /**
+     * Gets the in-JVM address bound with {@link #startLocal(LocalAddress)}.
+     *
+     * @return the local address, null if not bound
+     */
+    @Nullable
+    public LocalAddress getLocalAddress() {
+        return localServerChannel != null ? (LocalAddress) localServerChannel.localAddress() : null;
+    }
+
     /**
      * Gets the address of the server.
      *
@@ -254,11 +302,40 @@ public final class NettyServer {
         return globalTrafficHandler;
     }
 
+    /**
+     * Gets the outbound buffer sizes between which the channels become unwritable and writable again,
+     * see {@link net.minestom.server.network.BackpressurePolicy}.
+     *
+     * @return the write buffer water mark of the channels
+     */
+    @NotNull
+    public WriteBufferWaterMark getWriteBufferWaterMark() {
+        return writeBufferWaterMark;
+    }
+
+    /**
+     * Changes the outbound buffer sizes between which the channels become unwritable and writable again.
+     * <p>
+     * Only applied to the new connections.
+     *
+     * @param low  the size in bytes under which an unwritable channel becomes writable again
+     * @param high the size in bytes above which a channel becomes unwritable
+     * @throws IllegalArgumentException if {@code low} is negative or greater than {@code high}
+     */
+    public void setWriteBufferWaterMark(int low, int high) {
+        Check.argCondition(low < 0 || low > high, "The low water mark has to be between 0 and the high water mark");
+        this.writeBufferWaterMark = new WriteBufferWaterMark(low, high);
+    }
+
     /**
      * Stops the server and the various services.
      */
     public void stop() {
         try {
+            if (localServerChannel != null) {
+                this.localServerChannel.close().sync();
+                this.localGroup.shutdownGracefully();
+            }
             this.serverChannel.close().sync();
             this.worker.shutdownGracefully();
             this.boss.shutdownGracefully();
@@ -55,6 +55,15 @@ public class ClientChannel extends SimpleChannelInboundHandler<InboundPacket> {
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        final PlayerConnection playerConnection = packetProcessor.getPlayerConnection(ctx);
+        if (playerConnection != null) {
+            playerConnection.getMetrics().recordWritabilityChange(ctx.channel().isWritable());
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void channelInactive(@NotNull ChannelHandlerContext ctx) {
         PlayerConnection playerConnection = packetProcessor.getPlayerConnection(ctx);
@@ -17,15 +17,15 @@
 package net.minestom.server.network.netty.codec;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageCodec;
 import io.netty.handler.codec.DecoderException;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.Utils;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
 public class PacketCompressor extends ByteToMessageCodec<ByteBuf> {
@@ -34,9 +34,6 @@ public class PacketCompressor extends ByteToMessageCodec<ByteBuf> {
 
     private final int threshold;
 
-    private final byte[] buffer = new byte[8192];
-
-    private final Deflater deflater = new Deflater(3);
     private final Inflater inflater = new Inflater();
 
     public PacketCompressor(int threshold) {
@@ -45,7 +42,9 @@ public class PacketCompressor extends ByteToMessageCodec<ByteBuf> {
 
     @Override
     protected void encode(ChannelHandlerContext ctx, ByteBuf from, ByteBuf to) {
-        PacketUtils.compressBuffer(deflater, buffer, from, to, false);
+        // Peek the packet id to choose the compression level
+        final int packetId = Utils.readVarInt(from.duplicate());
+        PacketUtils.compressBuffer(from, to, MinecraftServer.getCompressionEngine().getLevel(packetId));
     }
 
     @Override
@@ -64,17 +63,29 @@ public class PacketCompressor extends ByteToMessageCodec<ByteBuf> {
                     throw new DecoderException("Badly compressed packet - size of " + i + " is larger than protocol maximum of " + MAX_SIZE);
                 }
 
-                // TODO optimize to do not initialize arrays each time
-
-                byte[] input = new byte[buf.readableBytes()];
-                buf.readBytes(input);
-
-                inflater.setInput(input);
-                byte[] output = new byte[i];
-                inflater.inflate(output);
-                inflater.reset();
+                // Inflate directly from the received buffer to a pooled one
+                final ByteBuf output = ctx.alloc().ioBuffer(i, i);
+                try {
+                    inflater.setInput(buf.nioBuffer());
+                    final ByteBuffer target = output.nioBuffer(0, i);
+                    while (target.hasRemaining() && !inflater.finished()) {
+                        if (inflater.inflate(target) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                    }
+                    if (target.hasRemaining()) {
+                        throw new DecoderException("Badly compressed packet - expected " + i + " bytes but got " + target.position());
+                    }
+                    output.writerIndex(i);
+                } catch (Exception e) {
+                    output.release();
+                    throw e;
+                } finally {
+                    buf.skipBytes(buf.readableBytes());
+                    inflater.reset();
+                }
 
-                out.add(Unpooled.wrappedBuffer(output));
+                out.add(output);
             }
         }
     }
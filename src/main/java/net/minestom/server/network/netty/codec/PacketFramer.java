@@ -9,6 +9,7 @@ import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.player.PlayerConnection;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.Utils;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,7 +21,12 @@ public class PacketFramer extends ByteToMessageCodec<ByteBuf> {
 
     private final PacketProcessor packetProcessor;
 
-    public PacketFramer(PacketProcessor packetProcessor) {
+    /**
+     * Creates a framer for the server side, the received packets are limited to {@link MinecraftServer#getMaxPacketSize()}.
+     *
+     * @param packetProcessor the packet processor, null for the client side (server packets are not limited)
+     */
+    public PacketFramer(@Nullable PacketProcessor packetProcessor) {
         this.packetProcessor = packetProcessor;
     }
 
@@ -47,7 +53,7 @@ public class PacketFramer extends ByteToMessageCodec<ByteBuf> {
                 final int packetSize = Utils.readVarInt(buf);
 
                 // Max packet size check
-                if (packetSize >= MinecraftServer.getMaxPacketSize()) {
+                if (packetProcessor != null && packetSize >= MinecraftServer.getMaxPacketSize()) {
                     final PlayerConnection playerConnection = packetProcessor.getPlayerConnection(ctx);
                     if (playerConnection != null) {
                         final String identifier = playerConnection.getIdentifier();
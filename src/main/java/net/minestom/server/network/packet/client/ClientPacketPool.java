@@ -0,0 +1,88 @@
+package net.minestom.server.network.packet.client;
+
+import net.minestom.server.network.packet.client.handler.ClientPacketsHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reuses the packets received from a connection instead of creating a new one for each read,
+ * only for the packets marked with {@link ClientPacketsHandler#setPoolable(int, boolean)}.
+ * <p>
+ * Packets are given back with {@link #release(ClientPacket)} once processed, they must therefore
+ * not be kept by the packet listeners.
+ * <p>
+ * Thread-safe, packets are generally acquired in a netty thread and released during the player tick.
+ */
+public final class ClientPacketPool {
+
+    // The maximum number of packets kept for each type
+    private static final int MAXIMUM_POOL_SIZE = 32;
+
+    private final ClientPacketsHandler packetsHandler;
+
+    // Packet id -> its pool, created on the first acquisition
+    private final Deque<ClientPacket>[] poolsById;
+    // Packet class -> its pool, used when releasing
+    private final Map<Class<?>, Deque<ClientPacket>> poolsByClass = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public ClientPacketPool(@NotNull ClientPacketsHandler packetsHandler) {
+        this.packetsHandler = packetsHandler;
+        this.poolsById = new Deque[packetsHandler.getPacketCount()];
+    }
+
+    /**
+     * Gets a packet to read from the pool, or a new one if the packet is not poolable or the pool is empty.
+     *
+     * @param id the packet id
+     * @return a packet instance
+     * @throws IllegalStateException if {@code id} is not a valid packet id, or unregistered
+     */
+    @NotNull
+    public ClientPacket acquire(int id) {
+        if (!packetsHandler.isPoolable(id)) {
+            return packetsHandler.getPacketInstance(id);
+        }
+
+        Deque<ClientPacket> pool = poolsById[id];
+        if (pool != null) {
+            synchronized (pool) {
+                final ClientPacket packet = pool.poll();
+                if (packet != null) {
+                    return packet;
+                }
+            }
+            return packetsHandler.getPacketInstance(id);
+        }
+
+        // First acquisition of this packet type
+        final ClientPacket packet = packetsHandler.getPacketInstance(id);
+        pool = new ArrayDeque<>();
+        this.poolsByClass.putIfAbsent(packet.getClass(), pool);
+        this.poolsById[id] = poolsByClass.get(packet.getClass());
+        return packet;
+    }
+
+    /**
+     * Gives a processed packet back to the pool, does nothing if the packet is not poolable.
+     * <p>
+     * WARNING: the packet must not be used after this call.
+     *
+     * @param packet the packet to release
+     */
+    public void release(@NotNull ClientPacket packet) {
+        final Deque<ClientPacket> pool = poolsByClass.get(packet.getClass());
+        if (pool == null) {
+            return;
+        }
+        synchronized (pool) {
+            if (pool.size() < MAXIMUM_POOL_SIZE) {
+                pool.push(packet);
+            }
+        }
+    }
+}
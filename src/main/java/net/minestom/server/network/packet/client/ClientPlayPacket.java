@@ -12,7 +12,8 @@ public abstract class ClientPlayPacket implements ClientPacket {
     /**
      * Processes the packet for {@code player}.
      * <p>
-     * Called during the player tick and forwarded to the {@link PacketListenerManager}.
+     * Called during the player tick (or in the netty/async thread depending on
+     * {@link PacketListenerManager#getExecutionPolicy(Class)}) and forwarded to the {@link PacketListenerManager}.
      *
      * @param player the player who sent the packet
      */
@@ -20,6 +20,7 @@ public class ClientPacketsHandler {
     private static final int SIZE = 0x30;
 
     private final ClientPacketSupplier[] supplierAccesses = new ClientPacketSupplier[SIZE];
+    private final boolean[] poolablePackets = new boolean[SIZE];
 
     /**
      * Registers a client packet which can be retrieved later using {@link #getPacketInstance(int)}.
@@ -31,6 +32,37 @@ public class ClientPacketsHandler {
         this.supplierAccesses[id] = packetSupplier;
     }
 
+    /**
+     * Changes if the packets with an id can be reused by a {@link net.minestom.server.network.packet.client.ClientPacketPool}.
+     * <p>
+     * WARNING: only packets whose {@link ClientPacket#read(BinaryReader)} overwrites all the fields should be poolable.
+     *
+     * @param id       the packet id
+     * @param poolable true to allow the packets to be pooled
+     */
+    public void setPoolable(int id, boolean poolable) {
+        this.poolablePackets[id] = poolable;
+    }
+
+    /**
+     * Gets if the packets with an id can be reused by a {@link net.minestom.server.network.packet.client.ClientPacketPool}.
+     *
+     * @param id the packet id
+     * @return true if the packets can be pooled
+     */
+    public boolean isPoolable(int id) {
+        return id >= 0 && id < SIZE && poolablePackets[id];
+    }
+
+    /**
+     * Gets the maximum number of packet ids which can be registered.
+     *
+     * @return the packet id count
+     */
+    public int getPacketCount() {
+        return SIZE;
+    }
+
     /**
      * Retrieves a {@link net.minestom.server.network.packet.client.ClientPlayPacket} from its id.
      *
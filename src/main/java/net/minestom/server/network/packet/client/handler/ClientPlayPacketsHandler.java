@@ -55,5 +55,12 @@ public class ClientPlayPacketsHandler extends ClientPacketsHandler {
         register(0x2D, ClientSpectatePacket::new);
         register(0x2E, ClientPlayerBlockPlacementPacket::new);
         register(0x2F, ClientUseItemPacket::new);
+
+        // Packets sent every tick
+        setPoolable(0x10, true);
+        setPoolable(0x12, true);
+        setPoolable(0x13, true);
+        setPoolable(0x14, true);
+        setPoolable(0x15, true);
     }
 }
@@ -8,14 +8,14 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.data.Data;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.instance.block.CustomBlock;
-import net.minestom.server.instance.palette.PaletteStorage;
+import net.minestom.server.instance.palette.BlockStorage;
 import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.network.packet.server.ServerPacketIdentifier;
 import net.minestom.server.utils.BlockPosition;
 import net.minestom.server.utils.Utils;
 import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.cache.CacheablePacket;
-import net.minestom.server.utils.cache.TemporaryPacketCache;
+import net.minestom.server.utils.cache.FramedPacketCache;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
 import org.jetbrains.annotations.NotNull;
@@ -27,14 +27,14 @@ import java.util.UUID;
 public class ChunkDataPacket implements ServerPacket, CacheablePacket {
 
     private static final BlockManager BLOCK_MANAGER = MinecraftServer.getBlockManager();
-    private static final TemporaryPacketCache CACHE = new TemporaryPacketCache(10000L);
+    private static final FramedPacketCache CACHE = new FramedPacketCache(64L * 1024 * 1024);
 
     public boolean fullChunk;
     public Biome[] biomes;
     public int chunkX, chunkZ;
 
-    public PaletteStorage paletteStorage;
-    public PaletteStorage customBlockPaletteStorage;
+    public BlockStorage paletteStorage;
+    public BlockStorage customBlockPaletteStorage;
 
     public IntSet blockEntities;
     public Int2ObjectMap<Data> blocksData;
@@ -47,11 +47,11 @@ public class ChunkDataPacket implements ServerPacket, CacheablePacket {
 
     // Cacheable data
     private UUID identifier;
-    private long lastUpdate;
+    private long version;
 
-    public ChunkDataPacket(@Nullable UUID identifier, long lastUpdate) {
+    public ChunkDataPacket(@Nullable UUID identifier, long version) {
         this.identifier = identifier;
-        this.lastUpdate = lastUpdate;
+        this.version = version;
     }
 
     @Override
@@ -64,12 +64,9 @@ public class ChunkDataPacket implements ServerPacket, CacheablePacket {
         ByteBuf blocks = Unpooled.buffer(MAX_BUFFER_SIZE);
         for (byte i = 0; i < CHUNK_SECTION_COUNT; i++) {
             if (fullChunk || (sections.length == CHUNK_SECTION_COUNT && sections[i] != 0)) {
-                final long[] section = paletteStorage.getSectionBlocks()[i];
-                if (section.length > 0) { // section contains at least one block
+                // Sections are already encoded, only copied if they contain at least one block
+                if (paletteStorage.writeSection(i, blocks)) {
                     mask |= 1 << i;
-                    Utils.writeBlocks(blocks, paletteStorage.getPalette(i), section, paletteStorage.getBitsPerEntry());
-                } else {
-                    mask |= 0;
                 }
             } else {
                 mask |= 0;
@@ -139,17 +136,18 @@ public class ChunkDataPacket implements ServerPacket, CacheablePacket {
 
     @NotNull
     @Override
-    public TemporaryPacketCache getCache() {
+    public FramedPacketCache getCache() {
         return CACHE;
     }
 
     @Override
     public UUID getIdentifier() {
-        return identifier;
+        // Partial packets only contain some sections and cannot be shared
+        return fullChunk ? identifier : null;
     }
 
     @Override
-    public long getLastUpdateTime() {
-        return lastUpdate;
+    public long getVersion() {
+        return version;
     }
 }
\ No newline at end of file
@@ -4,7 +4,7 @@ import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.network.packet.server.ServerPacketIdentifier;
 import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.cache.CacheablePacket;
-import net.minestom.server.utils.cache.TemporaryPacketCache;
+import net.minestom.server.utils.cache.FramedPacketCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -13,7 +13,7 @@ import java.util.UUID;
 
 public class UpdateLightPacket implements ServerPacket, CacheablePacket {
 
-    private static final TemporaryPacketCache CACHE = new TemporaryPacketCache(10000L);
+    private static final FramedPacketCache CACHE = new FramedPacketCache(16L * 1024 * 1024);
 
     public int chunkX;
     public int chunkZ;
@@ -31,11 +31,11 @@ public class UpdateLightPacket implements ServerPacket, CacheablePacket {
 
     // Cacheable data
     private UUID identifier;
-    private long lastUpdate;
+    private long version;
 
-    public UpdateLightPacket(@Nullable UUID identifier, long lastUpdate) {
+    public UpdateLightPacket(@Nullable UUID identifier, long version) {
         this.identifier = identifier;
-        this.lastUpdate = lastUpdate;
+        this.version = version;
     }
 
     @Override
@@ -71,7 +71,7 @@ public class UpdateLightPacket implements ServerPacket, CacheablePacket {
 
     @NotNull
     @Override
-    public TemporaryPacketCache getCache() {
+    public FramedPacketCache getCache() {
         return CACHE;
     }
 
@@ -81,7 +81,7 @@ public class UpdateLightPacket implements ServerPacket, CacheablePacket {
     }
 
     @Override
-    public long getLastUpdateTime() {
-        return lastUpdate;
+    public long getVersion() {
+        return version;
     }
 }
@@ -1,32 +1,49 @@
 package net.minestom.server.network.player;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.chat.ChatColor;
+import net.minestom.server.chat.ColoredText;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
 import net.minestom.server.entity.PlayerSkin;
 import net.minestom.server.extras.mojangAuth.Decrypter;
 import net.minestom.server.extras.mojangAuth.Encrypter;
 import net.minestom.server.extras.mojangAuth.MojangCrypt;
+import net.minestom.server.network.BackpressurePolicy;
 import net.minestom.server.network.ConnectionState;
 import net.minestom.server.network.netty.NettyServer;
 import net.minestom.server.network.netty.codec.PacketCompressor;
 import net.minestom.server.network.netty.packet.FramedPacket;
+import net.minestom.server.network.packet.client.ClientPacketPool;
 import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.network.packet.server.login.SetCompressionPacket;
+import net.minestom.server.network.packet.server.play.*;
+import net.minestom.server.utils.BlockPosition;
+import net.minestom.server.utils.BufUtils;
 import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.cache.CacheablePacket;
-import net.minestom.server.utils.cache.TemporaryCache;
+import net.minestom.server.utils.cache.FramedPacketCache;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.crypto.SecretKey;
 import java.net.SocketAddress;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * Represents a networking connection with Netty.
@@ -35,7 +52,9 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class NettyPlayerConnection extends PlayerConnection {
 
-    private final SocketChannel channel;
+    private static final ColoredText BACKLOG_KICK_MESSAGE = ColoredText.of(ChatColor.RED + "Connection too slow");
+
+    private final Channel channel;
 
     private SocketAddress remoteAddress;
 
@@ -58,16 +77,47 @@ public class NettyPlayerConnection extends PlayerConnection {
     private UUID bungeeUuid;
     private PlayerSkin bungeeSkin;
 
-    public NettyPlayerConnection(@NotNull SocketChannel channel) {
+    // Framed packets sent during the tick, written at once in #update()
+    private final Object tickBufferLock = new Object();
+    private ByteBuf tickBuffer;
+    // Completed once all the previous writes have been given to the channel,
+    // writes are chained to it while packets are being compressed on the compression pool
+    private CompletableFuture<Void> writeChain = CompletableFuture.completedFuture(null);
+    // Set once the channel is closed, the tick buffer is then released and not allocated again
+    private boolean closed;
+
+    // Inbound packets, only used in the channel thread (and during the player tick for the released packets)
+    private final BinaryReader packetReader = new BinaryReader(Unpooled.EMPTY_BUFFER);
+    private final ClientPacketPool packetPool;
+
+    // Backpressure, applied when the channel is unwritable
+    private volatile BackpressurePolicy backpressurePolicy = MinecraftServer.getBackpressurePolicy();
+    private final Queue<ServerPacket> deferredPackets = new ArrayDeque<>();
+    // Entities whose movements have been dropped, synchronized once the channel is writable again
+    private final IntSet desynchronizedEntities = new IntOpenHashSet();
+    // Only used in #update()
+    private long backlogStartTime;
+
+    public NettyPlayerConnection(@NotNull Channel channel) {
         super();
         this.channel = channel;
         this.remoteAddress = channel.remoteAddress();
+        this.packetPool = new ClientPacketPool(MinecraftServer.getPacketProcessor().getPlayPacketsHandler());
+        this.channel.closeFuture().addListener(future -> releaseTickBuffer());
     }
 
     @Override
     public void update() {
-        // Flush
-        this.channel.flush();
+        if (channel.isWritable()) {
+            writeDeferredPackets();
+            synchronizeDroppedEntities();
+        }
+        // Write the packets of the tick and flush
+        synchronized (tickBufferLock) {
+            writeTickBuffer();
+            chainWrite(channel::flush);
+        }
+        checkBacklog();
         // Network stats
         super.update();
     }
@@ -106,7 +156,11 @@ public class NettyPlayerConnection extends PlayerConnection {
     /**
      * Writes a packet to the connection channel.
      * <p>
-     * All packets are flushed during {@link net.minestom.server.entity.Player#update(long)}.
+     * Once the player is created, packets are framed in the calling thread and aggregated
+     * in a single buffer written and flushed during {@link net.minestom.server.entity.Player#update(long)},
+     * or as soon as it reaches {@link MinecraftServer#getPacketFlushThreshold()}.
+     * <p>
+     * The packet can be dropped or deferred if the channel is unwritable, see {@link #getBackpressurePolicy()}.
      *
      * @param serverPacket the packet to write
      */
@@ -114,38 +168,76 @@ public class NettyPlayerConnection extends PlayerConnection {
     public void sendPacket(@NotNull ServerPacket serverPacket) {
         if (shouldSendPacket(serverPacket)) {
             if (getPlayer() != null) {
-                // Flush happen during #update()
-                if (serverPacket instanceof CacheablePacket && MinecraftServer.hasPacketCaching()) {
-                    CacheablePacket cacheablePacket = (CacheablePacket) serverPacket;
-                    final UUID identifier = cacheablePacket.getIdentifier();
-
-                    if (identifier == null) {
-                        // This packet explicitly said to do not retrieve the cache
-                        write(serverPacket);
-                    } else {
-                        // Try to retrieve the cached buffer
-                        TemporaryCache<ByteBuf> temporaryCache = cacheablePacket.getCache();
-                        ByteBuf buffer = temporaryCache.retrieve(identifier, cacheablePacket.getLastUpdateTime());
-                        if (buffer == null) {
-                            // Buffer not found, create and cache it
-                            final long time = System.currentTimeMillis();
-                            buffer = PacketUtils.createFramedPacket(serverPacket, false);
-                            temporaryCache.cacheObject(identifier, buffer, time);
-                        }
-                        FramedPacket framedPacket = new FramedPacket(buffer);
-                        write(framedPacket);
-                    }
-
-                } else
-                    write(serverPacket);
+                if (!applyBackpressure(serverPacket)) {
+                    writePlayPacket(serverPacket);
+                }
             } else
                 writeAndFlush(serverPacket);
         }
     }
 
+    /**
+     * Gets if the packets sent to this connection are currently affected by its backpressure policy,
+     * because the channel is unwritable or because deferred packets are waiting to be written.
+     * <p>
+     * Packets sent to multiple players should be sent with {@link #sendPacket(ServerPacket)}
+     * instead of being written as a shared {@link FramedPacket} in this case.
+     *
+     * @return true if the connection is backpressured
+     */
+    public boolean isBackpressured() {
+        if (!channel.isWritable()) {
+            return true;
+        }
+        synchronized (deferredPackets) {
+            return !deferredPackets.isEmpty();
+        }
+    }
+
+    /**
+     * Gets the policy applied to the packets sent while the channel is unwritable.
+     *
+     * @return the backpressure policy of this connection
+     */
+    @NotNull
+    public BackpressurePolicy getBackpressurePolicy() {
+        return backpressurePolicy;
+    }
+
+    /**
+     * Changes the policy applied to the packets sent while the channel is unwritable.
+     *
+     * @param backpressurePolicy the new backpressure policy of this connection
+     */
+    public void setBackpressurePolicy(@NotNull BackpressurePolicy backpressurePolicy) {
+        this.backpressurePolicy = backpressurePolicy;
+    }
+
+    /**
+     * Appends an already framed packet to the packets written at the end of the tick.
+     * <p>
+     * The packet buffer is copied and can be reused after this call.
+     *
+     * @param framedPacket the framed packet to write
+     */
+    public void writeFramedPacket(@NotNull FramedPacket framedPacket) {
+        appendToTickBuffer(framedPacket.getBody());
+    }
+
+    /**
+     * Writes a message directly in the connection channel, after the aggregated packets of the tick.
+     *
+     * @param message the message to write, generally a {@link ServerPacket} or a {@link FramedPacket}
+     * @return the future of the write
+     */
     @NotNull
     public ChannelFuture write(@NotNull Object message) {
-        ChannelFuture channelFuture = channel.write(message);
+        final ChannelPromise channelFuture = channel.newPromise();
+        // Keep the packets order
+        synchronized (tickBufferLock) {
+            writeTickBuffer();
+            chainWrite(() -> channel.write(message, channelFuture));
+        }
 
         if (MinecraftServer.shouldProcessNettyErrors()) {
             return channelFuture.addListener(future -> {
@@ -158,9 +250,20 @@ public class NettyPlayerConnection extends PlayerConnection {
         }
     }
 
+    /**
+     * Writes and flushes a message directly in the connection channel, after the aggregated packets of the tick.
+     *
+     * @param message the message to write, generally a {@link ServerPacket} or a {@link FramedPacket}
+     * @return the future of the write
+     */
     @NotNull
     public ChannelFuture writeAndFlush(@NotNull Object message) {
-        ChannelFuture channelFuture = channel.writeAndFlush(message);
+        final ChannelPromise channelFuture = channel.newPromise();
+        // Keep the packets order
+        synchronized (tickBufferLock) {
+            writeTickBuffer();
+            chainWrite(() -> channel.writeAndFlush(message, channelFuture));
+        }
 
         if (MinecraftServer.shouldProcessNettyErrors()) {
             return channelFuture.addListener(future -> {
@@ -192,7 +295,356 @@ public class NettyPlayerConnection extends PlayerConnection {
 
     @Override
     public void disconnect() {
-        this.channel.close();
+        // Send the last packets (e.g. the disconnect one) before closing
+        synchronized (tickBufferLock) {
+            writeTickBuffer();
+            chainWrite(() -> {
+                this.channel.flush();
+                this.channel.close();
+            });
+        }
+    }
+
+    private void writePlayPacket(@NotNull ServerPacket serverPacket) {
+        // Flush happen during #update()
+        if (serverPacket instanceof CacheablePacket && MinecraftServer.hasPacketCaching()) {
+            CacheablePacket cacheablePacket = (CacheablePacket) serverPacket;
+            final UUID identifier = cacheablePacket.getIdentifier();
+
+            if (identifier == null) {
+                // This packet explicitly said to do not retrieve the cache
+                writeServerPacket(serverPacket);
+            } else {
+                // Try to retrieve the cached buffer
+                final FramedPacketCache packetCache = cacheablePacket.getCache();
+                final long version = cacheablePacket.getVersion();
+                ByteBuf buffer = packetCache.retrieve(identifier, version);
+                if (buffer == null) {
+                    // Buffer not found, create and cache it
+                    final CompletableFuture<ByteBuf> future = PacketUtils.createFramedPacketAsync(serverPacket, true);
+                    if (!future.isDone()) {
+                        appendPendingBuffer(future.thenApply(framedBuffer ->
+                                recordPacketOut(serverPacket, packetCache.cache(identifier, version, framedBuffer))));
+                        return;
+                    }
+                    buffer = packetCache.cache(identifier, version, future.join());
+                }
+                writeSharedBuffer(recordPacketOut(serverPacket, buffer));
+            }
+
+        } else
+            writeServerPacket(serverPacket);
+    }
+
+    private void writeServerPacket(@NotNull ServerPacket serverPacket) {
+        final CompletableFuture<ByteBuf> future = PacketUtils.createFramedPacketAsync(serverPacket, true);
+        if (!future.isDone()) {
+            // Compressed on the compression pool
+            appendPendingBuffer(future.thenApply(buffer -> recordPacketOut(serverPacket, buffer)));
+            return;
+        }
+
+        final ByteBuf buffer = recordPacketOut(serverPacket, future.join());
+        try {
+            appendToTickBuffer(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Drops or defers a packet according to the backpressure policy.
+     *
+     * @param serverPacket the packet to send
+     * @return true if the packet has been dropped or deferred, false if it needs to be written
+     */
+    private boolean applyBackpressure(@NotNull ServerPacket serverPacket) {
+        final BackpressurePolicy policy = this.backpressurePolicy;
+        switch (policy.getAction(serverPacket.getId())) {
+            case DEFER:
+                synchronized (deferredPackets) {
+                    // Queued after the previous deferred packets to keep their order
+                    if (!deferredPackets.isEmpty() || !channel.isWritable()) {
+                        deferPacket(serverPacket);
+                        return true;
+                    }
+                }
+                return false;
+            case DROP:
+                if (!channel.isWritable()) {
+                    getMetrics().recordDroppedPacket();
+                    return true;
+                }
+                return false;
+            case DROP_DISTANT:
+                if (!channel.isWritable()) {
+                    final int entityId = BackpressurePolicy.getMovedEntityId(serverPacket);
+                    final Entity entity = entityId != -1 ? Entity.getEntity(entityId) : null;
+                    final Player player = getPlayer();
+                    if (entity != null && player != null &&
+                            entity.getDistance(player) > policy.getMovementDropDistance()) {
+                        synchronized (desynchronizedEntities) {
+                            this.desynchronizedEntities.add(entityId);
+                        }
+                        getMetrics().recordDroppedPacket();
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Queues a packet after the deferred ones, discarding the deferred packets of its chunk
+     * which are not needed anymore.
+     * <p>
+     * Needs to be called while holding the deferred packets lock.
+     *
+     * @param serverPacket the packet to defer
+     */
+    private void deferPacket(@NotNull ServerPacket serverPacket) {
+        if (serverPacket instanceof UnloadChunkPacket) {
+            final UnloadChunkPacket unloadChunkPacket = (UnloadChunkPacket) serverPacket;
+            final int chunkX = unloadChunkPacket.chunkX;
+            final int chunkZ = unloadChunkPacket.chunkZ;
+            // The chunk is not needed anymore
+            discardDeferredPackets(packet -> isChunkPacket(packet, chunkX, chunkZ) ||
+                    isLightPacket(packet, chunkX, chunkZ) ||
+                    isBlockChangePacket(packet, chunkX, chunkZ));
+        } else if (serverPacket instanceof ChunkDataPacket && ((ChunkDataPacket) serverPacket).fullChunk) {
+            final ChunkDataPacket chunkDataPacket = (ChunkDataPacket) serverPacket;
+            final int chunkX = chunkDataPacket.chunkX;
+            final int chunkZ = chunkDataPacket.chunkZ;
+            // Contains all the previous changes
+            discardDeferredPackets(packet -> isChunkPacket(packet, chunkX, chunkZ) ||
+                    isBlockChangePacket(packet, chunkX, chunkZ));
+        }
+        this.deferredPackets.add(serverPacket);
+    }
+
+    private void discardDeferredPackets(@NotNull Predicate<ServerPacket> predicate) {
+        final Iterator<ServerPacket> iterator = deferredPackets.iterator();
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.next())) {
+                iterator.remove();
+                getMetrics().recordDroppedPacket();
+            }
+        }
+    }
+
+    private static boolean isChunkPacket(@NotNull ServerPacket packet, int chunkX, int chunkZ) {
+        return packet instanceof ChunkDataPacket &&
+                ((ChunkDataPacket) packet).chunkX == chunkX && ((ChunkDataPacket) packet).chunkZ == chunkZ;
+    }
+
+    private static boolean isLightPacket(@NotNull ServerPacket packet, int chunkX, int chunkZ) {
+        return packet instanceof UpdateLightPacket &&
+                ((UpdateLightPacket) packet).chunkX == chunkX && ((UpdateLightPacket) packet).chunkZ == chunkZ;
+    }
+
+    private static boolean isBlockChangePacket(@NotNull ServerPacket packet, int chunkX, int chunkZ) {
+        if (packet instanceof BlockChangePacket) {
+            final BlockPosition blockPosition = ((BlockChangePacket) packet).blockPosition;
+            return ChunkUtils.getChunkCoordinate(blockPosition.getX()) == chunkX &&
+                    ChunkUtils.getChunkCoordinate(blockPosition.getZ()) == chunkZ;
+        }
+        return packet instanceof MultiBlockChangePacket &&
+                ((MultiBlockChangePacket) packet).chunkX == chunkX && ((MultiBlockChangePacket) packet).chunkZ == chunkZ;
+    }
+
+    /**
+     * Discards all the deferred packets.
+     * <p>
+     * Used when the player changes world, the deferred chunks would otherwise be written
+     * after the packets of the new world.
+     */
+    public void clearDeferredPackets() {
+        synchronized (deferredPackets) {
+            discardDeferredPackets(packet -> true);
+        }
+    }
+
+    /**
+     * Writes the deferred packets, up to {@link BackpressurePolicy#getDeferredPacketsPerTick()}.
+     */
+    private void writeDeferredPackets() {
+        synchronized (deferredPackets) {
+            if (deferredPackets.isEmpty()) {
+                return;
+            }
+            final int limit = backpressurePolicy.getDeferredPacketsPerTick();
+            ServerPacket serverPacket;
+            for (int i = 0; i < limit && (serverPacket = deferredPackets.poll()) != null; i++) {
+                writePlayPacket(serverPacket);
+            }
+        }
+    }
+
+    /**
+     * Asks the synchronization of the entities whose movements have been dropped.
+     */
+    private void synchronizeDroppedEntities() {
+        final int[] entityIds;
+        synchronized (desynchronizedEntities) {
+            if (desynchronizedEntities.isEmpty()) {
+                return;
+            }
+            entityIds = desynchronizedEntities.toIntArray();
+            this.desynchronizedEntities.clear();
+        }
+        for (int entityId : entityIds) {
+            final Entity entity = Entity.getEntity(entityId);
+            if (entity != null) {
+                entity.askSynchronization();
+            }
+        }
+    }
+
+    /**
+     * Closes the connection if its outbound buffer stayed above {@link BackpressurePolicy#getMaximumBacklog()},
+     * or its deferred packets above {@link BackpressurePolicy#getMaximumDeferredPackets()},
+     * for longer than {@link BackpressurePolicy#getBacklogKickDelay()}.
+     */
+    private void checkBacklog() {
+        final BackpressurePolicy policy = this.backpressurePolicy;
+        final ChannelOutboundBuffer outboundBuffer = channel.unsafe().outboundBuffer();
+        final long backlog = outboundBuffer != null ? outboundBuffer.totalPendingWriteBytes() : 0;
+        final int deferredCount;
+        synchronized (deferredPackets) {
+            deferredCount = deferredPackets.size();
+        }
+        if (backlog <= policy.getMaximumBacklog() && deferredCount <= policy.getMaximumDeferredPackets()) {
+            this.backlogStartTime = 0;
+            return;
+        }
+
+        final long time = System.currentTimeMillis();
+        if (backlogStartTime == 0) {
+            this.backlogStartTime = time;
+        } else if (time - backlogStartTime >= policy.getBacklogKickDelay()) {
+            this.backlogStartTime = 0;
+            final Player player = getPlayer();
+            if (player != null) {
+                player.kick(BACKLOG_KICK_MESSAGE);
+            }
+            disconnect();
+        }
+    }
+
+    @NotNull
+    private ByteBuf recordPacketOut(@NotNull ServerPacket serverPacket, @NotNull ByteBuf framedBuffer) {
+        getMetrics().recordPacketOut(serverPacket.getId(), framedBuffer.readableBytes());
+        return framedBuffer;
+    }
+
+    private void appendToTickBuffer(@NotNull ByteBuf framedBuffer) {
+        synchronized (tickBufferLock) {
+            if (closed) {
+                // Would never be written
+                return;
+            }
+            if (tickBuffer == null) {
+                this.tickBuffer = BufUtils.getBuffer(true, MinecraftServer.getPacketBufferSize());
+            }
+            this.tickBuffer.writeBytes(framedBuffer, framedBuffer.readerIndex(), framedBuffer.readableBytes());
+
+            if (tickBuffer.readableBytes() >= MinecraftServer.getPacketFlushThreshold()) {
+                // Do not wait for the end of the tick to send big amounts of data
+                writeTickBuffer();
+                chainWrite(channel::flush);
+            }
+        }
+    }
+
+    /**
+     * Writes a buffer shared with other connections (generally a slice of a cached packet)
+     * after the aggregated packets instead of copying it.
+     *
+     * @param framedBuffer the framed packet to write, released once written
+     */
+    private void writeSharedBuffer(@NotNull ByteBuf framedBuffer) {
+        synchronized (tickBufferLock) {
+            writeTickBuffer();
+            chainWrite(() -> writeBuffer(framedBuffer));
+        }
+    }
+
+    private void appendPendingBuffer(@NotNull CompletableFuture<ByteBuf> future) {
+        synchronized (tickBufferLock) {
+            // The packets already in the tick buffer need to be written first
+            writeTickBuffer();
+            this.writeChain = writeChain.thenCombine(future, (previous, buffer) -> buffer)
+                    .thenAccept(this::writeBuffer)
+                    .exceptionally(this::handleWriteException);
+        }
+    }
+
+    /**
+     * Executes a write once the previous ones have been given to the channel, directly if none is pending.
+     * <p>
+     * Never waits for the compression pool, chained writes are executed by the thread completing the previous one.
+     * Needs to be called while holding the tick buffer lock.
+     *
+     * @param write the write to execute
+     */
+    private void chainWrite(@NotNull Runnable write) {
+        if (writeChain.isDone()) {
+            write.run();
+        } else {
+            this.writeChain = writeChain.thenRun(write)
+                    .exceptionally(this::handleWriteException);
+        }
+    }
+
+    @Nullable
+    private Void handleWriteException(@NotNull Throwable throwable) {
+        // Keep the chain usable for the next writes
+        MinecraftServer.getExceptionManager().handleException(throwable instanceof CompletionException ?
+                throwable.getCause() : throwable);
+        return null;
+    }
+
+    /**
+     * Writes the aggregated packets as a single {@link FramedPacket}, skipping the framer and the compressor.
+     * <p>
+     * The write happens after the packets being compressed on the compression pool to keep the packets order.
+     * Needs to be called while holding the tick buffer lock.
+     */
+    private void writeTickBuffer() {
+        final ByteBuf buffer = tickBuffer;
+        if (buffer == null) {
+            return;
+        }
+        this.tickBuffer = null;
+        chainWrite(() -> writeBuffer(buffer));
+    }
+
+    /**
+     * Releases the packets not written before the channel closing.
+     */
+    private void releaseTickBuffer() {
+        synchronized (tickBufferLock) {
+            this.closed = true;
+            final ByteBuf buffer = tickBuffer;
+            if (buffer != null) {
+                this.tickBuffer = null;
+                buffer.release();
+            }
+        }
+    }
+
+    private void writeBuffer(@NotNull ByteBuf buffer) {
+        final long writeTime = System.nanoTime();
+        channel.write(new FramedPacket(buffer)).addListener(future -> {
+            MinecraftServer.getNetworkMetrics().getFlushLatency().record(System.nanoTime() - writeTime);
+            // The written slice has been released by the pipeline
+            buffer.release();
+            if (!future.isSuccess() && MinecraftServer.shouldProcessNettyErrors()) {
+                MinecraftServer.getExceptionManager().handleException(future.cause());
+            }
+        });
     }
 
     @NotNull
@@ -319,4 +771,27 @@ public class NettyPlayerConnection extends PlayerConnection {
     public void setNonce(byte[] nonce) {
         this.nonce = nonce;
     }
+
+    /**
+     * Gets the reader reused to read the packets received by this connection.
+     * <p>
+     * Should only be used in the channel thread.
+     *
+     * @return the packet reader
+     */
+    @NotNull
+    public BinaryReader getPacketReader() {
+        return packetReader;
+    }
+
+    /**
+     * Gets the pool of the play packets received by this connection.
+     *
+     * @return the packet pool
+     * @see MinecraftServer#hasClientPacketPooling()
+     */
+    @NotNull
+    public ClientPacketPool getPacketPool() {
+        return packetPool;
+    }
 }
@@ -8,6 +8,7 @@ import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.listener.manager.ServerPacketConsumer;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.ConnectionState;
+import net.minestom.server.network.metrics.ConnectionMetrics;
 import net.minestom.server.network.packet.server.ServerPacket;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -35,6 +36,7 @@ public abstract class PlayerConnection {
     private final AtomicInteger packetCounter = new AtomicInteger(0);
     private final AtomicInteger lastPacketCounter = new AtomicInteger(0);
     private short tickCounter = 0;
+    private final ConnectionMetrics metrics = new ConnectionMetrics();
 
     public PlayerConnection() {
         this.online = true;
@@ -63,6 +65,16 @@ public abstract class PlayerConnection {
         }
     }
 
+    /**
+     * Gets the network counters of this connection.
+     *
+     * @return the connection metrics
+     */
+    @NotNull
+    public ConnectionMetrics getMetrics() {
+        return metrics;
+    }
+
     @NotNull
     public AtomicInteger getPacketCounter() {
         return packetCounter;
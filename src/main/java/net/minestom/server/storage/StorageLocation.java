@@ -58,6 +58,16 @@ public class StorageLocation {
         this.storageSystem.set(key, data);
     }
 
+    /**
+     * Sets multiple data at once using {@link StorageSystem#setAll(Map)}.
+     *
+     * @param entries the data to set mapped by their key
+     * @see StorageSystem#setAll(Map)
+     */
+    public void setAll(@NotNull Map<String, byte[]> entries) {
+        this.storageSystem.setAll(entries);
+    }
+
     /**
      * Deletes a key using the associated {@link StorageSystem}.
      *
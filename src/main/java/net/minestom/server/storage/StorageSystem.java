@@ -3,6 +3,8 @@ package net.minestom.server.storage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+
 /**
  * Represents a way of storing data by key/value.
  * The location does not have to be a file or folder path. It is the 'identifier' of the data location.
@@ -42,6 +44,17 @@ public interface StorageSystem {
      */
     void set(@NotNull String key, byte[] data);
 
+    /**
+     * Sets multiple data at once, atomically if the implementation supports it.
+     * <p>
+     * Does call {@link #set(String, byte[])} for each entry by default.
+     *
+     * @param entries the data to set mapped by their key
+     */
+    default void setAll(@NotNull Map<String, byte[]> entries) {
+        entries.forEach(this::set);
+    }
+
     /**
      * Deletes the specified key from the database.
      *
@@ -0,0 +1,314 @@
+package net.minestom.server.storage.region;
+
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A file containing the data of 32x32 chunks, accessed through a memory-mapped {@link FileChannel}.
+ * <p>
+ * The file is divided in sectors of {@link #SECTOR_SIZE} bytes. The first two sectors are the header
+ * containing the location (first sector and sector count) and the last save time of each chunk,
+ * each chunk is then stored in contiguous sectors, compressed with deflate when it makes it smaller.
+ * A chunk is always rewritten in new sectors before its location is updated, its previous sectors are then
+ * freed once the file has been flushed: until then the header on disk can still point to them.
+ * <p>
+ * Thread-safe, compression is done outside of the lock.
+ */
+public final class RegionFile implements Closeable {
+
+    /**
+     * The number of chunks in each axis of a region.
+     */
+    public static final int REGION_SIZE = 32;
+
+    /**
+     * The size of a sector in bytes.
+     */
+    public static final int SECTOR_SIZE = 4096;
+
+    private static final int CHUNK_COUNT = REGION_SIZE * REGION_SIZE;
+    private static final int HEADER_SECTORS = 2;
+    private static final int MAXIMUM_SECTOR_COUNT = 0xFF;
+    private static final int MAXIMUM_SECTOR_OFFSET = 0xFFFFFF;
+    // Grow the mapping by 1MB to avoid remapping on each new chunk
+    private static final int MAPPING_INCREMENT = 256;
+
+    // Compressed length, uncompressed length and compression type
+    private static final int ENTRY_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+    private static final byte COMPRESSION_NONE = 0;
+    private static final byte COMPRESSION_DEFLATE = 1;
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final FileChannel channel;
+    private final int compressionLevel;
+
+    private MappedByteBuffer mappedBuffer;
+    private int mappedSectors;
+
+    // Chunk index -> first sector << 8 | sector count
+    private final int[] locations = new int[CHUNK_COUNT];
+    private final BitSet usedSectors = new BitSet();
+    // Sectors of replaced chunks, kept in the used sectors until the next flush
+    private final BitSet freedSectors = new BitSet();
+
+    private boolean closed;
+
+    /**
+     * Opens a region file, creating it if it does not exist.
+     *
+     * @param path             the path of the region file
+     * @param compressionLevel the deflate level used to compress the chunks, between 0 and 9
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public RegionFile(@NotNull Path path, int compressionLevel) throws IOException {
+        Check.argCondition(compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION,
+                "The compression level must be between 0 and 9");
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.compressionLevel = compressionLevel;
+
+        final int fileSectors = (int) ((channel.size() + SECTOR_SIZE - 1) / SECTOR_SIZE);
+        map(Math.max(HEADER_SECTORS, fileSectors));
+
+        this.usedSectors.set(0, HEADER_SECTORS);
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            final int location = mappedBuffer.getInt(i * Integer.BYTES);
+            final int offset = location >>> 8;
+            final int count = location & MAXIMUM_SECTOR_COUNT;
+            if (location == 0 || offset < HEADER_SECTORS || count == 0 || offset + count > fileSectors) {
+                // Empty or corrupted entry
+                setLocation(i, 0);
+                continue;
+            }
+            this.locations[i] = location;
+            this.usedSectors.set(offset, offset + count);
+        }
+    }
+
+    /**
+     * Reads the data of a chunk.
+     *
+     * @param chunkX the chunk X, converted to a position inside the region
+     * @param chunkZ the chunk Z, converted to a position inside the region
+     * @return the uncompressed data of the chunk, null if the chunk has never been saved
+     * @throws IOException if the data is corrupted
+     */
+    @Nullable
+    public byte[] read(int chunkX, int chunkZ) throws IOException {
+        final byte[] data;
+        final int uncompressedLength;
+        final byte compression;
+
+        synchronized (this) {
+            ensureOpen();
+            final int location = locations[getChunkIndex(chunkX, chunkZ)];
+            if (location == 0) {
+                return null;
+            }
+
+            final int position = (location >>> 8) * SECTOR_SIZE;
+            final int length = mappedBuffer.getInt(position);
+            uncompressedLength = mappedBuffer.getInt(position + Integer.BYTES);
+            compression = mappedBuffer.get(position + Integer.BYTES * 2);
+            if (length < 0 || uncompressedLength < 0 || ENTRY_HEADER_SIZE + length > (location & MAXIMUM_SECTOR_COUNT) * SECTOR_SIZE) {
+                throw new IOException("Invalid length " + length + " for chunk " + chunkX + ":" + chunkZ);
+            }
+
+            data = new byte[length];
+            ByteBuffer buffer = mappedBuffer.duplicate();
+            buffer.position(position + ENTRY_HEADER_SIZE);
+            buffer.get(data);
+        }
+
+        if (compression == COMPRESSION_NONE) {
+            return data;
+        } else if (compression != COMPRESSION_DEFLATE) {
+            throw new IOException("Unknown compression " + compression + " for chunk " + chunkX + ":" + chunkZ);
+        }
+
+        final Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(data);
+        final byte[] result = new byte[uncompressedLength];
+        try {
+            int offset = 0;
+            while (offset < uncompressedLength && !inflater.finished()) {
+                final int inflated = inflater.inflate(result, offset, uncompressedLength - offset);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                offset += inflated;
+            }
+            if (offset != uncompressedLength) {
+                throw new IOException("Truncated data for chunk " + chunkX + ":" + chunkZ);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted data for chunk " + chunkX + ":" + chunkZ, e);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the data of a chunk, replacing the previous one.
+     *
+     * @param chunkX the chunk X, converted to a position inside the region
+     * @param chunkZ the chunk Z, converted to a position inside the region
+     * @param data   the uncompressed data of the chunk
+     * @throws IOException              if the file cannot be extended
+     * @throws IllegalArgumentException if the compressed data is bigger than 255 sectors
+     */
+    public void write(int chunkX, int chunkZ, @NotNull byte[] data) throws IOException {
+        final byte[] compressed = compress(data);
+        // Store the data as is if the compression does not make it smaller
+        final byte compression = compressed != null ? COMPRESSION_DEFLATE : COMPRESSION_NONE;
+        final byte[] storedData = compressed != null ? compressed : data;
+        final int compressedLength = storedData.length;
+
+        final int sectorCount = (ENTRY_HEADER_SIZE + compressedLength + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        Check.argCondition(sectorCount > MAXIMUM_SECTOR_COUNT,
+                "Chunk " + chunkX + ":" + chunkZ + " is too big (" + compressedLength + " bytes)");
+
+        synchronized (this) {
+            ensureOpen();
+            final int index = getChunkIndex(chunkX, chunkZ);
+            final int location = locations[index];
+            final int previousOffset = location >>> 8;
+            final int previousCount = location & MAXIMUM_SECTOR_COUNT;
+
+            // Always write to new sectors, the previous data stays valid until the location is updated
+            final int offset = findFreeSectors(sectorCount);
+            Check.stateCondition(offset + sectorCount > MAXIMUM_SECTOR_OFFSET, "The region file is full");
+            if (offset + sectorCount > mappedSectors) {
+                map(offset + sectorCount + MAPPING_INCREMENT);
+            }
+            this.usedSectors.set(offset, offset + sectorCount);
+
+            final int position = offset * SECTOR_SIZE;
+            this.mappedBuffer.putInt(position, compressedLength);
+            this.mappedBuffer.putInt(position + Integer.BYTES, data.length);
+            this.mappedBuffer.put(position + Integer.BYTES * 2, compression);
+            ByteBuffer buffer = mappedBuffer.duplicate();
+            buffer.position(position + ENTRY_HEADER_SIZE);
+            buffer.put(storedData);
+
+            setLocation(index, offset << 8 | sectorCount);
+            if (location != 0) {
+                this.freedSectors.set(previousOffset, previousOffset + previousCount);
+            }
+            this.mappedBuffer.putInt(SECTOR_SIZE + index * Integer.BYTES, (int) (System.currentTimeMillis() / 1000L));
+        }
+    }
+
+    /**
+     * Gets if a chunk has been saved in this region.
+     *
+     * @param chunkX the chunk X, converted to a position inside the region
+     * @param chunkZ the chunk Z, converted to a position inside the region
+     * @return true if the region contains data for the chunk
+     */
+    public synchronized boolean hasChunk(int chunkX, int chunkZ) {
+        return locations[getChunkIndex(chunkX, chunkZ)] != 0;
+    }
+
+    /**
+     * Forces the modifications to be written to the disk.
+     * <p>
+     * The sectors of the replaced chunks can only be reused after this call.
+     */
+    public synchronized void flush() {
+        if (!closed) {
+            this.mappedBuffer.force();
+            // The header on disk does not reference the freed sectors anymore
+            this.usedSectors.andNot(freedSectors);
+            this.freedSectors.clear();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        this.mappedBuffer.force();
+        this.closed = true;
+        this.channel.close();
+    }
+
+    /**
+     * Gets the coordinate of the region containing a chunk.
+     *
+     * @param chunkCoordinate the chunk X or Z
+     * @return the region X or Z
+     */
+    public static int getRegionCoordinate(int chunkCoordinate) {
+        return chunkCoordinate >> 5;
+    }
+
+    @Nullable
+    private byte[] compress(@NotNull byte[] data) {
+        final Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setLevel(compressionLevel);
+        deflater.setInput(data);
+        deflater.finish();
+
+        // Only keep the compressed data if smaller
+        final byte[] output = new byte[data.length];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == output.length) {
+                return null;
+            }
+            length += deflater.deflate(output, length, output.length - length);
+        }
+        return length < output.length ? Arrays.copyOf(output, length) : null;
+    }
+
+    private int findFreeSectors(int sectorCount) {
+        int offset = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (true) {
+            final int nextUsed = usedSectors.nextSetBit(offset);
+            if (nextUsed == -1 || nextUsed - offset >= sectorCount) {
+                return offset;
+            }
+            offset = usedSectors.nextClearBit(nextUsed);
+        }
+    }
+
+    private void setLocation(int index, int location) {
+        this.locations[index] = location;
+        this.mappedBuffer.putInt(index * Integer.BYTES, location);
+    }
+
+    private void map(int sectors) throws IOException {
+        // The previous mapping is released by the garbage collector
+        this.mappedBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) sectors * SECTOR_SIZE);
+        this.mappedSectors = sectors;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The region file is closed");
+        }
+    }
+
+    private static int getChunkIndex(int chunkX, int chunkZ) {
+        return (chunkX & (REGION_SIZE - 1)) + (chunkZ & (REGION_SIZE - 1)) * REGION_SIZE;
+    }
+}
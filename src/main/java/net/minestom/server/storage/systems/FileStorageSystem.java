@@ -8,6 +8,7 @@ import org.rocksdb.*;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Map;
 
 /**
  * A {@link StorageSystem} which is local using OS files system
@@ -65,6 +66,24 @@ public class FileStorageSystem implements StorageSystem {
         }
     }
 
+    /**
+     * Writes all the entries in a single {@link WriteBatch}, making them atomic.
+     *
+     * @param entries the data to set mapped by their key
+     */
+    @Override
+    public void setAll(@NotNull Map<String, byte[]> entries) {
+        try (WriteBatch writeBatch = new WriteBatch();
+             WriteOptions writeOptions = new WriteOptions()) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                writeBatch.put(getKey(entry.getKey()), entry.getValue());
+            }
+            this.rocksDB.write(writeOptions, writeBatch);
+        } catch (RocksDBException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
     @Override
     public void delete(@NotNull String key) {
         try {
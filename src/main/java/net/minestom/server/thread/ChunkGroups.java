@@ -0,0 +1,233 @@
+package net.minestom.server.thread;
+
+import com.google.common.collect.Queues;
+import it.unimi.dsi.fastutil.longs.*;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+
+/**
+ * Disjoint-set of the loaded chunks of an instance, two chunks are part of the same group
+ * if they are linked by loaded chunks (no diagonals). Used by {@link PerGroupChunkProvider}.
+ * <p>
+ * The members of each group are kept in a circular linked list so two groups can be merged
+ * without copying them. Unloaded chunks stay in their group until it gets split.
+ * <p>
+ * {@link #load(long)} and {@link #unload(long)} can be called from any thread, the events are queued
+ * and applied by {@link #getGroups()} which must only be called by one thread at a time (the tick thread).
+ */
+public final class ChunkGroups {
+
+    private static final long[][] EMPTY_GROUPS = new long[0][];
+
+    // Chunk -> its parent in the tree, roots are their own parent
+    private final Long2LongOpenHashMap parents = new Long2LongOpenHashMap();
+    // Root -> the amount of chunks in the group
+    private final Long2IntOpenHashMap sizes = new Long2IntOpenHashMap();
+    // Chunk -> the next chunk in its group
+    private final Long2LongOpenHashMap next = new Long2LongOpenHashMap();
+
+    private final LongSet loadedChunks = new LongOpenHashSet();
+
+    // Roots of the groups containing unloaded chunks
+    private final LongSet splitRoots = new LongOpenHashSet();
+    // Roots of the groups which need a new snapshot
+    private final LongSet changedRoots = new LongOpenHashSet();
+
+    // Root -> the loaded chunks of the group
+    private final Long2ObjectOpenHashMap<long[]> snapshots = new Long2ObjectOpenHashMap<>();
+    private long[][] groups = EMPTY_GROUPS;
+
+    // Loads and unloads not applied yet, in order
+    private final Queue<ChunkEvent> pendingEvents = Queues.newConcurrentLinkedQueue();
+
+    /**
+     * Queues the load of a chunk, applied during the next {@link #getGroups()} call.
+     *
+     * @param chunkIndex the index of the loaded chunk
+     */
+    public void load(long chunkIndex) {
+        this.pendingEvents.add(new ChunkEvent(chunkIndex, true));
+    }
+
+    /**
+     * Queues the unload of a chunk, applied during the next {@link #getGroups()} call.
+     *
+     * @param chunkIndex the index of the unloaded chunk
+     */
+    public void unload(long chunkIndex) {
+        this.pendingEvents.add(new ChunkEvent(chunkIndex, false));
+    }
+
+    private void applyLoad(long chunkIndex) {
+        if (!loadedChunks.add(chunkIndex))
+            return;
+
+        if (parents.containsKey(chunkIndex)) {
+            // The chunk has been unloaded but its group is not split yet
+            this.changedRoots.add(find(chunkIndex));
+        } else {
+            // Create group of one chunk
+            this.parents.put(chunkIndex, chunkIndex);
+            this.sizes.put(chunkIndex, 1);
+            this.next.put(chunkIndex, chunkIndex);
+            this.changedRoots.add(chunkIndex);
+        }
+
+        final int chunkX = ChunkUtils.getChunkCoordX(chunkIndex);
+        final int chunkZ = ChunkUtils.getChunkCoordZ(chunkIndex);
+        union(chunkIndex, ChunkUtils.getChunkIndex(chunkX + 1, chunkZ));
+        union(chunkIndex, ChunkUtils.getChunkIndex(chunkX - 1, chunkZ));
+        union(chunkIndex, ChunkUtils.getChunkIndex(chunkX, chunkZ + 1));
+        union(chunkIndex, ChunkUtils.getChunkIndex(chunkX, chunkZ - 1));
+    }
+
+    private void applyUnload(long chunkIndex) {
+        if (!loadedChunks.remove(chunkIndex))
+            return;
+        final long root = find(chunkIndex);
+        this.splitRoots.add(root);
+        this.changedRoots.add(root);
+    }
+
+    private long find(long chunkIndex) {
+        // Path halving
+        long parent = parents.get(chunkIndex);
+        while (parent != chunkIndex) {
+            final long grandParent = parents.get(parent);
+            this.parents.put(chunkIndex, grandParent);
+            chunkIndex = grandParent;
+            parent = parents.get(chunkIndex);
+        }
+        return chunkIndex;
+    }
+
+    private void union(long chunkIndex, long neighbourIndex) {
+        if (!loadedChunks.contains(neighbourIndex))
+            return;
+
+        long root = find(chunkIndex);
+        long otherRoot = find(neighbourIndex);
+        if (root == otherRoot)
+            return;
+
+        // Union by size, the smallest tree is attached to the biggest
+        final int size = sizes.get(root);
+        final int otherSize = sizes.get(otherRoot);
+        if (size < otherSize) {
+            final long tmp = root;
+            root = otherRoot;
+            otherRoot = tmp;
+        }
+        this.parents.put(otherRoot, root);
+        this.sizes.put(root, size + otherSize);
+        this.sizes.remove(otherRoot);
+
+        // Merge the two circular lists
+        final long rootNext = next.get(root);
+        this.next.put(root, next.get(otherRoot));
+        this.next.put(otherRoot, rootNext);
+
+        if (splitRoots.remove(otherRoot)) {
+            this.splitRoots.add(root);
+        }
+        this.changedRoots.remove(otherRoot);
+        this.changedRoots.add(root);
+        this.snapshots.remove(otherRoot);
+    }
+
+    /**
+     * Rebuilds a group from its loaded chunks, creating a new group for each part of it
+     * which is not linked anymore.
+     *
+     * @param root the root of the group to split
+     */
+    private void split(long root) {
+        final long[] members = new long[sizes.get(root)];
+        int loadedCount = 0;
+        long chunkIndex = root;
+        do {
+            final long nextIndex = next.get(chunkIndex);
+            this.parents.remove(chunkIndex);
+            this.next.remove(chunkIndex);
+            if (loadedChunks.remove(chunkIndex)) {
+                members[loadedCount++] = chunkIndex;
+            }
+            chunkIndex = nextIndex;
+        } while (chunkIndex != root);
+        this.sizes.remove(root);
+        this.changedRoots.remove(root);
+        this.snapshots.remove(root);
+
+        for (int i = 0; i < loadedCount; i++) {
+            applyLoad(members[i]);
+        }
+    }
+
+    /**
+     * Gets the groups of loaded chunks, applying the queued events and splitting
+     * the groups containing unloaded chunks if needed.
+     * <p>
+     * The returned snapshot is not modified by later calls.
+     *
+     * @return an array containing the chunk indexes of each group, must not be modified
+     */
+    @NotNull
+    public long[][] getGroups() {
+        ChunkEvent event;
+        while ((event = pendingEvents.poll()) != null) {
+            if (event.load) {
+                applyLoad(event.chunkIndex);
+            } else {
+                applyUnload(event.chunkIndex);
+            }
+        }
+
+        if (splitRoots.isEmpty() && changedRoots.isEmpty())
+            return groups;
+
+        if (!splitRoots.isEmpty()) {
+            final long[] roots = splitRoots.toLongArray();
+            this.splitRoots.clear();
+            for (long root : roots) {
+                if (sizes.containsKey(root))
+                    split(root);
+            }
+        }
+
+        LongIterator iterator = changedRoots.iterator();
+        while (iterator.hasNext()) {
+            final long root = iterator.nextLong();
+            final long[] group = new long[sizes.get(root)];
+            int count = 0;
+            long chunkIndex = root;
+            do {
+                if (loadedChunks.contains(chunkIndex)) {
+                    group[count++] = chunkIndex;
+                }
+                chunkIndex = next.get(chunkIndex);
+            } while (chunkIndex != root);
+
+            if (count == 0) {
+                this.snapshots.remove(root);
+            } else {
+                this.snapshots.put(root, count == group.length ? group : LongArrays.trim(group, count));
+            }
+        }
+        this.changedRoots.clear();
+
+        this.groups = snapshots.values().toArray(EMPTY_GROUPS);
+        return groups;
+    }
+
+    private static final class ChunkEvent {
+        private final long chunkIndex;
+        private final boolean load;
+
+        private ChunkEvent(long chunkIndex, boolean load) {
+            this.chunkIndex = chunkIndex;
+            this.load = load;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.benchmark.TickMonitor;
+import net.minestom.server.benchmark.TickPhase;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks at a fixed rate of {@link MinecraftServer#TICK_MS}.
+ * <p>
+ * Late ticks are caught up (executed without delay) as long as the server is less than
+ * {@link #getMaxCatchUpTicks()} behind, older ticks are dropped.
+ * When overloaded, only one blocks update out of {@link #getOverloadSkipInterval()} is executed
+ * (every other blocks update by default).
+ */
+public class FixedRateTickLoopPolicy implements TickLoopPolicy {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(MinecraftServer.TICK_MS);
+
+    private int maxCatchUpTicks = MinecraftServer.TICK_PER_SECOND;
+    private double overloadThreshold = 0.9;
+    private int overloadSkipInterval = 2;
+
+    @Override
+    public long getNextTickTime(long scheduledTime, long tickEnd) {
+        final long nextTickTime = scheduledTime + TICK_NANOS;
+        final long catchUpLimit = tickEnd - TICK_NANOS * maxCatchUpTicks;
+        // Too late, forget about the oldest ticks
+        return Math.max(nextTickTime, catchUpLimit);
+    }
+
+    @Override
+    public boolean isOverloaded(@NotNull TickMonitor tickMonitor) {
+        return tickMonitor.getBehindTicks() > 0 || tickMonitor.getLoad() >= overloadThreshold;
+    }
+
+    @Override
+    public boolean shouldSkip(@NotNull TickPhase phase, long tick, boolean overloaded) {
+        return overloaded && phase == TickPhase.CHUNK && tick % overloadSkipInterval != 0;
+    }
+
+    /**
+     * Gets the maximum number of late ticks which are executed without delay.
+     *
+     * @return the max catch-up ticks
+     */
+    public int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    /**
+     * Changes the maximum number of late ticks which are executed without delay.
+     * <p>
+     * 0 means that late ticks are never caught up.
+     *
+     * @param maxCatchUpTicks the new max catch-up ticks
+     */
+    public void setMaxCatchUpTicks(int maxCatchUpTicks) {
+        Check.argCondition(maxCatchUpTicks < 0, "The max catch-up ticks cannot be negative");
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
+
+    /**
+     * Gets the load (see {@link TickMonitor#getLoad()}) from which the server is considered overloaded.
+     *
+     * @return the overload threshold
+     */
+    public double getOverloadThreshold() {
+        return overloadThreshold;
+    }
+
+    /**
+     * Changes the load (see {@link TickMonitor#getLoad()}) from which the server is considered overloaded.
+     *
+     * @param overloadThreshold the new overload threshold
+     */
+    public void setOverloadThreshold(double overloadThreshold) {
+        this.overloadThreshold = overloadThreshold;
+    }
+
+    /**
+     * Gets the interval between two blocks update when overloaded.
+     *
+     * @return the blocks update interval in blocks updates, 1 if never skipped
+     */
+    public int getOverloadSkipInterval() {
+        return overloadSkipInterval;
+    }
+
+    /**
+     * Changes the interval between two blocks update when overloaded.
+     * <p>
+     * The interval is counted in blocks updates, which are only scheduled
+     * every {@link MinecraftServer#TICK_PER_SECOND} / {@link MinecraftServer#VANILLA_TICK_PER_SECOND} ticks.
+     * For example, 2 means that updatable custom blocks are only updated every other blocks update.
+     *
+     * @param overloadSkipInterval the new blocks update interval in blocks updates, 1 to never skip
+     */
+    public void setOverloadSkipInterval(int overloadSkipInterval) {
+        Check.argCondition(overloadSkipInterval <= 0, "The skip interval must be positive");
+        this.overloadSkipInterval = overloadSkipInterval;
+    }
+}
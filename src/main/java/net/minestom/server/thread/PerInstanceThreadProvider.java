@@ -4,6 +4,7 @@ import it.unimi.dsi.fastutil.longs.LongArraySet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.benchmark.TickProfiler;
 import net.minestom.server.entity.Player;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
@@ -72,6 +73,7 @@ public class PerInstanceThreadProvider extends ThreadProvider {
                 if (!ChunkUtils.isLoaded(chunk))
                     return;
 
+                final long start = System.nanoTime();
                 if (updateVanillaTick) {
                     vanillaTick.set(0);
                     //Update Chunk
@@ -82,6 +84,9 @@ public class PerInstanceThreadProvider extends ThreadProvider {
                 } else {
                     conditionalEntityUpdate(instance, chunk, time, value -> value instanceof Player);
                 }
+                final TickProfiler tickProfiler = getTickProfiler();
+                if (tickProfiler.isEnabled())
+                    tickProfiler.recordChunk(instance, chunk, System.nanoTime() - start);
             });
         })));
         return futures;
@@ -0,0 +1,311 @@
+package net.minestom.server.thread;
+
+import it.unimi.dsi.fastutil.longs.*;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.benchmark.TickProfiler;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Separates each instance into regions of linked chunks, executed in a work-stealing pool.
+ * <p>
+ * A region is a group of chunks containing entities which are close to each other, it means that
+ * regions merge when players gather and split when they spread out. Chunks without any entity are ticked
+ * with the closest region, or batched together when far from every entity.
+ * Two regions are never closer than {@link #getMergeDistance()} chunks, so entities of different regions do not interact.
+ * <p>
+ * (1 region = 1 task, stolen by any idle thread of the pool)
+ */
+public class PerRegionThreadProvider extends ThreadProvider {
+
+    /**
+     * Amount of idle chunks (without entities) ticked by the same task.
+     */
+    private static final int IDLE_BATCH_SIZE = 64;
+
+    private final Map<Instance, InstanceRegions> instanceRegionsMap = new ConcurrentHashMap<>();
+
+    private int regionRefreshInterval = MinecraftServer.TICK_PER_SECOND;
+    private int mergeDistance = 2;
+
+    private long tickCounter;
+
+    @NotNull
+    @Override
+    protected ExecutorService createPool(int threadCount) {
+        return new ForkJoinPool(threadCount, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setDaemon(true);
+            thread.setName(MinecraftServer.THREAD_NAME_TICK + "-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @Override
+    public void onInstanceCreate(@NotNull Instance instance) {
+        this.instanceRegionsMap.putIfAbsent(instance, new InstanceRegions());
+    }
+
+    @Override
+    public void onInstanceDelete(@NotNull Instance instance) {
+        this.instanceRegionsMap.remove(instance);
+    }
+
+    @Override
+    public void onChunkLoad(@NotNull Instance instance, int chunkX, int chunkZ) {
+        InstanceRegions instanceRegions = getInstanceRegions(instance);
+        instanceRegions.chunks.add(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        instanceRegions.dirty = true;
+    }
+
+    @Override
+    public void onChunkUnload(@NotNull Instance instance, int chunkX, int chunkZ) {
+        InstanceRegions instanceRegions = getInstanceRegions(instance);
+        instanceRegions.chunks.remove(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        instanceRegions.dirty = true;
+    }
+
+    @NotNull
+    @Override
+    public List<Future<?>> update(long time) {
+        final int vanillaTickRate = Math.max(1, MinecraftServer.TICK_PER_SECOND / MinecraftServer.VANILLA_TICK_PER_SECOND);
+        final boolean vanillaTick = tickCounter % vanillaTickRate == 0;
+        final boolean refresh = tickCounter % regionRefreshInterval == 0;
+        this.tickCounter++;
+
+        final ForkJoinPool forkJoinPool = (ForkJoinPool) pool;
+        List<Future<?>> futures = new ArrayList<>(instanceRegionsMap.size());
+        instanceRegionsMap.forEach((instance, instanceRegions) -> {
+            if (refresh || instanceRegions.dirty) {
+                refreshRegions(instance, instanceRegions);
+            }
+            final List<RegionTask> tasks = instanceRegions.regions;
+            futures.add(forkJoinPool.submit(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    // The instance tick is used to unload waiting chunks, must be done before the regions
+                    if (vanillaTick)
+                        updateInstance(instance, time);
+                    for (RegionTask task : tasks) {
+                        task.prepare(instance, time, vanillaTick);
+                    }
+                    invokeAll(tasks);
+                }
+            }));
+        });
+        return futures;
+    }
+
+    /**
+     * Gets the amount of regions of an instance, as computed during the last refresh.
+     *
+     * @param instance the instance
+     * @return the number of regions, 0 if the instance is not registered
+     */
+    public int getRegionCount(@NotNull Instance instance) {
+        final InstanceRegions instanceRegions = instanceRegionsMap.get(instance);
+        return instanceRegions != null ? instanceRegions.regions.size() : 0;
+    }
+
+    /**
+     * Gets the interval between two region computations.
+     *
+     * @return the refresh interval in ticks
+     */
+    public int getRegionRefreshInterval() {
+        return regionRefreshInterval;
+    }
+
+    /**
+     * Changes the interval between two region computations.
+     * <p>
+     * Regions are also computed after each chunk load/unload.
+     *
+     * @param regionRefreshInterval the new refresh interval in ticks
+     */
+    public void setRegionRefreshInterval(int regionRefreshInterval) {
+        Check.argCondition(regionRefreshInterval <= 0, "The refresh interval must be positive");
+        this.regionRefreshInterval = regionRefreshInterval;
+    }
+
+    /**
+     * Gets the maximum distance between two chunks containing entities to be part of the same region.
+     *
+     * @return the merge distance in chunks
+     */
+    public int getMergeDistance() {
+        return mergeDistance;
+    }
+
+    /**
+     * Changes the maximum distance between two chunks containing entities to be part of the same region.
+     * <p>
+     * A bigger value means less regions, and therefore less parallelism.
+     * The distance must stay above the distance that an entity can travel between two refreshes
+     * (see {@link #setRegionRefreshInterval(int)}), entities of different regions being ticked concurrently.
+     *
+     * @param mergeDistance the new merge distance in chunks
+     */
+    public void setMergeDistance(int mergeDistance) {
+        Check.argCondition(mergeDistance <= 0, "The merge distance must be positive");
+        this.mergeDistance = mergeDistance;
+    }
+
+    /**
+     * Computes the regions of an instance based on its loaded chunks and their entities.
+     *
+     * @param instance        the instance
+     * @param instanceRegions the instance regions to refresh
+     */
+    private void refreshRegions(@NotNull Instance instance, @NotNull InstanceRegions instanceRegions) {
+        instanceRegions.dirty = false;
+
+        // Retrieve the last measured cost of each chunk
+        Long2LongMap costs = instanceRegions.costs;
+        costs.clear();
+        for (RegionTask task : instanceRegions.regions) {
+            for (int i = 0; i < task.chunks.length; i++) {
+                costs.put(task.chunks[i], task.costs[i]);
+            }
+        }
+
+        // Find the chunks containing entities
+        LongSet activeChunks = new LongOpenHashSet();
+        LongSet idleChunks = new LongOpenHashSet();
+        for (long chunkIndex : instanceRegions.chunks) {
+            final Chunk chunk = instance.getChunk(ChunkUtils.getChunkCoordX(chunkIndex), ChunkUtils.getChunkCoordZ(chunkIndex));
+            if (!ChunkUtils.isLoaded(chunk))
+                continue;
+            if (instance.getChunkEntities(chunk).isEmpty()) {
+                idleChunks.add(chunkIndex);
+            } else {
+                activeChunks.add(chunkIndex);
+            }
+        }
+
+        List<RegionTask> regions = new ArrayList<>();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        while (!activeChunks.isEmpty()) {
+            // Flood fill the chunks containing entities which are close to each other
+            final long start = activeChunks.iterator().nextLong();
+            activeChunks.remove(start);
+            queue.enqueue(start);
+            LongList region = new LongArrayList();
+            while (!queue.isEmpty()) {
+                final long chunkIndex = queue.dequeueLong();
+                region.add(chunkIndex);
+                final int chunkX = ChunkUtils.getChunkCoordX(chunkIndex);
+                final int chunkZ = ChunkUtils.getChunkCoordZ(chunkIndex);
+                for (int x = -mergeDistance; x <= mergeDistance; x++) {
+                    for (int z = -mergeDistance; z <= mergeDistance; z++) {
+                        final long neighbour = ChunkUtils.getChunkIndex(chunkX + x, chunkZ + z);
+                        if (activeChunks.remove(neighbour)) {
+                            queue.enqueue(neighbour);
+                        } else if (idleChunks.remove(neighbour)) {
+                            // Entities can walk in, tick it with the region without extending it
+                            region.add(neighbour);
+                        }
+                    }
+                }
+            }
+            regions.add(new RegionTask(region.toLongArray(), costs));
+        }
+
+        // Batch chunks far from any entity
+        final long[] remainingChunks = idleChunks.toLongArray();
+        for (int i = 0; i < remainingChunks.length; i += IDLE_BATCH_SIZE) {
+            final long[] batch = LongArrays.copy(remainingChunks, i, Math.min(IDLE_BATCH_SIZE, remainingChunks.length - i));
+            regions.add(new RegionTask(batch, costs));
+        }
+
+        // Start with the most expensive regions, the cheap ones fill the gaps
+        regions.sort((r1, r2) -> Long.compare(r2.getCost(), r1.getCost()));
+
+        instanceRegions.regions = regions;
+    }
+
+    private InstanceRegions getInstanceRegions(Instance instance) {
+        return instanceRegionsMap.computeIfAbsent(instance, inst -> new InstanceRegions());
+    }
+
+    private static final class InstanceRegions {
+        private final LongSet chunks = new LongOpenHashSet();
+        private final Long2LongMap costs = new Long2LongOpenHashMap();
+        private volatile List<RegionTask> regions = new ArrayList<>();
+        private volatile boolean dirty;
+    }
+
+    /**
+     * Ticks a group of chunks and measures the time spent on each of them.
+     */
+    private final class RegionTask extends RecursiveAction {
+
+        private final long[] chunks;
+        // Exponential moving average of each chunk tick duration in nanoseconds
+        private final long[] costs;
+
+        private Instance instance;
+        private long time;
+        private boolean vanillaTick;
+
+        private RegionTask(@NotNull long[] chunks, @NotNull Long2LongMap costs) {
+            this.chunks = chunks;
+            this.costs = new long[chunks.length];
+            for (int i = 0; i < chunks.length; i++) {
+                this.costs[i] = costs.get(chunks[i]);
+            }
+        }
+
+        private void prepare(@NotNull Instance instance, long time, boolean vanillaTick) {
+            reinitialize();
+            this.instance = instance;
+            this.time = time;
+            this.vanillaTick = vanillaTick;
+        }
+
+        private long getCost() {
+            long cost = 0;
+            for (long chunkCost : costs) {
+                cost += chunkCost;
+            }
+            return cost;
+        }
+
+        @Override
+        protected void compute() {
+            final TickProfiler tickProfiler = getTickProfiler();
+            for (int i = 0; i < chunks.length; i++) {
+                final long chunkIndex = chunks[i];
+                final Chunk chunk = instance.getChunk(ChunkUtils.getChunkCoordX(chunkIndex), ChunkUtils.getChunkCoordZ(chunkIndex));
+                if (!ChunkUtils.isLoaded(chunk))
+                    continue;
+
+                final long start = System.nanoTime();
+                try {
+                    if (vanillaTick) {
+                        updateChunk(instance, chunk, time);
+                        updateEntities(instance, chunk, time);
+                    } else {
+                        conditionalEntityUpdate(instance, chunk, time, entity -> entity instanceof Player);
+                    }
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+                final long duration = System.nanoTime() - start;
+                this.costs[i] = (costs[i] * 3 + duration) / 4;
+                if (tickProfiler.isEnabled())
+                    tickProfiler.recordChunk(instance, chunk, duration);
+            }
+        }
+    }
+
+}
@@ -2,6 +2,8 @@ package net.minestom.server.thread;
 
 import io.netty.util.NettyRuntime;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.benchmark.TickPhase;
+import net.minestom.server.benchmark.TickProfiler;
 import net.minestom.server.entity.*;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
@@ -13,10 +15,14 @@ import net.minestom.server.utils.thread.MinestomThread;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 
 /**
@@ -36,6 +42,14 @@ public abstract class ThreadProvider {
      */
     private int threadCount;
 
+    /**
+     * Minimum amount of entities in a chunk to compute the phased entity tick in parallel.
+     */
+    private static final int PARALLEL_ENTITY_THRESHOLD = 32;
+    private static final int ENTITY_BATCH_SIZE = 16;
+
+    private volatile boolean phasedEntityTick;
+
     {
         // Default thread count in the pool (cores * 2)
         setThreadCount(NettyRuntime.availableProcessors() * 2);
@@ -103,11 +117,53 @@ public abstract class ThreadProvider {
         refreshPool();
     }
 
+    /**
+     * Gets if entities are updated in multiple phases.
+     *
+     * @return true if the phased entity tick is enabled
+     * @see #setPhasedEntityTick(boolean)
+     */
+    public boolean isPhasedEntityTick() {
+        return phasedEntityTick;
+    }
+
+    /**
+     * Enables or disables the phased entity tick, disabled by default.
+     * <p>
+     * When enabled, the entities of a chunk are updated in three phases:
+     * their movement and collisions are computed in parallel (see {@link Entity#computeMovement()}),
+     * then their tick is executed by a single thread (movement applied, chunk changes, events),
+     * and finally their movement packets are sent to their viewers in parallel.
+     * <p>
+     * The single writer is per chunk: chunks of other groups still execute their commit phase at the same time,
+     * as without phases. Only the movement packets (position, velocity and synchronization) are deferred
+     * to the last phase, other packets are sent during the tick.
+     *
+     * @param phasedEntityTick true to enable the phased entity tick
+     */
+    public void setPhasedEntityTick(boolean phasedEntityTick) {
+        this.phasedEntityTick = phasedEntityTick;
+    }
+
     private void refreshPool() {
         if (pool != null) {
             this.pool.shutdown();
         }
-        this.pool = new MinestomThread(threadCount, MinecraftServer.THREAD_NAME_TICK);
+        this.pool = createPool(threadCount);
+    }
+
+    /**
+     * Creates the thread pool used to execute the ticks.
+     * <p>
+     * Called each time the thread count is modified, the previous pool is shutdown beforehand.
+     * Be aware that this may be called before the subclass fields are initialized.
+     *
+     * @param threadCount the amount of threads in the pool
+     * @return a new thread pool
+     */
+    @NotNull
+    protected ExecutorService createPool(int threadCount) {
+        return new MinestomThread(threadCount, MinecraftServer.THREAD_NAME_TICK);
     }
 
     // INSTANCE UPDATE
@@ -127,9 +183,15 @@ public abstract class ThreadProvider {
         if (!ChunkUtils.isLoaded(chunk))
             return;
 
+        final long start = System.nanoTime();
+
         updateChunk(instance, chunk, time);
 
         updateEntities(instance, chunk, time);
+
+        final TickProfiler tickProfiler = getTickProfiler();
+        if (tickProfiler.isEnabled())
+            tickProfiler.recordChunk(instance, chunk, System.nanoTime() - start);
     }
 
     /**
@@ -139,8 +201,16 @@ public abstract class ThreadProvider {
      * @param time     the current time in ms
      */
     protected void updateInstance(@NotNull Instance instance, long time) {
+        final TickProfiler tickProfiler = getTickProfiler();
+        if (!tickProfiler.isEnabled()) {
+            instance.tick(time);
+            return;
+        }
+
+        final long start = System.nanoTime();
         // The instance
         instance.tick(time);
+        tickProfiler.recordInstance(instance, System.nanoTime() - start);
     }
 
     /**
@@ -151,7 +221,19 @@ public abstract class ThreadProvider {
      * @param time     the current time in ms
      */
     protected void updateChunk(@NotNull Instance instance, @NotNull Chunk chunk, long time) {
+        // Blocks update are skipped when the server is overloaded
+        if (MinecraftServer.getUpdateManager().isPhaseSkipped(TickPhase.CHUNK))
+            return;
+
+        final TickProfiler tickProfiler = getTickProfiler();
+        if (!tickProfiler.isEnabled()) {
+            chunk.tick(time, instance);
+            return;
+        }
+
+        final long start = System.nanoTime();
         chunk.tick(time, instance);
+        tickProfiler.recordChunkBlocks(instance, System.nanoTime() - start);
     }
 
     // ENTITY UPDATE
@@ -223,17 +305,110 @@ public abstract class ThreadProvider {
                                            @Nullable EntityValidator condition) {
         final Set<Entity> entities = instance.getChunkEntities(chunk);
 
-        if (!entities.isEmpty()) {
+        if (!entities.isEmpty() && phasedEntityTick) {
+            phasedEntityUpdate(instance, entities, time, condition);
+        } else if (!entities.isEmpty()) {
+            final TickProfiler tickProfiler = getTickProfiler();
+            final boolean profile = tickProfiler.isEnabled();
             for (Entity entity : entities) {
                 if (condition != null && !condition.isValid(entity))
                     continue;
-                entity.tick(time);
+                // Already ticked from another chunk
+                if (!entity.claimTick(time))
+                    continue;
+                if (profile) {
+                    final long start = System.nanoTime();
+                    entity.tick(time);
+                    tickProfiler.recordEntity(instance, entity.getEntityType(), System.nanoTime() - start);
+                } else {
+                    entity.tick(time);
+                }
             }
         }
 
         updateSharedInstances(instance, sharedInstance -> conditionalEntityUpdate(sharedInstance, chunk, time, condition));
     }
 
+    /**
+     * Executes an entity tick in three phases: movement (parallel), commit (single thread) and packets (parallel).
+     *
+     * @param instance  the entities instance
+     * @param entities  the entities to update
+     * @param time      the current time in ms
+     * @param condition the condition which confirm if the update happens or not
+     * @see #setPhasedEntityTick(boolean)
+     */
+    private void phasedEntityUpdate(@NotNull Instance instance, @NotNull Set<Entity> entities, long time,
+                                    @Nullable EntityValidator condition) {
+        List<Entity> updatedEntities = new ArrayList<>(entities.size());
+        for (Entity entity : entities) {
+            if ((condition == null || condition.isValid(entity)) && entity.claimTick(time))
+                updatedEntities.add(entity);
+        }
+
+        // Movement and collisions, only read the world
+        forEachEntity(updatedEntities, Entity::computeMovement);
+
+        // Apply the movement, change chunk, call events...
+        final TickProfiler tickProfiler = getTickProfiler();
+        final boolean profile = tickProfiler.isEnabled();
+        for (Entity entity : updatedEntities) {
+            if (profile) {
+                final long start = System.nanoTime();
+                entity.tick(time);
+                tickProfiler.recordEntity(instance, entity.getEntityType(), System.nanoTime() - start);
+            } else {
+                entity.tick(time);
+            }
+        }
+
+        // Send the movement packets to the viewers
+        forEachEntity(updatedEntities, Entity::flushDeferredPackets);
+    }
+
+    /**
+     * Executes an action for each entity, in parallel if there are enough entities.
+     * <p>
+     * Uses the current {@link ForkJoinPool} if any, the common pool otherwise.
+     *
+     * @param entities the entities
+     * @param action   the action to execute
+     */
+    private static void forEachEntity(@NotNull List<Entity> entities, @NotNull Consumer<Entity> action) {
+        if (entities.size() < PARALLEL_ENTITY_THRESHOLD) {
+            runEntityAction(entities, 0, entities.size(), action);
+            return;
+        }
+
+        final EntityBatchAction task = new EntityBatchAction(entities, 0, entities.size(), action);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    private static void runEntityAction(@NotNull List<Entity> entities, int from, int to,
+                                        @NotNull Consumer<Entity> action) {
+        for (int i = from; i < to; i++) {
+            try {
+                action.accept(entities.get(i));
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the profiler where the tick timings are recorded.
+     *
+     * @return the tick profiler
+     */
+    @NotNull
+    protected TickProfiler getTickProfiler() {
+        return MinecraftServer.getBenchmarkManager().getTickProfiler();
+    }
+
     /**
      * If {@code instance} is an {@link InstanceContainer}, run a callback for all of its
      * {@link SharedInstance}.
@@ -254,4 +429,32 @@ public abstract class ThreadProvider {
         }
     }
 
+    /**
+     * Splits a list of entities until each part is small enough to be executed by a single thread.
+     */
+    private static final class EntityBatchAction extends RecursiveAction {
+
+        private final List<Entity> entities;
+        private final int from, to;
+        private final Consumer<Entity> action;
+
+        private EntityBatchAction(@NotNull List<Entity> entities, int from, int to, @NotNull Consumer<Entity> action) {
+            this.entities = entities;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ENTITY_BATCH_SIZE) {
+                runEntityAction(entities, from, to, action);
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new EntityBatchAction(entities, from, middle, action),
+                    new EntityBatchAction(entities, middle, to, action));
+        }
+    }
+
 }
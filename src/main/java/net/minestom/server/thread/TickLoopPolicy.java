@@ -0,0 +1,49 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.benchmark.TickMonitor;
+import net.minestom.server.benchmark.TickPhase;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decides when the server ticks and what can be skipped when the server cannot keep up.
+ * <p>
+ * You can change the current policy by calling {@link net.minestom.server.UpdateManager#setTickLoopPolicy(TickLoopPolicy)}.
+ */
+public interface TickLoopPolicy {
+
+    /**
+     * Computes the time at which the next tick should start.
+     * <p>
+     * Returning a time in the past starts the next tick immediately (catch-up),
+     * every tick later than {@code scheduledTime} + 1 tick is counted as skipped.
+     *
+     * @param scheduledTime the time at which the last tick should have started, in nanoseconds
+     * @param tickEnd       the time at which the last tick ended, in nanoseconds
+     * @return the time at which the next tick should start, in nanoseconds
+     */
+    long getNextTickTime(long scheduledTime, long tickEnd);
+
+    /**
+     * Gets if the server should be considered as overloaded.
+     * <p>
+     * Called at the start of each tick.
+     *
+     * @param tickMonitor the monitor containing the last ticks
+     * @return true if the server is overloaded
+     */
+    boolean isOverloaded(@NotNull TickMonitor tickMonitor);
+
+    /**
+     * Gets if a non-critical phase should be skipped during a tick.
+     * <p>
+     * Only {@link TickPhase#CHUNK} (blocks update) is currently skippable.
+     * Called once per tick executing the phase, when the phase is first executed
+     * (the blocks update only runs at the vanilla tick rate).
+     *
+     * @param phase      the phase
+     * @param tick       the number of ticks which executed the phase before this one
+     * @param overloaded true if {@link #isOverloaded(TickMonitor)} returned true for this tick
+     * @return true to skip the phase
+     */
+    boolean shouldSkip(@NotNull TickPhase phase, long tick, boolean overloaded);
+}
@@ -5,20 +5,22 @@ import io.netty.buffer.Unpooled;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
 import net.minestom.server.listener.manager.PacketListenerManager;
+import net.minestom.server.network.CompressionEngine;
 import net.minestom.server.network.netty.packet.FramedPacket;
 import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.network.packet.server.ServerPacketIdentifier;
 import net.minestom.server.network.player.NettyPlayerConnection;
 import net.minestom.server.network.player.PlayerConnection;
 import net.minestom.server.utils.binary.BinaryWriter;
+import net.minestom.server.utils.cache.CacheablePacket;
+import net.minestom.server.utils.cache.FramedPacketCache;
 import net.minestom.server.utils.callback.validator.PlayerValidator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.zip.Deflater;
 
 /**
@@ -29,15 +31,6 @@ public final class PacketUtils {
 
     private static final PacketListenerManager PACKET_LISTENER_MANAGER = MinecraftServer.getPacketListenerManager();
 
-    private static final int DEFLATER_COUNT = 10;
-    private static final List<Deflater> DEFLATERS = new CopyOnWriteArrayList<>();
-
-    static {
-        for (int i = 0; i < DEFLATER_COUNT; i++) {
-            DEFLATERS.add(new Deflater(3));
-        }
-    }
-
     private PacketUtils() {
 
     }
@@ -60,23 +53,31 @@ public final class PacketUtils {
             // Send grouped packet...
             final boolean success = PACKET_LISTENER_MANAGER.processServerPacket(packet, players);
             if (success) {
-                final ByteBuf finalBuffer = createFramedPacket(packet, false);
+                final ByteBuf cachedBuffer = getCachedFramedPacket(packet);
+                final ByteBuf finalBuffer = cachedBuffer != null ? cachedBuffer : createFramedPacket(packet, false);
                 final FramedPacket framedPacket = new FramedPacket(finalBuffer);
-
-                // Send packet to all players
-                for (Player player : players) {
-
-                    // Verify if the player should receive the packet
-                    if (playerValidator != null && !playerValidator.isValid(player))
-                        continue;
-
-                    final PlayerConnection playerConnection = player.getPlayerConnection();
-                    if (playerConnection instanceof NettyPlayerConnection) {
-                        final NettyPlayerConnection nettyPlayerConnection = (NettyPlayerConnection) playerConnection;
-                        nettyPlayerConnection.write(framedPacket);
-                    } else {
-                        playerConnection.sendPacket(packet);
+                final int packetSize = finalBuffer.readableBytes();
+
+                try {
+                    // Send packet to all players
+                    for (Player player : players) {
+
+                        // Verify if the player should receive the packet
+                        if (playerValidator != null && !playerValidator.isValid(player))
+                            continue;
+
+                        final PlayerConnection playerConnection = player.getPlayerConnection();
+                        if (playerConnection instanceof NettyPlayerConnection &&
+                                !((NettyPlayerConnection) playerConnection).isBackpressured()) {
+                            final NettyPlayerConnection nettyPlayerConnection = (NettyPlayerConnection) playerConnection;
+                            nettyPlayerConnection.writeFramedPacket(framedPacket);
+                            nettyPlayerConnection.getMetrics().recordPacketOut(packet.getId(), packetSize);
+                        } else {
+                            playerConnection.sendPacket(packet);
+                        }
                     }
+                } finally {
+                    finalBuffer.release();
                 }
             }
         } else {
@@ -162,11 +163,13 @@ public final class PacketUtils {
             writer = new BinaryWriter(BufUtils.getBuffer(true));
         }
 
+        final long start = System.nanoTime();
         try {
             packet.write(writer);
         } catch (Exception e) {
             MinecraftServer.getExceptionManager().handleException(e);
         }
+        MinecraftServer.getNetworkMetrics().getEncodeTime().record(System.nanoTime() - start);
 
         return writer.getBuffer();
     }
@@ -244,6 +247,27 @@ public final class PacketUtils {
         }
     }
 
+    /**
+     * Compress using zlib the content of a packet with the {@link CompressionEngine}.
+     * <p>
+     * {@code packetBuffer} needs to be the packet content without any header (if you want to use it to write a Minecraft packet).
+     *
+     * @param packetBuffer      the buffer containing all the packet fields
+     * @param compressionTarget the buffer which will receive the compressed version of {@code packetBuffer}
+     * @param level             the compression level, see {@link CompressionEngine#getLevel(int)}
+     */
+    public static void compressBuffer(@NotNull ByteBuf packetBuffer, @NotNull ByteBuf compressionTarget, int level) {
+        final int packetLength = packetBuffer.readableBytes();
+
+        if (packetLength < MinecraftServer.getCompressionThreshold()) {
+            Utils.writeVarIntBuf(compressionTarget, 0);
+            compressionTarget.writeBytes(packetBuffer);
+        } else {
+            Utils.writeVarIntBuf(compressionTarget, packetLength);
+            MinecraftServer.getCompressionEngine().compress(packetBuffer, compressionTarget, level);
+        }
+    }
+
     /**
      * Creates a "framed packet" (packet which can be send and understood by a Minecraft client)
      * from a server packet.
@@ -256,30 +280,87 @@ public final class PacketUtils {
      */
     @NotNull
     public static ByteBuf createFramedPacket(@NotNull ServerPacket serverPacket, boolean directBuffer) {
-        ByteBuf packetBuf = writePacket(serverPacket);
+        final ByteBuf packetBuf = writePacket(serverPacket);
+        return framePacketBuffer(packetBuf, serverPacket.getId(), directBuffer);
+    }
 
-        if (MinecraftServer.getCompressionThreshold() > 0) {
-            ByteBuf compressedBuf = directBuffer ? BufUtils.getBuffer(true) : Unpooled.buffer();
-            ByteBuf framedBuf = directBuffer ? BufUtils.getBuffer(true) : Unpooled.buffer();
+    /**
+     * Same as {@link #createFramedPacket(ServerPacket, boolean)} but compresses the packet on the compression pool
+     * if it is bigger than {@link CompressionEngine#getOffloadThreshold()}.
+     * <p>
+     * The packet is written in the calling thread, the returned future is already completed if the packet is not offloaded.
+     *
+     * @param serverPacket the server packet to write
+     * @return the future of the framed packet
+     */
+    @NotNull
+    public static CompletableFuture<ByteBuf> createFramedPacketAsync(@NotNull ServerPacket serverPacket, boolean directBuffer) {
+        final ByteBuf packetBuf = writePacket(serverPacket);
+        final int packetId = serverPacket.getId();
 
-            // Get a random deflater
-            final Deflater deflater = DEFLATERS.get(ThreadLocalRandom.current().nextInt(DEFLATER_COUNT));
-            compressBuffer(deflater, null, packetBuf, compressedBuf, true);
+        final CompressionEngine compressionEngine = MinecraftServer.getCompressionEngine();
+        if (!compressionEngine.shouldOffload(packetBuf.readableBytes())) {
+            return CompletableFuture.completedFuture(framePacketBuffer(packetBuf, packetId, directBuffer));
+        }
+        return compressionEngine.offload(() -> framePacketBuffer(packetBuf, packetId, directBuffer));
+    }
 
-            packetBuf.release();
+    /**
+     * Retrieves the framed version of a {@link CacheablePacket} from its cache, creating and caching it if needed.
+     *
+     * @param serverPacket the server packet
+     * @return a buffer containing the framed packet which needs to be released,
+     * null if the packet is not cacheable or {@link MinecraftServer#hasPacketCaching()} is disabled
+     */
+    @Nullable
+    public static ByteBuf getCachedFramedPacket(@NotNull ServerPacket serverPacket) {
+        if (!(serverPacket instanceof CacheablePacket) || !MinecraftServer.hasPacketCaching()) {
+            return null;
+        }
+        final CacheablePacket cacheablePacket = (CacheablePacket) serverPacket;
+        final UUID identifier = cacheablePacket.getIdentifier();
+        if (identifier == null) {
+            // This packet explicitly said to do not retrieve the cache
+            return null;
+        }
 
-            frameBuffer(compressedBuf, framedBuf);
-            compressedBuf.release();
+        final FramedPacketCache packetCache = cacheablePacket.getCache();
+        final long version = cacheablePacket.getVersion();
+        final ByteBuf buffer = packetCache.retrieve(identifier, version);
+        return buffer != null ? buffer :
+                packetCache.cache(identifier, version, createFramedPacket(serverPacket, true));
+    }
 
-            return framedBuf;
-        } else {
-            ByteBuf framedBuf = directBuffer ? BufUtils.getBuffer(true) : Unpooled.buffer();
-            frameBuffer(packetBuf, framedBuf);
+    /**
+     * Compresses (if enabled) and frames a packet buffer.
+     *
+     * @param packetBuf the buffer containing the packet id and data, released
+     * @param packetId  the id of the packet, used to choose the compression level
+     * @return the framed packet
+     */
+    @NotNull
+    private static ByteBuf framePacketBuffer(@NotNull ByteBuf packetBuf, int packetId, boolean directBuffer) {
+        ByteBuf framedBuf = directBuffer ? BufUtils.getBuffer(true) : Unpooled.buffer();
+        try {
+            if (MinecraftServer.getCompressionThreshold() > 0) {
+                ByteBuf compressedBuf = directBuffer ? BufUtils.getBuffer(true) : Unpooled.buffer();
+                try {
+                    final int level = MinecraftServer.getCompressionEngine().getLevel(packetId);
+                    compressBuffer(packetBuf, compressedBuf, level);
+                    frameBuffer(compressedBuf, framedBuf);
+                } finally {
+                    compressedBuf.release();
+                }
+            } else {
+                frameBuffer(packetBuf, framedBuf);
+            }
+        } catch (RuntimeException e) {
+            framedBuf.release();
+            throw e;
+        } finally {
             packetBuf.release();
-
-            return framedBuf;
         }
-
+        return framedBuf;
     }
 
 }
@@ -28,7 +28,7 @@ import java.util.UUID;
  */
 public class BinaryReader extends InputStream {
 
-    private final ByteBuf buffer;
+    private ByteBuf buffer;
     private final NBTReader nbtReader = new NBTReader(this, false);
 
     public BinaryReader(@NotNull ByteBuf buffer) {
@@ -161,6 +161,15 @@ public class BinaryReader extends InputStream {
         return buffer;
     }
 
+    /**
+     * Changes the buffer to read from, allowing the reader to be reused instead of allocating one per buffer.
+     *
+     * @param buffer the new buffer to read
+     */
+    public void setBuffer(@NotNull ByteBuf buffer) {
+        this.buffer = buffer;
+    }
+
     @Override
     public int read() {
         return readByte() & 0xFF;
@@ -7,11 +7,11 @@ import org.jetbrains.annotations.Nullable;
 import java.util.UUID;
 
 /**
- * Implemented by {@link ServerPacket server packets} which can be temporary cached in memory to be re-sent later
+ * Implemented by {@link ServerPacket server packets} which can be cached in memory to be re-sent later
  * without having to go through all the writing and compression.
  * <p>
  * {@link #getIdentifier()} is to differenciate this packet from the others of the same type,
- * and {@link #getLastUpdateTime()} to know if one packet is newer than the previous one.
+ * and {@link #getVersion()} to know if one packet is newer than the previous one.
  */
 public interface CacheablePacket {
 
@@ -20,10 +20,10 @@ public interface CacheablePacket {
      * <p>
      * WARNING: the cache needs to be shared between all the object instances, tips is to make it static.
      *
-     * @return the temporary packet cache
+     * @return the packet cache
      */
     @NotNull
-    TemporaryPacketCache getCache();
+    FramedPacketCache getCache();
 
     /**
      * Gets the identifier of this packet.
@@ -36,10 +36,10 @@ public interface CacheablePacket {
     UUID getIdentifier();
 
     /**
-     * Gets the last time this packet changed.
+     * Gets the version of this packet, greater for a packet with newer content.
      *
-     * @return the last packet update time in milliseconds
+     * @return the packet version
      */
-    long getLastUpdateTime();
+    long getVersion();
 
 }
@@ -0,0 +1,134 @@
+package net.minestom.server.utils.cache;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Caches framed packets (see {@link net.minestom.server.utils.PacketUtils#createFramedPacket(net.minestom.server.network.packet.server.ServerPacket, boolean)})
+ * by identifier and version, used for {@link CacheablePacket}.
+ * <p>
+ * An entry is only replaced when a packet with a newer version is cached, entries are evicted by a {@link WeightedCache}
+ * once the size of all the cached buffers exceeds {@link #getMaximumWeight()}.
+ * Buffers are released as soon as evicted and retrieved as retained slices, they can therefore be written to
+ * multiple connections at the same time.
+ * <p>
+ * Thread-safe.
+ */
+public class FramedPacketCache {
+
+    private final WeightedCache<UUID, Entry> cache;
+
+    /**
+     * Creates a new framed packet cache.
+     *
+     * @param maximumWeight  the maximum size of all the cached buffers in bytes
+     * @param expirationTime the time in milliseconds after which an unused packet is removed, 0 to never expire
+     */
+    public FramedPacketCache(long maximumWeight, long expirationTime) {
+        this.cache = new WeightedCache<>(maximumWeight, expirationTime,
+                entry -> entry.buffer.readableBytes(), entry -> entry.buffer.release());
+    }
+
+    /**
+     * Creates a new framed packet cache without expiration.
+     *
+     * @param maximumWeight the maximum size of all the cached buffers in bytes
+     */
+    public FramedPacketCache(long maximumWeight) {
+        this(maximumWeight, 0);
+    }
+
+    /**
+     * Retrieves a cached packet.
+     *
+     * @param identifier the packet identifier
+     * @param version    the current version of the packet
+     * @return a retained slice of the cached buffer which needs to be released,
+     * null if not cached or if the cached packet is not at this version
+     */
+    @Nullable
+    public ByteBuf retrieve(@NotNull UUID identifier, long version) {
+        // Retained before the buffer can be released by an eviction
+        return cache.get(identifier, e -> e.version == version, e -> e.buffer.retainedSlice());
+    }
+
+    /**
+     * Caches a packet, replacing the one with the same identifier if older.
+     *
+     * @param identifier the packet identifier
+     * @param version    the version of the packet
+     * @param buffer     the framed packet, owned by the cache after this call
+     * @return a retained slice of {@code buffer} which needs to be released
+     */
+    @NotNull
+    public ByteBuf cache(@NotNull UUID identifier, long version, @NotNull ByteBuf buffer) {
+        // Retained before caching, the buffer could be evicted right after
+        final ByteBuf slice = buffer.retainedSlice();
+        final boolean cached = cache.put(identifier, new Entry(version, buffer), entry -> entry.version < version);
+        if (!cached) {
+            // Too big, or a newer version is already cached
+            buffer.release();
+        }
+        return slice;
+    }
+
+    /**
+     * Removes a packet from the cache.
+     *
+     * @param identifier the packet identifier
+     */
+    public void invalidate(@NotNull UUID identifier) {
+        this.cache.invalidate(identifier);
+    }
+
+    /**
+     * Gets the size of all the cached buffers.
+     *
+     * @return the cache weight in bytes
+     */
+    public long getWeight() {
+        return cache.getWeight();
+    }
+
+    /**
+     * Gets the maximum size of all the cached buffers.
+     *
+     * @return the maximum weight in bytes
+     */
+    public long getMaximumWeight() {
+        return cache.getMaximumWeight();
+    }
+
+    /**
+     * Changes the maximum size of all the cached buffers, evicting packets if needed.
+     *
+     * @param maximumWeight the new maximum weight in bytes
+     * @throws IllegalArgumentException if {@code maximumWeight} is negative
+     */
+    public void setMaximumWeight(long maximumWeight) {
+        this.cache.setMaximumWeight(maximumWeight);
+    }
+
+    /**
+     * Gets the underlying cache, mostly to retrieve its hit, miss and eviction counts.
+     *
+     * @return the weighted cache
+     */
+    @NotNull
+    public WeightedCache<UUID, ?> getCache() {
+        return cache;
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final ByteBuf buffer;
+
+        private Entry(long version, @NotNull ByteBuf buffer) {
+            this.version = version;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -4,41 +4,48 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * Cache objects with a timeout.
+ * <p>
+ * Backed by a {@link WeightedCache}: objects expire when accessed after the keep time
+ * and the cache can be bounded by the total weight of its objects.
  *
  * @param <T> the object type to cache
  */
 public class TemporaryCache<T> {
 
-    public static final ScheduledExecutorService REMOVER_SERVICE = Executors.newScheduledThreadPool(1);
-
-    // Identifier = Cached object
-    protected ConcurrentHashMap<UUID, T> cache = new ConcurrentHashMap<>();
-    // Identifier = time
-    protected ConcurrentHashMap<UUID, Long> cacheTime = new ConcurrentHashMap<>();
+    protected final WeightedCache<UUID, Entry<T>> cache;
 
     private final long keepTime;
 
     /**
      * Creates a new temporary cache.
      *
+     * @param keepTime        the time before considering an object unused in milliseconds
+     * @param maximumWeight   the maximum weight of all the cached objects
+     * @param weigher         the function giving the weight of an object
+     * @param removalListener the consumer called with each object leaving the cache, null to ignore
+     */
+    public TemporaryCache(long keepTime, long maximumWeight,
+                          @NotNull ToIntFunction<T> weigher, @Nullable Consumer<T> removalListener) {
+        this.keepTime = keepTime;
+        this.cache = new WeightedCache<>(maximumWeight, keepTime,
+                entry -> weigher.applyAsInt(entry.value),
+                removalListener != null ? entry -> removalListener.accept(entry.value) : null);
+    }
+
+    /**
+     * Creates a new temporary cache without weight limit.
+     *
      * @param keepTime the time before considering an object unused in milliseconds
      * @see #getKeepTime()
      */
     public TemporaryCache(long keepTime) {
-        this.keepTime = keepTime;
-        REMOVER_SERVICE.scheduleAtFixedRate(() -> {
-            final boolean removed = cacheTime.values().removeIf(time -> System.currentTimeMillis() > time + keepTime);
-            if (removed) {
-                this.cache.entrySet().removeIf(entry -> !cacheTime.containsKey(entry.getKey()));
-            }
-        }, keepTime, keepTime, TimeUnit.MILLISECONDS);
+        this(keepTime, Long.MAX_VALUE, value -> 1, null);
     }
 
     /**
@@ -48,9 +55,8 @@ public class TemporaryCache<T> {
      * @param value      the object to cache
      * @param time       the current time in milliseconds
      */
-    public void cacheObject(@NotNull UUID identifier, T value, long time) {
-        this.cache.put(identifier, value);
-        this.cacheTime.put(identifier, time);
+    public void cacheObject(@NotNull UUID identifier, @NotNull T value, long time) {
+        this.cache.put(identifier, new Entry<>(value, time));
     }
 
     /**
@@ -63,13 +69,23 @@ public class TemporaryCache<T> {
      */
     @Nullable
     public T retrieve(@NotNull UUID identifier, long lastUpdate) {
-        Long tempL = cacheTime.get(identifier);
-        if (tempL == null) {
-            return null;
-        }
+        return retrieve(identifier, lastUpdate, Function.identity());
+    }
 
-        //cache.get(identifier) will return null if the race condition occurred which is what we want
-        return lastUpdate <= tempL ? cache.get(identifier) : null;
+    /**
+     * Retrieves an object from cache and maps it before it can be removed,
+     * see {@link WeightedCache#get(Object, java.util.function.Predicate, Function)}.
+     *
+     * @param identifier the object identifier
+     * @param lastUpdate the last update time of your identifier's object,
+     *                   used to see if the cached value is up-to-date
+     * @param mapper     the function applied to the cached object
+     * @param <R>        the mapped type
+     * @return the mapped object or null if not found
+     */
+    @Nullable
+    protected <R> R retrieve(@NotNull UUID identifier, long lastUpdate, @NotNull Function<T, R> mapper) {
+        return cache.get(identifier, e -> lastUpdate <= e.time, e -> mapper.apply(e.value));
     }
 
     /**
@@ -80,4 +96,41 @@ public class TemporaryCache<T> {
     public long getKeepTime() {
         return keepTime;
     }
+
+    /**
+     * Gets the number of retrievals which returned an object.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * Gets the number of retrievals which did not return an object.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * Gets the number of objects removed because of the weight limit or their expiration.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    protected static final class Entry<T> {
+        private final T value;
+        private final long time;
+
+        private Entry(@NotNull T value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
 }
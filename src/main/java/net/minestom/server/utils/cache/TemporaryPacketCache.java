@@ -1,12 +1,44 @@
 package net.minestom.server.utils.cache;
 
 import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
 
 /**
  * Convenient superclass of {@link TemporaryCache} explicitly for packet to store a {@link ByteBuf}.
+ * <p>
+ * Bounded by the size of the cached buffers, which are released once removed from the cache.
+ * Buffers are retrieved as retained slices, which stay valid after an eviction.
  */
 public class TemporaryPacketCache extends TemporaryCache<ByteBuf> {
+
+    /**
+     * The default maximum size of the cached buffers in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+
+    public TemporaryPacketCache(long keepTime, long maximumWeight) {
+        super(keepTime, maximumWeight, ByteBuf::readableBytes, ByteBuf::release);
+    }
+
     public TemporaryPacketCache(long keepTime) {
-        super(keepTime);
+        this(keepTime, DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * Retrieves a cached buffer.
+     *
+     * @param identifier the buffer identifier
+     * @param lastUpdate the last update time of your identifier's object,
+     *                   used to see if the cached buffer is up-to-date
+     * @return a retained slice of the cached buffer which needs to be released, null if not found
+     */
+    @Nullable
+    @Override
+    public ByteBuf retrieve(@NotNull UUID identifier, long lastUpdate) {
+        // Retained before the buffer can be released by an eviction
+        return retrieve(identifier, lastUpdate, ByteBuf::retainedSlice);
     }
 }
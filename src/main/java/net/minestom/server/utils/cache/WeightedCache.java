@@ -0,0 +1,391 @@
+package net.minestom.server.utils.cache;
+
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * A concurrent cache bounded by the total weight of its values.
+ * <p>
+ * Values are evicted with the clock (second chance) policy once {@link #getMaximumWeight()} is exceeded:
+ * a value retrieved since the last pass of the clock hand is kept once more, the others are evicted.
+ * Values not retrieved for longer than the expiration time are removed when accessed or reached by the clock hand,
+ * there is no background task.
+ * <p>
+ * The removal listener is called once for each value leaving the cache (evicted, expired, replaced or invalidated),
+ * which can be used to release resources such as netty buffers. Those resources need to be acquired
+ * with {@link #get(Object, Predicate, Function)} since a retrieved value can be removed at any time.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class WeightedCache<K, V> {
+
+    // Key -> its node, the node being replaced when the value changes
+    private final Map<K, Node<K, V>> nodes = new ConcurrentHashMap<>();
+    // Circle of the nodes, the head being the clock hand. Can contain removed nodes which are skipped
+    private final Queue<Node<K, V>> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger removedNodeCount = new AtomicInteger();
+    private final Object evictionLock = new Object();
+
+    private final ToIntFunction<V> weigher;
+    private final Consumer<V> removalListener;
+    private final long expirationTime;
+
+    private volatile long maximumWeight;
+    private final AtomicLong weight = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder invalidationCount = new LongAdder();
+
+    /**
+     * Creates a new weighted cache.
+     *
+     * @param maximumWeight   the maximum weight of all the values
+     * @param expirationTime  the time in milliseconds after which an unused value is removed, 0 to never expire
+     * @param weigher         the function giving the weight of a value
+     * @param removalListener the consumer called with each value leaving the cache, null to ignore
+     */
+    public WeightedCache(long maximumWeight, long expirationTime,
+                         @NotNull ToIntFunction<V> weigher, @Nullable Consumer<V> removalListener) {
+        Check.argCondition(expirationTime < 0, "The expiration time cannot be negative");
+        this.weigher = weigher;
+        this.removalListener = removalListener;
+        this.expirationTime = expirationTime;
+        setMaximumWeight(maximumWeight);
+    }
+
+    /**
+     * Retrieves a cached value.
+     *
+     * @param key the key of the value
+     * @return the cached value, null if not found or expired
+     */
+    @Nullable
+    public V get(@NotNull K key) {
+        return get(key, null);
+    }
+
+    /**
+     * Retrieves a cached value if it is still valid.
+     * <p>
+     * A rejected value is considered as a miss but is not removed, see {@link #invalidate(Object, Object)}.
+     *
+     * @param key       the key of the value
+     * @param validator the predicate checking if the cached value can be used, null to accept any value
+     * @return the cached value, null if not found, expired or rejected
+     */
+    @Nullable
+    public V get(@NotNull K key, @Nullable Predicate<V> validator) {
+        return get(key, validator, Function.identity());
+    }
+
+    /**
+     * Retrieves a cached value if it is still valid and maps it while it cannot leave the cache.
+     * <p>
+     * The removal listener is never called with the value before the mapper returns, which allows to
+     * safely acquire a resource released by the listener (e.g. retaining a netty buffer).
+     * The mapper must not access this cache.
+     *
+     * @param key       the key of the value
+     * @param validator the predicate checking if the cached value can be used, null to accept any value
+     * @param mapper    the function applied to the cached value
+     * @param <R>       the mapped type
+     * @return the mapped value, null if not found, expired or rejected
+     */
+    @Nullable
+    public <R> R get(@NotNull K key, @Nullable Predicate<V> validator, @NotNull Function<V, R> mapper) {
+        final long time = System.currentTimeMillis();
+        final Holder<R> result = new Holder<>();
+        final Holder<Node<K, V>> expiredNode = new Holder<>();
+        final boolean[] hit = new boolean[1];
+        // Atomic with the removals of the node, the removal listener is called after them
+        this.nodes.computeIfPresent(key, (k, node) -> {
+            if (isExpired(node, time)) {
+                expiredNode.value = node;
+                return null;
+            }
+            if (validator == null || validator.test(node.value)) {
+                node.referenced = true;
+                node.accessTime = time;
+                result.value = mapper.apply(node.value);
+                hit[0] = true;
+            }
+            return node;
+        });
+
+        if (expiredNode.value != null) {
+            this.evictionCount.increment();
+            removed(expiredNode.value);
+        }
+        if (!hit[0]) {
+            this.missCount.increment();
+            return null;
+        }
+        this.hitCount.increment();
+        return result.value;
+    }
+
+    /**
+     * Caches a value, replacing the current one.
+     *
+     * @param key   the key of the value
+     * @param value the value to cache
+     * @return true if the value has been cached, false if it is heavier than {@link #getMaximumWeight()}
+     */
+    public boolean put(@NotNull K key, @NotNull V value) {
+        return put(key, value, null);
+    }
+
+    /**
+     * Caches a value, replacing the current one only if accepted by {@code replace}.
+     * <p>
+     * The removal listener is not called with {@code value} if it has not been cached.
+     *
+     * @param key     the key of the value
+     * @param value   the value to cache
+     * @param replace the predicate checking if the current value should be replaced, null to always replace
+     * @return true if the value has been cached
+     */
+    public boolean put(@NotNull K key, @NotNull V value, @Nullable Predicate<V> replace) {
+        final int valueWeight = weigher.applyAsInt(value);
+        if (valueWeight > maximumWeight) {
+            return false;
+        }
+
+        final long time = System.currentTimeMillis();
+        final Node<K, V> node = new Node<>(key, value, valueWeight, time);
+        final Holder<Node<K, V>> replacedNode = new Holder<>();
+        final Node<K, V> result = nodes.compute(key, (k, currentNode) -> {
+            if (currentNode != null && replace != null &&
+                    !isExpired(currentNode, time) && !replace.test(currentNode.value)) {
+                return currentNode;
+            }
+            replacedNode.value = currentNode;
+            return node;
+        });
+        if (result != node) {
+            return false;
+        }
+
+        this.weight.addAndGet(valueWeight);
+        this.clock.add(node);
+        if (replacedNode.value != null) {
+            removed(replacedNode.value);
+        }
+
+        evict();
+        return true;
+    }
+
+    /**
+     * Removes a value from the cache.
+     *
+     * @param key the key of the value to remove
+     */
+    public void invalidate(@NotNull K key) {
+        final Node<K, V> node = nodes.remove(key);
+        if (node != null) {
+            this.invalidationCount.increment();
+            removed(node);
+        }
+    }
+
+    /**
+     * Removes a value from the cache only if it has not been replaced.
+     *
+     * @param key   the key of the value to remove
+     * @param value the value to remove
+     */
+    public void invalidate(@NotNull K key, @NotNull V value) {
+        final Node<K, V> node = nodes.get(key);
+        if (node != null && node.value == value) {
+            remove(node, invalidationCount);
+        }
+    }
+
+    /**
+     * Removes all the values from the cache.
+     */
+    public void invalidateAll() {
+        for (K key : nodes.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Gets the number of cached values.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Gets the weight of all the cached values.
+     *
+     * @return the cache weight
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /**
+     * Gets the maximum weight of all the cached values.
+     *
+     * @return the maximum weight
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Changes the maximum weight of all the cached values, evicting values if needed.
+     *
+     * @param maximumWeight the new maximum weight
+     * @throws IllegalArgumentException if {@code maximumWeight} is negative
+     */
+    public void setMaximumWeight(long maximumWeight) {
+        Check.argCondition(maximumWeight < 0, "The maximum weight cannot be negative");
+        this.maximumWeight = maximumWeight;
+        evict();
+    }
+
+    /**
+     * Gets the number of retrievals which returned a value.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of retrievals which did not return a value.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the number of values evicted because of the maximum weight or their expiration.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Gets the number of values removed by {@link #invalidate(Object)} or {@link #invalidate(Object, Object)}.
+     *
+     * @return the invalidation count
+     */
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+
+    private void evict() {
+        if (weight.get() <= maximumWeight) {
+            return;
+        }
+        synchronized (evictionLock) {
+            final long time = System.currentTimeMillis();
+            Node<K, V> node;
+            while (weight.get() > maximumWeight && (node = clock.poll()) != null) {
+                if (nodes.get(node.key) != node) {
+                    // Already removed
+                    this.removedNodeCount.decrementAndGet();
+                    continue;
+                }
+                if (node.referenced && !isExpired(node, time)) {
+                    // Second chance
+                    node.referenced = false;
+                    this.clock.add(node);
+                    continue;
+                }
+                if (remove(node, evictionCount)) {
+                    // Not in the clock anymore
+                    this.removedNodeCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a node still in the cache.
+     *
+     * @param counter the counter incremented if the node is removed
+     * @return true if the node has been removed, false if already removed or replaced
+     */
+    private boolean remove(@NotNull Node<K, V> node, @NotNull LongAdder counter) {
+        if (nodes.remove(node.key, node)) {
+            counter.increment();
+            removed(node);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Called once a node has been removed from the map.
+     */
+    private void removed(@NotNull Node<K, V> node) {
+        this.weight.addAndGet(-node.weight);
+        if (removalListener != null) {
+            this.removalListener.accept(node.value);
+        }
+
+        // Removed nodes stay in the clock until reached by the hand, clean them if they become the majority
+        if (removedNodeCount.incrementAndGet() > nodes.size() + 64) {
+            synchronized (evictionLock) {
+                this.clock.removeIf(n -> nodes.get(n.key) != n);
+                this.removedNodeCount.set(0);
+            }
+        }
+    }
+
+    private boolean isExpired(@NotNull Node<K, V> node, long time) {
+        return expirationTime > 0 && time - node.accessTime > expirationTime;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final int weight;
+
+        private volatile boolean referenced;
+        private volatile long accessTime;
+
+        private Node(@NotNull K key, @NotNull V value, int weight, long time) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.accessTime = time;
+        }
+    }
+
+    /**
+     * Value set by the map compute functions.
+     */
+    private static final class Holder<T> {
+        private T value;
+    }
+}
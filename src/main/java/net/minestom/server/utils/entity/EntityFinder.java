@@ -107,7 +107,16 @@ public class EntityFinder {
      */
     @NotNull
     public List<Entity> find(@Nullable Instance instance, @Nullable Entity self) {
-        List<Entity> result = findTarget(instance, targetSelector, startPosition, self);
+        List<Entity> result;
+        if (targetSelector == TargetSelector.ALL_ENTITIES && instance != null && distance != null && self != null) {
+            // Only retrieve the entities in range, the distance is checked below
+            final Position position = self.getPosition();
+            result = new ArrayList<>();
+            instance.getEntityIndex().forEachInRadius(position.getX(), position.getY(), position.getZ(),
+                    distance.getMaximum() + 1d, null, result::add);
+        } else {
+            result = findTarget(instance, targetSelector, startPosition, self);
+        }
 
         // Fast exit if there is nothing to process
         if (result.isEmpty())
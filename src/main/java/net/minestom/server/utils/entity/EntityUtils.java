@@ -18,19 +18,26 @@ public final class EntityUtils {
 
     }
 
+    /**
+     * Calls a consumer with each entity in the chunks at most at {@code viewDistance} chunks of a position.
+     *
+     * @param instance     the instance of the entities
+     * @param position     the center position
+     * @param viewDistance the distance in chunks
+     * @param consumer     the consumer called with each entity
+     */
     public static void forEachRange(@NotNull Instance instance, @NotNull Position position,
                                     int viewDistance,
                                     @NotNull Consumer<Entity> consumer) {
-        final long[] chunksInRange = ChunkUtils.getChunksInRange(position, viewDistance);
+        final int chunkX = ChunkUtils.getChunkCoordinate((int) Math.floor(position.getX()));
+        final int chunkZ = ChunkUtils.getChunkCoordinate((int) Math.floor(position.getZ()));
 
-        for (long chunkIndex : chunksInRange) {
-            final int chunkX = ChunkUtils.getChunkCoordX(chunkIndex);
-            final int chunkZ = ChunkUtils.getChunkCoordZ(chunkIndex);
-            final Chunk chunk = instance.getChunk(chunkX, chunkZ);
-            if (chunk == null)
-                continue;
-            instance.getChunkEntities(chunk).forEach(consumer::accept);
-        }
+        instance.getEntityIndex().forEachInBox(
+                (chunkX - viewDistance) * Chunk.CHUNK_SIZE_X, Double.NEGATIVE_INFINITY,
+                (chunkZ - viewDistance) * Chunk.CHUNK_SIZE_Z,
+                (chunkX + viewDistance + 1) * Chunk.CHUNK_SIZE_X, Double.POSITIVE_INFINITY,
+                (chunkZ + viewDistance + 1) * Chunk.CHUNK_SIZE_Z,
+                null, consumer);
     }
 
     public static boolean areVisible(@NotNull Entity ent1, @NotNull Entity ent2) {
@@ -1,6 +1,7 @@
 package net.minestom.server.utils.thread;
 
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -26,7 +27,17 @@ public class MinestomThread extends ThreadPoolExecutor {
      * @param local    set to true if this executor is only used inside a method and should *not* be kept in the internal list of executors
      */
     public MinestomThread(int nThreads, String name, boolean local) {
-        super(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+        this(nThreads, name, local, new LinkedBlockingQueue<>());
+    }
+
+    /**
+     * @param nThreads  the number of threads
+     * @param name      the name of the thread pool
+     * @param local     set to true if this executor is only used inside a method and should *not* be kept in the internal list of executors
+     * @param workQueue the queue holding the tasks waiting for a thread
+     */
+    public MinestomThread(int nThreads, String name, boolean local, BlockingQueue<Runnable> workQueue) {
+        super(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS, workQueue, r -> {
             Thread thread = new Thread(r);
             thread.setDaemon(true);
             thread.setName(thread.getName().replace("Thread", name));
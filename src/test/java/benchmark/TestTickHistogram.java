@@ -0,0 +1,52 @@
+package benchmark;
+
+import net.minestom.server.benchmark.TickHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTickHistogram {
+
+    @Test
+    public void emptyHistogram() {
+        TickHistogram histogram = new TickHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void exactAggregates() {
+        TickHistogram histogram = new TickHistogram();
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+        assertEquals(3, histogram.getCount());
+        assertEquals(400, histogram.getTotal());
+        assertEquals(300, histogram.getMax());
+    }
+
+    @Test
+    public void percentileInBucketRange() {
+        TickHistogram histogram = new TickHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        final long median = histogram.getPercentile(50);
+        // Power of two buckets, the approximation is at most twice the real value
+        assertTrue(median >= 250_000 && median <= 1_000_000, "median: " + median);
+        assertTrue(histogram.getPercentile(100) <= histogram.getMax());
+        assertTrue(histogram.getPercentile(99) >= histogram.getPercentile(50));
+    }
+
+    @Test
+    public void reset() {
+        TickHistogram histogram = new TickHistogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getTotal());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+}
@@ -0,0 +1,90 @@
+package cache;
+
+import net.minestom.server.utils.cache.WeightedCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestWeightedCache {
+
+    @Test
+    public void hitAndMiss() {
+        WeightedCache<String, String> cache = new WeightedCache<>(100, 0, String::length, null);
+        assertNull(cache.get("a"));
+        cache.put("a", "value");
+        assertEquals("value", cache.get("a"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(5, cache.getWeight());
+    }
+
+    @Test
+    public void evictUnreferenced() {
+        List<String> removed = new ArrayList<>();
+        WeightedCache<String, String> cache = new WeightedCache<>(10, 0, String::length, removed::add);
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        // Second chance for "a"
+        cache.get("a");
+        cache.put("c", "cccc");
+
+        assertEquals("aaaa", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(List.of("bbbb"), removed);
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.getWeight() <= 10);
+    }
+
+    @Test
+    public void conditionalReplace() {
+        List<Integer> removed = new ArrayList<>();
+        WeightedCache<String, Integer> cache = new WeightedCache<>(100, 0, value -> 1, removed::add);
+        assertTrue(cache.put("a", 2));
+        assertFalse(cache.put("a", 1, current -> current < 1));
+        assertTrue(cache.put("a", 3, current -> current < 3));
+        assertEquals(3, cache.get("a"));
+        assertEquals(List.of(2), removed);
+        assertEquals(1, cache.getWeight());
+    }
+
+    @Test
+    public void tooHeavy() {
+        WeightedCache<String, String> cache = new WeightedCache<>(3, 0, String::length, null);
+        assertFalse(cache.put("a", "aaaa"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidate() {
+        List<String> removed = new ArrayList<>();
+        WeightedCache<String, String> cache = new WeightedCache<>(100, 0, String::length, removed::add);
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.invalidate("a");
+        cache.invalidate("b", "other");
+        assertNull(cache.get("a"));
+        assertEquals("bbbb", cache.get("b"));
+        assertEquals(List.of("aaaa"), removed);
+        assertEquals(4, cache.getWeight());
+
+        cache.invalidate("b", "bbbb");
+        assertEquals(2, cache.getInvalidationCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void mappedGet() {
+        List<String> removed = new ArrayList<>();
+        WeightedCache<String, String> cache = new WeightedCache<>(100, 0, String::length, removed::add);
+        cache.put("a", "aaaa");
+        assertEquals(4, cache.get("a", null, String::length));
+        assertNull(cache.get("a", value -> value.isEmpty(), String::length));
+        assertNull(cache.get("b", null, String::length));
+        assertTrue(removed.isEmpty());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+}
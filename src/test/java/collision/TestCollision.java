@@ -0,0 +1,209 @@
+package collision;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.collision.CollisionShape;
+import net.minestom.server.collision.CollisionUtils;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.ExperienceOrb;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockAlternative;
+import net.minestom.server.utils.Position;
+import net.minestom.server.utils.Vector;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.world.DimensionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCollision {
+
+    private static final double EPSILON = 1.0E-6;
+
+    private InstanceContainer instance;
+    private final Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+
+    @BeforeEach
+    public void init() {
+        MinecraftServer.init(); // for entity manager
+        // Chunks created synchronously, the chunk at X = 1 stays unloaded
+        instance = new InstanceContainer(UUID.randomUUID(), DimensionType.OVERWORLD, null) {
+            @Override
+            public Chunk getChunk(int chunkX, int chunkZ) {
+                if (chunkX == 1) {
+                    return null;
+                }
+                return chunks.computeIfAbsent(ChunkUtils.getChunkIndex(chunkX, chunkZ),
+                        index -> new DynamicChunk(null, chunkX, chunkZ));
+            }
+        };
+        MinecraftServer.getInstanceManager().registerInstance(instance);
+        // Stone floor, the top of the floor is at Y = 1
+        for (int x = -16; x < 16; x++) {
+            for (int z = -16; z < 16; z++) {
+                setBlock(x, 0, z, Block.STONE.getBlockId());
+            }
+        }
+    }
+
+    @AfterEach
+    public void cleanup() {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+
+    @Test
+    public void shapes() {
+        assertTrue(CollisionShape.fromStateId(Block.AIR.getBlockId()).isEmpty());
+        assertTrue(CollisionShape.fromStateId((short) -1).isEmpty());
+        assertSame(CollisionShape.FULL, CollisionShape.fromStateId(Block.STONE.getBlockId()));
+
+        final CollisionShape bottomSlab = CollisionShape.fromStateId(state(Block.OAK_SLAB, "type", "bottom"));
+        assertEquals(1, bottomSlab.getBoxCount());
+        assertEquals(0.5, bottomSlab.getMaxY());
+        final CollisionShape topSlab = CollisionShape.fromStateId(state(Block.OAK_SLAB, "type", "top"));
+        assertEquals(0.5, topSlab.getMinY(0));
+        assertEquals(1, topSlab.getMaxY());
+
+        final CollisionShape stairs = CollisionShape.fromStateId(state(Block.OAK_STAIRS, "half", "bottom", "facing", "north"));
+        assertEquals(2, stairs.getBoxCount());
+        assertEquals(0.5, stairs.getMaxY(0));
+        // Step against the north side
+        assertEquals(0.5, stairs.getMaxZ(1));
+        assertEquals(1, stairs.getMaxY(1));
+    }
+
+    @Test
+    public void connectedShapes() {
+        final CollisionShape post = CollisionShape.fromStateId(state(Block.OAK_FENCE,
+                "north", "false", "south", "false", "west", "false", "east", "false"));
+        assertEquals(1, post.getBoxCount());
+        assertEquals(1.5, post.getMaxY());
+        assertEquals(0.375, post.getMinX(0));
+        assertEquals(0.625, post.getMaxX(0));
+
+        final CollisionShape connected = CollisionShape.fromStateId(state(Block.OAK_FENCE,
+                "north", "true", "south", "false", "west", "false", "east", "true"));
+        assertEquals(3, connected.getBoxCount());
+    }
+
+    @Test
+    public void partialShapes() {
+        assertTrue(CollisionShape.fromStateId(state(Block.SNOW, "layers", "1")).isEmpty());
+        assertEquals(0.375, CollisionShape.fromStateId(state(Block.SNOW, "layers", "4")).getMaxY());
+
+        final CollisionShape openTrapdoor = CollisionShape.fromStateId(state(Block.OAK_TRAPDOOR,
+                "open", "true", "facing", "north"));
+        // Against the south side
+        assertEquals(0.8125, openTrapdoor.getMinZ(0));
+        assertEquals(1, openTrapdoor.getMaxY());
+        final CollisionShape closedTrapdoor = CollisionShape.fromStateId(state(Block.OAK_TRAPDOOR,
+                "open", "false", "half", "bottom"));
+        assertEquals(0.1875, closedTrapdoor.getMaxY());
+    }
+
+    @Test
+    public void fallOnFloor() {
+        final Entity entity = spawn(0.5, 3, 0.5);
+        Position position = new Position();
+        Vector velocity = new Vector();
+        assertTrue(CollisionUtils.handlePhysics(entity, new Vector(0, -5, 0), position, velocity));
+        assertEquals(1, position.getY(), EPSILON);
+        assertEquals(0, velocity.getY());
+
+        // Free movement
+        assertFalse(CollisionUtils.handlePhysics(entity, new Vector(0, 1, 0), position, velocity));
+        assertEquals(4, position.getY(), EPSILON);
+        assertEquals(1, velocity.getY());
+    }
+
+    @Test
+    public void wall() {
+        setBlock(3, 1, 0, Block.STONE.getBlockId());
+        setBlock(3, 2, 0, Block.STONE.getBlockId());
+        final Entity entity = spawn(0.5, 1, 0.5);
+        Position position = new Position();
+        Vector velocity = new Vector();
+        assertFalse(CollisionUtils.handlePhysics(entity, new Vector(5, 0, 0), position, velocity));
+        assertEquals(3 - 0.3, position.getX(), EPSILON);
+        assertEquals(0.5, position.getZ(), EPSILON);
+        assertEquals(0, velocity.getX());
+    }
+
+    @Test
+    public void slideAlongWall() {
+        setBlock(3, 1, 0, Block.STONE.getBlockId());
+        setBlock(3, 2, 0, Block.STONE.getBlockId());
+        final Entity entity = spawn(0.5, 1, 0.5);
+        Position position = new Position();
+        Vector velocity = new Vector();
+        CollisionUtils.handlePhysics(entity, new Vector(5, 0, 2), position, velocity);
+        // Stopped on X only
+        assertEquals(3 - 0.3, position.getX(), EPSILON);
+        assertEquals(2.5, position.getZ(), EPSILON);
+        assertEquals(0, velocity.getX());
+        assertEquals(2, velocity.getZ());
+    }
+
+    @Test
+    public void landOnPartialBlocks() {
+        setBlock(0, 1, 0, state(Block.OAK_SLAB, "type", "bottom"));
+        setBlock(5, 1, 5, state(Block.OAK_FENCE, "north", "false", "south", "false", "west", "false", "east", "false"));
+        Position position = new Position();
+        Vector velocity = new Vector();
+
+        assertTrue(CollisionUtils.handlePhysics(spawn(0.5, 4, 0.5), new Vector(0, -5, 0), position, velocity));
+        assertEquals(1.5, position.getY(), EPSILON);
+
+        // Fences are higher than a block
+        assertTrue(CollisionUtils.handlePhysics(spawn(5.5, 4, 5.5), new Vector(0, -5, 0), position, velocity));
+        assertEquals(2.5, position.getY(), EPSILON);
+    }
+
+    @Test
+    public void unloadedChunk() {
+        final Entity entity = spawn(15, 1, 0.5);
+        Position position = new Position();
+        Vector velocity = new Vector();
+        // Unloaded chunks are solid
+        CollisionUtils.handlePhysics(entity, new Vector(5, 0, 0), position, velocity);
+        assertEquals(16 - 0.3, position.getX(), EPSILON);
+    }
+
+    private Entity spawn(double x, double y, double z) {
+        Entity entity = new ExperienceOrb((short) 1, new Position(x, y, z));
+        entity.setBoundingBox(0.6, 1.8, 0.6);
+        entity.setInstance(instance);
+        return entity;
+    }
+
+    private void setBlock(int x, int y, int z, short blockStateId) {
+        instance.getChunkAt(x, z).UNSAFE_setBlock(x, y, z, blockStateId, (short) 0, null, false);
+    }
+
+    /**
+     * Finds a state of a block with the given properties, the others being any value.
+     */
+    private static short state(Block block, String... properties) {
+        for (BlockAlternative alternative : block.getAlternatives()) {
+            boolean matches = true;
+            for (int i = 0; i < properties.length; i += 2) {
+                if (!properties[i + 1].equals(alternative.getProperty(properties[i]))) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return alternative.getId();
+            }
+        }
+        throw new IllegalArgumentException("No state of " + block + " with the given properties");
+    }
+}
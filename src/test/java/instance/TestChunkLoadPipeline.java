@@ -0,0 +1,189 @@
+package instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.*;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.player.PlayerConnection;
+import net.minestom.server.utils.chunk.ChunkCallback;
+import net.minestom.server.world.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketAddress;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestChunkLoadPipeline {
+
+    // Chunks blocking the two read threads until released
+    private static final int FIRST_BLOCKING_CHUNK = 1000;
+    private static final int SECOND_BLOCKING_CHUNK = 1001;
+
+    private final CountDownLatch firstBlocker = new CountDownLatch(1);
+    private final CountDownLatch secondBlocker = new CountDownLatch(1);
+    // Chunk X of each read, in order
+    private final List<Integer> reads = Collections.synchronizedList(new ArrayList<>());
+
+    private InstanceContainer instance;
+    private ChunkLoadPipeline pipeline;
+    private Player player;
+
+    @BeforeEach
+    public void init() {
+        MinecraftServer.init(); // for entity manager
+        player = new Player(UUID.randomUUID(), "Pipeline", new PlayerConnection() {
+            @Override
+            public void sendPacket(@NotNull ServerPacket serverPacket) {
+            }
+
+            @Override
+            public SocketAddress getRemoteAddress() {
+                return null;
+            }
+
+            @Override
+            public void disconnect() {
+            }
+        });
+        moveToChunk(0);
+
+        instance = new InstanceContainer(UUID.randomUUID(), DimensionType.OVERWORLD, null) {
+            @Override
+            public Set<Player> getPlayers() {
+                return Set.of(player);
+            }
+        };
+        instance.enableAutoChunkLoad(true);
+        instance.setChunkLoader(new BlockingChunkLoader());
+        pipeline = instance.getChunkLoadPipeline();
+
+        // Only one read thread is left once the first blocking chunk is released
+        pipeline.load(FIRST_BLOCKING_CHUNK, 0, null, false);
+        pipeline.load(SECOND_BLOCKING_CHUNK, 0, null, false);
+        awaitReads(2);
+    }
+
+    @AfterEach
+    public void release() {
+        firstBlocker.countDown();
+        secondBlocker.countDown();
+    }
+
+    @Test
+    public void priority() {
+        pipeline.load(5, 0, null, false);
+        pipeline.load(2, 0, null, false);
+        pipeline.load(8, 0, null, false);
+        pipeline.load(1, 0, null, false);
+        assertEquals(6, pipeline.getPendingCount());
+        assertEquals(4, pipeline.getQueueDepth(ChunkLoadPipeline.Stage.READ));
+
+        firstBlocker.countDown();
+        awaitReads(6);
+        // Nearest chunks first
+        assertEquals(List.of(1, 2, 5, 8), reads.subList(2, 6));
+    }
+
+    @Test
+    public void cancellation() {
+        final AtomicReference<Chunk> result = new AtomicReference<>();
+        final AtomicBoolean called = new AtomicBoolean();
+        // Outside of the view distance
+        instance.loadVisibleChunk(50, 0, chunk -> {
+            called.set(true);
+            result.set(chunk);
+        });
+        instance.loadVisibleChunk(3, 0, null);
+        // Not cancelled when a request for the same chunk is not cancellable
+        instance.loadVisibleChunk(60, 0, null);
+        pipeline.load(60, 0, null, false);
+
+        firstBlocker.countDown();
+        awaitReads(4);
+        // The cancelled chunk was the furthest, polled before chunk 60
+        assertEquals(List.of(3, 60), reads.subList(2, 4));
+        assertEquals(1, pipeline.getCancelledCount());
+
+        // Callbacks are executed in the instance thread
+        assertFalse(called.get());
+        instance.tick(System.currentTimeMillis());
+        assertTrue(called.get());
+        assertNull(result.get());
+    }
+
+    @Test
+    public void requeueOutdated() {
+        pipeline.load(1, 0, null, false);
+        pipeline.load(5, 0, null, false);
+        // Chunk 1 is now further than chunk 5
+        moveToChunk(10);
+
+        firstBlocker.countDown();
+        awaitReads(4);
+        assertEquals(List.of(5, 1), reads.subList(2, 4));
+        assertEquals(1, pipeline.getRequeuedCount());
+    }
+
+    private void moveToChunk(int chunkX) {
+        player.getPosition().setX(chunkX * 16 + 8);
+        player.getPosition().setZ(8);
+    }
+
+    private void awaitReads(int count) {
+        awaitCondition(() -> reads.size() >= count);
+    }
+
+    private static void awaitCondition(@NotNull BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Records the reads, never saved chunks are generated.
+     */
+    private final class BlockingChunkLoader implements IChunkLoader, ChunkDataReader {
+
+        @Override
+        public byte[] readChunkData(@NotNull Instance instance, int chunkX, int chunkZ) {
+            reads.add(chunkX);
+            try {
+                if (chunkX == FIRST_BLOCKING_CHUNK) {
+                    firstBlocker.await();
+                } else if (chunkX == SECOND_BLOCKING_CHUNK) {
+                    secondBlocker.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+
+        @Override
+        public boolean loadChunk(@NotNull Instance instance, int chunkX, int chunkZ, @Nullable ChunkCallback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveChunk(@NotNull Chunk chunk, @Nullable Runnable callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean supportsParallelLoading() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.ExperienceOrb;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.EntityIndex;
+import net.minestom.server.utils.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEntityIndex {
+
+    private EntityIndex index;
+
+    @BeforeEach
+    public void init() {
+        MinecraftServer.init(); // for entity manager
+        index = new EntityIndex();
+    }
+
+    @Test
+    public void addAndRemove() {
+        Entity entity = createEntity(1, 64, 1);
+        index.add(entity);
+        // Already present, only moved
+        index.add(entity);
+        assertEquals(1, index.size());
+
+        index.remove(entity);
+        assertEquals(0, index.size());
+        assertTrue(inBox(-100, 0, -100, 100, 256, 100).isEmpty());
+        // Not in the index anymore
+        index.remove(entity);
+        index.update(entity, 5, 64, 5);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void boxBounds() {
+        Entity inside = createEntity(0, 64, 0);
+        Entity onMaximum = createEntity(10, 64, 0);
+        index.add(inside);
+        index.add(onMaximum);
+
+        // Minimum inclusive, maximum exclusive
+        assertEquals(Set.of(inside), inBox(0, 64, 0, 10, 65, 1));
+        assertEquals(Set.of(inside, onMaximum), inBox(0, 64, 0, 10.5, 65, 1));
+        assertTrue(inBox(0, 65, 0, 20, 70, 1).isEmpty());
+    }
+
+    @Test
+    public void moveInsideAndAcrossCells() {
+        Entity entity = createEntity(1, 64, 1);
+        index.add(entity);
+
+        // Same cell
+        index.update(entity, 2, 64, 2);
+        assertTrue(inBox(0, 64, 0, 1.5, 65, 1.5).isEmpty());
+        assertEquals(Set.of(entity), inBox(1.5, 64, 1.5, 3, 65, 3));
+
+        // Other cells, including negative coordinates
+        index.update(entity, -EntityIndex.CELL_SIZE * 3 - 0.5, 64, EntityIndex.CELL_SIZE * 5);
+        assertTrue(inBox(0, 0, 0, 10, 256, 10).isEmpty());
+        assertEquals(Set.of(entity), inBox(-30, 64, 39, -24, 65, 41));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void moveAcrossStripes() {
+        Entity entity = createEntity(1, 64, 1);
+        Entity other = createEntity(1000, 64, -1000);
+        index.add(entity);
+        index.add(other);
+
+        // Regions far apart, and the stripe of the first region again
+        index.update(entity, 200, 64, 1);
+        assertEquals(Set.of(entity), inBox(199, 64, 0, 201, 65, 2));
+        index.update(entity, 257, 64, 1);
+        assertEquals(Set.of(entity), inBox(256, 64, 0, 258, 65, 2));
+        assertTrue(inBox(0, 64, 0, 250, 65, 2).isEmpty());
+
+        // Boxes covering all the stripes
+        assertEquals(Set.of(entity, other), inBox(-2000, 0, -2000, 2000, 256, 2000));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void concurrentMoves() throws InterruptedException {
+        final int entityCount = 64;
+        Entity[] entities = new Entity[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            entities[i] = createEntity(i * 40, 64, 0);
+            index.add(entities[i]);
+        }
+
+        // Each thread moves its own entities across the regions
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int step = 0; step < 2000; step++) {
+                    for (int i = offset; i < entityCount; i += threads.length) {
+                        index.update(entities[i], (i * 40 + step * 7) % 3000, 64, (step * 13) % 500);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        // Every entity is seen exactly once
+        for (int i = 0; i < 200; i++) {
+            List<Entity> seen = new ArrayList<>();
+            index.forEachInBox(-10, 0, -10, 3010, 256, 510, null, seen::add);
+            assertEquals(entityCount, seen.size());
+            assertEquals(entityCount, new HashSet<>(seen).size());
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(entityCount, index.size());
+    }
+
+    @Test
+    public void radius() {
+        Entity near = createEntity(3, 64, 4);
+        Entity far = createEntity(3, 64, 4.5);
+        index.add(near);
+        index.add(far);
+
+        Set<Entity> result = new HashSet<>();
+        index.forEachInRadius(0, 64, 0, 5, null, result::add);
+        assertEquals(Set.of(near), result);
+
+        result.clear();
+        index.forEachInRadius(0, 64, 0, 5, Player.class, result::add);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void nearest() {
+        Entity first = createEntity(1, 64, 0);
+        Entity second = createEntity(-2, 64, 0);
+        Entity third = createEntity(0, 64, 3);
+        Entity tooFar = createEntity(50, 64, 50);
+        index.add(third);
+        index.add(tooFar);
+        index.add(second);
+        index.add(first);
+
+        assertEquals(first, index.findNearest(0, 64, 0, 10, null));
+        assertEquals(second, index.findNearest(0, 64, 0, 10, entity -> entity != first));
+        assertNull(index.findNearest(100, 64, 100, 10, null));
+
+        Entity[] result = new Entity[2];
+        assertEquals(2, index.findNearest(0, 64, 0, 10, null, result));
+        assertArrayEquals(new Entity[]{first, second}, result);
+
+        result = new Entity[5];
+        assertEquals(3, index.findNearest(0, 64, 0, 10, null, result));
+        assertEquals(third, result[2]);
+    }
+
+    @Test
+    public void nestedQueries() {
+        Entity first = createEntity(0, 64, 0);
+        Entity second = createEntity(1, 64, 1);
+        index.add(first);
+        index.add(second);
+
+        // Consumers are called without the lock and can query or modify the index
+        Set<Entity> result = new HashSet<>();
+        index.forEachInRadius(0, 64, 0, 5, null, entity -> {
+            index.forEachInRadius(0, 64, 0, 5, null, result::add);
+            index.remove(entity);
+        });
+        assertEquals(Set.of(first, second), result);
+        assertEquals(0, index.size());
+    }
+
+    private Set<Entity> inBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        Set<Entity> result = new HashSet<>();
+        index.forEachInBox(minX, minY, minZ, maxX, maxY, maxZ, null, result::add);
+        return result;
+    }
+
+    private static Entity createEntity(double x, double y, double z) {
+        return new ExperienceOrb((short) 1, new Position(x, y, z));
+    }
+}
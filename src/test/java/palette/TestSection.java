@@ -0,0 +1,187 @@
+package palette;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minestom.server.instance.palette.PaletteStorage;
+import net.minestom.server.instance.palette.Section;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSection {
+
+    private static final int BLOCK_COUNT = 16 * 16 * 16;
+
+    @Test
+    public void singleValue() {
+        Section section = new Section((short) 5);
+        assertEquals(5, section.get(0));
+        assertEquals(5, section.get(BLOCK_COUNT - 1));
+        assertEquals(0, section.getBitsPerEntry());
+        assertEquals(BLOCK_COUNT, section.getBlockCount());
+        assertArrayEquals(new short[]{5}, section.getPalette());
+        assertNull(section.getData());
+
+        // Same block, stays compact
+        section.set(10, (short) 5, 4, 1);
+        assertEquals(0, section.getBitsPerEntry());
+
+        assertTrue(new Section((short) 0).isEmpty());
+    }
+
+    @Test
+    public void inflate() {
+        Section section = new Section((short) 5);
+        section.set(10, (short) 7, 4, 1);
+        assertEquals(4, section.getBitsPerEntry());
+        assertEquals(7, section.get(10));
+        assertEquals(5, section.get(9));
+        assertEquals(5, section.get(11));
+        assertArrayEquals(new short[]{5, 7}, section.getPalette());
+    }
+
+    @Test
+    public void paletteResize() {
+        Section section = new Section((short) 0);
+        // 17 distinct blocks do not fit in 4 bits
+        for (int i = 0; i <= 16; i++) {
+            section.set(i * 200, (short) (i + 1), 4, 1);
+        }
+        assertEquals(5, section.getBitsPerEntry());
+        assertEquals(17, section.getBlockCount());
+        for (int i = 0; i <= 16; i++) {
+            assertEquals(i + 1, section.get(i * 200));
+            assertEquals(0, section.get(i * 200 + 1));
+        }
+        assertEquals(18, section.getPalette().length);
+    }
+
+    @Test
+    public void globalPalette() {
+        Section section = new Section((short) 0);
+        // More blocks than a palette of 8 bits can hold
+        for (int i = 0; i < 300; i++) {
+            section.set(i, (short) (i + 1000), 4, 1);
+        }
+        assertEquals(15, section.getBitsPerEntry());
+        assertNull(section.getPalette());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(i + 1000, section.get(i));
+        }
+        assertEquals(0, section.get(300));
+        assertEquals(300, section.getBlockCount());
+    }
+
+    @Test
+    public void getBlocks() {
+        Section section = new Section((short) 3);
+        section.set(0, (short) 1, 4, 1);
+        section.set(BLOCK_COUNT - 1, (short) 2, 4, 1);
+
+        short[] blocks = new short[BLOCK_COUNT];
+        section.getBlocks(blocks);
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            assertEquals(section.get(i), blocks[i]);
+        }
+        assertEquals(1, blocks[0]);
+        assertEquals(2, blocks[BLOCK_COUNT - 1]);
+    }
+
+    @Test
+    public void optimize() {
+        Section section = new Section((short) 0);
+        for (int i = 0; i < 300; i++) {
+            section.set(i, (short) (i + 1), 4, 1);
+        }
+        // Back to two blocks
+        for (int i = 0; i < 300; i++) {
+            section.set(i, (short) 1, 4, 1);
+        }
+        section.optimize(4);
+        assertEquals(4, section.getBitsPerEntry());
+        assertArrayEquals(new short[]{0, 1}, section.getPalette());
+        assertEquals(1, section.get(299));
+        assertEquals(0, section.get(300));
+
+        // Single block
+        for (int i = 300; i < BLOCK_COUNT; i++) {
+            section.set(i, (short) 1, 4, 1);
+        }
+        section.optimize(4);
+        assertEquals(0, section.getBitsPerEntry());
+        assertEquals(1, section.get(BLOCK_COUNT - 1));
+        assertEquals(BLOCK_COUNT, section.getBlockCount());
+    }
+
+    @Test
+    public void blockCount() {
+        Section section = new Section((short) 0);
+        section.set(0, (short) 1, 4, 1);
+        section.set(1, (short) 1, 4, 1);
+        section.set(1, (short) 2, 4, 1);
+        assertEquals(2, section.getBlockCount());
+        section.set(0, (short) 0, 4, 1);
+        section.set(1, (short) 0, 4, 1);
+        assertTrue(section.isEmpty());
+    }
+
+    @Test
+    public void cloneIsIndependent() {
+        Section section = new Section((short) 0);
+        section.set(0, (short) 1, 4, 1);
+        Section clone = section.clone();
+        section.set(0, (short) 2, 4, 1);
+        assertEquals(1, clone.get(0));
+        assertEquals(2, section.get(0));
+    }
+
+    @Test
+    public void writeSingleValue() {
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            new Section((short) 9).write(buffer);
+            assertEquals(BLOCK_COUNT, buffer.readShort());
+            // Smallest palette containing the block
+            assertEquals(4, buffer.readByte());
+            assertEquals(1, buffer.readByte());
+            assertEquals(9, buffer.readByte());
+            // 256 longs, as a var-int
+            assertEquals((byte) 0x80, buffer.readByte());
+            assertEquals(2, buffer.readByte());
+            assertEquals(256 * Long.BYTES, buffer.readableBytes());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void storage() {
+        PaletteStorage storage = new PaletteStorage(4, 1);
+        storage.setBlockAt(-1, 20, -17, (short) 4);
+        assertEquals(4, storage.getBlockAt(15, 20, 15));
+        assertEquals(0, storage.getBlockAt(-1, 21, -17));
+        assertEquals(0, storage.getBlockAt(0, -1, 0));
+        assertNull(storage.getSection(0));
+        assertNotNull(storage.getSection(1));
+
+        // Emptied sections are removed
+        storage.setBlockAt(-1, 20, -17, (short) 0);
+        assertNull(storage.getSection(1));
+        assertFalse(storage.writeSection(1, Unpooled.EMPTY_BUFFER));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void storageLegacyAccessors() {
+        PaletteStorage storage = new PaletteStorage(4, 1);
+        storage.setBlockAt(0, 0, 0, (short) 4);
+
+        assertArrayEquals(new short[]{0, 4}, storage.getPalette(0));
+        assertNull(storage.getPalette(1));
+
+        final long[][] sectionBlocks = storage.getSectionBlocks();
+        assertEquals(256, sectionBlocks[0].length);
+        assertEquals(1, sectionBlocks[0][0]);
+        assertEquals(0, sectionBlocks[1].length);
+    }
+}
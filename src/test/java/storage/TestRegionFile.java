@@ -0,0 +1,101 @@
+package storage;
+
+import net.minestom.server.storage.region.RegionFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRegionFile {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void writeRead() throws IOException {
+        final byte[] compressible = new byte[10_000];
+        final byte[] random = randomBytes(10_000, 1);
+        try (RegionFile regionFile = new RegionFile(directory.resolve("r.0.0.region"), 6)) {
+            assertNull(regionFile.read(0, 0));
+            assertFalse(regionFile.hasChunk(0, 0));
+
+            regionFile.write(0, 0, compressible);
+            regionFile.write(31, 31, random);
+
+            assertTrue(regionFile.hasChunk(0, 0));
+            assertArrayEquals(compressible, regionFile.read(0, 0));
+            assertArrayEquals(random, regionFile.read(31, 31));
+            // Coordinates are converted to the region
+            assertArrayEquals(random, regionFile.read(-1, -1));
+        }
+    }
+
+    @Test
+    public void reopen() throws IOException {
+        final Path path = directory.resolve("r.0.0.region");
+        final byte[] data = randomBytes(5000, 2);
+        try (RegionFile regionFile = new RegionFile(path, 6)) {
+            regionFile.write(3, 4, data);
+        }
+        try (RegionFile regionFile = new RegionFile(path, 6)) {
+            assertArrayEquals(data, regionFile.read(3, 4));
+            assertNull(regionFile.read(4, 3));
+        }
+    }
+
+    @Test
+    public void reallocate() throws IOException {
+        final Path path = directory.resolve("r.0.0.region");
+        final byte[] small = randomBytes(100, 3);
+        final byte[] big = randomBytes(3 * RegionFile.SECTOR_SIZE, 4);
+        final byte[] neighbour = randomBytes(2 * RegionFile.SECTOR_SIZE, 5);
+        try (RegionFile regionFile = new RegionFile(path, 6)) {
+            regionFile.write(0, 0, small);
+            regionFile.write(1, 0, neighbour);
+            // Bigger than its previous sectors
+            regionFile.write(0, 0, big);
+            assertArrayEquals(big, regionFile.read(0, 0));
+            assertArrayEquals(neighbour, regionFile.read(1, 0));
+
+            // Smaller again, the freed sectors can be reused after the flush
+            regionFile.flush();
+            regionFile.write(0, 0, small);
+            regionFile.write(2, 0, big);
+            assertArrayEquals(small, regionFile.read(0, 0));
+            assertArrayEquals(neighbour, regionFile.read(1, 0));
+            assertArrayEquals(big, regionFile.read(2, 0));
+        }
+        try (RegionFile regionFile = new RegionFile(path, 6)) {
+            assertArrayEquals(small, regionFile.read(0, 0));
+            assertArrayEquals(neighbour, regionFile.read(1, 0));
+            assertArrayEquals(big, regionFile.read(2, 0));
+        }
+    }
+
+    @Test
+    public void tooBig() throws IOException {
+        try (RegionFile regionFile = new RegionFile(directory.resolve("r.0.0.region"), 6)) {
+            final byte[] data = randomBytes(256 * RegionFile.SECTOR_SIZE, 6);
+            assertThrows(IllegalArgumentException.class, () -> regionFile.write(0, 0, data));
+            assertNull(regionFile.read(0, 0));
+        }
+    }
+
+    @Test
+    public void closed() throws IOException {
+        RegionFile regionFile = new RegionFile(directory.resolve("r.0.0.region"), 6);
+        regionFile.close();
+        assertThrows(IOException.class, () -> regionFile.read(0, 0));
+        assertThrows(IOException.class, () -> regionFile.write(0, 0, new byte[1]));
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,105 @@
+package thread;
+
+import net.minestom.server.thread.ChunkGroups;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestChunkGroups {
+
+    @Test
+    public void union() {
+        ChunkGroups chunkGroups = new ChunkGroups();
+        chunkGroups.load(index(0, 0));
+        chunkGroups.load(index(2, 0));
+        // Diagonals are not linked
+        chunkGroups.load(index(1, 1));
+        assertEquals(3, chunkGroups.getGroups().length);
+
+        // Links the three groups
+        chunkGroups.load(index(1, 0));
+        assertEquals(Set.of(Set.of(index(0, 0), index(1, 0), index(2, 0), index(1, 1))),
+                groups(chunkGroups.getGroups()));
+    }
+
+    @Test
+    public void queuedEvents() {
+        ChunkGroups chunkGroups = new ChunkGroups();
+        chunkGroups.load(index(0, 0));
+        chunkGroups.load(index(0, 1));
+        chunkGroups.unload(index(0, 1));
+        // Only applied once the groups are retrieved, in order
+        assertEquals(Set.of(Set.of(index(0, 0))), groups(chunkGroups.getGroups()));
+
+        chunkGroups.unload(index(0, 0));
+        chunkGroups.load(index(0, 0));
+        assertEquals(Set.of(Set.of(index(0, 0))), groups(chunkGroups.getGroups()));
+    }
+
+    @Test
+    public void lazySplit() {
+        ChunkGroups chunkGroups = new ChunkGroups();
+        for (int x = 0; x < 5; x++) {
+            chunkGroups.load(index(x, 0));
+        }
+        assertEquals(1, chunkGroups.getGroups().length);
+
+        // The group is cut in two
+        chunkGroups.unload(index(2, 0));
+        assertEquals(Set.of(Set.of(index(0, 0), index(1, 0)), Set.of(index(3, 0), index(4, 0))),
+                groups(chunkGroups.getGroups()));
+
+        // Unloaded then loaded back before the split
+        chunkGroups.unload(index(3, 0));
+        chunkGroups.load(index(3, 0));
+        assertEquals(Set.of(Set.of(index(0, 0), index(1, 0)), Set.of(index(3, 0), index(4, 0))),
+                groups(chunkGroups.getGroups()));
+
+        // Removed groups
+        chunkGroups.unload(index(0, 0));
+        chunkGroups.unload(index(1, 0));
+        assertEquals(Set.of(Set.of(index(3, 0), index(4, 0))), groups(chunkGroups.getGroups()));
+    }
+
+    @Test
+    public void snapshot() {
+        ChunkGroups chunkGroups = new ChunkGroups();
+        chunkGroups.load(index(0, 0));
+        chunkGroups.load(index(1, 0));
+        final long[][] groups = chunkGroups.getGroups();
+        // Unchanged groups are not copied
+        assertSame(groups, chunkGroups.getGroups());
+
+        chunkGroups.load(index(2, 0));
+        chunkGroups.load(index(10, 10));
+        chunkGroups.unload(index(0, 0));
+        assertEquals(2, chunkGroups.getGroups().length);
+        // The previous snapshot has not been modified
+        assertEquals(1, groups.length);
+        assertEquals(Set.of(index(0, 0), index(1, 0)), group(groups[0]));
+    }
+
+    private static long index(int chunkX, int chunkZ) {
+        return ChunkUtils.getChunkIndex(chunkX, chunkZ);
+    }
+
+    private static Set<Set<Long>> groups(long[][] groups) {
+        Set<Set<Long>> result = new HashSet<>();
+        for (long[] group : groups) {
+            assertTrue(result.add(group(group)));
+        }
+        return result;
+    }
+
+    private static Set<Long> group(long[] group) {
+        Set<Long> result = new HashSet<>();
+        Arrays.stream(group).forEach(result::add);
+        assertEquals(group.length, result.size());
+        return result;
+    }
+}
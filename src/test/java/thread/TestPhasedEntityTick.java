@@ -0,0 +1,137 @@
+package thread;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.ExperienceOrb;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.thread.ThreadProvider;
+import net.minestom.server.utils.Position;
+import net.minestom.server.world.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPhasedEntityTick {
+
+    private static final int MOVEMENT = 0;
+    private static final int TICK = 1;
+    private static final int PACKETS = 2;
+
+    // Phase of each call, in order
+    private final List<Integer> phases = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Thread> tickThreads = Collections.synchronizedSet(new HashSet<>());
+
+    private final Set<Entity> recordingEntities = new HashSet<>();
+    private final Chunk chunk = new DynamicChunk(null, 0, 0);
+    private TestThreadProvider threadProvider;
+
+    @BeforeEach
+    public void init() {
+        MinecraftServer.init(); // for entity manager
+        final Instance instance = new InstanceContainer(UUID.randomUUID(), DimensionType.OVERWORLD, null) {
+            @Override
+            public Set<Entity> getChunkEntities(Chunk chunk) {
+                return recordingEntities;
+            }
+        };
+        threadProvider = new TestThreadProvider(instance);
+        threadProvider.setPhasedEntityTick(true);
+    }
+
+    @Test
+    public void phaseOrder() {
+        // Enough entities to compute the movements and packets in parallel
+        for (int i = 0; i < 100; i++) {
+            recordingEntities.add(new RecordingEntity());
+        }
+        threadProvider.updateEntities(1);
+
+        assertEquals(300, phases.size());
+        for (int i = 0; i < phases.size(); i++) {
+            assertEquals(i / 100, phases.get(i), "Phase started before the end of the previous one");
+        }
+        // Single writer
+        assertEquals(1, tickThreads.size());
+    }
+
+    @Test
+    public void tickedOnce() {
+        recordingEntities.add(new RecordingEntity());
+        threadProvider.updateEntities(1);
+        // Same tick from another chunk
+        threadProvider.updateEntities(1);
+        assertEquals(List.of(MOVEMENT, TICK, PACKETS), phases);
+
+        threadProvider.updateEntities(2);
+        assertEquals(6, phases.size());
+    }
+
+    private final class RecordingEntity extends ExperienceOrb {
+
+        private RecordingEntity() {
+            super((short) 1, new Position());
+        }
+
+        @Override
+        public void computeMovement() {
+            phases.add(MOVEMENT);
+            super.computeMovement();
+        }
+
+        @Override
+        public void tick(long time) {
+            phases.add(TICK);
+            tickThreads.add(Thread.currentThread());
+            super.tick(time);
+        }
+
+        @Override
+        public void flushDeferredPackets() {
+            phases.add(PACKETS);
+            super.flushDeferredPackets();
+        }
+    }
+
+    private final class TestThreadProvider extends ThreadProvider {
+
+        private final Instance instance;
+
+        private TestThreadProvider(@NotNull Instance instance) {
+            this.instance = instance;
+        }
+
+        private void updateEntities(long time) {
+            conditionalEntityUpdate(instance, chunk, time, null);
+        }
+
+        @Override
+        public void onInstanceCreate(@NotNull Instance instance) {
+        }
+
+        @Override
+        public void onInstanceDelete(@NotNull Instance instance) {
+        }
+
+        @Override
+        public void onChunkLoad(@NotNull Instance instance, int chunkX, int chunkZ) {
+        }
+
+        @Override
+        public void onChunkUnload(@NotNull Instance instance, int chunkX, int chunkZ) {
+        }
+
+        @NotNull
+        @Override
+        public List<Future<?>> update(long time) {
+            return Collections.emptyList();
+        }
+    }
+}